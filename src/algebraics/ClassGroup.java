@@ -0,0 +1,630 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package algebraics;
+
+import algebraics.quadratics.ImaginaryQuadraticRing;
+
+import static calculators.EratosthenesSieve.listPrimes;
+import static calculators.NumberTheoreticFunctionsCalculator.binaryGCD;
+import static calculators.NumberTheoreticFunctionsCalculator.extendedGCD;
+import static calculators.NumberTheoreticFunctionsCalculator.isqrt;
+import static calculators.NumberTheoreticFunctionsCalculator.squareRootMod;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ideal class group of an imaginary quadratic ring. Each class is 
+ * represented by a reduced binary quadratic form (<i>a</i>, <i>b</i>, 
+ * <i>c</i>) of discriminant <i>D</i>, where <i>D</i> = <i>d</i> if <i>d</i> 
+ * &equiv; 1 mod 4 and <i>D</i> = 4<i>d</i> otherwise, so that two ideals are 
+ * in the same class if and only if they reduce to the same form. Forms are 
+ * composed with Shanks's NUCOMP, as given by Henri Cohen in <cite>A Course in 
+ * Computational Algebraic Number Theory</cite>, which keeps the intermediate 
+ * numbers around |<i>D</i>|<sup>1/2</sup> rather than |<i>D</i>|.
+ * <p>The group is built up one prime form at a time, going through the primes 
+ * up to &radic;(|<i>D</i>|/3) that are not inert. Every class contains a 
+ * reduced form with <i>a</i> no greater than that, so those primes generate 
+ * the whole group. The classes found so far are kept in a table, the baby 
+ * steps. For each new prime form, giant steps are taken through its powers 
+ * until one of them lands in the table. If that takes <i>e</i> steps, the 
+ * table grows <i>e</i>-fold, and the relation found goes into a matrix whose 
+ * Smith normal form gives the invariant factors. Altogether that's about one 
+ * composition per class, plus one square root modulo each prime.</p>
+ * <p>For example, the class group of <b>Z</b>[&radic;&minus;5] is cyclic of 
+ * order 2, with &#10216;2, 1 + &radic;&minus;5&#10217; representing the 
+ * class that is not principal. And the class group of 
+ * <b>Z</b>[&radic;&minus;65] is <b>Z</b>/2<b>Z</b> &times; 
+ * <b>Z</b>/4<b>Z</b>.</p>
+ * @author Alonso del Arte
+ */
+public class ClassGroup {
+    
+    private static final int INITIAL_CAPACITY = 16;
+    
+    private final ImaginaryQuadraticRing workingRing;
+    
+    private final long discr;
+    
+    // Bound for the partial reduction in NUCOMP, the fourth root of |D|/4
+    private final long nucompBound;
+    
+    // The reduced forms (a, b, c) of the classes, c being worked out from a, 
+    // b and D when needed. The class with index i is the product of the 
+    // powers of the prime forms given by writing i in mixed radix with the 
+    // radices from radices
+    private long[] formAs;
+    private long[] formBs;
+    private int size;
+    
+    private final Map<Long, Integer> indices;
+    
+    private final List<long[]> primeForms;
+    private final List<Integer> radices;
+    
+    private final long[] invariants;
+    
+    // Changes exponents of the prime forms to exponents of the generators 
+    // of the invariant factors, in the columns of the same index
+    private final long[][] coordinateChange;
+    
+    // The exponents of the prime forms that give the generators of the 
+    // invariant factors
+    private final long[][] generatorExponents;
+    
+    /**
+     * Gives the ring this is the class group of.
+     * @return The ring. For example, <b>Z</b>[&radic;&minus;5].
+     */
+    public ImaginaryQuadraticRing getRing() {
+        return this.workingRing;
+    }
+    
+    /**
+     * Gives the class number, the number of elements of the class group.
+     * @return The class number. For example, 2 for <b>Z</b>[&radic;&minus;5], 
+     * 8 for <b>Z</b>[&radic;&minus;65], 1 for <b>Z</b>[<i>i</i>].
+     */
+    public int getClassNumber() {
+        return this.size;
+    }
+    
+    /**
+     * Gives the invariant factors of the class group. These are numbers 
+     * <i>n</i><sub>1</sub>, <i>n</i><sub>2</sub>, ..., 
+     * <i>n</i><sub><i>k</i></sub>, each greater than 1 and each dividing the 
+     * next, such that the class group is isomorphic to 
+     * <b>Z</b>/<i>n</i><sub>1</sub><b>Z</b> &times; 
+     * <b>Z</b>/<i>n</i><sub>2</sub><b>Z</b> &times; ... &times; 
+     * <b>Z</b>/<i>n</i><sub><i>k</i></sub><b>Z</b>.
+     * @return An array with the invariant factors. For example, {2, 4} for 
+     * <b>Z</b>[&radic;&minus;65], {3} for 
+     * <i>O</i><sub><b>Q</b>(&radic;&minus;23)</sub>, and an empty array for a 
+     * unique factorization domain such as <b>Z</b>[<i>i</i>].
+     */
+    public long[] getInvariantFactors() {
+        return this.invariants.clone();
+    }
+    
+    /**
+     * Gives ideals generating the cyclic factors of the class group. The class 
+     * of the ideal at each position of the list has the order given at the 
+     * same position of {@link #getInvariantFactors()}.
+     * @return A list of reduced ideals, one for each invariant factor. For 
+     * example, for <b>Z</b>[&radic;&minus;5], &#10216;2, 1 + 
+     * &radic;&minus;5&#10217;. For a unique factorization domain, an empty list.
+     */
+    public List<Ideal> getGenerators() {
+        List<Ideal> generators = new ArrayList<>(this.invariants.length);
+        for (long[] exponents : this.generatorExponents) {
+            long[] form = this.identity();
+            for (int i = 0; i < exponents.length; i++) {
+                long[] power = this.power(this.primeForms.get(i), exponents[i]);
+                form = this.compose(form, power);
+            }
+            generators.add(Ideal.fromForm(this.workingRing, form[0], form[1]));
+        }
+        return generators;
+    }
+    
+    /**
+     * Gives one reduced ideal for each class. The ideals are not created until 
+     * they're asked for, so this is cheap even when the class number is in the 
+     * tens of thousands.
+     * @return An unmodifiable list with as many ideals as the class number. 
+     * The first is always the whole ring, representing the principal class. 
+     * For example, for <b>Z</b>[&radic;&minus;5], the whole ring and 
+     * &#10216;2, 1 + &radic;&minus;5&#10217;.
+     */
+    public List<Ideal> getRepresentatives() {
+        return new AbstractList<Ideal>() {
+            
+            @Override
+            public Ideal get(int index) {
+                if (index < 0 || index >= ClassGroup.this.size) {
+                    String excMsg = "Index " + index 
+                            + " is not valid for class number " 
+                            + ClassGroup.this.size;
+                    throw new IndexOutOfBoundsException(excMsg);
+                }
+                return Ideal.fromForm(ClassGroup.this.workingRing, 
+                        ClassGroup.this.formAs[index], 
+                        ClassGroup.this.formBs[index]);
+            }
+            
+            @Override
+            public int size() {
+                return ClassGroup.this.size;
+            }
+            
+        };
+    }
+    
+    /**
+     * Gives the representative of the class of an ideal. This is the same as 
+     * {@link Ideal#reduce()}, except that the ideal is also checked to come 
+     * from the same ring as this class group.
+     * @param ideal The ideal. For example, &#10216;3, 1 + 
+     * &radic;&minus;5&#10217;.
+     * @return The reduced ideal in the same class. For example, &#10216;2, 1 + 
+     * &radic;&minus;5&#10217;.
+     * @throws IllegalArgumentException If <code>ideal</code> is an ideal of a 
+     * different ring.
+     */
+    public Ideal representativeOf(Ideal ideal) {
+        return this.getRepresentatives().get(this.indexOf(ideal));
+    }
+    
+    /**
+     * Gives the coordinates of the class of an ideal with respect to the 
+     * generators given by {@link #getGenerators()}.
+     * @param ideal The ideal. For example, &#10216;3, 1 + 
+     * &radic;&minus;5&#10217;.
+     * @return An array with one exponent for each invariant factor, each 
+     * exponent at least 0 but less than the corresponding invariant factor. 
+     * The ideal is in the same class as the product of the generators raised 
+     * to those exponents. For example, {1}. For a principal ideal, all zeroes.
+     * @throws IllegalArgumentException If <code>ideal</code> is an ideal of a 
+     * different ring.
+     */
+    public long[] exponentsOf(Ideal ideal) {
+        int index = this.indexOf(ideal);
+        int count = this.primeForms.size();
+        long[] exponents = new long[count];
+        for (int i = 0; i < count; i++) {
+            int radix = this.radices.get(i);
+            exponents[i] = index % radix;
+            index /= radix;
+        }
+        int rank = this.coordinateChange.length;
+        int offset = rank - this.invariants.length;
+        long[] coordinates = new long[this.invariants.length];
+        for (int j = 0; j < coordinates.length; j++) {
+            long modulus = this.invariants[j];
+            long sum = 0;
+            for (int i = 0; i < count; i++) {
+                long term = Math.floorMod(exponents[i], modulus) 
+                        * Math.floorMod(this.coordinateChange[i][j + offset], 
+                                modulus);
+                sum = Math.floorMod(sum + term, modulus);
+            }
+            coordinates[j] = sum;
+        }
+        return coordinates;
+    }
+    
+    /**
+     * Gives the order of the class of an ideal in the class group.
+     * @param ideal The ideal. For example, &#10216;2, 1 + 
+     * &radic;&minus;5&#10217;.
+     * @return The least positive <i>n</i> such that the <i>n</i>th power of 
+     * the ideal is principal. For example, 2.
+     * @throws IllegalArgumentException If <code>ideal</code> is an ideal of a 
+     * different ring.
+     */
+    public long orderOf(Ideal ideal) {
+        long[] coordinates = this.exponentsOf(ideal);
+        long order = 1;
+        for (int j = 0; j < coordinates.length; j++) {
+            long factor = this.invariants[j] 
+                    / binaryGCD(this.invariants[j], coordinates[j]);
+            order = order / binaryGCD(order, factor) * factor;
+        }
+        return order;
+    }
+    
+    private int indexOf(Ideal ideal) {
+        if (!this.workingRing.equals(ideal.getRing())) {
+            String excMsg = "Ideal " + ideal.toASCIIString() + " is not from " 
+                    + this.workingRing.toASCIIString();
+            throw new IllegalArgumentException(excMsg);
+        }
+        long[] form = ideal.reducedForm();
+        return this.indices.get(key(form[0], form[1]));
+    }
+    
+    private static long key(long a, long b) {
+        return (a << 32) ^ (b & 0xFFFFFFFFL);
+    }
+    
+    private long[] form(long a, long b) {
+        return new long[]{a, b, (b * b - this.discr) / (4 * a)};
+    }
+    
+    private long[] identity() {
+        return this.form(1, this.discr & 1);
+    }
+    
+    private boolean contains(long[] form) {
+        return this.indices.containsKey(key(form[0], form[1]));
+    }
+    
+    private void add(long[] form) {
+        if (this.size == this.formAs.length) {
+            int capacity = 2 * this.size;
+            this.formAs = Arrays.copyOf(this.formAs, capacity);
+            this.formBs = Arrays.copyOf(this.formBs, capacity);
+        }
+        this.formAs[this.size] = form[0];
+        this.formBs[this.size] = form[1];
+        this.indices.put(key(form[0], form[1]), this.size);
+        this.size++;
+    }
+    
+    private static long[] reduce(long a, long b, long c) {
+        boolean reduced = false;
+        while (!reduced) {
+            long twiceA = 2 * a;
+            long k = Math.floorDiv(a - b, twiceA);
+            long nextB = Math.addExact(b, Math.multiplyExact(k, twiceA));
+            c = Math.addExact(c, Math.multiplyExact(k, 
+                    Math.addExact(b, Math.multiplyExact(k, a))));
+            b = nextB;
+            if (a > c) {
+                long swap = a;
+                a = c;
+                c = swap;
+                b = -b;
+            } else {
+                reduced = true;
+            }
+        }
+        if (a == c && b < 0) {
+            b = -b;
+        }
+        return new long[]{a, b, c};
+    }
+    
+    private static long mulMod(long x, long y, long modulus) {
+        return Math.floorMod(Math.floorMod(x, modulus) 
+                * Math.floorMod(y, modulus), modulus);
+    }
+    
+    // NUCOMP, with the partial Euclidean algorithm stopping once the 
+    // remainder is no more than the fourth root of |D|/4, so that the form 
+    // that comes out is almost reduced
+    private long[] compose(long[] first, long[] second) {
+        long[] f1 = first;
+        long[] f2 = second;
+        if (f1[0] < f2[0]) {
+            f1 = second;
+            f2 = first;
+        }
+        long a1 = f1[0];
+        long a2 = f2[0];
+        long b2 = f2[1];
+        long c2 = f2[2];
+        long s = (f1[1] + b2) / 2;
+        long n = b2 - s;
+        long[] euclid = new long[2];
+        long d = extendedGCD(a2, a1, euclid);
+        long y1 = euclid[0];
+        long d1, x2, y2;
+        if (s % d == 0) {
+            d1 = d;
+            x2 = 0;
+            y2 = -1;
+        } else {
+            d1 = extendedGCD(s, d, euclid);
+            x2 = euclid[0];
+            y2 = -euclid[1];
+        }
+        long v1 = a1 / d1;
+        long v2 = a2 / d1;
+        long sPrime = s / d1;
+        long r = Math.floorMod(mulMod(y1, mulMod(y2, n, v1), v1) 
+                - mulMod(x2, c2, v1), v1);
+        long v = 0;
+        long partD = v1;
+        long partV2 = 1;
+        long partV3 = r;
+        int steps = 0;
+        while (Math.abs(partV3) > this.nucompBound) {
+            long q = partD / partV3;
+            long t3 = partD % partV3;
+            long t2 = v - q * partV2;
+            v = partV2;
+            partD = partV3;
+            partV2 = t2;
+            partV3 = t3;
+            steps++;
+        }
+        if (steps % 2 == 1) {
+            partV2 = -partV2;
+            partV3 = -partV3;
+        }
+        long a3, b3, c3;
+        if (steps == 0) {
+            long q1 = Math.multiplyExact(v2, partV3);
+            long f = (q1 + n) / partD;
+            long g = Math.addExact(Math.multiplyExact(partV3, sPrime), c2) 
+                    / partD;
+            a3 = Math.multiplyExact(partD, v2);
+            b3 = Math.addExact(2 * q1, b2);
+            c3 = Math.addExact(Math.multiplyExact(partV3, f), 
+                    Math.multiplyExact(g, d1));
+        } else {
+            long b = Math.addExact(Math.multiplyExact(v2, partD), 
+                    Math.multiplyExact(n, v)) / v1;
+            long q1 = Math.multiplyExact(b, partV3);
+            long q2 = q1 + n;
+            long f = q2 / partD;
+            long e = Math.addExact(Math.multiplyExact(sPrime, partD), 
+                    Math.multiplyExact(c2, v)) / v1;
+            long q3 = Math.multiplyExact(e, partV2);
+            long q4 = q3 - sPrime;
+            long g = q4 / v;
+            partV2 = Math.multiplyExact(d1, partV2);
+            v = Math.multiplyExact(d1, v);
+            a3 = Math.addExact(Math.multiplyExact(partD, b), 
+                    Math.multiplyExact(e, v));
+            b3 = Math.addExact(q1 + q2, Math.multiplyExact(d1, q3 + q4));
+            c3 = Math.addExact(Math.multiplyExact(partV3, f), 
+                    Math.multiplyExact(g, partV2));
+        }
+        return reduce(a3, b3, c3);
+    }
+    
+    private long[] power(long[] form, long exponent) {
+        long[] base = form;
+        long exp = exponent;
+        if (exp < 0) {
+            base = reduce(form[0], -form[1], form[2]);
+            exp = -exp;
+        }
+        long[] result = this.identity();
+        while (exp > 0) {
+            if ((exp & 1) == 1) {
+                result = this.compose(result, base);
+            }
+            exp >>= 1;
+            if (exp > 0) {
+                base = this.compose(base, base);
+            }
+        }
+        return result;
+    }
+    
+    // The reduced form (p, b, c) with b^2 = D mod 4p, or null if p is inert
+    private long[] primeForm(long p) {
+        long b;
+        if (p == 2) {
+            long residue = Math.floorMod(this.discr, 8);
+            if (residue == 5) {
+                return null;
+            }
+            b = residue == 1 ? 1 : residue / 2;
+        } else {
+            b = squareRootMod(this.discr, p);
+            if (b < 0) {
+                return null;
+            }
+            if ((b & 1) != (this.discr & 1)) {
+                b = p - b;
+            }
+        }
+        long[] form = this.form(p, b);
+        return reduce(form[0], form[1], form[2]);
+    }
+    
+    // Takes giant steps through the powers of the form until one lands among 
+    // the classes already found, then adds the cosets of the powers before 
+    // that. Gives the relation found, or null if the form was already among 
+    // the classes found
+    private long[] enlarge(long[] form) {
+        if (this.contains(form)) {
+            return null;
+        }
+        int previousSize = this.size;
+        List<long[]> powers = new ArrayList<>();
+        long[] power = form;
+        while (!this.contains(power)) {
+            powers.add(power);
+            power = this.compose(power, form);
+        }
+        int landing = this.indices.get(key(power[0], power[1]));
+        for (long[] coset : powers) {
+            for (int i = 0; i < previousSize; i++) {
+                long[] element = this.form(this.formAs[i], this.formBs[i]);
+                this.add(this.compose(coset, element));
+            }
+        }
+        int count = this.primeForms.size();
+        long[] relation = new long[count + 1];
+        for (int i = 0; i < count; i++) {
+            int radix = this.radices.get(i);
+            relation[i] = -(landing % radix);
+            landing /= radix;
+        }
+        relation[count] = powers.size() + 1;
+        this.primeForms.add(form);
+        this.radices.add(powers.size() + 1);
+        return relation;
+    }
+    
+    private static void swapColumns(long[][] matrix, int i, int j) {
+        for (long[] row : matrix) {
+            long swap = row[i];
+            row[i] = row[j];
+            row[j] = swap;
+        }
+    }
+    
+    private static void swapRows(long[][] matrix, int i, int j) {
+        long[] swap = matrix[i];
+        matrix[i] = matrix[j];
+        matrix[j] = swap;
+    }
+    
+    // Column j minus multiple times column i, with the inverse operation 
+    // applied to the rows of the inverse
+    private static void subtractColumn(long[][] matrix, long[][] change, 
+            long[][] inverse, int j, int i, long multiple) {
+        for (long[] row : matrix) {
+            row[j] = Math.subtractExact(row[j], 
+                    Math.multiplyExact(multiple, row[i]));
+        }
+        for (long[] row : change) {
+            row[j] = Math.subtractExact(row[j], 
+                    Math.multiplyExact(multiple, row[i]));
+        }
+        for (int k = 0; k < inverse[i].length; k++) {
+            inverse[i][k] = Math.addExact(inverse[i][k], 
+                    Math.multiplyExact(multiple, inverse[j][k]));
+        }
+    }
+    
+    private static void subtractRow(long[][] matrix, int j, int i, 
+            long multiple) {
+        for (int k = 0; k < matrix[j].length; k++) {
+            matrix[j][k] = Math.subtractExact(matrix[j][k], 
+                    Math.multiplyExact(multiple, matrix[i][k]));
+        }
+    }
+    
+    // Puts the relation matrix in Smith normal form, keeping track of the 
+    // column operations in change and of their inverses in inverse
+    private static void smithNormalForm(long[][] matrix, long[][] change, 
+            long[][] inverse) {
+        int rank = matrix.length;
+        for (int t = 0; t < rank; t++) {
+            boolean done = false;
+            while (!done) {
+                int pivotRow = t;
+                int pivotCol = t;
+                long least = 0;
+                for (int i = t; i < rank; i++) {
+                    for (int j = t; j < rank; j++) {
+                        long entry = Math.abs(matrix[i][j]);
+                        if (entry != 0 && (least == 0 || entry < least)) {
+                            least = entry;
+                            pivotRow = i;
+                            pivotCol = j;
+                        }
+                    }
+                }
+                swapRows(matrix, t, pivotRow);
+                swapColumns(matrix, t, pivotCol);
+                swapColumns(change, t, pivotCol);
+                swapRows(inverse, t, pivotCol);
+                long pivot = matrix[t][t];
+                boolean clean = true;
+                for (int i = t + 1; i < rank; i++) {
+                    subtractRow(matrix, i, t, 
+                            Math.floorDiv(matrix[i][t], pivot));
+                    clean &= matrix[i][t] == 0;
+                }
+                for (int j = t + 1; j < rank; j++) {
+                    subtractColumn(matrix, change, inverse, j, t, 
+                            Math.floorDiv(matrix[t][j], pivot));
+                    clean &= matrix[t][j] == 0;
+                }
+                if (clean) {
+                    done = true;
+                    for (int i = t + 1; i < rank && done; i++) {
+                        for (int j = t + 1; j < rank && done; j++) {
+                            if (matrix[i][j] % pivot != 0) {
+                                subtractRow(matrix, t, i, -1);
+                                done = false;
+                            }
+                        }
+                    }
+                }
+            }
+            if (matrix[t][t] < 0) {
+                for (int k = t; k < rank; k++) {
+                    matrix[t][k] = -matrix[t][k];
+                }
+            }
+        }
+    }
+    
+    /**
+     * Computes the class group of an imaginary quadratic ring.
+     * @param ring The ring. For example, <b>Z</b>[&radic;&minus;5].
+     */
+    public ClassGroup(ImaginaryQuadraticRing ring) {
+        this.workingRing = ring;
+        long d = ring.getRadicand();
+        this.discr = ring.hasHalfIntegers() ? d : 4 * d;
+        this.nucompBound = isqrt(isqrt(-this.discr / 4));
+        this.formAs = new long[INITIAL_CAPACITY];
+        this.formBs = new long[INITIAL_CAPACITY];
+        this.indices = new HashMap<>();
+        this.primeForms = new ArrayList<>();
+        this.radices = new ArrayList<>();
+        this.add(this.identity());
+        List<long[]> relations = new ArrayList<>();
+        int bound = (int) isqrt(-this.discr / 3);
+        for (int p : listPrimes(bound)) {
+            long[] form = this.primeForm(p);
+            if (form != null) {
+                long[] relation = this.enlarge(form);
+                if (relation != null) {
+                    relations.add(relation);
+                }
+            }
+        }
+        int rank = relations.size();
+        long[][] matrix = new long[rank][rank];
+        long[][] change = new long[rank][rank];
+        long[][] inverse = new long[rank][rank];
+        for (int i = 0; i < rank; i++) {
+            long[] relation = relations.get(i);
+            System.arraycopy(relation, 0, matrix[i], 0, relation.length);
+            change[i][i] = 1;
+            inverse[i][i] = 1;
+        }
+        smithNormalForm(matrix, change, inverse);
+        int trivialCount = 0;
+        while (trivialCount < rank && matrix[trivialCount][trivialCount] == 1) {
+            trivialCount++;
+        }
+        this.invariants = new long[rank - trivialCount];
+        this.generatorExponents = new long[rank - trivialCount][];
+        for (int j = trivialCount; j < rank; j++) {
+            this.invariants[j - trivialCount] = matrix[j][j];
+            this.generatorExponents[j - trivialCount] = inverse[j];
+        }
+        this.coordinateChange = change;
+    }
+    
+}
@@ -19,16 +19,17 @@ package algebraics;
 import algebraics.quadratics.ImaginaryQuadraticRing;
 import algebraics.quadratics.QuadraticInteger;
 import algebraics.quadratics.QuadraticRing;
-import algebraics.quadratics.RealQuadraticRing;
-import arithmetic.NonEuclideanDomainException;
-import arithmetic.NotDivisibleException;
 
-import java.util.Objects;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
-import static calculators.NumberTheoreticFunctionsCalculator.divideOutUnits;
-import static calculators.NumberTheoreticFunctionsCalculator.euclideanGCD;
+import static calculators.NumberTheoreticFunctionsCalculator.binaryGCD;
+import static calculators.NumberTheoreticFunctionsCalculator.extendedGCD;
 import static calculators.NumberTheoreticFunctionsCalculator.getOneInRing;
 import static calculators.NumberTheoreticFunctionsCalculator.isPrime;
+import static calculators.NumberTheoreticFunctionsCalculator.isqrt;
 
 /**
  * Defines objects to represents ideals of algebraic integers in a particular 
@@ -59,85 +60,476 @@ import static calculators.NumberTheoreticFunctionsCalculator.isPrime;
  * recognized as equal when they are equal, and enabling an object representing 
  * an ideal to recognize when an object representing an algebraic integer 
  * represents an algebraic integer contained in that ideal.</p>
+ * <p>For quadratic rings, both challenges are met by keeping the ideal in 
+ * Hermite normal form. As a subgroup of the ring <b>Z</b>[&omega;], where 
+ * &omega; is &radic;<i>d</i> or <sup>1</sup>&frasl;<sub>2</sub> + 
+ * <sup>&radic;<i>d</i></sup>&frasl;<sub>2</sub>, every nonzero ideal has a 
+ * unique basis <i>a</i>, <i>b</i> + <i>c</i>&omega; with <i>a</i> and 
+ * <i>c</i> positive, <i>c</i> dividing both <i>a</i> and <i>b</i>, and 0 
+ * &le; <i>b</i> &lt; <i>a</i>. Two ideals are equal if and only if they have 
+ * the same basis, and <i>x</i> + <i>y</i>&omega; is in the ideal if and only 
+ * if <i>c</i> divides <i>y</i> and <i>a</i> divides <i>x</i> &minus; 
+ * <i>by</i>/<i>c</i>. For example, &#10216;2, 1 + &radic;&minus;5&#10217; has 
+ * the basis 2, 1 + &radic;&minus;5, so it contains 3 + &radic;&minus;5 but 
+ * not 2 + &radic;&minus;5.</p>
  * @author Alonso del Arte
  */
 public class Ideal {
     
-    private final boolean principalIdealFlag;
-    private final boolean wholeRingFlag;
+    private final QuadraticRing workingRing;
     
-    private final AlgebraicInteger idealGeneratorA;
-    private final AlgebraicInteger idealGeneratorB;
+    // The Hermite normal form basis hnfA, hnfB + hnfC omega
+    private final long hnfA;
+    private final long hnfB;
+    private final long hnfC;
     
-    private final IntegerRing workingRing;
+    // Omega squared is OMEGA_C0 + OMEGA_C1 omega
+    private final long omegaC0;
+    private final long omegaC1;
     
+    // Worked out from the basis only when needed, since the basis numbers of 
+    // a product of ideals may exceed the range of int
+    private AlgebraicInteger[] generators;
+    
+    private static final long INERTIA_SEARCH_LIMIT = 1 << 12;
+    
+    /**
+     * Gives the norm of the ideal, which is the number of elements of the ring 
+     * modulo the ideal. This is simply the product of <i>a</i> and <i>c</i> 
+     * in the Hermite normal form basis.
+     * @return The norm. For example, for &#10216;2, 1 + 
+     * &radic;&minus;5&#10217;, 2. For a principal ideal, the absolute value of 
+     * the norm of the generator, e.g., 6 for &#10216;1 + 
+     * &radic;&minus;5&#10217;.
+     */
     public long norm() {
-//        if (this.principalIdealFlag) {
-//            return Math.abs(this.idealGeneratorA.norm());
-//        }
-        return 0L;
+        return this.hnfA * this.hnfC;
     }
     
-    // TODO: Rewrite tests for this
+    /**
+     * Tells whether or not this ideal is principal. This is determined by 
+     * reduction: the ideal is converted to a binary quadratic form, which is 
+     * reduced. In an imaginary quadratic ring, the ideal is principal if and 
+     * only if the reduced form is the principal form. In a real quadratic ring, 
+     * the ideal is principal if and only if the cycle of reduced forms it 
+     * leads to includes a form with leading coefficient 1 or &minus;1. No 
+     * search for a generator is performed.
+     * @return True if this ideal is principal, false otherwise. For example, 
+     * true for &#10216;3, 1 + 2&radic;&minus;2&#10217;, which is the same as 
+     * &#10216;1 + &radic;&minus;2&#10217;, but false for &#10216;2, 1 + 
+     * &radic;&minus;5&#10217;.
+     */
     public boolean isPrincipal() {
-        return false;// this.principalIdealFlag;
-    } 
+        long[] form = this.reducedForm();
+        if (this.workingRing instanceof ImaginaryQuadraticRing) {
+            return form[0] == 1;
+        }
+        long[] start = form;
+        do {
+            if (Math.abs(form[0]) == 1) {
+                return true;
+            }
+            form = this.rho(form);
+        } while (!Arrays.equals(form, start));
+        return false;
+    }
     
-    // TODO: Rewrite tests for this
+    /**
+     * Tells whether or not this ideal is maximal. In the rings supported by 
+     * this class, every nonzero prime ideal is maximal. So this ideal is 
+     * maximal if its norm is a prime <i>p</i>, or if it's the ideal 
+     * &#10216;<i>p</i>&#10217; for a prime <i>p</i> that is inert in the 
+     * ring.
+     * @return True if this ideal is maximal, false otherwise. For example, true 
+     * for &#10216;2, 1 + &radic;&minus;5&#10217; and &#10216;11&#10217; in 
+     * <b>Z</b>[&radic;&minus;5], but false for &#10216;3&#10217; since 3 = (2 
+     * + &radic;&minus;5)(2 &minus; &radic;&minus;5).
+     */
     public boolean isMaximal() {
-//        if (this.principalIdealFlag) {
-//            return isPrime(this.idealGeneratorA);
-//        }
-        return false;
+        if (this.hnfC == 1) {
+            return isPrime(this.hnfA);
+        }
+        if (this.hnfA != this.hnfC || this.hnfB != 0 || !isPrime(this.hnfA)) {
+            return false;
+        }
+        long p = this.hnfA;
+        for (long r = 0; r < p && r < INERTIA_SEARCH_LIMIT; r++) {
+            long value = Math.floorMod(r * r - this.omegaC1 * r - this.omegaC0, 
+                    p);
+            if (value == 0) {
+                return false;
+            }
+        }
+        if (p < INERTIA_SEARCH_LIMIT) {
+            return true;
+        }
+        BigInteger disc = BigInteger.valueOf(this.omegaC1 * this.omegaC1 
+                + 4 * this.omegaC0);
+        BigInteger modulus = BigInteger.valueOf(p);
+        BigInteger euler = disc.modPow(modulus.shiftRight(1), modulus);
+        return euler.equals(modulus.subtract(BigInteger.ONE));
+    }
+    
+    private long[] coordinates(AlgebraicInteger number) {
+        QuadraticInteger num = (QuadraticInteger) number;
+        long x = num.getRegPartMult();
+        long y = num.getSurdPartMult();
+        if (this.workingRing.hasHalfIntegers()) {
+            long denom = num.getDenominator();
+            return new long[]{(x - y) / denom, y * (2 / denom)};
+        }
+        return new long[]{x, y};
+    }
+    
+    private boolean containsCoordinates(long x, long y) {
+        if (y % this.hnfC != 0) {
+            return false;
+        }
+        long t = y / this.hnfC;
+        return Math.floorMod(x - Math.multiplyExact(t, this.hnfB), this.hnfA) 
+                == 0;
     }
     
-    // TODO: Rewrite tests for this
+    /**
+     * Determines whether a given number is in this ideal. This takes a 
+     * constant number of arithmetic operations, using the Hermite normal form 
+     * basis.
+     * @param number The number to test for membership. For example, 3 + 
+     * &radic;&minus;5.
+     * @return True if the number is in this ideal, false otherwise, including 
+     * when the number is from a different ring. For example, if this ideal is 
+     * &#10216;2, 1 + &radic;&minus;5&#10217;, true for 3 + &radic;&minus;5 but 
+     * false for 2 + &radic;&minus;5.
+     */
     public boolean contains(AlgebraicInteger number) {
-//        if (!number.getRing().equals(this.workingRing)) {
+        if (!number.getRing().equals(this.workingRing)) {
             return false;
-//        }
-//        if (this.wholeRingFlag) {
-//            return true;
-//        }
-//        if (this.workingRing instanceof QuadraticRing) {
-//            QuadraticInteger n = (QuadraticInteger) number;
-//            QuadraticInteger a = (QuadraticInteger) this.idealGeneratorA;
-//            if (this.principalIdealFlag) {
-//                try {
-//                    n.divides(a);
-//                    return true;
-//                } catch (NotDivisibleException nde) {
-//                    return false;
-//                }
-//            } else {
-//                QuadraticInteger b = (QuadraticInteger) this.idealGeneratorB;
-//            }
-//            return false; // *** REMOVE WHEN FOREGOING IS COMPLETE ****
-//        }
-//        String excMsg = "Contains function not yet supported for " 
-//                + number.toASCIIString();
-//        throw new UnsupportedNumberDomainException(excMsg, number);
+        }
+        long[] coords = this.coordinates(number);
+        return this.containsCoordinates(coords[0], coords[1]);
     }
     
+    /**
+     * Determines whether a given ideal is contained in this ideal, which is the 
+     * case if and only if both numbers of the Hermite normal form basis of the 
+     * given ideal are in this ideal. To contain is to divide: an ideal 
+     * contains any of its multiples.
+     * @param ideal The ideal to test for containment. For example, 
+     * &#10216;2&#10217;.
+     * @return True if every number in <code>ideal</code> is in this ideal, 
+     * false otherwise, including when the ideal is from a different ring. For 
+     * example, if this ideal is &#10216;2, 1 + &radic;&minus;5&#10217;, true 
+     * for &#10216;2&#10217; but false for &#10216;3&#10217;.
+     */
     public boolean contains(Ideal ideal) {
-//        if (this.equals(ideal)) {
-//            return true;
-//        }
-        return false;
+        if (!this.workingRing.equals(ideal.workingRing)) {
+            return false;
+        }
+        return this.containsCoordinates(ideal.hnfA, 0) 
+                && this.containsCoordinates(ideal.hnfB, ideal.hnfC);
+    }
+    
+    /**
+     * Multiplies this ideal by another ideal. The product is the ideal 
+     * generated by all the products of a number from one ideal and a number 
+     * from the other, but it suffices to multiply the basis numbers of the two 
+     * ideals pairwise.
+     * @param multiplicand The ideal to multiply by. For example, &#10216;2, 1 + 
+     * &radic;&minus;5&#10217;.
+     * @return The product. For example, if this ideal is also &#10216;2, 1 + 
+     * &radic;&minus;5&#10217;, &#10216;2&#10217;.
+     * @throws AlgebraicDegreeOverflowException If the ideals come from 
+     * different rings.
+     * @throws ArithmeticException If the norm of the product exceeds the range 
+     * of <code>long</code>.
+     */
+    public Ideal times(Ideal multiplicand) {
+        if (!this.workingRing.equals(multiplicand.workingRing)) {
+            String excMsg = "Ideals from " + this.workingRing.toASCIIString() 
+                    + " and " + multiplicand.workingRing.toASCIIString() 
+                    + " can't be multiplied in either ring";
+            throw new AlgebraicDegreeOverflowException(excMsg, 4, 
+                    this.getGenerators()[0], multiplicand.getGenerators()[0]);
+        }
+        long[][] firstBasis = {{this.hnfA, 0}, {this.hnfB, this.hnfC}};
+        long[][] secondBasis = {{multiplicand.hnfA, 0}, 
+            {multiplicand.hnfB, multiplicand.hnfC}};
+        long[][] products = new long[4][];
+        int index = 0;
+        for (long[] first : firstBasis) {
+            for (long[] second : secondBasis) {
+                products[index++] = this.multiply(first, second);
+            }
+        }
+        return new Ideal(this.workingRing, hermiteNormalForm(products));
     }
     
-    // TODO: Rewrite tests for this
+    private long[] multiply(long[] first, long[] second) {
+        long yy = Math.multiplyExact(first[1], second[1]);
+        long x = Math.addExact(Math.multiplyExact(first[0], second[0]), 
+                Math.multiplyExact(yy, this.omegaC0));
+        long y = Math.addExact(Math.addExact(Math.multiplyExact(first[0], 
+                second[1]), Math.multiplyExact(first[1], second[0])), 
+                Math.multiplyExact(yy, this.omegaC1));
+        return new long[]{x, y};
+    }
+    
+    private long discriminant() {
+        return this.omegaC1 * this.omegaC1 + 4 * this.omegaC0;
+    }
+    
+    // Gives (x * y - z) / divisor, which must come out exact and fit in 64 
+    // bits, going through BigInteger only if x * y or the divisor doesn't
+    private static long exactQuotient(long x, long y, long z, long divisor) {
+        try {
+            return Math.subtractExact(Math.multiplyExact(x, y), z) / divisor;
+        } catch (ArithmeticException ae) {
+            return BigInteger.valueOf(x).multiply(BigInteger.valueOf(y)) 
+                    .subtract(BigInteger.valueOf(z)) 
+                    .divide(BigInteger.valueOf(divisor)).longValueExact();
+        }
+    }
+    
+    // The primitive part of this ideal is [A, B + omega] with A = a/c and B = 
+    // b/c, which goes with the form (A, -(2B + c1), N(B + omega)/A). B is 
+    // taken from -A/2 to A/2, which doesn't change the lattice, so that B^2 
+    // is as small as it can be
+    private long[] form() {
+        long a = this.hnfA / this.hnfC;
+        long b = this.hnfB / this.hnfC;
+        if (b > a / 2) {
+            b -= a;
+        }
+        long c = exactQuotient(b, b + this.omegaC1, this.omegaC0, a);
+        return new long[]{a, -(2 * b + this.omegaC1), c};
+    }
+    
+    // Since the discriminant of a real quadratic ring is not a square, x is 
+    // less than its square root if and only if x is at most the floor of the 
+    // square root
+    private static boolean lessThanRoot(long x, long root) {
+        return x <= root;
+    }
+    
+    private boolean isReducedIndefinite(long[] form) {
+        long root = isqrt(this.discriminant());
+        long a = Math.abs(form[0]);
+        long b = form[1];
+        return b > 0 && lessThanRoot(b, root) 
+                && lessThanRoot(2 * a - b, root) 
+                && !lessThanRoot(2 * a + b, root);
+    }
+    
+    // The reduction operator for indefinite forms, with the new middle 
+    // coefficient normalized as by Buchmann and Vollmer
+    private long[] rho(long[] form) {
+        long disc = this.discriminant();
+        long root = isqrt(disc);
+        long c = form[2];
+        long absC = Math.abs(c);
+        long modulus = Math.multiplyExact(2, absC);
+        long r;
+        if (lessThanRoot(absC, root)) {
+            r = root - Math.floorMod(root + form[1], modulus);
+        } else {
+            r = Math.floorMod(-form[1], modulus);
+            if (r > absC) {
+                r -= modulus;
+            }
+        }
+        long nextC = exactQuotient(r, r, disc, Math.multiplyExact(4, c));
+        return new long[]{c, r, nextC};
+    }
+    
+    // Also used by ClassGroup to find the class of an ideal
+    long[] reducedForm() {
+        long[] form = this.form();
+        if (this.workingRing instanceof ImaginaryQuadraticRing) {
+            long a = form[0];
+            long b = form[1];
+            long c = form[2];
+            boolean reduced = false;
+            while (!reduced) {
+                if (b <= -a || b > a) {
+                    long twiceA = Math.multiplyExact(2, a);
+                    long k = Math.floorDiv(a - b, twiceA);
+                    long nextB = Math.addExact(b, Math.multiplyExact(k, 
+                            twiceA));
+                    c = Math.addExact(c, Math.multiplyExact(k, 
+                            Math.addExact(b, Math.multiplyExact(k, a))));
+                    b = nextB;
+                }
+                if (a > c) {
+                    long swap = a;
+                    a = c;
+                    c = swap;
+                    b = -b;
+                } else {
+                    reduced = true;
+                }
+            }
+            if (a == c && b < 0) {
+                b = -b;
+            }
+            return new long[]{a, b, c};
+        }
+        while (!this.isReducedIndefinite(form)) {
+            form = this.rho(form);
+        }
+        return form;
+    }
+    
+    /**
+     * Gives a reduced ideal in the same ideal class as this ideal. Since 
+     * multiplying an ideal by an integer does not change its class, the 
+     * reduced ideal is always primitive, i.e., not contained in 
+     * &#10216;<i>n</i>&#10217; for any integer <i>n</i> &gt; 1. In an 
+     * imaginary quadratic ring, the reduced ideal is the only one of its class; 
+     * in a real quadratic ring, it's one of a cycle of reduced ideals.
+     * @return A reduced ideal. For example, for &#10216;3, 1 + 
+     * &radic;&minus;5&#10217;, &#10216;2, 1 + &radic;&minus;5&#10217;. For a 
+     * principal ideal, the whole ring.
+     */
+    public Ideal reduce() {
+        long[] form = this.reducedForm();
+        return fromForm(this.workingRing, Math.abs(form[0]), form[1]);
+    }
+    
+    QuadraticRing getRing() {
+        return this.workingRing;
+    }
+    
+    // The primitive ideal [a, B + omega] that goes with a form (a, b, c), 
+    // where b = -(2B + c1)
+    static Ideal fromForm(QuadraticRing ring, long a, long b) {
+        long omegaC1 = ring.hasHalfIntegers() ? 1 : 0;
+        long hnfB = Math.floorMod((-b - omegaC1) / 2, a);
+        return new Ideal(ring, new long[]{a, hnfB, 1});
+    }
+    
+    /**
+     * Gives generators of this ideal. If the ideal was constructed from one or 
+     * two numbers, those numbers are given. Otherwise the numbers given come 
+     * from the Hermite normal form basis.
+     * @return An array of one or two numbers that generate this ideal. For 
+     * example, for &#10216;2, 1 + &radic;&minus;5&#10217;, 2 and 1 + 
+     * &radic;&minus;5. For the whole ring, just 1.
+     * @throws ArithmeticException If the ideal came from a multiplication and 
+     * the numbers of its Hermite normal form basis are too big to be 
+     * represented as <code>QuadraticInteger</code> objects. For example, the 
+     * square of &#10216;1000003, 268580 + &radic;&minus;5&#10217;, which has 
+     * norm 1000006000009.
+     */
     public AlgebraicInteger[] getGenerators() {
-        AlgebraicInteger[] empty = {};
-        return empty;
-//        if (this.principalIdealFlag) {
-//            AlgebraicInteger[] gens = {this.idealGeneratorA};
-//            return gens;
-//        } else {
-//            AlgebraicInteger[] gens = {this.idealGeneratorA, 
-//                this.idealGeneratorB};
-//            return gens;
-//        }
+        if (this.generators == null) {
+            this.generators = this.basisGenerators();
+        }
+        return this.generators.clone();
+    }
+    
+    private QuadraticInteger toQuadraticInteger(long x, long y) {
+        int a = Math.toIntExact(x);
+        int b = Math.toIntExact(y);
+        if (this.workingRing.hasHalfIntegers()) {
+            int regPart = Math.addExact(Math.multiplyExact(2, a), b);
+            return QuadraticInteger.apply(regPart, b, this.workingRing, 2);
+        }
+        return QuadraticInteger.apply(a, b, this.workingRing);
+    }
+    
+    // Whether getGenerators() can make QuadraticInteger objects of the numbers 
+    // of the Hermite normal form basis. The "regular" part of b + c omega is 
+    // less than that of a + c omega
+    private boolean basisFitsInt() {
+        if (this.generators != null) {
+            return true;
+        }
+        if (this.workingRing.hasHalfIntegers()) {
+            return this.hnfA <= (Integer.MAX_VALUE - this.hnfC) / 2;
+        }
+        return this.hnfA <= Integer.MAX_VALUE;
+    }
+    
+    // Spells out x + y omega, with x and y not negative, the way 
+    // QuadraticInteger.toString() would if the parts fit in int
+    private String spellOut(long x, long y) {
+        long d = this.workingRing.getRadicand();
+        BigInteger[] parts = this.regularAndSurdParts(x, y);
+        if (parts[1].signum() == 0) {
+            return parts[0].toString();
+        }
+        String half = parts[2].equals(BigInteger.TWO) ? "/2" : "";
+        String reg = (parts[0].signum() == 0) ? "" : parts[0] + half + " + ";
+        String coeff = parts[1].equals(BigInteger.ONE) ? "" 
+                : parts[1].toString();
+        String root = (d == -1) ? "i" : "\u221A(" + d + ")";
+        return (reg + coeff + root + half).replace('-', '\u2212');
+    }
+    
+    // Spells out x + y omega, with x and y not negative, the way 
+    // QuadraticInteger.toTeXString() would if the parts fit in int
+    private String spellOutTeX(long x, long y) {
+        long d = this.workingRing.getRadicand();
+        BigInteger[] parts = this.regularAndSurdParts(x, y);
+        if (parts[1].signum() == 0) {
+            return parts[0].toString();
+        }
+        if (d == -1) {
+            return this.spellOut(x, y).replace('\u2212', '-');
+        }
+        String root = (parts[1].equals(BigInteger.ONE) ? "" : parts[1] + " ") 
+                + "\\sqrt{" + d + "}";
+        if (parts[2].equals(BigInteger.TWO)) {
+            return "\\frac{" + parts[0] + "}{2} + \\frac{" + root + "}{2}";
+        }
+        return (parts[0].signum() == 0) ? root : parts[0] + " + " + root;
+    }
+    
+    // Gives {regular part, surd part, denominator} for x + y omega, in 
+    // BigInteger since twice x might not fit in 64 bits
+    private BigInteger[] regularAndSurdParts(long x, long y) {
+        BigInteger bigX = BigInteger.valueOf(x);
+        BigInteger bigY = BigInteger.valueOf(y);
+        if (!this.workingRing.hasHalfIntegers()) {
+            return new BigInteger[]{bigX, bigY, BigInteger.ONE};
+        }
+        if (y % 2 == 0) {
+            BigInteger halfY = bigY.shiftRight(1);
+            return new BigInteger[]{bigX.add(halfY), halfY, BigInteger.ONE};
+        }
+        return new BigInteger[]{bigX.shiftLeft(1).add(bigY), bigY, 
+            BigInteger.TWO};
+    }
+    
+    // The generators as strings, with the given function for numbers that fit 
+    // in QuadraticInteger objects, and the given function of x and y for the 
+    // numbers x + y omega of the Hermite normal form basis otherwise
+    private String[] generatorStrings(Function<AlgebraicInteger, String> spell, 
+            BiFunction<Long, Long, String> spellBasis) {
+        if (this.basisFitsInt()) {
+            return Arrays.stream(this.getGenerators()).map(spell) 
+                    .toArray(String[]::new);
+        }
+        String first = spellBasis.apply(this.hnfA, 0L);
+        if (this.hnfA == this.hnfC && this.hnfB == 0) {
+            return new String[]{first};
+        }
+        return new String[]{first, spellBasis.apply(this.hnfB, this.hnfC)};
+    }
+    
+    private AlgebraicInteger[] basisGenerators() {
+        if (this.norm() == 1) {
+            return new AlgebraicInteger[]{getOneInRing(this.workingRing)};
+        }
+        QuadraticInteger first = this.toQuadraticInteger(this.hnfA, 0);
+        if (this.hnfA == this.hnfC && this.hnfB == 0) {
+            return new AlgebraicInteger[]{first};
+        }
+        QuadraticInteger second = this.toQuadraticInteger(this.hnfB, this.hnfC);
+        if (Math.abs(second.norm()) == this.norm()) {
+            return new AlgebraicInteger[]{second};
+        }
+        return new AlgebraicInteger[]{first, second};
     }
 
     /**
@@ -147,173 +539,264 @@ public class Ideal {
      * @return A 32-bit integer hash code. For example, if this ideal is 
      * &#10216;2, &radic;10&#10217;, it might be hashed as &minus;1212580032.
      */    
-// TODO: Rewrite tests for this
     @Override
     public int hashCode() {
         int hash = this.workingRing.hashCode();
-//        if (!this.wholeRingFlag) {
-//            hash *= this.idealGeneratorA.hashCode();
-//            if (!this.principalIdealFlag) {
-//                hash *= this.idealGeneratorB.hashCode();
-//            }
-//        }
-        return hash;
+        hash = 31 * hash + Long.hashCode(this.hnfA);
+        hash = 31 * hash + Long.hashCode(this.hnfB);
+        return 31 * hash + Long.hashCode(this.hnfC);
     }
     
-    // TODO: Rewrite tests for this
+    /**
+     * Determines whether this ideal is equal to another object. Two ideals are 
+     * equal if they come from the same ring and have the same Hermite normal 
+     * form basis, regardless of the generators they were constructed with.
+     * @param obj The object to compare to. For example, &#10216;1 + 
+     * &radic;&minus;5, 2&#10217;.
+     * @return True if <code>obj</code> is an equal ideal, false otherwise. For 
+     * example, if this ideal is &#10216;2, 1 + &radic;&minus;5&#10217;, true.
+     */
     @Override
     public boolean equals(Object obj) {
-//        if (this == obj) {
-//            return true;
-//        }
-//        if (obj == null) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
             return false;
-//        }
-//        if (getClass() != obj.getClass()) {
-//            return false;
-//        }
-//        final Ideal other = (Ideal) obj;
-//        if (!Objects.equals(this.idealGeneratorA, other.idealGeneratorA)) {
-//            return false;
-//        }
-//        return (Objects.equals(this.idealGeneratorB, other.idealGeneratorB));
-    }
-    
-    // TODO: Rewrite tests for this
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final Ideal other = (Ideal) obj;
+        return this.hnfA == other.hnfA && this.hnfB == other.hnfB 
+                && this.hnfC == other.hnfC 
+                && this.workingRing.equals(other.workingRing);
+    }
+    
+    /**
+     * Gives a representation of this ideal as a list of generators in angle 
+     * brackets, or as the ring if this ideal is the whole ring.
+     * @return A representation of this ideal. For example, "&#10216;2, 1 + 
+     * &radic;&minus;5&#10217;".
+     */
     @Override
-    public String toString() {return "SORRY, NOT IMPLEMENTED YET";
-//        if (this.wholeRingFlag) {
-//            return this.workingRing.toString();
-//        }
-//        String idealString = "\u27E8" + this.idealGeneratorA.toString();
-//        if (!this.principalIdealFlag) {
-//            idealString = idealString + ", " + this.idealGeneratorB.toString();
-//        }
-//        idealString = idealString + "\u27E9";
-//        return idealString;
-    }
-    
-    // TODO: Rewrite tests for this
-    public String toASCIIString() {return "SORRY";
-//        if (this.wholeRingFlag) {
-//            return this.workingRing.toASCIIString();
-//        }
-//        String idealString = "(" + this.idealGeneratorA.toASCIIString();
-//        if (!this.principalIdealFlag) {
-//            idealString = idealString + ", " 
-//                    + this.idealGeneratorB.toASCIIString();
-//        }
-//        idealString = idealString + ")";
-//        return idealString;
-    }
-    
-    // TODO: Rewrite tests for this
-    public String toTeXString() {return "SORRY";
-//        if (this.wholeRingFlag) {
-//            return this.workingRing.toTeXString();
-//        }
-//        String idealString = "\\langle" + this.idealGeneratorA.toTeXString();
-//        if (!this.principalIdealFlag) {
-//            idealString = idealString + ", " 
-//                    + this.idealGeneratorB.toTeXString();
-//        }
-//        idealString = idealString + "\\rangle";
-//        return idealString;
-    }
-    
-    // TODO: Rewrite tests for this
-    public String toHTMLString() {return "SORRY";
-//        if (this.wholeRingFlag) {
-//            return this.workingRing.toHTMLString();
-//        }
-//        String idealString = "&#10216;" + this.idealGeneratorA.toHTMLString();
-//        if (!this.principalIdealFlag) {
-//            idealString = idealString + ", " 
-//                    + this.idealGeneratorB.toHTMLString();
-//        }
-//        idealString = idealString + "&#10217;";
-//        return idealString;
+    public String toString() {
+        if (this.norm() == 1) {
+            return this.workingRing.toString();
+        }
+        String[] gens = this.generatorStrings(AlgebraicInteger::toString, 
+                this::spellOut);
+        return "\u27E8" + String.join(", ", gens) + "\u27E9";
     }
     
-    public Ideal(IntegerRing ring) {
-        this.wholeRingFlag = true;
-        this.workingRing = ring;
-        this.principalIdealFlag = true;
-        this.idealGeneratorA = getOneInRing(ring);
-        this.idealGeneratorB = null;
+    /**
+     * Gives a representation of this ideal using only ASCII characters.
+     * @return A representation of this ideal. For example, "(2, 1 + 
+     * sqrt(-5))".
+     */
+    public String toASCIIString() {
+        if (this.norm() == 1) {
+            return this.workingRing.toASCIIString();
+        }
+        String[] gens = this.generatorStrings(AlgebraicInteger::toASCIIString, 
+                (x, y) -> this.spellOut(x, y).replace("\u221A", "sqrt") 
+                        .replace('\u2212', '-'));
+        return "(" + String.join(", ", gens) + ")";
     }
     
-    public Ideal(AlgebraicInteger generatorA) {
-        this.principalIdealFlag = true;
-        this.workingRing = generatorA.getRing();
-        if (Math.abs(generatorA.norm()) == 1) {
-            this.wholeRingFlag = true;
-            this.idealGeneratorA = getOneInRing(this.workingRing);
-        } else {
-            AlgebraicInteger genA = generatorA;
-            if (this.workingRing instanceof ImaginaryQuadraticRing 
-                    || this.workingRing instanceof RealQuadraticRing) {
-                QuadraticInteger gA = (QuadraticInteger) generatorA;
-                gA = (QuadraticInteger) divideOutUnits(gA);
-                genA = gA;
+    /**
+     * Gives a representation of this ideal for use in a TeX document.
+     * @return A representation of this ideal. For example, "\langle 2, 1 + 
+     * \sqrt{-5} \rangle".
+     */
+    public String toTeXString() {
+        if (this.norm() == 1) {
+            return this.workingRing.toTeXString();
+        }
+        String[] gens = this.generatorStrings(AlgebraicInteger::toTeXString, 
+                this::spellOutTeX);
+        return "\\langle " + String.join(", ", gens) + " \\rangle";
+    }
+    
+    /**
+     * Gives a representation of this ideal for use in an HTML document.
+     * @return A representation of this ideal. For example, "&amp;#10216;2, 1 
+     * + &amp;radic;(&amp;minus;5)&amp;#10217;".
+     */
+    public String toHTMLString() {
+        if (this.norm() == 1) {
+            return this.workingRing.toHTMLString();
+        }
+        String[] gens = this.generatorStrings(AlgebraicInteger::toHTMLString, 
+                (x, y) -> this.spellOut(x, y).replace("i", "<i>i</i>") 
+                        .replace("\u221A", "&radic;") 
+                        .replace("\u2212", "&minus;"));
+        return "&#10216;" + String.join(", ", gens) + "&#10217;";
+    }
+    
+    // Gives x times y modulo the modulus, going through BigInteger only if 
+    // the product of the residues doesn't fit in 64 bits
+    private static long mulMod(long x, long y, long modulus) {
+        long u = Math.floorMod(x, modulus);
+        long v = Math.floorMod(y, modulus);
+        try {
+            return Math.multiplyExact(u, v) % modulus;
+        } catch (ArithmeticException ae) {
+            return BigInteger.valueOf(u).multiply(BigInteger.valueOf(v)) 
+                    .mod(BigInteger.valueOf(modulus)).longValue();
+        }
+    }
+    
+    // Row reduces the given vectors x + y omega to the basis {a, 0}, {b, c}, 
+    // given back as {a, b, c}. Once a is known, the x coordinates only matter 
+    // modulo a, so they're reduced modulo a as they go, which keeps them from 
+    // overflowing when a is large. The vectors of a product of ideals start 
+    // with the product of the two a's, so there a is known from the start
+    private static long[] hermiteNormalForm(long[]... vectors) {
+        long a = 0;
+        long pivotX = 0;
+        long pivotY = 0;
+        long[] bezout = new long[2];
+        for (long[] vector : vectors) {
+            long x = (a == 0) ? vector[0] : Math.floorMod(vector[0], a);
+            long y = vector[1];
+            if (y == 0) {
+                a = binaryGCD(a, x);
+            } else if (pivotY == 0) {
+                pivotX = x;
+                pivotY = y;
+            } else {
+                long g = extendedGCD(pivotY, y, bezout);
+                long s = bezout[0];
+                long t = bezout[1];
+                long combinedX;
+                long eliminated;
+                if (a == 0) {
+                    combinedX = Math.addExact(Math.multiplyExact(s, pivotX), 
+                            Math.multiplyExact(t, x));
+                    eliminated = Math.subtractExact(Math.multiplyExact(y / g, 
+                            pivotX), Math.multiplyExact(pivotY / g, x));
+                } else {
+                    combinedX = Math.floorMod(mulMod(s, pivotX, a) 
+                            - (a - mulMod(t, x, a)), a);
+                    eliminated = Math.floorMod(mulMod(y / g, pivotX, a) 
+                            - mulMod(pivotY / g, x, a), a);
+                }
+                a = binaryGCD(a, eliminated);
+                pivotX = combinedX;
+                pivotY = g;
             }
-                this.idealGeneratorA = genA;
-                this.wholeRingFlag = false;
+            if (a != 0) {
+                pivotX = Math.floorMod(pivotX, a);
+            }
+        }
+        if (a == 0 || pivotY == 0) {
+            String excMsg = "Generators do not span an ideal of full rank";
+            throw new IllegalArgumentException(excMsg);
         }
-        this.idealGeneratorB = null;
+        if (pivotY < 0) {
+            pivotX = -pivotX;
+            pivotY = -pivotY;
+        }
+        return new long[]{a, Math.floorMod(pivotX, a), pivotY};
+    }
+    
+    private static QuadraticRing checkRing(IntegerRing ring) {
+        if (ring instanceof QuadraticRing) {
+            return (QuadraticRing) ring;
+        }
+        String excMsg = "Ideals are not yet supported for " 
+                + ring.toASCIIString();
+        throw new UnsupportedNumberDomainException(excMsg, ring);
+    }
+    
+    private long[] generatorVectors(AlgebraicInteger... numbers) {
+        long[][] vectors = new long[2 * numbers.length][];
+        long[] omega = {0, 1};
+        for (int i = 0; i < numbers.length; i++) {
+            long[] coords = this.coordinates(numbers[i]);
+            vectors[2 * i] = coords;
+            vectors[2 * i + 1] = this.multiply(coords, omega);
+        }
+        return hermiteNormalForm(vectors);
     }
     
+    /**
+     * Constructs an ideal equal to the whole ring.
+     * @param ring The ring. For example, <b>Z</b>[&radic;10].
+     * @throws UnsupportedNumberDomainException If <code>ring</code> is not a 
+     * quadratic ring.
+     */
+    public Ideal(IntegerRing ring) {
+        this(checkRing(ring), new long[]{1, 0, 1});
+    }
+    
+    /**
+     * Constructs a principal ideal.
+     * @param generatorA The generator. For example, 1 + &radic;&minus;5. Must 
+     * not be 0.
+     * @throws IllegalArgumentException If <code>generatorA</code> is 0.
+     * @throws UnsupportedNumberDomainException If <code>generatorA</code> is 
+     * not a quadratic integer.
+     */
+    public Ideal(AlgebraicInteger generatorA) {
+        this(checkRing(generatorA.getRing()), generatorA);
+    }
+    
+    /**
+     * Constructs an ideal generated by two numbers. The ideal may turn out to 
+     * be principal.
+     * @param generatorA One generator. For example, 2.
+     * @param generatorB The other generator. For example, 1 + &radic;&minus;5. 
+     * Must be from the same ring as <code>generatorA</code>. May be 0 if 
+     * <code>generatorA</code> is not 0.
+     * @throws IllegalArgumentException If the generators come from different 
+     * rings, or if they're both 0.
+     * @throws UnsupportedNumberDomainException If the generators are not 
+     * quadratic integers.
+     */
     public Ideal(AlgebraicInteger generatorA, AlgebraicInteger generatorB) {
+        this(checkRing(checkSameRing(generatorA, generatorB)), generatorA, 
+                generatorB);
+    }
+    
+    private static IntegerRing checkSameRing(AlgebraicInteger generatorA, 
+            AlgebraicInteger generatorB) {
         if (!generatorA.getRing().equals(generatorB.getRing())) {
             String excMsg = generatorA.toASCIIString() + " is from " 
                     + generatorA.getRing().toASCIIString() + " but " 
                     + generatorB.toASCIIString() + " is from " 
                     + generatorB.getRing().toASCIIString();
-            throw new RuntimeException(excMsg);
-        }
-        AlgebraicInteger genA = generatorA;
-        AlgebraicInteger genB = generatorB;
-        boolean principalFlag = false;
-        this.workingRing = generatorA.getRing();
-        if (this.workingRing instanceof ImaginaryQuadraticRing 
-                || this.workingRing instanceof RealQuadraticRing) {
-            QuadraticInteger gA = (QuadraticInteger) generatorA;
-            QuadraticInteger gB = (QuadraticInteger) generatorB;
-            AlgebraicInteger gcd;
-            try {
-                gcd = euclideanGCD(gA, gB);
-                gA = (QuadraticInteger) gcd;
-                gB = gB.minus(gB); // Zero out, avoid deref null pointer warning
-                principalFlag = true;
-            } catch (NonEuclideanDomainException nede) {
-                gcd = nede.tryEuclideanGCDAnyway();
-                if (((QuadraticInteger) gcd).getRegPartMult() >= 0) {
-                    gA = (QuadraticInteger) gcd;
-                    gB = gB.minus(gB); // Zero out
-                    principalFlag = true;
-                }
-            }
-            if (!principalFlag) {
-                if ((gA.getSurdPartMult() != 0) && (gB.getSurdPartMult() == 0)) {
-                    QuadraticInteger swapper = gA;
-                    gA = gB;
-                    gB = swapper;
-                }
-            }
-            gA = (QuadraticInteger) divideOutUnits(gA);
-            gB = (QuadraticInteger) divideOutUnits(gB);
-            genA = gA;
-            genB = gB;
-        }
-        this.principalIdealFlag = principalFlag;
-        this.idealGeneratorA = genA;
-        if (this.principalIdealFlag) {
-            this.idealGeneratorB = null;
+            throw new IllegalArgumentException(excMsg);
+        }
+        return generatorA.getRing();
+    }
+    
+    private Ideal(QuadraticRing ring, AlgebraicInteger... givenGenerators) {
+        this.workingRing = ring;
+        long d = ring.getRadicand();
+        this.omegaC1 = ring.hasHalfIntegers() ? 1 : 0;
+        this.omegaC0 = ring.hasHalfIntegers() ? (d - 1) / 4 : d;
+        long[] hnf = this.generatorVectors(givenGenerators);
+        this.hnfA = hnf[0];
+        this.hnfB = hnf[1];
+        this.hnfC = hnf[2];
+        if (this.norm() == 1) {
+            this.generators = new AlgebraicInteger[]{getOneInRing(ring)};
         } else {
-            this.idealGeneratorB = genB;
+            this.generators = Arrays.stream(givenGenerators)
+                    .filter(g -> g.norm() != 0).toArray(AlgebraicInteger[]::new);
         }
-        this.wholeRingFlag = ((Math.abs(this.idealGeneratorA.norm()) == 1) 
-                || (Math.abs(genB.norm()) == 1));
+    }
+    
+    private Ideal(QuadraticRing ring, long[] hnf) {
+        this.workingRing = ring;
+        long d = ring.getRadicand();
+        this.omegaC1 = ring.hasHalfIntegers() ? 1 : 0;
+        this.omegaC0 = ring.hasHalfIntegers() ? (d - 1) / 4 : d;
+        this.hnfA = hnf[0];
+        this.hnfB = hnf[1];
+        this.hnfC = hnf[2];
     }
     
 }
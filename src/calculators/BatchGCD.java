@@ -0,0 +1,402 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package calculators;
+
+import algebraics.AlgebraicDegreeOverflowException;
+import algebraics.quadratics.QuadraticInteger;
+import algebraics.quadratics.QuadraticRing;
+import arithmetic.NonEuclideanDomainException;
+
+import java.math.BigInteger;
+
+/**
+ * Finds, for each number in a collection, its greatest common divisor with the 
+ * product of all the others, which is a nontrivial divisor whenever the number 
+ * shares a factor with some other number of the collection. Computing 
+ * <code>euclideanGCD()</code> for every pair would take time proportional to 
+ * the square of the size of the collection. This class instead uses Daniel J. 
+ * Bernstein's product tree and remainder tree, which take quasi-linear time.
+ * <p>The numbers are multiplied in pairs, the products multiplied in pairs, 
+ * and so on, until there's just the product <i>P</i> of all the numbers. Then 
+ * <i>P</i> is reduced modulo the square of each node of the tree, from the top 
+ * down, so that each number <i>x</i> gets <i>P</i> mod <i>x</i><sup>2</sup> 
+ * without <i>P</i> ever being divided by a small number. Since <i>x</i> 
+ * divides <i>P</i>, dividing that remainder by <i>x</i> gives <i>P</i>/<i>x</i> 
+ * mod <i>x</i>, and the GCD of <i>x</i> with that is the GCD of <i>x</i> with 
+ * the product of the other numbers.</p>
+ * <p>For quadratic integers the same works with the products and remainders 
+ * taken in the ring, though the final GCD requires the ring to be one of the 
+ * norm-Euclidean rings listed in {@link 
+ * NumberTheoreticFunctionsCalculator#NORM_EUCLIDEAN_QUADRATIC_RINGS_D}. 
+ * Internally the quadratic integers are held as pairs of 
+ * <code>BigInteger</code> in the integral basis 1, &theta;, where &theta; is 
+ * either &radic;<i>d</i> or <sup>1</sup>&frasl;<sub>2</sub> + 
+ * <sup>&radic;<i>d</i></sup>&frasl;<sub>2</sub>.</p>
+ * @author Alonso del Arte
+ */
+public class BatchGCD {
+    
+    /**
+     * Finds, for each of the given numbers, its GCD with the product of all 
+     * the other numbers.
+     * @param numbers The numbers. None of them may be 0. Need not be distinct. 
+     * For example, 15, 77, 26, 221.
+     * @return An array of the same length as <code>numbers</code>, with the 
+     * GCDs, which are all positive. For example, 1, 1, 13, 13, since 26 and 221 
+     * share 13 but 15 and 77 are coprime to all the others.
+     * @throws IllegalArgumentException If any of the numbers is 0.
+     * @throws NullPointerException If <code>numbers</code> or any of its 
+     * elements is null.
+     */
+    public static BigInteger[] batchGCD(BigInteger[] numbers) {
+        for (BigInteger number : numbers) {
+            if (number.signum() == 0) {
+                String excMsg = "Batch GCD is not defined for 0";
+                throw new IllegalArgumentException(excMsg);
+            }
+        }
+        int count = numbers.length;
+        BigInteger[] results = new BigInteger[count];
+        if (count == 0) {
+            return results;
+        }
+        BigInteger[] remainders = remainderTree(numbers);
+        for (int i = 0; i < count; i++) {
+            BigInteger number = numbers[i].abs();
+            results[i] = number.gcd(remainders[i].divide(number));
+        }
+        return results;
+    }
+    
+    /**
+     * Finds, for each of the given numbers, its GCD with the product of all 
+     * the other numbers. The products in the tree are computed with 
+     * <code>BigInteger</code>, but the final GCDs are computed with {@link 
+     * NumberTheoreticFunctionsCalculator#binaryGCD(long, long)}.
+     * @param numbers The numbers. None of them may be 0. For example, 15, 77, 
+     * 26, 221.
+     * @return An array of the same length as <code>numbers</code>, with the 
+     * GCDs, which are all positive. For example, 1, 1, 13, 13.
+     * @throws ArithmeticException If one of the GCDs is 2<sup>63</sup>, which 
+     * can only happen if <code>Long.MIN_VALUE</code> occurs in 
+     * <code>numbers</code>.
+     * @throws IllegalArgumentException If any of the numbers is 0.
+     * @throws NullPointerException If <code>numbers</code> is null.
+     */
+    public static long[] batchGCD(long[] numbers) {
+        int count = numbers.length;
+        BigInteger[] bigNumbers = new BigInteger[count];
+        for (int i = 0; i < count; i++) {
+            if (numbers[i] == 0) {
+                String excMsg = "Batch GCD is not defined for 0";
+                throw new IllegalArgumentException(excMsg);
+            }
+            bigNumbers[i] = BigInteger.valueOf(numbers[i]);
+        }
+        long[] results = new long[count];
+        if (count == 0) {
+            return results;
+        }
+        BigInteger[] remainders = remainderTree(bigNumbers);
+        for (int i = 0; i < count; i++) {
+            BigInteger number = bigNumbers[i].abs();
+            long cofactor = remainders[i].divide(number).longValueExact();
+            long gcd = NumberTheoreticFunctionsCalculator.binaryGCD(numbers[i], 
+                    cofactor);
+            if (gcd < 0) {
+                String excMsg = "GCD for " + numbers[i] 
+                        + " is outside the range of long";
+                throw new ArithmeticException(excMsg);
+            }
+            results[i] = gcd;
+        }
+        return results;
+    }
+    
+    /**
+     * Finds, for each of the given quadratic integers, its GCD with the 
+     * product of all the other quadratic integers.
+     * @param numbers The quadratic integers. They must all come from the same 
+     * norm-Euclidean ring. Purely rational numbers from another ring, such as 
+     * 7 passed in as a Gaussian integer when the others are from 
+     * <b>Z</b>[&radic;2], are not allowed. None of the numbers may be 0. For 
+     * example, 2 + <i>i</i>, 3, 1 + 3<i>i</i>, 4 + <i>i</i>.
+     * @return An array of the same length as <code>numbers</code>, with the 
+     * GCDs, normalized as by {@link 
+     * NumberTheoreticFunctionsCalculator#euclideanGCD(algebraics.AlgebraicInteger, 
+     * algebraics.AlgebraicInteger) euclideanGCD()}. A GCD is a unit if and only 
+     * if the corresponding number is coprime to all the others. For example, 2 
+     * + <i>i</i>, 1, 1 &minus; 2<i>i</i>, 1, since 1 + 3<i>i</i> = (2 + 
+     * <i>i</i>)(1 + <i>i</i>), while 3 and 4 + <i>i</i> share no factors with 
+     * the others. Note that 1 &minus; 2<i>i</i> is 2 + <i>i</i> times 
+     * &minus;<i>i</i>.
+     * @throws AlgebraicDegreeOverflowException If the numbers don't all come 
+     * from the same ring.
+     * @throws ArithmeticException If a reduced cofactor has a part outside the 
+     * range of <code>int</code>, which can only happen if the numbers 
+     * themselves have parts close to that range.
+     * @throws IllegalArgumentException If any of the numbers is 0.
+     * @throws NonEuclideanDomainException If the ring is not norm-Euclidean.
+     * @throws NullPointerException If <code>numbers</code> or any of its 
+     * elements is null.
+     */
+    public static QuadraticInteger[] batchGCD(QuadraticInteger[] numbers) 
+            throws NonEuclideanDomainException {
+        int count = numbers.length;
+        QuadraticInteger[] results = new QuadraticInteger[count];
+        if (count == 0) {
+            return results;
+        }
+        QuadraticRing ring = numbers[0].getRing();
+        for (QuadraticInteger number : numbers) {
+            if (!number.getRing().equals(ring)) {
+                String excMsg = numbers[0].toASCIIString() + " is from " 
+                        + ring.toASCIIString() + " but " 
+                        + number.toASCIIString() + " is from " 
+                        + number.getRing().toASCIIString();
+                throw new AlgebraicDegreeOverflowException(excMsg, 2, 
+                        numbers[0], number);
+            }
+            if (number.norm() == 0) {
+                String excMsg = "Batch GCD is not defined for 0";
+                throw new IllegalArgumentException(excMsg);
+            }
+        }
+        int d = ring.getRadicand();
+        if (!NumberTheoreticFunctionsCalculator.isNormEuclidean(d)) {
+            String excMsg = ring.toASCIIString() 
+                    + " is not a norm-Euclidean domain";
+            throw new NonEuclideanDomainException(excMsg, numbers[0], 
+                    numbers[count - 1]);
+        }
+        Basis basis = new Basis(ring);
+        BigInteger[][] elements = new BigInteger[count][];
+        for (int i = 0; i < count; i++) {
+            elements[i] = basis.fromQuadraticInteger(numbers[i]);
+        }
+        BigInteger[][][] tree = basis.productTree(elements);
+        BigInteger[][] remainders = tree[tree.length - 1];
+        for (int level = tree.length - 2; level >= 0; level--) {
+            BigInteger[][] nodes = tree[level];
+            BigInteger[][] nextRemainders = new BigInteger[nodes.length][];
+            for (int i = 0; i < nodes.length; i++) {
+                BigInteger[] square = basis.times(nodes[i], nodes[i]);
+                nextRemainders[i] = basis.reduce(remainders[i >> 1], square);
+            }
+            remainders = nextRemainders;
+        }
+        for (int i = 0; i < count; i++) {
+            BigInteger[] cofactor = basis.reduce(basis.exactQuotient(remainders[i], 
+                    elements[i]), elements[i]);
+            results[i] = (QuadraticInteger) NumberTheoreticFunctionsCalculator 
+                    .euclideanGCD(numbers[i], basis.toQuadraticInteger(cofactor));
+        }
+        return results;
+    }
+    
+    /**
+     * Reduces the product of all the numbers modulo the square of each number, 
+     * by way of the product tree and the remainder tree.
+     * @param numbers The numbers. Should all be nonzero, and there should be at 
+     * least one.
+     * @return The product of all the numbers modulo the square of each number, 
+     * in the same order as <code>numbers</code>.
+     */
+    private static BigInteger[] remainderTree(BigInteger[] numbers) {
+        BigInteger[][] tree = productTree(numbers);
+        BigInteger[] remainders = tree[tree.length - 1];
+        for (int level = tree.length - 2; level >= 0; level--) {
+            BigInteger[] nodes = tree[level];
+            BigInteger[] nextRemainders = new BigInteger[nodes.length];
+            for (int i = 0; i < nodes.length; i++) {
+                BigInteger square = nodes[i].multiply(nodes[i]);
+                nextRemainders[i] = remainders[i >> 1].mod(square);
+            }
+            remainders = nextRemainders;
+        }
+        return remainders;
+    }
+    
+    private static BigInteger[][] productTree(BigInteger[] numbers) {
+        int height = 1;
+        for (int width = numbers.length; width > 1; width = (width + 1) >> 1) {
+            height++;
+        }
+        BigInteger[][] tree = new BigInteger[height][];
+        tree[0] = new BigInteger[numbers.length];
+        for (int i = 0; i < numbers.length; i++) {
+            tree[0][i] = numbers[i].abs();
+        }
+        for (int level = 1; level < height; level++) {
+            BigInteger[] below = tree[level - 1];
+            BigInteger[] nodes = new BigInteger[(below.length + 1) >> 1];
+            for (int i = 0; i < nodes.length; i++) {
+                int left = i << 1;
+                nodes[i] = (left + 1 < below.length) 
+                        ? below[left].multiply(below[left + 1]) : below[left];
+            }
+            tree[level] = nodes;
+        }
+        return tree;
+    }
+    
+    /**
+     * Arithmetic on quadratic integers given as pairs of 
+     * <code>BigInteger</code> in the integral basis of a particular ring. For 
+     * the pair {<i>x</i>, <i>y</i>} standing for <i>x</i> + <i>y</i>&theta;, 
+     * &theta;<sup>2</sup> = <i>c</i><sub>0</sub> + <i>c</i><sub>1</sub>&theta;, 
+     * with <i>c</i><sub>0</sub> = <i>d</i> and <i>c</i><sub>1</sub> = 0 if 
+     * &theta; = &radic;<i>d</i>, or <i>c</i><sub>0</sub> = (<i>d</i> &minus; 
+     * 1)/4 and <i>c</i><sub>1</sub> = 1 if &theta; = 
+     * <sup>1</sup>&frasl;<sub>2</sub> + 
+     * <sup>&radic;<i>d</i></sup>&frasl;<sub>2</sub>.
+     */
+    private static final class Basis {
+        
+        private final QuadraticRing ring;
+        
+        private final boolean halves;
+        
+        private final BigInteger c0;
+        
+        private BigInteger[] fromQuadraticInteger(QuadraticInteger number) {
+            int scale = 2 / number.getDenominator();
+            long doubledReg = (long) number.getRegPartMult() * scale;
+            long doubledSurd = (long) number.getSurdPartMult() * scale;
+            long y = this.halves ? doubledSurd : doubledSurd / 2;
+            long x = this.halves ? (doubledReg - y) / 2 : doubledReg / 2;
+            BigInteger[] pair = {BigInteger.valueOf(x), BigInteger.valueOf(y)};
+            return pair;
+        }
+        
+        private QuadraticInteger toQuadraticInteger(BigInteger[] pair) {
+            int x = pair[0].intValueExact();
+            int y = pair[1].intValueExact();
+            if (this.halves) {
+                return QuadraticInteger.apply(Math.addExact(Math.multiplyExact(2, 
+                        x), y), y, this.ring, 2);
+            }
+            return QuadraticInteger.apply(x, y, this.ring);
+        }
+        
+        private BigInteger[] times(BigInteger[] a, BigInteger[] b) {
+            BigInteger surdProduct = a[1].multiply(b[1]);
+            BigInteger x = a[0].multiply(b[0]).add(this.c0.multiply(surdProduct));
+            BigInteger y = a[0].multiply(b[1]).add(a[1].multiply(b[0]));
+            if (this.halves) {
+                y = y.add(surdProduct);
+            }
+            BigInteger[] product = {x, y};
+            return product;
+        }
+        
+        private BigInteger[] conjugate(BigInteger[] a) {
+            BigInteger x = this.halves ? a[0].add(a[1]) : a[0];
+            BigInteger[] conj = {x, a[1].negate()};
+            return conj;
+        }
+        
+        private BigInteger norm(BigInteger[] a) {
+            BigInteger norm = a[0].multiply(a[0]) 
+                    .subtract(this.c0.multiply(a[1]).multiply(a[1]));
+            if (this.halves) {
+                norm = norm.add(a[0].multiply(a[1]));
+            }
+            return norm;
+        }
+        
+        /**
+         * Divides one number by another it's known to be divisible by.
+         */
+        private BigInteger[] exactQuotient(BigInteger[] a, BigInteger[] b) {
+            BigInteger[] numerator = this.times(a, this.conjugate(b));
+            BigInteger norm = this.norm(b);
+            BigInteger[] quotient = {numerator[0].divide(norm), 
+                numerator[1].divide(norm)};
+            return quotient;
+        }
+        
+        /**
+         * Gives a number congruent to <code>a</code> modulo <code>m</code> 
+         * whose parts are not much bigger than those of <code>m</code>, by 
+         * subtracting <code>m</code> times the quotient rounded in the 
+         * integral basis.
+         */
+        private BigInteger[] reduce(BigInteger[] a, BigInteger[] m) {
+            BigInteger[] numerator = this.times(a, this.conjugate(m));
+            BigInteger norm = this.norm(m);
+            if (norm.signum() < 0) {
+                numerator[0] = numerator[0].negate();
+                numerator[1] = numerator[1].negate();
+                norm = norm.negate();
+            }
+            BigInteger[] quotient = {roundedQuotient(numerator[0], norm), 
+                roundedQuotient(numerator[1], norm)};
+            BigInteger[] multiple = this.times(quotient, m);
+            BigInteger[] remainder = {a[0].subtract(multiple[0]), 
+                a[1].subtract(multiple[1])};
+            return remainder;
+        }
+        
+        private BigInteger[][][] productTree(BigInteger[][] elements) {
+            int height = 1;
+            for (int width = elements.length; width > 1;
+                    width = (width + 1) >> 1) {
+                height++;
+            }
+            BigInteger[][][] tree = new BigInteger[height][][];
+            tree[0] = elements;
+            for (int level = 1; level < height; level++) {
+                BigInteger[][] below = tree[level - 1];
+                BigInteger[][] nodes = new BigInteger[(below.length + 1) >> 1][];
+                for (int i = 0; i < nodes.length; i++) {
+                    int left = i << 1;
+                    nodes[i] = (left + 1 < below.length) 
+                            ? this.times(below[left], below[left + 1]) 
+                            : below[left];
+                }
+                tree[level] = nodes;
+            }
+            return tree;
+        }
+        
+        private Basis(QuadraticRing ring) {
+            this.ring = ring;
+            this.halves = ring.hasHalfIntegers();
+            int d = ring.getRadicand();
+            this.c0 = BigInteger.valueOf(this.halves ? (d - 1) / 4 : d);
+        }
+        
+    }
+    
+    /**
+     * Rounds a quotient to the nearest integer.
+     * @param num The numerator. For example, 7.
+     * @param den The denominator. Must be positive. For example, 2.
+     * @return The nearest integer, rounding halves up. For example, 4.
+     */
+    private static BigInteger roundedQuotient(BigInteger num, BigInteger den) {
+        BigInteger twiceDen = den.shiftLeft(1);
+        BigInteger[] quotRem = num.shiftLeft(1).add(den) 
+                .divideAndRemainder(twiceDen);
+        if (quotRem[1].signum() < 0) {
+            return quotRem[0].subtract(BigInteger.ONE);
+        }
+        return quotRem[0];
+    }
+
+}
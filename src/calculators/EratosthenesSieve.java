@@ -28,6 +28,9 @@ import java.util.stream.Collectors;
  * of primes that can fit in an <code>int</code> or even a <code>byte</code>, 
  * but having to recalculate the same primes over and over might slow things 
  * down unacceptably.
+ * <p>The functions that read or extend the cached list of primes are 
+ * synchronized, so that the diagrams can be drawn on more than one thread at a 
+ * time.</p>
  * @author Alonso del Arte
  */
 public class EratosthenesSieve {
@@ -82,7 +85,7 @@ public class EratosthenesSieve {
      * example, 2, 3, 5, 7, ..., 47. If <code>threshold</code> is &minus;1, 0 or 
      * 1, the returned list will be an empty list.
      */
-    public static List<Integer> listPrimes(int threshold) {
+    public static synchronized List<Integer> listPrimes(int threshold) {
         int thresh = Math.abs(threshold);
         if (thresh < 2) {
             return new ArrayList<>();
@@ -130,7 +133,7 @@ public class EratosthenesSieve {
      * The list may be empty, for example, if <code>n</code> is 4 and 
      * <code>m</code> is 8.
      */
-    public static List<Integer> listPrimesMod(int n, int m) {
+    public static synchronized List<Integer> listPrimesMod(int n, int m) {
         return PRIMES.stream().filter(p -> p % m == n)
                 .collect(Collectors.toList());
     }
@@ -198,7 +201,7 @@ public class EratosthenesSieve {
      * gives positive primes like 383 and 281, this behavior is not guaranteed 
      * to remain unchanged in later versions of this program.</p>
      */
-    public static int randomPrimeOtherThan(int p) {
+    public static synchronized int randomPrimeOtherThan(int p) {
         int signum = (p < 0) ? -1 : 1;
         int absP = Math.abs(p);
         int curr = p;
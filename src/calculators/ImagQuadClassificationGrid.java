@@ -0,0 +1,372 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package calculators;
+
+import algebraics.quadratics.ImaginaryQuadraticRing;
+
+import static calculators.NumberTheoreticFunctionsCalculator.isqrt;
+import static calculators.NumberTheoreticFunctionsCalculator.mod;
+import static calculators.NumberTheoreticFunctionsCalculator.squareRootMod;
+
+import java.util.List;
+
+/**
+ * Classifies the algebraic integers of an imaginary quadratic ring as units, 
+ * primes or composites, for the sake of drawing ring diagrams. Since the norm 
+ * is the same for <i>a</i> + <i>b</i>&radic;<i>d</i>, <i>a</i> &minus; 
+ * <i>b</i>&radic;<i>d</i>, &minus;<i>a</i> + <i>b</i>&radic;<i>d</i> and 
+ * &minus;<i>a</i> &minus; <i>b</i>&radic;<i>d</i>, only the numbers with 
+ * <i>a</i> &ge; 0 and <i>b</i> &ge; 0 are classified. For rings with 
+ * "half-integers," the coordinates are those of 2<i>a</i> and 2<i>b</i>, so 
+ * that, for example, (5, 1) stands for <sup>5</sup>&frasl;<sub>2</sub> + 
+ * <sup>&radic;<i>d</i></sup>&frasl;<sub>2</sub>.
+ * <p>The classification is done row by row with a sieve on the norm form 
+ * <i>a</i><sup>2</sup> &minus; <i>db</i><sup>2</sup>. For a given <i>b</i>, an 
+ * odd prime <i>p</i> not dividing <i>d</i> divides the norm only if 
+ * <i>a</i> &equiv; &plusmn;<i>br</i> mod <i>p</i>, where <i>r</i> is a square 
+ * root of <i>d</i> modulo <i>p</i>. So <i>r</i> is worked out once for each 
+ * prime and then the multiples are crossed off in arithmetic progressions, 
+ * with no primality testing of individual numbers. The grid starts out empty 
+ * and grows as needed, reusing the rows and columns it has already worked 
+ * out.</p>
+ * @author Alonso del Arte
+ */
+public class ImagQuadClassificationGrid {
+    
+    /**
+     * Indicates a number that is 0 or composite, or a pair of coordinates 
+     * that does not correspond to an algebraic integer of the ring at all (for 
+     * example, (1, 0) in a ring with "half-integers").
+     */
+    public static final byte COMPOSITE = 0;
+    
+    /**
+     * Indicates a unit, a number of norm 1.
+     */
+    public static final byte UNIT = 1;
+    
+    /**
+     * Indicates a prime of the ring that does not divide the discriminant. 
+     * This could be a purely real prime that is inert in the ring (or a unit 
+     * multiple of such a prime), or one of the prime factors of a purely real 
+     * prime that splits in the ring.
+     */
+    public static final byte INERT = 2;
+    
+    /**
+     * Indicates a purely real prime that splits in the ring (or a unit 
+     * multiple of such a prime).
+     */
+    public static final byte SPLIT = 3;
+    
+    /**
+     * Indicates a purely real prime that ramifies in the ring (or a unit 
+     * multiple of such a prime), or a prime of the ring that divides the 
+     * discriminant.
+     */
+    public static final byte RAMIFIED = 4;
+    
+    /**
+     * Added to {@link #SPLIT} or {@link #RAMIFIED} for a purely real prime that 
+     * splits or ramifies but is nevertheless irreducible in the ring, because 
+     * its prime ideal factors are not principal. For example, 3 in 
+     * <b>Z</b>[&radic;&minus;5] is classified as <code>SPLIT | 
+     * NO_PRINCIPAL_FACTORS</code>, since (3) = (3, 1 + &radic;&minus;5)(3, 1 
+     * &minus; &radic;&minus;5) but there is no number of norm 3 in that ring.
+     */
+    public static final byte NO_PRINCIPAL_FACTORS = 8;
+    
+    private static final byte CROSSED_OFF = 1;
+    
+    private static final byte PRIME_SQUARED = 2;
+    
+    private final ImaginaryQuadraticRing imagRing;
+    
+    private final long absRadicand;
+    
+    private final boolean halfIntFlag;
+    
+    private int columns = 0;
+    
+    private int rows = 0;
+    
+    private byte[] cells = new byte[0];
+    
+    private int primeBound = 1;
+    
+    private int[] primes = new int[0];
+    
+    /**
+     * For each prime at the same index in <code>primes</code>, a square root of 
+     * <i>d</i> modulo that prime, or &minus;1 if there is none. Not used for 2.
+     */
+    private int[] squareRootsOfD = new int[0];
+    
+    private long norm(int x, int y) {
+        long n = (long) x * x + this.absRadicand * y * y;
+        return this.halfIntFlag ? n / 4 : n;
+    }
+    
+    private void ensurePrimesUpTo(int bound) {
+        if (bound <= this.primeBound) {
+            return;
+        }
+        int newBound = Math.max(bound, 2 * this.primeBound);
+        List<Integer> list = EratosthenesSieve.listPrimes(newBound);
+        int count = list.size();
+        int[] newPrimes = new int[count];
+        int[] newRoots = new int[count];
+        int previousCount = this.primes.length;
+        System.arraycopy(this.primes, 0, newPrimes, 0, previousCount);
+        System.arraycopy(this.squareRootsOfD, 0, newRoots, 0, previousCount);
+        for (int i = previousCount; i < count; i++) {
+            int p = list.get(i);
+            newPrimes[i] = p;
+            newRoots[i] = (p == 2) ? -1 
+                    : (int) squareRootMod(-this.absRadicand, p);
+        }
+        this.primes = newPrimes;
+        this.squareRootsOfD = newRoots;
+        this.primeBound = newBound;
+    }
+    
+    private byte purelyRealPrimeType(int p) {
+        return switch (PrimeDecomposition.splittingType(this.imagRing, p)) {
+            case PrimeDecomposition.SPLIT -> SPLIT;
+            case PrimeDecomposition.RAMIFIED -> RAMIFIED;
+            default -> INERT;
+        };
+    }
+    
+    private boolean dividesDiscriminant(long p) {
+        if (p == 2) {
+            return !this.halfIntFlag;
+        }
+        return this.absRadicand % p == 0;
+    }
+    
+    private boolean isUnitMultipleOfPurelyReal(int x, int y) {
+        return y == 0 || (this.absRadicand == 1 && x == 0) 
+                || (this.absRadicand == 3 && x == y);
+    }
+    
+    private static void crossOff(long[] norms, byte[] marks, int index, int p) {
+        long n = norms[index];
+        if (n == p) {
+            return;
+        }
+        if (n == (long) p * p) {
+            if (marks[index] == 0) {
+                marks[index] = PRIME_SQUARED;
+            }
+        } else {
+            marks[index] = CROSSED_OFF;
+        }
+    }
+    
+    private static void crossOffProgression(long[] norms, byte[] marks, 
+            int from, int residue, int p) {
+        int start = (int) mod((long) residue - from, p);
+        for (int i = start; i < norms.length; i += p) {
+            if (norms[i] > 0) {
+                crossOff(norms, marks, i, p);
+            }
+        }
+    }
+    
+    /**
+     * Classifies part of a row of the grid.
+     * @param y The row.
+     * @param from The first column to classify.
+     * @param to The column after the last column to classify.
+     * @param dest The array to write the classifications into.
+     * @param offset Where in <code>dest</code> to write the classification of 
+     * column <code>from</code>.
+     */
+    private void sieveRow(int y, int from, int to, byte[] dest, int offset) {
+        int length = to - from;
+        long[] norms = new long[length];
+        byte[] marks = new byte[length];
+        for (int i = 0; i < length; i++) {
+            int x = from + i;
+            if (this.halfIntFlag && ((x ^ y) & 1) != 0) {
+                norms[i] = -1;
+            } else {
+                norms[i] = this.norm(x, y);
+            }
+        }
+        long maxNorm = this.norm(to - 1, y);
+        for (int j = 0; j < this.primes.length; j++) {
+            int p = this.primes[j];
+            if ((long) p * p > maxNorm) {
+                break;
+            }
+            if (p == 2) {
+                for (int i = 0; i < length; i++) {
+                    if (norms[i] > 0 && norms[i] % 2 == 0) {
+                        crossOff(norms, marks, i, 2);
+                    }
+                }
+            } else if (y % p == 0) {
+                crossOffProgression(norms, marks, from, 0, p);
+            } else if (this.squareRootsOfD[j] >= 0) {
+                int root = (int) ((long) (y % p) * this.squareRootsOfD[j] % p);
+                crossOffProgression(norms, marks, from, root, p);
+                if (root != 0) {
+                    crossOffProgression(norms, marks, from, p - root, p);
+                }
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            long n = norms[i];
+            byte classification;
+            if (n < 2) {
+                classification = (n == 1) ? UNIT : COMPOSITE;
+            } else {
+                switch (marks[i]) {
+                    case CROSSED_OFF -> classification = COMPOSITE;
+                    case PRIME_SQUARED -> {
+                        if (this.isUnitMultipleOfPurelyReal(from + i, y)) {
+                            int p = (int) isqrt(n);
+                            classification = this.purelyRealPrimeType(p);
+                            if (classification != INERT 
+                                    && !new PrimeDecomposition(this.imagRing, 
+                                            p).hasPrincipalIdeals()) {
+                                classification |= NO_PRINCIPAL_FACTORS;
+                            }
+                        } else {
+                            classification = COMPOSITE;
+                        }
+                    }
+                    default -> classification = this.dividesDiscriminant(n) 
+                            ? RAMIFIED : INERT;
+                }
+            }
+            dest[offset + i] = classification;
+        }
+    }
+    
+    /**
+     * Retrieves the ring this grid classifies the numbers of.
+     * @return The ring. For example, <b>Z</b>[&radic;&minus;5].
+     */
+    public ImaginaryQuadraticRing getRing() {
+        return this.imagRing;
+    }
+    
+    /**
+     * Tells how many columns have been classified so far. This is mostly for 
+     * testing purposes.
+     * @return The number of columns, possibly 0. For example, 64.
+     */
+    public int getColumns() {
+        return this.columns;
+    }
+    
+    /**
+     * Tells how many rows have been classified so far. This is mostly for 
+     * testing purposes.
+     * @return The number of rows, possibly 0. For example, 32.
+     */
+    public int getRows() {
+        return this.rows;
+    }
+    
+    /**
+     * Makes sure that the grid covers the specified coordinates. The rows and 
+     * columns already classified are kept, and only the new ones are worked 
+     * out. The grid may grow by more than asked for, so that small changes to 
+     * the viewport don't cause one sieving after another.
+     * @param maxX The largest column needed. For example, 640.
+     * @param maxY The largest row needed. For example, 360.
+     * @throws IllegalArgumentException If either <code>maxX</code> or 
+     * <code>maxY</code> is negative, or if the grid would be too large to fit 
+     * in an array.
+     */
+    public void ensureCoverage(int maxX, int maxY) {
+        if (maxX < 0 || maxY < 0) {
+            String excMsg = "Coordinates " + maxX + " and " + maxY 
+                    + " should not be negative";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (maxX < this.columns && maxY < this.rows) {
+            return;
+        }
+        int newColumns = Math.max(this.columns, maxX + 1 + maxX / 4);
+        int newRows = Math.max(this.rows, maxY + 1 + maxY / 4);
+        long size = (long) newColumns * newRows;
+        if (size > Integer.MAX_VALUE - 8) {
+            String excMsg = "Grid of " + newColumns + " by " + newRows 
+                    + " is too large";
+            throw new IllegalArgumentException(excMsg);
+        }
+        long maxNorm = this.norm(newColumns - 1, newRows - 1);
+        this.ensurePrimesUpTo((int) Math.min(isqrt(maxNorm), 
+                Integer.MAX_VALUE - 1));
+        byte[] newCells = new byte[(int) size];
+        for (int y = 0; y < this.rows; y++) {
+            System.arraycopy(this.cells, y * this.columns, newCells, 
+                    y * newColumns, this.columns);
+            if (newColumns > this.columns) {
+                this.sieveRow(y, this.columns, newColumns, newCells, 
+                        y * newColumns + this.columns);
+            }
+        }
+        for (int y = this.rows; y < newRows; y++) {
+            this.sieveRow(y, 0, newColumns, newCells, y * newColumns);
+        }
+        this.cells = newCells;
+        this.columns = newColumns;
+        this.rows = newRows;
+    }
+    
+    /**
+     * Gives the classification of a number. The grid is extended if needed.
+     * @param x The column, which is <i>a</i> for <i>a</i> + 
+     * <i>b</i>&radic;<i>d</i>, or 2<i>a</i> in a ring with "half-integers." May 
+     * be negative, in which case the absolute value is used. For example, 3.
+     * @param y The row, which is <i>b</i> for <i>a</i> + 
+     * <i>b</i>&radic;<i>d</i>, or 2<i>b</i> in a ring with "half-integers." May 
+     * be negative, in which case the absolute value is used. For example, 2.
+     * @return One of {@link #COMPOSITE}, {@link #UNIT}, {@link #INERT}, {@link 
+     * #SPLIT} or {@link #RAMIFIED}, the last two possibly with {@link 
+     * #NO_PRINCIPAL_FACTORS} added. For example, for (3, 2) in 
+     * <b>Z</b>[&radic;&minus;5], this would be {@link #INERT}, since 3 + 
+     * 2&radic;&minus;5 has norm 29, and 29 splits in that ring.
+     */
+    public byte classify(int x, int y) {
+        int absX = Math.abs(x);
+        int absY = Math.abs(y);
+        if (absX >= this.columns || absY >= this.rows) {
+            this.ensureCoverage(absX, absY);
+        }
+        return this.cells[absY * this.columns + absX];
+    }
+    
+    /**
+     * Sets up a grid for the specified ring. No classification is done until 
+     * needed.
+     * @param ring The ring. For example, <b>Z</b>[&radic;&minus;5].
+     * @throws NullPointerException If <code>ring</code> is null.
+     */
+    public ImagQuadClassificationGrid(ImaginaryQuadraticRing ring) {
+        this.imagRing = ring;
+        this.absRadicand = -(long) ring.getRadicand();
+        this.halfIntFlag = ring.hasHalfIntegers();
+    }
+    
+}
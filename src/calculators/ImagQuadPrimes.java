@@ -0,0 +1,322 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package calculators;
+
+import algebraics.quadratics.ImaginaryQuadraticInteger;
+import algebraics.quadratics.ImaginaryQuadraticRing;
+
+import static calculators.NumberTheoreticFunctionsCalculator.cornacchia;
+import static calculators.NumberTheoreticFunctionsCalculator.cornacchiaModified;
+import static calculators.NumberTheoreticFunctionsCalculator.isqrt;
+import static calculators.NumberTheoreticFunctionsCalculator.mod;
+import static calculators.NumberTheoreticFunctionsCalculator.placeInPrimarySector;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Enumerates the primes of an imaginary quadratic ring up to a given norm. 
+ * Each prime is given once, placed in the primary sector by {@link 
+ * NumberTheoreticFunctionsCalculator#placeInPrimarySector}, so that, for 
+ * example, 2 + <i>i</i> is given but not &minus;1 + 2<i>i</i>, &minus;2 
+ * &minus; <i>i</i> nor 1 &minus; 2<i>i</i>.
+ * <p>Rather than going through the numbers of the ring in a box and checking 
+ * whether each one's norm is prime, this goes through the purely real primes 
+ * <i>p</i> up to the norm bound and works out the primes of the ring above 
+ * each one. If <i>p</i> is inert, <i>p</i> itself is a prime of norm 
+ * <i>p</i><sup>2</sup>. Otherwise the primes above <i>p</i> have norm 
+ * <i>p</i>, and they come from Cornacchia's algorithm, which finds a number of 
+ * norm <i>p</i> in O(log <i>p</i>) steps if there is one. If there is none, 
+ * the prime ideals above <i>p</i> are not principal and there are no primes 
+ * above <i>p</i> (though <i>p</i> may still be irreducible, like 3 in 
+ * <b>Z</b>[&radic;&minus;5]). The purely real primes are found with a sieve 
+ * of Eratosthenes processed in segments, and each stream from {@link 
+ * #stream()} can be split by segment for parallel processing, much like the 
+ * streams from {@link SquarefreeRange}.</p>
+ * @author Alonso del Arte
+ */
+public class ImagQuadPrimes {
+    
+    /**
+     * How many consecutive integers are sieved at a time for purely real 
+     * primes. A stream over fewer than twice this many integers will not split 
+     * for parallel processing.
+     */
+    public static final int SEGMENT_SIZE = 1 << 15;
+    
+    private final ImaginaryQuadraticRing imagRing;
+    
+    private final long absRadicand;
+    
+    private final boolean halfIntFlag;
+    
+    private final int normBound;
+    
+    private final int[] sievingPrimes;
+    
+    @Override
+    public String toString() {
+        return "Primes of " + this.imagRing.toASCIIString() 
+                + " with norm up to " + this.normBound;
+    }
+    
+    /**
+     * Retrieves the ring whose primes are enumerated.
+     * @return The ring, as passed to the constructor. For example, 
+     * <b>Z</b>[<i>i</i>].
+     */
+    public ImaginaryQuadraticRing getRing() {
+        return this.imagRing;
+    }
+    
+    /**
+     * Retrieves the norm bound.
+     * @return The norm bound, as passed to the constructor. For example, 100.
+     */
+    public int getNormBound() {
+        return this.normBound;
+    }
+    
+    /**
+     * Gives the primes of the ring up to the norm bound as a stream. The primes 
+     * above smaller purely real primes come first. Each call gives a new 
+     * stream, but the primes for the sieve are not recomputed.
+     * @return A sequential stream. For example, for <b>Z</b>[<i>i</i>] with 
+     * norm bound 20, 1 + <i>i</i>, 3, 2 + <i>i</i>, 2 &minus; <i>i</i>, 3 + 
+     * 2<i>i</i>, 3 &minus; 2<i>i</i>, 4 + <i>i</i>, 4 &minus; <i>i</i>. Call 
+     * <code>parallel()</code> on it to process it in parallel.
+     */
+    public Stream<ImaginaryQuadraticInteger> stream() {
+        return StreamSupport.stream(new SegmentSpliterator(2, 
+                this.normBound), false);
+    }
+    
+    /**
+     * Walks through the purely real primes in a subrange one segment at a 
+     * time. Since a split prime has two primes of the ring above it, the 
+     * second one is held over to the next call of <code>tryAdvance()</code>. 
+     * Splitting hands off the first half of the remaining subrange, rounded 
+     * down to a whole number of segments, to a new spliterator, as an ordered 
+     * spliterator should, but not while a prime is held over.
+     */
+    private final class SegmentSpliterator 
+            implements Spliterator<ImaginaryQuadraticInteger> {
+        
+        private final boolean[] crossedOff = new boolean[SEGMENT_SIZE];
+        
+        private final long[] coords = new long[2];
+        
+        private long cursor;
+        
+        private final long last;
+        
+        private long segmentStart = 0;
+        
+        private long segmentEnd = Long.MIN_VALUE;
+        
+        private ImaginaryQuadraticInteger heldOver = null;
+        
+        private void sieveSegmentFrom(long start) {
+            this.segmentStart = start;
+            this.segmentEnd = Math.min(start + SEGMENT_SIZE - 1, this.last);
+            int length = (int) (this.segmentEnd - this.segmentStart + 1);
+            Arrays.fill(this.crossedOff, 0, length, false);
+            for (int p : ImagQuadPrimes.this.sievingPrimes) {
+                long square = (long) p * p;
+                if (square > this.segmentEnd) {
+                    break;
+                }
+                long multiple = Math.max(square, this.segmentStart 
+                        + mod(-this.segmentStart, p));
+                while (multiple <= this.segmentEnd) {
+                    this.crossedOff[(int) (multiple - this.segmentStart)] 
+                            = true;
+                    multiple += p;
+                }
+            }
+        }
+        
+        private boolean isPrimeAtCursor() {
+            if (this.cursor > this.segmentEnd) {
+                this.sieveSegmentFrom(this.cursor);
+            }
+            return !this.crossedOff[(int) (this.cursor - this.segmentStart)];
+        }
+        
+        private ImaginaryQuadraticInteger primary(long x, long y, int denom) {
+            ImaginaryQuadraticInteger number = new ImaginaryQuadraticInteger( 
+                    (int) x, (int) y, ImagQuadPrimes.this.imagRing, denom);
+            return (ImaginaryQuadraticInteger) placeInPrimarySector(number);
+        }
+        
+        /**
+         * Gives the primes of the ring above a purely real prime.
+         * @param p The purely real prime. For example, 5.
+         * @param action What to do with each prime above <code>p</code>. For 
+         * example, with 5 in <b>Z</b>[<i>i</i>], this is done to 2 + <i>i</i>, 
+         * while 2 &minus; <i>i</i> is held over if <code>action</code> is for 
+         * only one prime.
+         * @param holdOver Whether to hold over the conjugate of a prime above 
+         * a split prime rather than give it to <code>action</code> right away.
+         * @return True if there was at least one prime above <code>p</code>, 
+         * false otherwise.
+         */
+        private boolean primesAbove(int p, 
+                Consumer<? super ImaginaryQuadraticInteger> action, 
+                boolean holdOver) {
+            ImagQuadPrimes outer = ImagQuadPrimes.this;
+            byte type = PrimeDecomposition.splittingType(outer.imagRing, p);
+            if (type == PrimeDecomposition.INERT) {
+                if ((long) p * p > outer.normBound) {
+                    return false;
+                }
+                action.accept(new ImaginaryQuadraticInteger(p, 0, 
+                        outer.imagRing));
+                return true;
+            }
+            boolean found = outer.halfIntFlag 
+                    ? cornacchiaModified(outer.absRadicand, p, this.coords) 
+                    : cornacchia(outer.absRadicand, p, this.coords);
+            if (!found) {
+                return false;
+            }
+            int denom = outer.halfIntFlag ? 2 : 1;
+            long x = this.coords[0];
+            long y = this.coords[1];
+            action.accept(this.primary(x, y, denom));
+            if (type == PrimeDecomposition.SPLIT) {
+                ImaginaryQuadraticInteger conjugate = this.primary(x, -y, 
+                        denom);
+                if (holdOver) {
+                    this.heldOver = conjugate;
+                } else {
+                    action.accept(conjugate);
+                }
+            }
+            return true;
+        }
+        
+        @Override
+        public boolean tryAdvance( 
+                Consumer<? super ImaginaryQuadraticInteger> action) {
+            if (this.heldOver != null) {
+                action.accept(this.heldOver);
+                this.heldOver = null;
+                return true;
+            }
+            while (this.cursor <= this.last) {
+                boolean prime = this.isPrimeAtCursor();
+                int p = (int) this.cursor;
+                this.cursor++;
+                if (prime && this.primesAbove(p, action, true)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        @Override
+        public void forEachRemaining( 
+                Consumer<? super ImaginaryQuadraticInteger> action) {
+            if (this.heldOver != null) {
+                action.accept(this.heldOver);
+                this.heldOver = null;
+            }
+            while (this.cursor <= this.last) {
+                if (this.isPrimeAtCursor()) {
+                    this.primesAbove((int) this.cursor, action, false);
+                }
+                this.cursor++;
+            }
+        }
+        
+        @Override
+        public Spliterator<ImaginaryQuadraticInteger> trySplit() {
+            long remaining = this.last - this.cursor;
+            if (this.heldOver != null || remaining < 2L * SEGMENT_SIZE) {
+                return null;
+            }
+            long mid = this.cursor 
+                    + Math.max(1, remaining / 2 / SEGMENT_SIZE) * SEGMENT_SIZE;
+            if (mid > this.last) {
+                return null;
+            }
+            SegmentSpliterator prefix = new SegmentSpliterator(this.cursor, 
+                    mid - 1);
+            this.cursor = mid;
+            this.segmentEnd = Long.MIN_VALUE;
+            return prefix;
+        }
+        
+        /**
+         * Estimates how many primes are left. Each purely real prime has at 
+         * most two primes of the ring above it, and there are roughly 
+         * <i>n</i>/log <i>n</i> purely real primes up to <i>n</i>.
+         * @return An estimate, possibly 0. For example, 2 &times; 10000/log 
+         * 10000 &asymp; 2171 for the primes of norm up to 10000.
+         */
+        @Override
+        public long estimateSize() {
+            if (this.cursor > this.last) {
+                return (this.heldOver == null) ? 0 : 1;
+            }
+            double span = this.last - this.cursor + 1;
+            return (long) (2 * span / Math.log(Math.max(this.last, 3)));
+        }
+        
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.DISTINCT 
+                    | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        }
+        
+        SegmentSpliterator(long first, long end) {
+            this.cursor = first;
+            this.last = end;
+        }
+    
+    }
+    
+    /**
+     * Sets up an enumeration of the primes of an imaginary quadratic ring up 
+     * to a given norm. No primes are found until needed.
+     * @param ring The ring. For example, <b>Z</b>[<i>i</i>].
+     * @param bound The norm bound, which will be included if it is the norm of 
+     * a prime. For example, 100. May be 0 or 1, in which case there are no 
+     * primes to enumerate.
+     * @throws IllegalArgumentException If <code>bound</code> is negative.
+     * @throws NullPointerException If <code>ring</code> is null.
+     */
+    public ImagQuadPrimes(ImaginaryQuadraticRing ring, int bound) {
+        if (bound < 0) {
+            String excMsg = "Norm bound " + bound + " should not be negative";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.imagRing = ring;
+        this.absRadicand = -(long) ring.getRadicand();
+        this.halfIntFlag = ring.hasHalfIntegers();
+        this.normBound = bound;
+        List<Integer> primes = EratosthenesSieve.listPrimes((int) isqrt(bound));
+        this.sievingPrimes = primes.stream().mapToInt(Integer::intValue) 
+                .toArray();
+    }
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package calculators;
+
+/**
+ * Tables of the M&ouml;bius function, the smallest prime factor, the squarefree 
+ * kernel and squarefreeness for all the positive integers up to a given limit. 
+ * The tables are filled in a single pass of a linear sieve, in which each 
+ * composite number is crossed off exactly once, by its smallest prime factor. 
+ * After that, each lookup is a single array access.
+ * <p>Lookups for negative numbers are also supported, by way of the absolute 
+ * value. Thus, for example, &mu;(&minus;<i>n</i>) = &mu;(<i>n</i>) and the 
+ * kernel of &minus;<i>n</i> is the kernel of <i>n</i> multiplied by 
+ * &minus;1. Lookups for 0 are not supported.</p>
+ * @author Alonso del Arte
+ */
+public class MultiplicativeFunctionSieve {
+    
+    private final int limit;
+    
+    private final int[] smallestPrimeFactors;
+    
+    private final byte[] moebiusValues;
+    
+    private final int[] kernels;
+    
+    private final long[] squarefreeBits;
+    
+    private final int primeCount;
+    
+    private int indexFor(int num) {
+        if (!this.covers(num)) {
+            String excMsg = "Number " + num 
+                    + " is not covered by sieve with limit " + this.limit;
+            throw new IllegalArgumentException(excMsg);
+        }
+        return Math.abs(num);
+    }
+    
+    /**
+     * Retrieves the limit this sieve was constructed with.
+     * @return The limit. For example, 65536.
+     */
+    public int getLimit() {
+        return this.limit;
+    }
+    
+    /**
+     * Tells how many primes there are up to the limit of this sieve. This is a 
+     * by-product of the linear sieve, which needs a list of primes as it goes 
+     * along.
+     * @return The number of primes up to the limit. For example, for a limit 
+     * of 100, this would be 25.
+     */
+    public int getPrimeCount() {
+        return this.primeCount;
+    }
+    
+    /**
+     * Tells whether or not a number can be looked up in this sieve.
+     * @param num The number to check. For example, &minus;8191.
+     * @return True if <code>num</code> is nonzero and its absolute value does 
+     * not exceed the limit, false otherwise. For example, true for &minus;8191 
+     * in a sieve with a limit of 65536, false for 0 and 65537.
+     */
+    public boolean covers(int num) {
+        return num != 0 && num != Integer.MIN_VALUE 
+                && Math.abs(num) <= this.limit;
+    }
+    
+    /**
+     * Gives the smallest prime factor of a number.
+     * @param num The number to look up. May be negative. For example, 
+     * &minus;91.
+     * @return The smallest positive prime factor of <code>num</code>, or 1 if 
+     * <code>num</code> is &minus;1 or 1. For example, 7.
+     * @throws IllegalArgumentException If <code>num</code> is not covered by 
+     * this sieve.
+     */
+    public int smallestPrimeFactor(int num) {
+        return this.smallestPrimeFactors[this.indexFor(num)];
+    }
+    
+    /**
+     * Gives the M&ouml;bius function of a number.
+     * @param num The number to look up. May be negative. For example, 
+     * &minus;30.
+     * @return &minus;1, 0 or 1. For example, &minus;1, since 30 = 2 &times; 3 
+     * &times; 5 has an odd number of prime factors.
+     * @throws IllegalArgumentException If <code>num</code> is not covered by 
+     * this sieve.
+     */
+    public byte moebiusMu(int num) {
+        return this.moebiusValues[this.indexFor(num)];
+    }
+    
+    /**
+     * Gives the squarefree kernel of a number, the product of its distinct 
+     * prime factors.
+     * @param num The number to look up. May be negative. For example, 
+     * &minus;392.
+     * @return The kernel, with the same sign as <code>num</code>. For example, 
+     * &minus;14.
+     * @throws IllegalArgumentException If <code>num</code> is not covered by 
+     * this sieve.
+     */
+    public int kernel(int num) {
+        int k = this.kernels[this.indexFor(num)];
+        return (num < 0) ? -k : k;
+    }
+    
+    /**
+     * Tells whether or not a number is squarefree.
+     * @param num The number to look up. May be negative. For example, 
+     * &minus;98.
+     * @return True if <code>num</code> is not divisible by the square of any 
+     * prime, false otherwise. For example, false, since 98 = 2 &times; 
+     * 7<sup>2</sup>. Note that &minus;1 and 1 are considered squarefree.
+     * @throws IllegalArgumentException If <code>num</code> is not covered by 
+     * this sieve.
+     */
+    public boolean isSquarefree(int num) {
+        int index = this.indexFor(num);
+        return (this.squarefreeBits[index >>> 6] & (1L << index)) != 0;
+    }
+    
+    /**
+     * Fills in the tables up to the given limit. This might take a noticeable 
+     * amount of time for limits in the tens of millions, so it's best to keep 
+     * an instance around rather than create a new one for each lookup.
+     * @param limit The largest number to fill in the tables for. For example, 
+     * 65536.
+     * @throws IllegalArgumentException If <code>limit</code> is less than 1 or 
+     * equal to <code>Integer.MAX_VALUE</code>.
+     */
+    public MultiplicativeFunctionSieve(int limit) {
+        if (limit < 1 || limit == Integer.MAX_VALUE) {
+            String excMsg = "Limit " + limit + " is out of range";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.limit = limit;
+        int size = limit + 1;
+        this.smallestPrimeFactors = new int[size];
+        this.moebiusValues = new byte[size];
+        this.kernels = new int[size];
+        this.squarefreeBits = new long[(size + 63) >>> 6];
+        int[] primes = new int[Math.max(16, (int) (1.26 * size 
+                / Math.log(Math.max(size, 3))) + 16)];
+        int count = 0;
+        this.smallestPrimeFactors[1] = 1;
+        this.moebiusValues[1] = 1;
+        this.kernels[1] = 1;
+        for (int i = 2; i <= limit; i++) {
+            if (this.smallestPrimeFactors[i] == 0) {
+                this.smallestPrimeFactors[i] = i;
+                this.moebiusValues[i] = -1;
+                this.kernels[i] = i;
+                primes[count++] = i;
+            }
+            int spf = this.smallestPrimeFactors[i];
+            for (int j = 0; j < count; j++) {
+                int p = primes[j];
+                long multiple = (long) i * p;
+                if (p > spf || multiple > limit) {
+                    break;
+                }
+                int m = (int) multiple;
+                this.smallestPrimeFactors[m] = p;
+                if (p == spf) {
+                    this.kernels[m] = this.kernels[i];
+                } else {
+                    this.moebiusValues[m] = (byte) -this.moebiusValues[i];
+                    this.kernels[m] = this.kernels[i] * p;
+                }
+            }
+        }
+        for (int n = 1; n <= limit; n++) {
+            if (this.moebiusValues[n] != 0) {
+                this.squarefreeBits[n >>> 6] |= 1L << n;
+            }
+        }
+        this.primeCount = count;
+    }
+    
+}
@@ -32,11 +32,15 @@ import arithmetic.NonUniqueFactorizationDomainException;
 import arithmetic.NotDivisibleException;
 import arithmetic.comparators.NormAbsoluteComparator;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 /**
  * A collection of number theoretic functions, including basic primality testing 
@@ -48,6 +52,23 @@ public class NumberTheoreticFunctionsCalculator {
     private static final NormAbsoluteComparator COMPARATOR 
             = new NormAbsoluteComparator();
     
+    /**
+     * How far the tables of {@link #SMALL_NUMBERS_SIEVE} go. This is enough to 
+     * cover the discriminants stepped through by the ring viewers, with plenty 
+     * of room to spare.
+     */
+    private static final int SMALL_NUMBERS_SIEVE_LIMIT = 1 << 16;
+    
+    /**
+     * Lookup tables for {@link #isSquarefree(int)}, {@link #moebiusMu(int)} and 
+     * {@link #kernel(int)}, so that those functions need not factorize their 
+     * arguments when the arguments are small enough. This needs to be 
+     * initialized before any of the ring constants, since the ring constructors 
+     * check their radicands with <code>isSquarefree()</code>.
+     */
+    private static final MultiplicativeFunctionSieve SMALL_NUMBERS_SIEVE 
+            = new MultiplicativeFunctionSieve(SMALL_NUMBERS_SIEVE_LIMIT);
+    
     /**
      * The only twenty-one values of <i>d</i> such that 
      * <i>O</i><sub><b>Q</b>(&radic;<i>d</i>)</sub> is a unique factorization 
@@ -90,6 +111,67 @@ public class NumberTheoreticFunctionsCalculator {
     public static final int[] NORM_EUCLIDEAN_QUADRATIC_REAL_RINGS_D = {2, 3, 5, 
         6, 7, 11, 13, 17, 19, 21, 29, 33, 37, 41, 57, 73};
     
+    /**
+     * Added to a radicand to get its bit position in {@link 
+     * #NORM_EUCLIDEAN_RADICANDS_MASK}, so that &minus;11 goes to bit 0.
+     */
+    private static final int NORM_EUCLIDEAN_RADICANDS_OFFSET = 11;
+    
+    /**
+     * The values of {@link #NORM_EUCLIDEAN_QUADRATIC_RINGS_D} as bits, so that 
+     * checking whether a ring is norm-Euclidean takes one array access rather 
+     * than a scan of the array.
+     */
+    private static final long[] NORM_EUCLIDEAN_RADICANDS_MASK = new long[2];
+    
+    static {
+        for (int d : NORM_EUCLIDEAN_QUADRATIC_RINGS_D) {
+            int index = d + NORM_EUCLIDEAN_RADICANDS_OFFSET;
+            NORM_EUCLIDEAN_RADICANDS_MASK[index >>> 6] |= 1L << (index & 63);
+        }
+    }
+    
+    /**
+     * The fundamental units of the real norm-Euclidean rings, indexed by 
+     * radicand, in the integral basis. That is, {<i>x</i>, <i>y</i>} stands 
+     * for <i>x</i> + <i>y</i>&theta;, where &theta; is either &radic;<i>d</i> 
+     * or <sup>1</sup>&frasl;<sub>2</sub> + 
+     * <sup>&radic;<i>d</i></sup>&frasl;<sub>2</sub>. For example, the entry for 
+     * 17 is {3, 2}, for 3 + 2&theta; = 4 + &radic;17. The Euclidean GCD uses 
+     * these to keep remainders from growing large parts even as their norms 
+     * go down.
+     */
+    private static final long[][] NORM_EUCLIDEAN_REAL_UNITS = new long[74][];
+    
+    static {
+        NORM_EUCLIDEAN_REAL_UNITS[2] = new long[]{1, 1};
+        NORM_EUCLIDEAN_REAL_UNITS[3] = new long[]{2, 1};
+        NORM_EUCLIDEAN_REAL_UNITS[5] = new long[]{0, 1};
+        NORM_EUCLIDEAN_REAL_UNITS[6] = new long[]{5, 2};
+        NORM_EUCLIDEAN_REAL_UNITS[7] = new long[]{8, 3};
+        NORM_EUCLIDEAN_REAL_UNITS[11] = new long[]{10, 3};
+        NORM_EUCLIDEAN_REAL_UNITS[13] = new long[]{1, 1};
+        NORM_EUCLIDEAN_REAL_UNITS[17] = new long[]{3, 2};
+        NORM_EUCLIDEAN_REAL_UNITS[19] = new long[]{170, 39};
+        NORM_EUCLIDEAN_REAL_UNITS[21] = new long[]{2, 1};
+        NORM_EUCLIDEAN_REAL_UNITS[29] = new long[]{2, 1};
+        NORM_EUCLIDEAN_REAL_UNITS[33] = new long[]{19, 8};
+        NORM_EUCLIDEAN_REAL_UNITS[37] = new long[]{5, 2};
+        NORM_EUCLIDEAN_REAL_UNITS[41] = new long[]{27, 10};
+        NORM_EUCLIDEAN_REAL_UNITS[57] = new long[]{131, 40};
+        NORM_EUCLIDEAN_REAL_UNITS[73] = new long[]{943, 250};
+    }
+    
+    /**
+     * How far from the rounded quotient, in steps of the surd part, to look 
+     * for a quotient leaving a remainder of smaller norm in a real quadratic 
+     * ring. Rounding alone is enough in the imaginary norm-Euclidean rings, 
+     * but not in the real ones. The worst case found in testing was 
+     * <b>Z</b>[&radic;19], which sometimes needs a quotient about twenty steps 
+     * away.
+     */
+    private static final int EUCLIDEAN_REMAINDER_SEARCH_RADIUS = 64;
+    
     /**
      * There are the only nine negative numbers d such that the ring of 
      * algebraic integers of <b>Q</b>(&radic;d) is a unique factorization domain 
@@ -150,8 +232,8 @@ public class NumberTheoreticFunctionsCalculator {
             = new RealQuadraticInteger(1, 1, RING_ZPHI, 2);
     
     // TODO: Better algorithm so as to not need units cache
-    private static final HashMap<IntegerRing, AlgebraicInteger> UNITS_CACHE 
-            = new HashMap<>();
+    private static final Map<IntegerRing, AlgebraicInteger> UNITS_CACHE 
+            = new ConcurrentHashMap<>();
     
     static {
         RealQuadraticRing ring = new RealQuadraticRing(139);
@@ -180,8 +262,8 @@ public class NumberTheoreticFunctionsCalculator {
      */
     private static final int SURD_PART_CACHE_THRESHOLD = 1000;
     
-    private static final HashMap<IntegerRing, Integer> CLASS_NUMBERS_CACHE 
-            = new HashMap<>();
+    private static final Map<IntegerRing, Integer> CLASS_NUMBERS_CACHE 
+            = new ConcurrentHashMap<>();
     
     static {
         RealQuadraticRing ring = new RealQuadraticRing(199);
@@ -190,6 +272,56 @@ public class NumberTheoreticFunctionsCalculator {
     
     private static final Random RANDOM = new Random();
     
+    /**
+     * The largest number whose square fits in a <code>long</code>, 
+     * 3037000499.
+     */
+    private static final long MAX_LONG_SQUARE_ROOT = 3037000499L;
+    
+    /**
+     * When the square of the power of 2 in <i>p</i> &minus; 1 exceeds this 
+     * many times the bit length of <i>p</i>, the inner loop of the 
+     * Tonelli&ndash;Shanks algorithm, which is quadratic in that power, would 
+     * cost more than the exponentiation in Cipolla's algorithm.
+     */
+    private static final int CIPOLLA_CROSSOVER = 6;
+    
+    /**
+     * The product of 63, 65 and 11. A number's remainder modulo this number 
+     * gives its remainders modulo 63, 65 and 11 without three separate 
+     * <code>long</code> divisions.
+     */
+    private static final int QUADRATIC_RESIDUE_FILTERS_MODULUS = 63 * 65 * 11;
+    
+    private static final BigInteger QUADRATIC_RESIDUE_FILTERS_BIG_MODULUS 
+            = BigInteger.valueOf(QUADRATIC_RESIDUE_FILTERS_MODULUS);
+    
+    private static final long QUADRATIC_RESIDUES_MOD_64 
+            = quadraticResiduesMask(64);
+    
+    private static final long QUADRATIC_RESIDUES_MOD_63 
+            = quadraticResiduesMask(63);
+    
+    private static final long[] QUADRATIC_RESIDUES_MOD_65 = new long[2];
+    
+    static {
+        for (int i = 0; i < 65; i++) {
+            int residue = (i * i) % 65;
+            QUADRATIC_RESIDUES_MOD_65[residue >>> 6] |= 1L << (residue & 63);
+        }
+    }
+    
+    private static final int QUADRATIC_RESIDUES_MOD_11 
+            = (int) quadraticResiduesMask(11);
+    
+    private static long quadraticResiduesMask(int modulus) {
+        long mask = 0L;
+        for (int i = 0; i < modulus; i++) {
+            mask |= 1L << ((i * i) % modulus);
+        }
+        return mask;
+    }
+    
     /**
      * Calculates the remainder of the division of <i>n</i> by <i>m</i>. This 
      * function gives the same result as the <code>%</code> operator if <i>n</i> 
@@ -366,6 +498,15 @@ public class NumberTheoreticFunctionsCalculator {
         }
     }
     
+    // Whether n, up to sign, is a rational prime that stays prime in the ring
+    private static boolean isInertPrime(QuadraticRing ring, int n) {
+        if (n == Integer.MIN_VALUE || !isPrime(Math.abs(n))) {
+            return false;
+        }
+        return PrimeDecomposition.splittingType(ring, Math.abs(n)) 
+                == PrimeDecomposition.INERT;
+    }
+    
     /**
      * Determines whether a given algebraic integer is prime or not. It is not 
      * enough for the number to be irreducible, it must be prime and not a unit, 
@@ -403,11 +544,7 @@ public class NumberTheoreticFunctionsCalculator {
             int radic = n.getRing().getRadicand();
             int surdPart = n.getSurdPartMult();
             if (radic == -1 && n.getRegPartMult() == 0) {
-                if (isPrime(surdPart)) {
-                    return ((Math.abs(surdPart)) % 4 == 3);
-                } else {
-                    return false;
-                }
+                return isInertPrime(n.getRing(), surdPart);
             }
             if (radic == -3 && surdPart != 0) {
                 QuadraticInteger pureReal = n.times(COMPLEX_CUBIC_ROOT_OF_UNITY);
@@ -415,47 +552,12 @@ public class NumberTheoreticFunctionsCalculator {
                     pureReal = pureReal.times(COMPLEX_CUBIC_ROOT_OF_UNITY);
                 }
                 if (pureReal.getSurdPartMult() == 0) {
-                    if (pureReal.getRegPartMult() < 0) {
-                        pureReal = pureReal.times(-1);
-                    }
-                    if (isPrime(pureReal.getRegPartMult())) {
-                        return (pureReal.getRegPartMult() % 3 == 2);
-                    } else {
-                        return false;
-                    }
+                    return isInertPrime(n.getRing(), 
+                            pureReal.getRegPartMult());
                 }
             }
             if (surdPart == 0) {
-                int absRegPartMult = Math.abs(n.getRegPartMult());
-                if (absRegPartMult == 2) {
-                    byte symbol = symbolKronecker(radic, 2);
-                    if (radic % 4 == -1 || radic % 4 == 3) {
-                        symbol = 0;
-                    }
-                    return (symbol == -1);
-                }
-                if (isPrime(absRegPartMult)) {
-                    switch (radic) {
-//                        case -163:
-//                        case -67:
-//                        case -43:
-//                        case -19:
-//                        case -11:
-//                        case -7:
-//                            return (symbolLegendre(num.imagQuadRing.negRad, absRealPartMult) == -1);
-                        case -3:
-                            return (absRegPartMult % 3 == 2);
-                        case -2:
-                            return (absRegPartMult % 8 == 5 || absRegPartMult % 8 == 7);
-                        case -1:
-                            return (absRegPartMult % 4 == 3);
-//                        cases 2, 3, 5, 6, 7, 11, 13, 17, 19, 21, 29, 33, 37, 41, 57, 73:
-                        default:
-                            return (symbolLegendre(radic, absRegPartMult) == -1);
-                    }
-                } else {
-                    return false;
-                }
+                return isInertPrime(n.getRing(), n.getRegPartMult());
             } else {
                 return false;
             }
@@ -482,8 +584,11 @@ public class NumberTheoreticFunctionsCalculator {
     
     // TODO: Rewrite tests for this
     /**
-     * The Jacobi symbol, a number theoretic function. This implementation is 
-     * almost entirely dependent on the Legendre symbol.
+     * The Jacobi symbol, a number theoretic function. This implementation uses 
+     * quadratic reciprocity and the supplementary law for 2 to keep reducing 
+     * the arguments, as in the Euclidean algorithm, so it takes only 
+     * O(log <i>m</i>) steps and does not need to factorize <i>m</i>. For 
+     * <i>m</i> prime, it's the same as the Legendre symbol.
      * @param n Parameter n, for example, 8.
      * @param m Parameter m, for example, 15.
      * @return The result, for example, 1.
@@ -492,7 +597,29 @@ public class NumberTheoreticFunctionsCalculator {
      * @since Version 0.2
      */
     public static byte symbolJacobi(int n, int m) {
-        return symbolLegendre(n, m);
+        if (m < 1 || m % 2 == 0) {
+            String excMsg = "Jacobi(" + n + ", " + m + ") is not defined, " 
+                    + m + " is not an odd positive number";
+            throw new IllegalArgumentException(excMsg);
+        }
+        int a = mod(n, m);
+        int b = m;
+        byte result = 1;
+        while (a != 0) {
+            int twos = Integer.numberOfTrailingZeros(a);
+            a >>= twos;
+            int bMod8 = b % 8;
+            if ((twos & 1) == 1 && (bMod8 == 3 || bMod8 == 5)) {
+                result = (byte) -result;
+            }
+            if (a % 4 == 3 && b % 4 == 3) {
+                result = (byte) -result;
+            }
+            int swap = a;
+            a = b % a;
+            b = swap;
+        }
+        return (b == 1) ? result : 0;
     }
     
     private static byte symbolKroneckerNegOne(int n) {
@@ -514,16 +641,46 @@ public class NumberTheoreticFunctionsCalculator {
     
     // TODO: Rewrite tests for this
     /**
-     * The Kronecker symbol, a number theoretic function. This implementation 
-     * relies in great part on the Legendre symbol, but not at all on the Jacobi 
-     * symbol.
+     * The Kronecker symbol, a number theoretic function. The factors of 
+     * &minus;1 and 2 in <i>m</i> are dealt with separately, and what's left 
+     * of <i>m</i> goes to the Jacobi symbol. For a discriminant <i>D</i> of a 
+     * quadratic ring and a prime <i>p</i>, Kronecker(<i>D</i>, <i>p</i>) is 1 
+     * if <i>p</i> splits in the ring, 0 if it ramifies and &minus;1 if it's 
+     * inert.
      * @param n Parameter n, for example, 3.
      * @param m Parameter m, for example, 2.
      * @return The result, for example, &minus;1.
      * @since Version 0.3
      */
     public static byte symbolKronecker(int n, int m) {
-        return symbolLegendre(n, m);
+        if (m == 0) {
+            return (byte) ((n == 1 || n == -1) ? 1 : 0);
+        }
+        byte result = 1;
+        if (m < 0) {
+            result = symbolKroneckerNegOne(n);
+        }
+        int twos = Integer.numberOfTrailingZeros(m);
+        if (twos > 0 && n % 2 == 0) {
+            return 0;
+        }
+        if ((twos & 1) == 1) {
+            result *= symbolKroneckerTwo(n);
+        }
+        int oddPart = Math.abs(m >> twos);
+        if (oddPart == 1) {
+            return result;
+        }
+        return (byte) (result * symbolJacobi(n, oddPart));
+    }
+    
+    static boolean isNormEuclidean(int d) {
+        int index = d + NORM_EUCLIDEAN_RADICANDS_OFFSET;
+        if (index < 0 || index > 127) {
+            return false;
+        }
+        return (NORM_EUCLIDEAN_RADICANDS_MASK[index >>> 6] 
+                & (1L << (index & 63))) != 0;
     }
     
     private static boolean isImQuadUFD(ImaginaryQuadraticRing ring) {
@@ -543,11 +700,7 @@ public class NumberTheoreticFunctionsCalculator {
         int d = ring.getRadicand();
         boolean ufdFlag = false;
         if (d > 0) {
-            for (int normEuclRealD : NORM_EUCLIDEAN_QUADRATIC_REAL_RINGS_D) {
-                if (d == normEuclRealD) {
-                    ufdFlag = true;
-                }
-            }
+            ufdFlag = isNormEuclidean(d);
             if (!ufdFlag) {
                 ufdFlag = fieldClassNumber(ring) == 1;
             }
@@ -595,6 +748,66 @@ public class NumberTheoreticFunctionsCalculator {
         throw new UnsupportedNumberDomainException(excMsg, ring);
     }
     
+    // Divides the primes above the rational prime p out of number, as many 
+    // times as they go in, and adds them to factors. In a UFD, the primes 
+    // above a prime that splits or ramifies are a number with norm p or -p 
+    // and its conjugate, found without any trial divisions. Dividing by a 
+    // prime is multiplying by its conjugate and dividing by its norm. In a 
+    // real ring, dividing by a prime that isn't rational also multiplies by 
+    // a unit, so the quotients would keep growing unless some unit is moved 
+    // from each quotient to the prime it came from, for as long as that 
+    // brings the "surd" part of the quotient down
+    private static QuadraticInteger divideOutPrimesAbove(
+            QuadraticInteger number, int p, List<AlgebraicInteger> factors) {
+        QuadraticRing ring = number.getRing();
+        PrimeDecomposition decomposition = new PrimeDecomposition(ring, p);
+        QuadraticInteger[] primes;
+        if (decomposition.getSplittingType() == PrimeDecomposition.INERT) {
+            primes = new QuadraticInteger[] {QuadraticInteger.apply(p, 0, ring)};
+        } else {
+            Optional<QuadraticInteger> splitter = decomposition.getSplitter();
+            if (!splitter.isPresent()) {
+                String excMsg = "Unable to find a number with norm " + p 
+                        + " in " + ring.toASCIIString();
+                throw new ArithmeticException(excMsg);
+            }
+            primes = new QuadraticInteger[] {splitter.get(), 
+                splitter.get().conjugate()};
+        }
+        QuadraticInteger[] units = {};
+        if (ring instanceof RealQuadraticRing && primes.length > 1) {
+            QuadraticInteger unit = (QuadraticInteger) fundamentalUnit(ring);
+            QuadraticInteger inverse = unit.conjugate().times((int) unit.norm());
+            units = new QuadraticInteger[] {unit, inverse};
+        }
+        QuadraticInteger quotient = number;
+        for (QuadraticInteger prime : primes) {
+            int primeNorm = (int) prime.norm();
+            QuadraticInteger primeConjugate = prime.conjugate();
+            boolean divisible = true;
+            while (divisible && quotient.norm() % primeNorm == 0) {
+                try {
+                    quotient = quotient.times(primeConjugate) 
+                            .divides(primeNorm);
+                    QuadraticInteger factor = prime;
+                    for (int i = 0; i < units.length; i++) {
+                        QuadraticInteger next = quotient.times(units[i]);
+                        while (Math.abs(next.getSurdPartMult()) 
+                                < Math.abs(quotient.getSurdPartMult())) {
+                            quotient = next;
+                            factor = factor.times(units[1 - i]);
+                            next = quotient.times(units[i]);
+                        }
+                    }
+                    factors.add(factor);
+                } catch (NotDivisibleException nde) {
+                    divisible = false;
+                }
+            }
+        }
+        return quotient;
+    }
+    
     private static List<AlgebraicInteger> factorize(QuadraticInteger number) {
         ArrayList<AlgebraicInteger> factors = new ArrayList<>();
         QuadraticInteger unity = number.minus(number).plus(1);
@@ -614,87 +827,18 @@ public class NumberTheoreticFunctionsCalculator {
             factors.add(number);
             number = unity; // Prime divided by itself is 1
         } else {
-            QuadraticInteger testDivisor = unity.plus(1); // Should be 2
-            boolean keepGoing = true;
-            if (isPrime(testDivisor)) {
-                while (number.norm() % 4 == 0) {
-                    try {
-                        number = number.divides(testDivisor);
-                        factors.add(testDivisor);
-                    } catch (NotDivisibleException nde) {
-                        keepGoing = ((Math.abs(nde.getNumericRealPart()) > 1) || (Math.abs(nde.getNumericImagPart()) > 1));
-                    }
-                }
-            }
-            testDivisor = testDivisor.plus(1);
-            while (Math.abs(number.norm()) > Math.abs(testDivisor.norm()) 
-                    && keepGoing) {
-                if (isPrime(testDivisor)) {
-                    while (number.norm() % testDivisor.norm() == 0) {
-                        try {
-                            number = number.divides(testDivisor);
-                            factors.add(testDivisor);
-                        } catch (NotDivisibleException nde) {
-                            if (d < 0) {
-                                keepGoing = ((Math.abs(nde.getNumericRealPart()) > 1) 
-                                        || (Math.abs(nde.getNumericImagPart()) > 1));
-                            } else {
-                                keepGoing = (Math.abs(testDivisor.norm()) <= Math.abs(number.norm()));
-                            }
-                        }
-                    }
-                }
-                testDivisor = testDivisor.plus(2);
-            }
-            int testDivRegPartMult = 0;
-            int testDivSurdPartMult = 2; // These will be divided by 2 regardless of d = 1 mod 4 or not
-            if (number.getRing().hasHalfIntegers()) {
-                testDivRegPartMult = 1;
-                testDivSurdPartMult = 1;
-            }
-            boolean withinRange;
-            while (Math.abs(number.norm()) > 1) {
-                if (d < 0) {
-                    testDivisor = new ImaginaryQuadraticInteger(testDivRegPartMult, testDivSurdPartMult, number.getRing(), 2);
-                } else {
-                    testDivisor = new RealQuadraticInteger(testDivRegPartMult, testDivSurdPartMult, number.getRing(), 2);
+            long remainingNorm = Math.abs(number.norm());
+            long p = 2;
+            while (remainingNorm > 1) {
+                if (p * p > remainingNorm) {
+                    p = remainingNorm;
                 }
-                if (d < 0) {
-                    withinRange = (testDivisor.norm() <= number.norm());
-                } else {
-                    withinRange = (testDivisor.norm() <= Math.abs(number.norm()));
-                }
-                if (isPrime(testDivisor)) {
-                    while (number.norm() % testDivisor.norm() == 0) {
-                        try {
-                            number = number.divides(testDivisor.conjugate());
-                            factors.add(testDivisor.conjugate());
-                        } catch (NotDivisibleException nde) {
-                            // withinRange = withinRange && ((Math.abs(nde.getNumericRealPart()) > 1) || (Math.abs(nde.getNumericImagPart()) > 1));
-                        }
-                        try {
-                            number = number.divides(testDivisor);
-                            factors.add(testDivisor);
-                        } catch (NotDivisibleException nde) {
-                            // withinRange = withinRange && ((Math.abs(nde.getNumericRealPart()) > 1) || (Math.abs(nde.getNumericImagPart()) > 1));
-                        }
-                    }
-                }
-                if (withinRange) {
-                    testDivRegPartMult += 2;
-                } else {
-                    if (!number.getRing().hasHalfIntegers()) {
-                        testDivRegPartMult = 0;
-                        testDivSurdPartMult += 2;
-                    } else {
-                        if (testDivSurdPartMult % 2 == 0) {
-                            testDivRegPartMult = 1;
-                        } else {
-                            testDivRegPartMult = 0;
-                        }
-                        testDivSurdPartMult++;
-                    }
+                if (remainingNorm % p == 0) {
+                    number = divideOutPrimesAbove(number, Math.toIntExact(p), 
+                            factors);
+                    remainingNorm = Math.abs(number.norm());
                 }
+                p += (p == 2) ? 1 : 2;
             }
             factors.add(number); // This should be a unit, most likely -1 or 1
         }
@@ -800,13 +944,7 @@ public class NumberTheoreticFunctionsCalculator {
                     QuadraticInteger number = (QuadraticInteger) num;
                     QuadraticRing r = number.getRing();
                     int d = r.getRadicand();
-                    boolean normEuclD = false;
-                    for (int euclD : NORM_EUCLIDEAN_QUADRATIC_RINGS_D) {
-                        if (d == euclD) {
-                            normEuclD = true;
-                        }
-                    }
-                    if (normEuclD) {
+                    if (isNormEuclidean(d)) {
                         return isPrime(number);
                     } else {
                         boolean withinRange = true;
@@ -1149,7 +1287,10 @@ public class NumberTheoreticFunctionsCalculator {
      * For version 0.95, this was optimized to try the number modulo 4, and if 
      * it's not divisible by 4, to try dividing it by odd squares. Although this 
      * includes odd squares like 9 and 81, it still makes for a performance 
-     * improvement over relying on <code>primeFactors(int)</code>.
+     * improvement over relying on <code>primeFactors(int)</code>. Now numbers 
+     * up to 65536 in absolute value are looked up in a table filled in by a 
+     * {@link MultiplicativeFunctionSieve}, and only numbers beyond that are 
+     * tried by division.
      * @param num The number to be tested for being squarefree.
      * @return True if the number is squarefree, false otherwise. For example, 
      * &minus;3 and 7 should each return true, &minus;4, 0 and 25 should each 
@@ -1157,6 +1298,9 @@ public class NumberTheoreticFunctionsCalculator {
      * num = 1, this function should return true.
      */
     public static boolean isSquarefree(int num) {
+        if (SMALL_NUMBERS_SIEVE.covers(num)) {
+            return SMALL_NUMBERS_SIEVE.isSquarefree(num);
+        }
         switch (num) {
             case -1:
             case 1:
@@ -1253,13 +1397,82 @@ public class NumberTheoreticFunctionsCalculator {
         return nextSquarefree(n, 1);
     }
     
+    /**
+     * Computes the integer square root of a nonnegative integer, that is, the 
+     * largest integer whose square is not greater than the given integer. A 
+     * floating point estimate is refined with one Newton step and then 
+     * corrected, so the result is exact across the whole range of 
+     * <code>long</code>.
+     * @param num The number to take the integer square root of. Must not be 
+     * negative. For example, 4611686014132420609.
+     * @return The integer square root. For example, 2147483647, since 
+     * 2147483647<sup>2</sup> = 4611686014132420609. For 99, this would be 9, 
+     * since 9<sup>2</sup> = 81 &lt; 99 &lt; 100 = 10<sup>2</sup>.
+     * @throws ArithmeticException If <code>num</code> is negative.
+     */
+    public static long isqrt(long num) {
+        if (num < 0) {
+            String excMsg = "Square root of " + num 
+                    + " is not a real number";
+            throw new ArithmeticException(excMsg);
+        }
+        if (num < 2) {
+            return num;
+        }
+        long root = Math.min((long) Math.sqrt(num), MAX_LONG_SQUARE_ROOT);
+        root = Math.min((root + num / root) >>> 1, MAX_LONG_SQUARE_ROOT);
+        while (root * root > num) {
+            root--;
+        }
+        while (root < MAX_LONG_SQUARE_ROOT && (root + 1) * (root + 1) <= num) {
+            root++;
+        }
+        return root;
+    }
+    
+    /**
+     * Computes the integer square root of a nonnegative integer, that is, the 
+     * largest integer whose square is not greater than the given integer.
+     * @param num The number to take the integer square root of. Must not be 
+     * negative. For example, 2<sup>100</sup> + 1.
+     * @return The integer square root. For example, 2<sup>50</sup>.
+     * @throws ArithmeticException If <code>num</code> is negative.
+     * @throws NullPointerException If <code>num</code> is null.
+     */
+    public static BigInteger isqrt(BigInteger num) {
+        if (num.signum() < 0) {
+            String excMsg = "Square root of " + num.toString() 
+                    + " is not a real number";
+            throw new ArithmeticException(excMsg);
+        }
+        return num.sqrt();
+    }
+    
+    private static boolean passesQuadraticResidueFilters(int lowBits, 
+            int residue) {
+        if (((QUADRATIC_RESIDUES_MOD_64 >>> lowBits) & 1L) == 0) {
+            return false;
+        }
+        if (((QUADRATIC_RESIDUES_MOD_63 >>> (residue % 63)) & 1L) == 0) {
+            return false;
+        }
+        int residue65 = residue % 65;
+        if (((QUADRATIC_RESIDUES_MOD_65[residue65 >>> 6] 
+                >>> (residue65 & 63)) & 1L) == 0) {
+            return false;
+        }
+        return ((QUADRATIC_RESIDUES_MOD_11 >>> (residue % 11)) & 1) != 0;
+    }
+    
     /**
      * Determines whether or not an integer is a perfect square. Note that 
      * although 1 is considered by this program to be squarefree, it is also 
      * considered to be a perfect square.
-     * <p>Be aware that since this function uses floating point operations, 
-     * results are not guaranteed to be correct for integers greater than 
-     * 2<sup>53</sup>.</p>
+     * <p>Most numbers that are not perfect squares are ruled out by checking 
+     * whether they're quadratic residues modulo 64, 63, 65 and 11, which only 
+     * takes table lookups. The few numbers that pass those filters are checked 
+     * with {@link #isqrt(long)}, so the result is exact across the whole range 
+     * of <code>long</code>.</p>
      * @param num The number to be tested. Examples: 81, &minus;81, 82.
      * @return True if the number is 0 or a square of a nonzero integer, false 
      * in any other case. For example, 81 is a perfect square since &minus;9 
@@ -1269,15 +1482,40 @@ public class NumberTheoreticFunctionsCalculator {
      */
     public static boolean isPerfectSquare(long num) {
         if (num < 0) return false;
-        double sqrt = Math.sqrt(num);
-        double flooredRoot = Math.floor(sqrt);
-        return sqrt == flooredRoot;
+        int residue = (int) (num % QUADRATIC_RESIDUE_FILTERS_MODULUS);
+        if (!passesQuadraticResidueFilters((int) (num & 63), residue)) {
+            return false;
+        }
+        long root = isqrt(num);
+        return root * root == num;
     }
     
     /**
-     * Gives the squarefree kernel of an integer. The current implementation 
-     * works by obtaining the prime factorization of the number, deleting 
-     * duplicate factors and then multiplying the factors that remain.
+     * Determines whether or not an integer is a perfect square. This uses the 
+     * same quadratic residue filters as {@link #isPerfectSquare(long)} before 
+     * resorting to an integer square root computation.
+     * @param num The number to be tested. For example, 2<sup>100</sup>.
+     * @return True if the number is 0 or a square of a nonzero integer, false 
+     * in any other case. For example, true for 2<sup>100</sup>, false for 
+     * 2<sup>100</sup> + 1 and &minus;2<sup>100</sup>.
+     * @throws NullPointerException If <code>num</code> is null.
+     */
+    public static boolean isPerfectSquare(BigInteger num) {
+        if (num.signum() < 0) return false;
+        int lowBits = num.intValue() & 63;
+        int residue = num.mod(QUADRATIC_RESIDUE_FILTERS_BIG_MODULUS).intValue();
+        if (!passesQuadraticResidueFilters(lowBits, residue)) {
+            return false;
+        }
+        return num.sqrtAndRemainder()[1].signum() == 0;
+    }
+    
+    /**
+     * Gives the squarefree kernel of an integer. For numbers up to 65536 in 
+     * absolute value, the kernel is looked up in a table filled in by a {@link 
+     * MultiplicativeFunctionSieve}. For numbers beyond that, the current 
+     * implementation works by obtaining the prime factorization of the number, 
+     * deleting duplicate factors and then multiplying the factors that remain.
      * @param num The number for which to find the squarefree kernel of. May be 
      * negative. For example, &minus;392.
      * @return The squarefree kernel of the given number. Should be positive for 
@@ -1286,6 +1524,9 @@ public class NumberTheoreticFunctionsCalculator {
      * input of 0, but this is not guaranteed for future implementations.
      */
     public static int kernel(int num) {
+        if (SMALL_NUMBERS_SIEVE.covers(num)) {
+            return SMALL_NUMBERS_SIEVE.kernel(num);
+        }
         List<Integer> factors = primeFactors(num);
         for (int i = factors.size() - 1; i > 0; i--) {
             if (factors.get(i).equals(factors.get(i - 1))) {
@@ -1300,7 +1541,9 @@ public class NumberTheoreticFunctionsCalculator {
     }
     
     /**
-     * Computes the M&ouml;bius function &mu; for a given integer.
+     * Computes the M&ouml;bius function &mu; for a given integer. For numbers 
+     * up to 65536 in absolute value, the result is looked up in a table filled 
+     * in by a {@link MultiplicativeFunctionSieve}.
      * @param num The integer for which to compute the M&ouml;bius function.
      * @return 1 if num is squarefree with an even number of prime factors, 
      * &minus;1 if num is squarefree with an odd number of prime factors, 0 if 
@@ -1309,6 +1552,9 @@ public class NumberTheoreticFunctionsCalculator {
      * &mu;(32) = 0 and &mu;(33) = 1.
      */
     public static byte moebiusMu(int num) {
+        if (SMALL_NUMBERS_SIEVE.covers(num)) {
+            return SMALL_NUMBERS_SIEVE.moebiusMu(num);
+        }
         switch (num) {
             case -1:
             case 1:
@@ -1356,6 +1602,728 @@ public class NumberTheoreticFunctionsCalculator {
         }
         return currB;
     }
+    
+    /**
+     * Computes the greatest common divisor (GCD) of two purely real integers by 
+     * using the binary GCD algorithm (also known as Stein's algorithm). This 
+     * gives the same results as {@link #euclideanGCD(long, long)} but uses only 
+     * shifts and subtractions, no divisions, which makes it the better choice 
+     * for hot paths like the reduction of fractions to lowest terms.
+     * @param a One of the two integers. May be negative, need not be greater 
+     * than the other. For example, 114.
+     * @param b One of the two integers. May be negative, need not be smaller 
+     * than the other. For example, 152.
+     * @return The GCD as a 64-bit integer. For example, 38. If one of 
+     * <code>a</code> or <code>b</code> is 0, the result will be the absolute 
+     * value of the other number, and so if both are 0, the result will be 0. 
+     * The result will overflow to <code>Long.MIN_VALUE</code> if it would be 
+     * 2<sup>63</sup>, just as with {@link #euclideanGCD(long, long)}.
+     */
+    public static long binaryGCD(long a, long b) {
+        long u = Math.abs(a);
+        long v = Math.abs(b);
+        if (u == 0) {
+            return v;
+        }
+        if (v == 0) {
+            return u;
+        }
+        int shift = Long.numberOfTrailingZeros(u | v);
+        u >>>= Long.numberOfTrailingZeros(u);
+        while (v != 0) {
+            v >>>= Long.numberOfTrailingZeros(v);
+            if (u > v) {
+                long swap = u;
+                u = v;
+                v = swap;
+            }
+            v -= u;
+        }
+        return u << shift;
+    }
+    
+    /**
+     * Computes the greatest common divisor (GCD) of two purely real integers 
+     * together with B&eacute;zout coefficients for them, by using the extended 
+     * Euclidean algorithm. The coefficients are written into an array supplied 
+     * by the caller, so that repeated calls need not allocate anything.
+     * @param a One of the two integers. May be negative. For example, 240.
+     * @param b One of the two integers. May be negative. For example, 46.
+     * @param coefficients An array of at least two elements to write the 
+     * coefficients <i>x</i> and <i>y</i> into, such that <i>ax</i> + <i>by</i> 
+     * is the GCD. Whatever was in the first two elements will be overwritten. 
+     * For example, after the call with 240 and 46, the first two elements will 
+     * be &minus;9 and 47, since 240 &times; &minus;9 + 46 &times; 47 = 2. If 
+     * both <code>a</code> and <code>b</code> are 0, the coefficients will be 0 
+     * and 0.
+     * @return The GCD, which will be nonnegative. For example, 2.
+     * @throws IllegalArgumentException If <code>coefficients</code> has fewer 
+     * than two elements.
+     * @throws ArithmeticException If <code>a</code> or <code>b</code> is 
+     * <code>Long.MIN_VALUE</code>, as the coefficients might not fit in a 
+     * 64-bit integer.
+     * @throws NullPointerException If <code>coefficients</code> is null.
+     */
+    public static long extendedGCD(long a, long b, long[] coefficients) {
+        if (coefficients.length < 2) {
+            String excMsg = "Array for coefficients needs two elements, not " 
+                    + coefficients.length;
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (a == Long.MIN_VALUE || b == Long.MIN_VALUE) {
+            String excMsg = "Bezout coefficients for " + a + " and " + b 
+                    + " might be outside the range of long";
+            throw new ArithmeticException(excMsg);
+        }
+        long prevR = a;
+        long currR = b;
+        long prevX = 1;
+        long currX = 0;
+        long prevY = 0;
+        long currY = 1;
+        while (currR != 0) {
+            long quotient = prevR / currR;
+            long swap = currR;
+            currR = prevR - quotient * currR;
+            prevR = swap;
+            swap = currX;
+            currX = prevX - quotient * currX;
+            prevX = swap;
+            swap = currY;
+            currY = prevY - quotient * currY;
+            prevY = swap;
+        }
+        if (prevR < 0) {
+            prevR = -prevR;
+            prevX = -prevX;
+            prevY = -prevY;
+        }
+        if (prevR == 0) {
+            prevX = 0;
+        }
+        coefficients[0] = prevX;
+        coefficients[1] = prevY;
+        return prevR;
+    }
+    
+    private static long powerMod(long base, long exponent, long modulus) {
+        long result = 1;
+        long power = base;
+        long e = exponent;
+        while (e > 0) {
+            if ((e & 1) == 1) {
+                result = result * power % modulus;
+            }
+            power = power * power % modulus;
+            e >>= 1;
+        }
+        return result;
+    }
+    
+    private static long tonelliShanks(long a, long p, int twos) {
+        long q = (p - 1) >> twos;
+        long z = 2;
+        while (symbolJacobi((int) z, (int) p) != -1) {
+            z++;
+        }
+        long c = powerMod(z, q, p);
+        long t = powerMod(a, q, p);
+        long r = powerMod(a, (q + 1) / 2, p);
+        int m = twos;
+        while (t != 1) {
+            int i = 0;
+            long square = t;
+            while (square != 1) {
+                square = square * square % p;
+                i++;
+            }
+            long b = c;
+            for (int j = 0; j < m - i - 1; j++) {
+                b = b * b % p;
+            }
+            m = i;
+            c = b * b % p;
+            t = t * c % p;
+            r = r * b % p;
+        }
+        return r;
+    }
+    
+    // Raises t + sqrt(t^2 - a) to the power (p + 1)/2 in F_p^2, with the pair 
+    // of coordinates kept in local variables rather than in an array
+    private static long cipolla(long a, long p) {
+        long t = 1;
+        long w = mod(t * t - a, p);
+        while (symbolJacobi((int) w, (int) p) != -1) {
+            t++;
+            w = mod(t * t - a, p);
+        }
+        long x = 1;
+        long y = 0;
+        long u = t;
+        long v = 1;
+        long e = (p + 1) / 2;
+        while (e > 0) {
+            if ((e & 1) == 1) {
+                long nextX = (x * u % p + y * v % p * w) % p;
+                y = (x * v % p + y * u % p) % p;
+                x = nextX;
+            }
+            long nextU = (u * u % p + v * v % p * w) % p;
+            v = 2 * (u * v % p) % p;
+            u = nextU;
+            e >>= 1;
+        }
+        return x;
+    }
+    
+    /**
+     * Finds a square root of a number modulo a prime. For a prime <i>p</i> 
+     * &equiv; 3 mod 4, that's just a power of the number. Otherwise, this uses 
+     * the Tonelli&ndash;Shanks algorithm, unless <i>p</i> &minus; 1 is 
+     * divisible by so high a power of 2 that Cipolla's algorithm would take 
+     * fewer steps. Either way, it takes O(log<sup>2</sup> <i>p</i>) steps, and 
+     * no objects are created, so this is suitable for tight loops.
+     * @param n The number to find a square root of. May be negative or greater 
+     * than <code>p</code>. For example, &minus;1.
+     * @param p The modulus. Should be a prime, but this is not checked. For 
+     * example, 13.
+     * @return The lesser of the two square roots of <code>n</code> modulo 
+     * <code>p</code>, from 0 to <code>p</code>/2, or &minus;1 if 
+     * <code>n</code> is not a quadratic residue modulo <code>p</code>. For 
+     * example, 5, since 5<sup>2</sup> = 25 = 2 &times; 13 &minus; 1, the other 
+     * square root being 8.
+     * @throws IllegalArgumentException If <code>p</code> is less than 2 or 
+     * greater than <code>Integer.MAX_VALUE</code>, since the products of two 
+     * numbers modulo <code>p</code> have to fit in a 64-bit integer.
+     */
+    public static long squareRootMod(long n, long p) {
+        if (p < 2 || p > Integer.MAX_VALUE) {
+            String excMsg = "Modulus " + p 
+                    + " is outside the range from 2 to 2^31 - 1";
+            throw new IllegalArgumentException(excMsg);
+        }
+        long a = mod(n, p);
+        if (a == 0 || p == 2) {
+            return a;
+        }
+        if (symbolJacobi((int) a, (int) p) != 1) {
+            return -1;
+        }
+        long root;
+        if ((p & 3) == 3) {
+            root = powerMod(a, (p + 1) / 4, p);
+        } else {
+            int twos = Long.numberOfTrailingZeros(p - 1);
+            int bits = 64 - Long.numberOfLeadingZeros(p);
+            root = (twos * twos > CIPOLLA_CROSSOVER * bits) ? cipolla(a, p) 
+                    : tonelliShanks(a, p, twos);
+        }
+        return Math.min(root, p - root);
+    }
+    
+    private static void checkSolutionArray(long[] solution) {
+        if (solution.length < 2) {
+            String excMsg = "Array for solution needs two elements, not " 
+                    + solution.length;
+            throw new IllegalArgumentException(excMsg);
+        }
+    }
+    
+    // Shortens the Euclidean algorithm on a and b until b^2 is at most bound, 
+    // and then checks whether bound - b^2 is d times a square
+    private static boolean finishCornacchia(long d, long bound, long a, long b, 
+            long[] solution) {
+        long prev = a;
+        long curr = b;
+        while (curr * curr > bound) {
+            long remainder = prev % curr;
+            prev = curr;
+            curr = remainder;
+        }
+        long rest = bound - curr * curr;
+        if (rest % d != 0 || !isPerfectSquare(rest / d)) {
+            return false;
+        }
+        solution[0] = curr;
+        solution[1] = isqrt(rest / d);
+        return true;
+    }
+    
+    /**
+     * Solves <i>x</i><sup>2</sup> + <i>dy</i><sup>2</sup> = <i>p</i> with 
+     * Cornacchia's algorithm, which is the Euclidean algorithm on <i>p</i> and 
+     * a square root of &minus;<i>d</i> modulo <i>p</i>, stopped halfway. This 
+     * is how to find a number of norm <i>p</i> in <b>Z</b>[&radic;<i>d</i>] 
+     * for negative <i>d</i>, and it takes O(log<sup>2</sup> <i>p</i>) steps. 
+     * Like {@link #extendedGCD(long, long, long[])}, the solution is written 
+     * into an array supplied by the caller.
+     * @param d The coefficient <i>d</i>. Must be positive. For example, 5.
+     * @param p The number <i>p</i>. Should be a prime less than 
+     * 2<sup>31</sup>, but primality is not checked. For example, 29.
+     * @param solution An array of at least two elements to write <i>x</i> and 
+     * <i>y</i> into, both nonnegative. Left as it was if there is no solution. 
+     * For example, after the call with 5 and 29, the first two elements will 
+     * be 3 and 2, since 3<sup>2</sup> + 5 &times; 2<sup>2</sup> = 29.
+     * @return True if there is a solution, false otherwise. For example, true 
+     * for 5 and 29, but false for 5 and 3, even though 3 splits in 
+     * <b>Z</b>[&radic;&minus;5].
+     * @throws IllegalArgumentException If <code>d</code> is not positive, if 
+     * <code>p</code> is less than 2 or greater than 
+     * <code>Integer.MAX_VALUE</code>, or if <code>solution</code> has fewer 
+     * than two elements.
+     * @throws NullPointerException If <code>solution</code> is null.
+     */
+    public static boolean cornacchia(long d, long p, long[] solution) {
+        checkSolutionArray(solution);
+        if (d < 1) {
+            String excMsg = "Coefficient " + d + " should be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        long root = squareRootMod(-d, p);
+        if (root < 0 || d > p) {
+            return false;
+        }
+        return finishCornacchia(d, p, p, root, solution);
+    }
+    
+    /**
+     * Solves <i>x</i><sup>2</sup> + <i>dy</i><sup>2</sup> = 4<i>p</i> with 
+     * the modified Cornacchia algorithm, for <i>d</i> &equiv; 3 mod 4. This is 
+     * how to find a number of norm <i>p</i> in 
+     * <i>O</i><sub><b>Q</b>(&radic;&minus;<i>d</i>)</sub>, which has 
+     * "half-integers," since <i>x</i>/2 + <i>y</i>&radic;&minus;<i>d</i>/2 
+     * then has norm <i>p</i>. The solution is written into an array supplied 
+     * by the caller, as with {@link #cornacchia(long, long, long[])}.
+     * @param d The coefficient <i>d</i>. Must be positive and congruent to 3 
+     * modulo 4. For example, 3.
+     * @param p The number <i>p</i>. Should be a prime less than 
+     * 2<sup>31</sup>, but primality is not checked. For example, 7.
+     * @param solution An array of at least two elements to write <i>x</i> and 
+     * <i>y</i> into, both nonnegative and of the same parity. Left as it was 
+     * if there is no solution. For example, after the call with 3 and 7, the 
+     * first two elements will be 5 and 1, since 5<sup>2</sup> + 3 &times; 
+     * 1<sup>2</sup> = 28.
+     * @return True if there is a solution, false otherwise. For example, true 
+     * for 3 and 7, but false for 3 and 5.
+     * @throws IllegalArgumentException If <code>d</code> is not positive or 
+     * not congruent to 3 modulo 4, if <code>p</code> is less than 2 or greater 
+     * than <code>Integer.MAX_VALUE</code>, or if <code>solution</code> has 
+     * fewer than two elements.
+     * @throws NullPointerException If <code>solution</code> is null.
+     */
+    public static boolean cornacchiaModified(long d, long p, 
+            long[] solution) {
+        checkSolutionArray(solution);
+        if (d < 1 || d % 4 != 3) {
+            String excMsg = "Coefficient " + d 
+                    + " should be positive and 3 modulo 4";
+            throw new IllegalArgumentException(excMsg);
+        }
+        long root = squareRootMod(-d, p);
+        if (root < 0 || d > 4 * p) {
+            return false;
+        }
+        if (p == 2) {
+            if (!isPerfectSquare(8 - d)) {
+                return false;
+            }
+            solution[0] = isqrt(8 - d);
+            solution[1] = 1;
+            return true;
+        }
+        if ((root & 1) == 0) {
+            root = p - root;
+        }
+        return finishCornacchia(d, 4 * p, 2 * p, root, solution);
+    }
+
+    /**
+     * Rounds a quotient to the nearest integer of a given parity.
+     * @param num The numerator. For example, 7.
+     * @param den The denominator. Must be positive. For example, 2.
+     * @param parity 0 for the nearest even integer, 1 for the nearest odd 
+     * integer. For example, 0.
+     * @return The integer of the given parity nearest to <code>num</code> 
+     * divided by <code>den</code>. For example, 4.
+     * @throws ArithmeticException If the computation overflows.
+     */
+    private static long roundToParity(long num, long den, long parity) {
+        long shifted = Math.addExact(Math.subtractExact(num, 
+                Math.multiplyExact(parity, den)), den);
+        return 2 * Math.floorDiv(shifted, Math.multiplyExact(2, den)) + parity;
+    }
+    
+    private static BigInteger roundToParity(BigInteger num, BigInteger den, 
+            long parity) {
+        BigInteger bigParity = BigInteger.valueOf(parity);
+        BigInteger shifted = num.subtract(bigParity.multiply(den)).add(den);
+        BigInteger[] quotRem = shifted.divideAndRemainder(den.shiftLeft(1));
+        BigInteger floor = quotRem[0];
+        if (quotRem[1].signum() < 0) {
+            floor = floor.subtract(BigInteger.ONE);
+        }
+        return floor.shiftLeft(1).add(bigParity);
+    }
+    
+    /**
+     * Rounds the quotient of two quadratic integers to a nearby quadratic 
+     * integer. The numbers are given in "doubled" coordinates, that is, 
+     * (<i>x</i>, <i>y</i>) stands for 
+     * <sup><i>x</i></sup>&frasl;<sub>2</sub> + 
+     * <sup><i>y</i>&radic;<i>d</i></sup>&frasl;<sub>2</sub>, so that numbers 
+     * with and without "half-integers" can be handled the same way. The 
+     * quotient is computed in 64-bit integers if that can be done without 
+     * overflow, and with <code>BigInteger</code> only otherwise. The latter 
+     * should only be needed for parts with absolute value of about 
+     * 2<sup>29</sup> or more.
+     * @param a1 Twice the "regular" part of the dividend.
+     * @param a2 Twice the "surd" part of the dividend.
+     * @param b1 Twice the "regular" part of the divisor. Not both of this and 
+     * <code>b2</code> may be 0.
+     * @param b2 Twice the "surd" part of the divisor.
+     * @param d The radicand of the ring.
+     * @param halves Whether the ring has "half-integers."
+     * @param quotient An array of at least two elements to write the doubled 
+     * coordinates of the rounded quotient into.
+     */
+    private static void roundQuadraticQuotient(long a1, long a2, long b1, 
+            long b2, long d, boolean halves, long[] quotient) {
+        try {
+            long p = Math.subtractExact(Math.multiplyExact(a1, b1), 
+                    Math.multiplyExact(Math.multiplyExact(d, a2), b2));
+            long q = Math.subtractExact(Math.multiplyExact(a2, b1), 
+                    Math.multiplyExact(a1, b2));
+            long m = Math.subtractExact(Math.multiplyExact(b1, b1), 
+                    Math.multiplyExact(Math.multiplyExact(d, b2), b2));
+            if (m < 0) {
+                p = Math.negateExact(p);
+                q = Math.negateExact(q);
+                m = -m;
+            }
+            long twiceP = Math.multiplyExact(2, p);
+            long twiceQ = Math.multiplyExact(2, q);
+            long v;
+            if (halves) {
+                v = Math.floorDiv(Math.addExact(Math.multiplyExact(2, twiceQ), 
+                        m), Math.multiplyExact(2, m));
+            } else {
+                v = roundToParity(twiceQ, m, 0);
+            }
+            quotient[0] = roundToParity(twiceP, m, v & 1);
+            quotient[1] = v;
+        } catch (ArithmeticException ae) {
+            BigInteger bigA1 = BigInteger.valueOf(a1);
+            BigInteger bigA2 = BigInteger.valueOf(a2);
+            BigInteger bigB1 = BigInteger.valueOf(b1);
+            BigInteger bigB2 = BigInteger.valueOf(b2);
+            BigInteger bigD = BigInteger.valueOf(d);
+            BigInteger p = bigA1.multiply(bigB1)
+                    .subtract(bigD.multiply(bigA2).multiply(bigB2));
+            BigInteger q = bigA2.multiply(bigB1).subtract(bigA1.multiply(bigB2));
+            BigInteger m = bigB1.multiply(bigB1)
+                    .subtract(bigD.multiply(bigB2).multiply(bigB2));
+            if (m.signum() < 0) {
+                p = p.negate();
+                q = q.negate();
+                m = m.negate();
+            }
+            BigInteger v;
+            if (halves) {
+                v = roundToParity(q.shiftLeft(2), m, 0).shiftRight(1);
+            } else {
+                v = roundToParity(q.shiftLeft(1), m, 0);
+            }
+            long vBits = v.longValueExact();
+            quotient[0] = roundToParity(p.shiftLeft(1), m, vBits & 1)
+                    .longValueExact();
+            quotient[1] = vBits;
+        }
+    }
+    
+    /**
+     * Compares the absolute values of the norms of two quadratic integers 
+     * given in the integral basis, as in {@link 
+     * #searchQuadraticRemainder(long, long, long, long, long, long, long, 
+     * long[]) searchQuadraticRemainder()}. The norms are computed in 64-bit 
+     * integers if that can be done without overflow, and with 
+     * <code>BigInteger</code> only otherwise, which should only be needed for 
+     * parts with absolute value of about 2<sup>30</sup> or more.
+     * @param x1 The "non-theta" part of the first number.
+     * @param x2 The "theta" part of the first number.
+     * @param y1 The "non-theta" part of the second number.
+     * @param y2 The "theta" part of the second number.
+     * @param c0 The constant term of &theta;<sup>2</sup>.
+     * @param c1 The &theta; term of &theta;<sup>2</sup>.
+     * @return A negative number if the first norm is smaller in absolute 
+     * value, 0 if they're the same, a positive number if the first norm is 
+     * larger in absolute value.
+     */
+    private static int compareQuadraticNorms(long x1, long x2, long y1, 
+            long y2, long c0, long c1) {
+        try {
+            long xNorm = exactQuadraticNorm(x1, x2, c0, c1);
+            long yNorm = exactQuadraticNorm(y1, y2, c0, c1);
+            return Long.compare(Math.absExact(xNorm), Math.absExact(yNorm));
+        } catch (ArithmeticException ae) {
+            return bigQuadraticNorm(x1, x2, c0, c1).abs() 
+                    .compareTo(bigQuadraticNorm(y1, y2, c0, c1).abs());
+        }
+    }
+    
+    private static long exactQuadraticNorm(long n1, long n2, long c0, 
+            long c1) {
+        return Math.subtractExact(Math.addExact(Math.multiplyExact(n1, n1), 
+                Math.multiplyExact(Math.multiplyExact(c1, n1), n2)), 
+                Math.multiplyExact(Math.multiplyExact(c0, n2), n2));
+    }
+    
+    private static BigInteger bigQuadraticNorm(long n1, long n2, long c0, 
+            long c1) {
+        BigInteger bigN1 = BigInteger.valueOf(n1);
+        BigInteger bigN2 = BigInteger.valueOf(n2);
+        return bigN1.multiply(bigN1) 
+                .add(BigInteger.valueOf(c1).multiply(bigN1).multiply(bigN2)) 
+                .subtract(BigInteger.valueOf(c0).multiply(bigN2) 
+                        .multiply(bigN2));
+    }
+    
+    /**
+     * Looks near the rounded quotient for a quotient leaving a remainder of 
+     * smaller norm than the divisor, as is needed in the real norm-Euclidean 
+     * rings. Numbers are given in the integral basis, that is, (<i>x</i>, 
+     * <i>y</i>) stands for <i>x</i> + <i>y</i>&theta;, where &theta; is 
+     * either &radic;<i>d</i> or <sup>1</sup>&frasl;<sub>2</sub> + 
+     * <sup>&radic;<i>d</i></sup>&frasl;<sub>2</sub>, and &theta;<sup>2</sup> 
+     * = <i>c</i><sub>0</sub> + <i>c</i><sub>1</sub>&theta;. Since arithmetic in 
+     * that basis only uses addition, subtraction and multiplication, results 
+     * are exact even when intermediate values wrap around, as long as the 
+     * results themselves fit in 64 bits. Norms, which can be too big for 64 
+     * bits even when the parts aren't, are compared with {@link 
+     * #compareQuadraticNorms(long, long, long, long, long, long) 
+     * compareQuadraticNorms()}.
+     * @param r1 The "non-theta" part of the remainder left by the rounded 
+     * quotient.
+     * @param r2 The "theta" part of the remainder left by the rounded 
+     * quotient.
+     * @param b1 The "non-theta" part of the divisor.
+     * @param b2 The "theta" part of the divisor.
+     * @param c0 The constant term of &theta;<sup>2</sup>, either <i>d</i> or 
+     * (<i>d</i> &minus; 1)/4.
+     * @param c1 The &theta; term of &theta;<sup>2</sup>, either 0 or 1.
+     * @param d The radicand of the ring.
+     * @param remainder An array of at least two elements to write the new 
+     * remainder into.
+     * @return True if a suitable remainder was found and written into 
+     * <code>remainder</code>, false otherwise.
+     */
+    private static boolean searchQuadraticRemainder(long r1, long r2, long b1, 
+            long b2, long c0, long c1, long d, long[] remainder) {
+        double doubledR1 = 2.0 * r1 + c1 * r2;
+        double doubledR2 = (2.0 - c1) * r2;
+        double doubledB1 = 2.0 * b1 + c1 * b2;
+        double doubledB2 = (2.0 - c1) * b2;
+        double m = doubledB1 * doubledB1 - d * doubledB2 * doubledB2;
+        double x = 2.0 * (doubledR1 * doubledB1 - d * doubledR2 * doubledB2) / m;
+        double y = 2.0 * (doubledR2 * doubledB1 - doubledR1 * doubledB2) / m;
+        double sqrtD = Math.sqrt(d);
+        long vStep = 2 - c1;
+        for (int radius = 0; radius <= EUCLIDEAN_REMAINDER_SEARCH_RADIUS; 
+                radius++) {
+            for (int sign = -1; sign < 2; sign += 2) {
+                long v = sign * radius * vStep;
+                double spread = sqrtD * Math.abs(y - v);
+                for (int side = -1; side < 2; side += 2) {
+                    long start = (long) Math.floor(x + side * spread) - 2;
+                    for (long u = start; u < start + 5; u++) {
+                        if (((u - c1 * v) & 1) != 0) {
+                            continue;
+                        }
+                        long q2 = v / vStep;
+                        long q1 = (u - c1 * v) / 2;
+                        long n1 = r1 - (q1 * b1 + c0 * q2 * b2);
+                        long n2 = r2 - (q1 * b2 + q2 * b1 + c1 * q2 * b2);
+                        if (compareQuadraticNorms(n1, n2, b1, b2, c0, c1) 
+                                < 0) {
+                            remainder[0] = n1;
+                            remainder[1] = n2;
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Multiplies a real quadratic integer by a power of a unit so that its two 
+     * real embeddings are about the same size, which keeps its parts as small 
+     * as they can be for its norm. The size is measured by the sum of the 
+     * squares of the embeddings, which is the square of the trace minus twice 
+     * the norm. The number is given in the integral basis, as in {@link 
+     * #searchQuadraticRemainder(long, long, long, long, long, long, long, 
+     * long[]) searchQuadraticRemainder()}. The sizes are compared in floating 
+     * point, since they can be too big for 64 bits even when the parts aren't, 
+     * and the parts of a multiple are only worked out once it's known to be 
+     * smaller, at which point its parts fit in 64 bits. The norm is worked out 
+     * in 64 bits too, with <code>BigInteger</code> only if that overflows. 
+     * If the ratio of the embeddings is between 1/&epsilon; and &epsilon;, 
+     * where &epsilon; is the fundamental unit, no power of the unit can make 
+     * the size smaller. That is the case if the size is at most 
+     * |<i>N</i>|(&epsilon; + 1/&epsilon;), and then the number is left as is, 
+     * which is what happens for most remainders in the Euclidean algorithm.
+     * @param number An array holding the two parts of the number, which will be 
+     * overwritten with the two parts of the balanced number.
+     * @param unit The two parts of the fundamental unit.
+     * @param c0 The constant term of &theta;<sup>2</sup>.
+     * @param c1 The &theta; term of &theta;<sup>2</sup>.
+     */
+    private static void balanceByUnit(long[] number, long[] unit, long c0, 
+            long c1) {
+        long n1 = number[0];
+        long n2 = number[1];
+        double norm;
+        try {
+            norm = exactQuadraticNorm(n1, n2, c0, c1);
+        } catch (ArithmeticException ae) {
+            norm = bigQuadraticNorm(n1, n2, c0, c1).doubleValue();
+        }
+        double trace = 2.0 * n1 + c1 * n2;
+        double size = trace * trace - 2.0 * norm;
+        long unitNorm = unit[0] * unit[0] + c1 * unit[0] * unit[1] 
+                - c0 * unit[1] * unit[1];
+        double unitTrace = 2.0 * unit[0] + c1 * unit[1];
+        double unitSize = unitTrace * unitTrace - 2.0 * unitNorm;
+        if (size <= Math.abs(norm) * Math.sqrt(unitSize + 2.0)) {
+            return;
+        }
+        boolean moved = false;
+        for (int direction = 0; direction < 2 && !moved; direction++) {
+            long f1 = unit[0];
+            long f2 = unit[1];
+            if (direction == 1) {
+                f1 = unitNorm * (unit[0] + c1 * unit[1]);
+                f2 = -unitNorm * unit[1];
+            }
+            boolean shrinking = true;
+            while (shrinking) {
+                double m1 = (double) n1 * f1 + (double) c0 * n2 * f2;
+                double m2 = (double) n1 * f2 + (double) n2 * f1 
+                        + (double) c1 * n2 * f2;
+                double nextNorm = norm * unitNorm;
+                trace = 2.0 * m1 + c1 * m2;
+                double nextSize = trace * trace - 2.0 * nextNorm;
+                shrinking = nextSize < size;
+                if (shrinking) {
+                    moved = true;
+                    long nextN1 = n1 * f1 + c0 * n2 * f2;
+                    n2 = n1 * f2 + n2 * f1 + c1 * n2 * f2;
+                    n1 = nextN1;
+                    norm = nextNorm;
+                    size = nextSize;
+                }
+            }
+        }
+        number[0] = n1;
+        number[1] = n2;
+    }
+    
+    /**
+     * Carries out the Euclidean algorithm in a norm-Euclidean quadratic ring. 
+     * Each step rounds the quotient to a nearby lattice point with integer 
+     * arithmetic, rather than going through {@link 
+     * QuadraticInteger#divides(QuadraticInteger)}, so that there are no 
+     * exceptions and no intermediate objects in the loop.
+     * @param a One of the two numbers. Must come from the same ring as 
+     * <code>b</code>, and that ring must be one of those listed in {@link 
+     * #NORM_EUCLIDEAN_QUADRATIC_RINGS_D}.
+     * @param b The other number.
+     * @return The GCD, with nonnegative "regular" part (and, in 
+     * <b>Z</b>[<i>i</i>], with nonzero "regular" part unless it's 0).
+     * @throws ArithmeticException If the GCD can't be represented as a 
+     * <code>QuadraticInteger</code>, or, very unlikely, if no suitable 
+     * remainder is found in a real ring.
+     */
+    private static QuadraticInteger quadraticEuclideanGCD(QuadraticInteger a, 
+            QuadraticInteger b) {
+        QuadraticRing ring = a.getRing();
+        long d = ring.getRadicand();
+        boolean halves = ring.hasHalfIntegers();
+        long c1 = halves ? 1 : 0;
+        long c0 = halves ? (d - 1) / 4 : d;
+        long aScale = 2 / a.getDenominator();
+        long bScale = 2 / b.getDenominator();
+        long aD1 = a.getRegPartMult() * aScale;
+        long aD2 = a.getSurdPartMult() * aScale;
+        long bD1 = b.getRegPartMult() * bScale;
+        long bD2 = b.getSurdPartMult() * bScale;
+        long a2 = aD2 / (2 - c1);
+        long a1 = (aD1 - c1 * a2) / 2;
+        long b2 = bD2 / (2 - c1);
+        long b1 = (bD1 - c1 * b2) / 2;
+        if (compareQuadraticNorms(a1, a2, b1, b2, c0, c1) < 0) {
+            long swap = a1;
+            a1 = b1;
+            b1 = swap;
+            swap = a2;
+            a2 = b2;
+            b2 = swap;
+        }
+        long[] unit = (d > 0) ? NORM_EUCLIDEAN_REAL_UNITS[(int) d] : null;
+        long[] scratch = new long[2];
+        while (b1 != 0 || b2 != 0) {
+            roundQuadraticQuotient(2 * a1 + c1 * a2, (2 - c1) * a2, 
+                    2 * b1 + c1 * b2, (2 - c1) * b2, d, halves, scratch);
+            long q2 = scratch[1] / (2 - c1);
+            long q1 = (scratch[0] - c1 * q2) / 2;
+            long r1 = a1 - (q1 * b1 + c0 * q2 * b2);
+            long r2 = a2 - (q1 * b2 + q2 * b1 + c1 * q2 * b2);
+            if (compareQuadraticNorms(r1, r2, b1, b2, c0, c1) >= 0) {
+                if (!searchQuadraticRemainder(r1, r2, b1, b2, c0, c1, d, 
+                        scratch)) {
+                    String excMsg = "No remainder of smaller norm found for " 
+                            + a.toASCIIString() + " and " + b.toASCIIString() 
+                            + " in " + ring.toASCIIString();
+                    throw new ArithmeticException(excMsg);
+                }
+                r1 = scratch[0];
+                r2 = scratch[1];
+            }
+            if (unit != null) {
+                scratch[0] = r1;
+                scratch[1] = r2;
+                balanceByUnit(scratch, unit, c0, c1);
+                r1 = scratch[0];
+                r2 = scratch[1];
+            }
+            a1 = b1;
+            a2 = b2;
+            b1 = r1;
+            b2 = r2;
+        }
+        if (unit != null) {
+            scratch[0] = a1;
+            scratch[1] = a2;
+            balanceByUnit(scratch, unit, c0, c1);
+            a1 = scratch[0];
+            a2 = scratch[1];
+        }
+        if (d == -1 && a1 == 0) {
+            a1 = a2;
+            a2 = 0;
+        }
+        if (2 * a1 + c1 * a2 < 0) {
+            a1 = -a1;
+            a2 = -a2;
+        }
+        if (halves) {
+            return QuadraticInteger.apply(Math.toIntExact(2 * a1 + a2), 
+                    Math.toIntExact(a2), ring, 2);
+        }
+        return QuadraticInteger.apply(Math.toIntExact(a1), 
+                Math.toIntExact(a2), ring);
+    }
 
     /**
      * Computes the greatest common divisor (GCD) of two algebraic integers by 
@@ -1425,53 +2393,12 @@ public class NumberTheoreticFunctionsCalculator {
                     throw new AlgebraicDegreeOverflowException(excMsg, 2, a, b);
                 }
             }
-            boolean nonNormEuclFlag = true;
-            int counter = 0;
-            int radic = currA.getRing().getRadicand();
-            while (nonNormEuclFlag && (counter < NORM_EUCLIDEAN_QUADRATIC_RINGS_D.length)) {
-                nonNormEuclFlag = (radic != NORM_EUCLIDEAN_QUADRATIC_RINGS_D[counter]);
-                counter++;
-            }
-            if (nonNormEuclFlag) {
+            if (!isNormEuclidean(currA.getRing().getRadicand())) {
                 String excMsg = currA.getRing().toASCIIString() 
                         + " is not a norm-Euclidean domain";
                 throw new NonEuclideanDomainException(excMsg, currA, currB);
             }
-            if (Math.abs(currA.norm()) < Math.abs(currB.norm())) {
-                QuadraticInteger swapper = currA;
-                currA = currB;
-                currB = swapper;
-            }
-            QuadraticInteger tempMultiple, currRemainder;
-            AlgebraicInteger[] bounds;
-            while (currB.norm() != 0) {
-                try {
-                    tempMultiple = currA.divides(currB);
-                    tempMultiple = tempMultiple.times(currB);
-                    currRemainder = currA.minus(tempMultiple);
-                } catch (NotDivisibleException nde) {
-                    bounds = nde.getBoundingIntegers();
-                    boolean notFound;
-                    counter = 0;
-                    QuadraticInteger holder;
-                    do {
-                        holder = (QuadraticInteger) bounds[counter];
-                        tempMultiple = holder.times(currB);
-                        currRemainder = currA.minus(tempMultiple);
-                        notFound = Math.abs(currRemainder.norm()) >= Math.abs(currB.norm());
-                        counter++;
-                    } while (notFound);
-                }
-                currA = currB;
-                currB = currRemainder;
-            }
-            if (radic == -1 && currA.getRegPartMult() == 0) {
-                currA = currA.times(IMAG_UNIT_NEG_I);
-            }
-            if (currA.getRegPartMult() < 0) {
-                currA = currA.times(-1);
-            }
-            return currA;
+            return quadraticEuclideanGCD(currA, currB);
         }
         throw new UnsupportedNumberDomainException("Not supported yet, sorry", a, b);
     }
@@ -1543,68 +2470,47 @@ public class NumberTheoreticFunctionsCalculator {
     }
     
     private static QuadraticInteger realQuadUnitFind(RealQuadraticRing r) {
-        QuadraticInteger potentialUnit;
-        int d = r.getRadicand();
-        long xd, trialRegNeg;
-        long trialSurd = 1;
-        boolean notFoundYet = true;
-        do {
-            xd = trialSurd * trialSurd * d;
-            trialRegNeg = (long) Math.floor(Math.sqrt(xd));
-            potentialUnit = new RealQuadraticInteger((int) trialRegNeg, 
-                    (int) trialSurd, r);
-            if (potentialUnit.norm() == -1) {
-                notFoundYet = false;
-            }
-            if (notFoundYet) {
-                potentialUnit = potentialUnit.plus(1);
-                if (potentialUnit.norm() == 1) {
-                    notFoundYet = false;
-                }
-            }
-            trialSurd++;
-        } while ((trialRegNeg < Integer.MAX_VALUE) && notFoundYet);
+        PellSolver solver = new PellSolver(r.getRadicand());
+        PellSolver.Solution solution;
         if (r.hasHalfIntegers()) {
-            double threshold = potentialUnit.abs();
-            double currAbs;
-            QuadraticInteger potentialHalfUnit;
-            trialSurd = 1;
-            do {
-                xd = trialSurd * trialSurd * d;
-                trialRegNeg = (long) Math.floor(Math.sqrt(xd - 4));
-                trialRegNeg += ((trialRegNeg % 2) - 1);
-                potentialHalfUnit = new RealQuadraticInteger((int) trialRegNeg, 
-                        (int) trialSurd, r, 2);
-                if (potentialHalfUnit.norm() == -1) {
-                    return potentialHalfUnit;
-                } else {
-                    currAbs = potentialHalfUnit.abs();
-                }
-                potentialHalfUnit = potentialHalfUnit.plus(1);
-                if (potentialHalfUnit.norm() == 1) {
-                    return potentialHalfUnit;
-                }
-                trialSurd += 2;
-            } while (currAbs < threshold);
-        }
-        if (notFoundYet) {
-            String excMsg = "Overflow occurred considering potential unit " 
-                    + potentialUnit.toASCIIString();
-            throw new ArithmeticException(excMsg);
+            solution = solver.negativeFundamentalSolutionOfFour()
+                    .orElse(solver.fundamentalSolutionOfFour());
         } else {
-            if (trialSurd > SURD_PART_CACHE_THRESHOLD) {
-                UNITS_CACHE.put(r, potentialUnit);
+            solution = solver.negativeFundamentalSolution()
+                    .orElse(solver.fundamentalSolution());
+        }
+        BigInteger x = solution.getX();
+        BigInteger y = solution.getY();
+        int denom = 1;
+        if (r.hasHalfIntegers()) {
+            if (x.testBit(0)) {
+                denom = 2;
+            } else {
+                x = x.shiftRight(1);
+                y = y.shiftRight(1);
             }
-            return potentialUnit;
         }
+        if (x.bitLength() > 31 || y.bitLength() > 31) {
+            String excMsg = "Overflow occurred, fundamental unit of " 
+                    + r.toASCIIString() + " is " + x + " + " + y + "sqrt(" 
+                    + r.getRadicand() + ")" + (denom == 2 ? " over 2" : "");
+            throw new ArithmeticException(excMsg);
+        }
+        QuadraticInteger unit = new RealQuadraticInteger(x.intValue(), 
+                y.intValue(), r, denom);
+        if (y.intValue() > SURD_PART_CACHE_THRESHOLD) {
+            UNITS_CACHE.put(r, unit);
+        }
+        return unit;
     }
     
     /**
      * Gives the fundamental unit of a ring that has infinitely many units. In a  
      * domain of purely real numbers, the fundamental unit is the smallest unit 
-     * greater than 1. It may have norm &minus;1 or 1. At least for now, this 
-     * function uses a brute force algorithm that may be unacceptably slow in 
-     * some cases.
+     * greater than 1. It may have norm &minus;1 or 1. This function reads it 
+     * off the continued fraction of &radic;<i>d</i> by way of {@link 
+     * PellSolver}, so it only takes time roughly proportional to the period 
+     * of that continued fraction.
      * @param ring The ring of algebraic integers for which to find the 
      * fundamental unit.
      * @return The fundamental unit. For example, for <b>Z</b>[&radic;2], this 
@@ -1646,34 +2552,166 @@ public class NumberTheoreticFunctionsCalculator {
         throw new UnsupportedNumberDomainException(excMsg, ring);
     }
     
-    private static AlgebraicInteger inferMinForUnitSearch(IntegerRing ring) {
+    private static void checkUnitSearchRing(IntegerRing ring) {
         if (ring instanceof RealQuadraticRing) {
-            RealQuadraticRing r = (RealQuadraticRing) ring;
-            if (r.hasHalfIntegers()) {
-                return new RealQuadraticInteger(1, 1, r, 2);
-            } else {
-                return new RealQuadraticInteger(2, 0, r);
+            return;
+        }
+        if (ring instanceof ImaginaryQuadraticRing) {
+            String excMsg = "Since " + ring.toASCIIString() 
+                    + " has a finite unit group, there is no unit search";
+            throw new IllegalArgumentException(excMsg);
+        }
+        String excMsg = "Unit search not yet supported for " 
+                + ring.toASCIIString();
+        throw new UnsupportedNumberDomainException(excMsg, ring);
+    }
+    
+    private static RealQuadraticInteger inferMinForUnitSearch(IntegerRing ring) {
+        checkUnitSearchRing(ring);
+        RealQuadraticRing r = (RealQuadraticRing) ring;
+        if (r.hasHalfIntegers()) {
+            return new RealQuadraticInteger(1, 1, r, 2);
+        } else {
+            return new RealQuadraticInteger(2, 0, r);
+        }
+    }
+    
+    // Units are held as doubled parts {x, y} standing for (x + y sqrt(d))/2, 
+    // so that they multiply exactly regardless of the denominator
+    private static BigInteger[] doubledParts(QuadraticInteger num) {
+        int factor = 2 / num.getDenominator();
+        return new BigInteger[]{BigInteger.valueOf(num.getRegPartMult())
+                .multiply(BigInteger.valueOf(factor)), 
+            BigInteger.valueOf(num.getSurdPartMult())
+                    .multiply(BigInteger.valueOf(factor))};
+    }
+    
+    private static BigInteger[] multiplyDoubledParts(BigInteger[] a, 
+            BigInteger[] b, BigInteger d) {
+        BigInteger x = a[0].multiply(b[0]).add(d.multiply(a[1]).multiply(b[1]));
+        BigInteger y = a[0].multiply(b[1]).add(a[1].multiply(b[0]));
+        return new BigInteger[]{x.shiftRight(1), y.shiftRight(1)};
+    }
+    
+    private static BigInteger[] powerOfUnit(BigInteger[] unit, long unitNorm, 
+            long exponent, BigInteger d) {
+        BigInteger[] base = unit;
+        long remaining = exponent;
+        if (exponent < 0) {
+            BigInteger norm = BigInteger.valueOf(unitNorm);
+            base = new BigInteger[]{unit[0].multiply(norm), 
+                unit[1].multiply(norm).negate()};
+            remaining = -exponent;
+        }
+        BigInteger[] power = {BigInteger.valueOf(2), BigInteger.ZERO};
+        while (remaining > 0) {
+            if ((remaining & 1) == 1) {
+                power = multiplyDoubledParts(power, base, d);
+            }
+            remaining >>= 1;
+            if (remaining > 0) {
+                base = multiplyDoubledParts(base, base, d);
             }
         }
-        throw new RuntimeException("Oops, sorry!");
+        return power;
     }
     
-    private static Optional<AlgebraicInteger> unitSearchVerifiedParams(AlgebraicInteger min, 
-            AlgebraicInteger max) {
-        return Optional.of(max);
+    private static int compareDoubledParts(BigInteger[] a, BigInteger[] b, 
+            BigInteger d) {
+        return PellSolver.signOf(a[0].subtract(b[0]), a[1].subtract(b[1]), d);
     }
     
-    // STUB TO FAIL THE TEST
-    public static Optional<AlgebraicInteger> searchForUnit(AlgebraicInteger max) {
-        if (max == null) {
-            String excMsg = "Can't do unit search with null max";
-            throw new NullPointerException(excMsg);
+    private static RealQuadraticInteger fromDoubledParts(BigInteger[] parts, 
+            RealQuadraticRing ring) {
+        BigInteger x = parts[0];
+        BigInteger y = parts[1];
+        int denom = 2;
+        if (!x.testBit(0) && !y.testBit(0)) {
+            x = x.shiftRight(1);
+            y = y.shiftRight(1);
+            denom = 1;
+        }
+        if (x.bitLength() > 31 || y.bitLength() > 31) {
+            String excMsg = "Unit " + x + " + " + y + "sqrt(" 
+                    + ring.getRadicand() + ")" + (denom == 2 ? " over 2" : "") 
+                    + " is outside the range of int";
+            throw new ArithmeticException(excMsg);
         }
-        return unitSearchVerifiedParams(inferMinForUnitSearch(max.getRing()), max);
+        return new RealQuadraticInteger(x.intValue(), y.intValue(), ring, 
+                denom);
     }
     
-    // STUB TO FAIL THE TEST
-    public static Optional<AlgebraicInteger> searchForUnit(AlgebraicInteger min, 
+    // The positive units are the powers of the fundamental unit, so the units 
+    // between positive bounds are the powers with exponents between the 
+    // logarithms of the bounds to the base of the fundamental unit. Those 
+    // exponents are estimated in floating point and then checked exactly. 
+    // Negative bounds are handled by symmetry.
+    private static Stream<AlgebraicInteger> unitsBetweenVerifiedParams(
+            RealQuadraticInteger min, RealQuadraticInteger max) {
+        RealQuadraticRing ring = (RealQuadraticRing) min.getRing();
+        BigInteger d = BigInteger.valueOf(ring.getRadicand());
+        BigInteger[] lower = doubledParts(min);
+        BigInteger[] upper = doubledParts(max);
+        int minSign = PellSolver.signOf(lower[0], lower[1], d);
+        int maxSign = PellSolver.signOf(upper[0], upper[1], d);
+        if (minSign <= 0 && maxSign >= 0) {
+            String excMsg = "There are infinitely many units between " 
+                    + min.toASCIIString() + " and " + max.toASCIIString() 
+                    + ", arbitrarily close to 0";
+            throw new IllegalArgumentException(excMsg);
+        }
+        int sign = maxSign;
+        BigInteger[] low = (sign > 0) ? lower 
+                : new BigInteger[]{upper[0].negate(), upper[1].negate()};
+        BigInteger[] high = (sign > 0) ? upper 
+                : new BigInteger[]{lower[0].negate(), lower[1].negate()};
+        QuadraticInteger fundamental = (QuadraticInteger) fundamentalUnit(ring);
+        BigInteger[] unit = doubledParts(fundamental);
+        long unitNorm = fundamental.norm();
+        double logUnit = Math.log(fundamental.getRealPartNumeric());
+        double lowValue = Math.abs((sign > 0) ? min.getRealPartNumeric() 
+                : max.getRealPartNumeric());
+        double highValue = Math.abs((sign > 0) ? max.getRealPartNumeric() 
+                : min.getRealPartNumeric());
+        long lowExponent = (long) Math.ceil(Math.log(lowValue) / logUnit);
+        long highExponent = (long) Math.floor(Math.log(highValue) / logUnit);
+        while (compareDoubledParts(powerOfUnit(unit, unitNorm, lowExponent - 1, 
+                d), low, d) >= 0) {
+            lowExponent--;
+        }
+        while (compareDoubledParts(powerOfUnit(unit, unitNorm, lowExponent, d), 
+                low, d) < 0) {
+            lowExponent++;
+        }
+        while (compareDoubledParts(powerOfUnit(unit, unitNorm, 
+                highExponent + 1, d), high, d) <= 0) {
+            highExponent++;
+        }
+        while (compareDoubledParts(powerOfUnit(unit, unitNorm, highExponent, 
+                d), high, d) > 0) {
+            highExponent--;
+        }
+        if (lowExponent > highExponent) {
+            return Stream.empty();
+        }
+        final long first = lowExponent;
+        final long last = highExponent;
+        return LongStream.rangeClosed(first, last).mapToObj(k -> {
+            long exponent = (sign > 0) ? k : first + last - k;
+            BigInteger[] power = powerOfUnit(unit, unitNorm, exponent, d);
+            if (sign < 0) {
+                power = new BigInteger[]{power[0].negate(), power[1].negate()};
+            }
+            return fromDoubledParts(power, ring);
+        });
+    }
+    
+    private static Optional<AlgebraicInteger> unitSearchVerifiedParams(
+            RealQuadraticInteger min, RealQuadraticInteger max) {
+        return unitsBetweenVerifiedParams(min, max).findFirst();
+    }
+    
+    private static void verifyUnitSearchParams(AlgebraicInteger min, 
             AlgebraicInteger max) {
         if (min == null || max == null) {
             String excMsg = "Can't do unit search with null min and/or null max";
@@ -1688,17 +2726,104 @@ public class NumberTheoreticFunctionsCalculator {
                     maxRing.getMaxAlgebraicDegree());
             throw new AlgebraicDegreeOverflowException(excMsg, deg, min, max);
         }
-        if (min instanceof RealQuadraticInteger) {
-            RealQuadraticInteger minimum = (RealQuadraticInteger) min;
-            RealQuadraticInteger maximum = (RealQuadraticInteger) max;
-            if (minimum.compareTo(maximum) > 0) {
-                String excMsg = "Minimum " + minimum.toASCIIString() 
-                        + " is not less than maximum " + maximum.toASCIIString();
-                throw new IllegalArgumentException(excMsg);
-            }
+        checkUnitSearchRing(minRing);
+        RealQuadraticInteger minimum = (RealQuadraticInteger) min;
+        RealQuadraticInteger maximum = (RealQuadraticInteger) max;
+        if (minimum.compareTo(maximum) > 0) {
+            String excMsg = "Minimum " + minimum.toASCIIString() 
+                    + " is not less than maximum " + maximum.toASCIIString();
+            throw new IllegalArgumentException(excMsg);
+        }
+    }
+    
+    /**
+     * Searches for the least unit greater than 1 but not greater than a given 
+     * maximum. If there is one, it's the fundamental unit.
+     * @param max The maximum. For example, 7 + &radic;53.
+     * @return The least unit greater than 1 that is not greater than 
+     * <code>max</code>, or an empty <code>Optional</code> if 
+     * <code>max</code> is less than every unit greater than 1. For example, 
+     * <sup>7</sup>&frasl;<sub>2</sub> + <sup>&radic;53</sup>&frasl;<sub>2</sub>.
+     * @throws IllegalArgumentException If <code>max</code> comes from a ring 
+     * with finitely many units, such as an imaginary quadratic ring.
+     * @throws NullPointerException If <code>max</code> is null.
+     * @throws UnsupportedNumberDomainException If <code>max</code> comes from 
+     * a ring for which unit search has not been programmed yet.
+     */
+    public static Optional<AlgebraicInteger> searchForUnit(AlgebraicInteger max) {
+        if (max == null) {
+            String excMsg = "Can't do unit search with null max";
+            throw new NullPointerException(excMsg);
+        }
+        RealQuadraticInteger min = inferMinForUnitSearch(max.getRing());
+        if (min.compareTo((RealQuadraticInteger) max) > 0) {
+            return Optional.empty();
         }
-        ImaginaryQuadraticInteger num = new ImaginaryQuadraticInteger(5, 7, RING_EISENSTEIN, 2);
-        return Optional.of(num);
+        return unitSearchVerifiedParams(min, (RealQuadraticInteger) max);
+    }
+    
+    /**
+     * Searches for the least unit between two bounds. Rather than trying 
+     * numbers one by one, this takes the logarithms of the bounds to the base 
+     * of the fundamental unit, so it takes only a few multiplications, about 
+     * as many as the number of binary digits of the exponent of the result.
+     * @param min The minimum. For example, &minus;20.
+     * @param max The maximum. For example, &minus;5. Must be from the same ring 
+     * as <code>min</code>.
+     * @return The least unit not less than <code>min</code> and not greater 
+     * than <code>max</code>, or an empty <code>Optional</code> if there is no 
+     * such unit. For example, in <b>Z</b>[&radic;2], &minus;7 &minus; 
+     * 5&radic;2 &asymp; &minus;14.07.
+     * @throws AlgebraicDegreeOverflowException If <code>min</code> and 
+     * <code>max</code> come from different rings.
+     * @throws ArithmeticException If the unit lies between <code>min</code> 
+     * and <code>max</code> but its parts exceed the range of <code>int</code>.
+     * @throws IllegalArgumentException If <code>min</code> is greater than 
+     * <code>max</code>, if the range from <code>min</code> to 
+     * <code>max</code> includes 0 (then there are infinitely many units in 
+     * that range, with no least one if <code>min</code> is 0 or negative), 
+     * or if the numbers come from a ring with finitely many units.
+     * @throws NullPointerException If <code>min</code> or <code>max</code> is 
+     * null.
+     * @throws UnsupportedNumberDomainException If the numbers come from a ring 
+     * for which unit search has not been programmed yet.
+     */
+    public static Optional<AlgebraicInteger> searchForUnit(AlgebraicInteger min, 
+            AlgebraicInteger max) {
+        verifyUnitSearchParams(min, max);
+        return unitSearchVerifiedParams((RealQuadraticInteger) min, 
+                (RealQuadraticInteger) max);
+    }
+    
+    /**
+     * Gives all the units between two bounds, in ascending order. The units 
+     * are computed only as the stream is consumed, and each one is computed 
+     * independently of the others by raising the fundamental unit to the 
+     * appropriate power. The stream knows its size, so it can be split up 
+     * evenly if made parallel.
+     * @param min The minimum. For example, 1.
+     * @param max The maximum. For example, 200. Must be from the same ring as 
+     * <code>min</code>.
+     * @return A stream of the units not less than <code>min</code> and not 
+     * greater than <code>max</code>, which may be empty. For example, in 
+     * <b>Z</b>[&radic;2], 1, 1 + &radic;2, 3 + 2&radic;2, 7 + 5&radic;2, 17 + 
+     * 12&radic;2, 41 + 29&radic;2, 99 + 70&radic;2.
+     * @throws AlgebraicDegreeOverflowException If <code>min</code> and 
+     * <code>max</code> come from different rings.
+     * @throws IllegalArgumentException If <code>min</code> is greater than 
+     * <code>max</code>, if the range from <code>min</code> to 
+     * <code>max</code> includes 0, or if the numbers come from a ring with 
+     * finitely many units.
+     * @throws NullPointerException If <code>min</code> or <code>max</code> is 
+     * null.
+     * @throws UnsupportedNumberDomainException If the numbers come from a ring 
+     * for which unit search has not been programmed yet.
+     */
+    public static Stream<AlgebraicInteger> unitsBetween(AlgebraicInteger min, 
+            AlgebraicInteger max) {
+        verifyUnitSearchParams(min, max);
+        return unitsBetweenVerifiedParams((RealQuadraticInteger) min, 
+                (RealQuadraticInteger) max);
     }
     
     /**
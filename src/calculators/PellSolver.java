@@ -0,0 +1,538 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package calculators;
+
+import fractions.BigFraction;
+import fractions.PeriodicContinuedFraction;
+
+import static calculators.NumberTheoreticFunctionsCalculator.isPerfectSquare;
+import static calculators.NumberTheoreticFunctionsCalculator.isPrime;
+import static calculators.NumberTheoreticFunctionsCalculator.isqrt;
+import static calculators.NumberTheoreticFunctionsCalculator.squareRootMod;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Solves Pell equations <i>x</i><sup>2</sup> &minus; <i>dy</i><sup>2</sup> = 
+ * <i>N</i> for a fixed positive nonsquare <i>d</i>. The fundamental solutions 
+ * of <i>x</i><sup>2</sup> &minus; <i>dy</i><sup>2</sup> = &plusmn;1 come from 
+ * the end of the first period of the continued fraction of &radic;<i>d</i>, 
+ * rather than from trying one <i>y</i> after another, and all the other 
+ * solutions come from multiplying by powers of the fundamental solution. For 
+ * other <i>N</i>, the classes of solutions are found with the LMM algorithm, 
+ * as described by Keith Matthews in "The Diophantine Equation 
+ * <i>x</i><sup>2</sup> &minus; <i>Dy</i><sup>2</sup> = <i>N</i>, <i>D</i> 
+ * &gt; 0." Since solutions can be quite large even for small <i>d</i> (the 
+ * least solution for <i>d</i> = 61 has <i>x</i> = 1766319049), solutions are 
+ * given as <code>BigInteger</code>.
+ * @author Alonso del Arte
+ */
+public class PellSolver {
+    
+    /**
+     * A solution (<i>x</i>, <i>y</i>) of a Pell equation. This is just a pair 
+     * of numbers, it does not keep track of the equation it solves.
+     */
+    public static final class Solution {
+        
+        private final BigInteger x;
+        private final BigInteger y;
+        
+        /**
+         * Gives <i>x</i>.
+         * @return <i>x</i>. For example, 3 for (3, 2).
+         */
+        public BigInteger getX() {
+            return this.x;
+        }
+        
+        /**
+         * Gives <i>y</i>.
+         * @return <i>y</i>. For example, 2 for (3, 2).
+         */
+        public BigInteger getY() {
+            return this.y;
+        }
+        
+        /**
+         * Gives the solution as an ordered pair.
+         * @return The solution as an ordered pair. For example, "(3, 2)".
+         */
+        @Override
+        public String toString() {
+            return "(" + this.x + ", " + this.y + ")";
+        }
+        
+        /**
+         * Determines whether this solution is equal to another object.
+         * @param obj The object to compare to.
+         * @return True if <code>obj</code> is a <code>Solution</code> with the 
+         * same <i>x</i> and the same <i>y</i>, false otherwise.
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Solution)) {
+                return false;
+            }
+            Solution other = (Solution) obj;
+            return this.x.equals(other.x) && this.y.equals(other.y);
+        }
+        
+        @Override
+        public int hashCode() {
+            return 31 * this.x.hashCode() + this.y.hashCode();
+        }
+        
+        /**
+         * Sole constructor.
+         * @param x The number <i>x</i>. For example, 3.
+         * @param y The number <i>y</i>. For example, 2.
+         */
+        public Solution(BigInteger x, BigInteger y) {
+            this.x = x;
+            this.y = y;
+        }
+        
+    }
+    
+    private static final long SQUARE_ROOT_OF_MAX_LONG = 3037000499L;
+    
+    private final long d;
+    
+    private final BigInteger bigD;
+    
+    private final Solution fundamental;
+    
+    private final Solution negativeFundamental;
+    
+    /**
+     * Gives <i>d</i>.
+     * @return The number <i>d</i> this solver was constructed with. For 
+     * example, 7.
+     */
+    public long getD() {
+        return this.d;
+    }
+    
+    /**
+     * Gives the least positive solution of <i>x</i><sup>2</sup> &minus; 
+     * <i>dy</i><sup>2</sup> = 1.
+     * @return The least solution with <i>x</i> and <i>y</i> both positive. For 
+     * example, for <i>d</i> = 7, (8, 3).
+     */
+    public Solution fundamentalSolution() {
+        return this.fundamental;
+    }
+    
+    /**
+     * Gives the least positive solution of <i>x</i><sup>2</sup> &minus; 
+     * <i>dy</i><sup>2</sup> = &minus;1, if there is one. There is one exactly 
+     * when the period of the continued fraction of &radic;<i>d</i> has odd 
+     * length.
+     * @return The least solution with <i>x</i> and <i>y</i> both positive. For 
+     * example, for <i>d</i> = 13, (18, 5). But for <i>d</i> = 7, an empty 
+     * <code>Optional</code>.
+     */
+    public Optional<Solution> negativeFundamentalSolution() {
+        return Optional.ofNullable(this.negativeFundamental);
+    }
+    
+    /**
+     * Gives the positive solutions of <i>x</i><sup>2</sup> &minus; 
+     * <i>dy</i><sup>2</sup> = 1 in ascending order. The stream is unbounded 
+     * and each solution is computed only when it's needed, by multiplying the 
+     * previous solution by the fundamental solution.
+     * @return A lazy stream of solutions. For example, for <i>d</i> = 2, (3, 
+     * 2), (17, 12), (99, 70), (577, 408), &hellip;
+     */
+    public Stream<Solution> solutions() {
+        return Stream.iterate(this.fundamental, 
+                s -> this.multiply(s, this.fundamental));
+    }
+    
+    /**
+     * Gives the positive solutions of <i>x</i><sup>2</sup> &minus; 
+     * <i>dy</i><sup>2</sup> = &minus;1 in ascending order, which are the odd 
+     * powers of the negative fundamental solution.
+     * @return A lazy stream of solutions, which is empty if there are no 
+     * solutions. For example, for <i>d</i> = 2, (1, 1), (7, 5), (41, 29), 
+     * (239, 169), &hellip;
+     */
+    public Stream<Solution> negativeSolutions() {
+        if (this.negativeFundamental == null) {
+            return Stream.empty();
+        }
+        return Stream.iterate(this.negativeFundamental, 
+                s -> this.multiply(s, this.fundamental));
+    }
+    
+    /**
+     * Gives the least positive solution of <i>x</i><sup>2</sup> &minus; 
+     * <i>dy</i><sup>2</sup> = 4. If <i>d</i> is squarefree, this corresponds 
+     * to the fundamental unit of norm 1 of <b>Q</b>(&radic;<i>d</i>), as 
+     * <sup><i>x</i></sup>&frasl;<sub>2</sub> + 
+     * <sup><i>y</i>&radic;<i>d</i></sup>&frasl;<sub>2</sub>.
+     * @return The least solution with <i>x</i> and <i>y</i> both positive. For 
+     * example, for <i>d</i> = 5, (3, 1). For <i>d</i> = 7, (16, 6).
+     */
+    public Solution fundamentalSolutionOfFour() {
+        return this.solutionsOfFour(false).get();
+    }
+    
+    /**
+     * Gives the least positive solution of <i>x</i><sup>2</sup> &minus; 
+     * <i>dy</i><sup>2</sup> = &minus;4, if there is one.
+     * @return The least solution with <i>x</i> and <i>y</i> both positive. For 
+     * example, for <i>d</i> = 5, (1, 1). For <i>d</i> = 7, an empty 
+     * <code>Optional</code>.
+     */
+    public Optional<Solution> negativeFundamentalSolutionOfFour() {
+        return this.solutionsOfFour(true);
+    }
+    
+    private Optional<Solution> solutionsOfFour(boolean negative) {
+        BigInteger two = BigInteger.valueOf(2);
+        switch ((int) (this.d % 4)) {
+            case 1: 
+                Solution least = this.leastUnitOfHalves();
+                BigInteger x = least.x;
+                BigInteger y = least.y;
+                BigInteger norm = x.multiply(x) 
+                        .subtract(this.bigD.multiply(y).multiply(y));
+                boolean leastIsNegative = norm.signum() < 0;
+                if (negative && !leastIsNegative) {
+                    return Optional.empty();
+                }
+                if (leastIsNegative && !negative) {
+                    BigInteger squareX = x.multiply(x) 
+                            .add(this.bigD.multiply(y).multiply(y)) 
+                            .divide(two);
+                    BigInteger squareY = x.multiply(y);
+                    return Optional.of(new Solution(squareX, squareY));
+                }
+                return Optional.of(least);
+            case 0: 
+                PellSolver quarter = new PellSolver(this.d / 4);
+                Optional<Solution> reduced = negative 
+                        ? quarter.negativeFundamentalSolution() 
+                        : Optional.of(quarter.fundamentalSolution());
+                return reduced.map(s -> new Solution(s.x.shiftLeft(1), s.y));
+            default: 
+                Optional<Solution> halved = negative 
+                        ? this.negativeFundamentalSolution() 
+                        : Optional.of(this.fundamental);
+                return halved.map(s -> new Solution(s.x.shiftLeft(1), 
+                        s.y.shiftLeft(1)));
+        }
+    }
+    
+    // For d = 1 mod 4, the least unit a + b(1 + sqrt(d))/2 with a >= 0 and
+    // b >= 1 is a convergent of (-1 + sqrt(d))/2. Given back as (2a + b, b).
+    private Solution leastUnitOfHalves() {
+        PeriodicContinuedFraction expansion 
+                = PeriodicContinuedFraction.quadraticIrrational(-1, 2, this.d);
+        BigInteger c = this.bigD.subtract(BigInteger.ONE).shiftRight(2);
+        int n = 0;
+        while (true) {
+            BigFraction convergent = expansion.convergent(n);
+            BigInteger a = convergent.getNumerator();
+            BigInteger b = convergent.getDenominator();
+            BigInteger norm = a.multiply(a).add(a.multiply(b)) 
+                    .subtract(c.multiply(b).multiply(b));
+            if (norm.abs().equals(BigInteger.ONE) && a.signum() >= 0) {
+                return new Solution(a.shiftLeft(1).add(b), b);
+            }
+            n++;
+        }
+    }
+    
+    /**
+     * Finds one solution of <i>x</i><sup>2</sup> &minus; <i>dy</i><sup>2</sup> 
+     * = <i>N</i> in each class of solutions. Two solutions are in the same 
+     * class if one can be obtained from the other by multiplying by a power of 
+     * the fundamental solution of <i>x</i><sup>2</sup> &minus; 
+     * <i>dy</i><sup>2</sup> = 1. Each solution given is the one with the least 
+     * nonnegative <i>y</i> in its class, so <i>x</i> may be negative.
+     * @param n The number <i>N</i>. May be negative but not 0. For example, 
+     * &minus;3.
+     * @return A list of solutions, one for each class, which is empty if there 
+     * are no solutions. For example, for <i>d</i> = 7 and <i>N</i> = &minus;3, 
+     * (5, 2) and (2, 1). Note that (2, 1) times (8, 3) is (37, 14), another 
+     * solution in the same class as (2, 1).
+     * @throws IllegalArgumentException If <code>n</code> is 0.
+     */
+    public List<Solution> fundamentalSolutions(long n) {
+        if (n == 0) {
+            String excMsg = "Use the continued fraction of sqrt(" + this.d 
+                    + ") for N = 0";
+            throw new IllegalArgumentException(excMsg);
+        }
+        List<Solution> classes = new ArrayList<>();
+        long absN = Math.abs(n);
+        for (long f = 1; f * f <= absN; f++) {
+            if (absN % (f * f) != 0) {
+                continue;
+            }
+            long m = n / (f * f);
+            long absM = Math.abs(m);
+            BigInteger bigF = BigInteger.valueOf(f);
+            for (long z : this.squareRootsModulo(absM)) {
+                Solution solution = this.classFor(z, absM, m);
+                if (solution != null) {
+                    classes.add(new Solution(bigF.multiply(solution.x), 
+                            bigF.multiply(solution.y)));
+                }
+            }
+        }
+        return classes;
+    }
+    
+    // The z from -(|m| - 1)/2 to |m|/2 with z^2 = d mod |m|, in ascending 
+    // order. If |m| is an odd prime, or 2 or 4 times one, these are worked out 
+    // from a square root modulo that prime rather than found by checking each 
+    // z in the range.
+    private long[] squareRootsModulo(long absM) {
+        int twos = Long.numberOfTrailingZeros(absM);
+        long q = absM >> twos;
+        if (twos > 2 || q < 3 || q > Integer.MAX_VALUE || !isPrime(q)) {
+            return LongStream.rangeClosed(-((absM - 1) / 2), absM / 2) 
+                    .filter(z -> this.isSquareRootModulo(z, absM)).toArray();
+        }
+        long root = squareRootMod(this.d, q);
+        if (root < 0) {
+            return new long[0];
+        }
+        return LongStream.range(0, absM / q) 
+                .flatMap(j -> LongStream.of(root + j * q, q - root + j * q)) 
+                .map(z -> Math.floorMod(z, absM)) 
+                .map(z -> (z > absM / 2) ? z - absM : z) 
+                .filter(z -> this.isSquareRootModulo(z, absM)) 
+                .distinct().sorted().toArray();
+    }
+    
+    private boolean isSquareRootModulo(long z, long modulus) {
+        if (Math.abs(z) <= SQUARE_ROOT_OF_MAX_LONG) {
+            return Math.floorMod(z * z - this.d, modulus) == 0;
+        }
+        BigInteger square = BigInteger.valueOf(z).pow(2);
+        return square.subtract(this.bigD).mod(BigInteger.valueOf(modulus)) 
+                .signum() == 0;
+    }
+    
+    // Expands (z + sqrt(d))/|m| until a complete quotient has denominator 1
+    // or -1, and gives the class solution (r, s) that goes with it, or null
+    // if the period comes around without that happening. The complete
+    // quotients are purely periodic from the first reduced one on, that is,
+    // the first (p + sqrt(d))/q greater than 1 with conjugate between -1 and
+    // 0, so the period has come around when that one comes up again.
+    private Solution classFor(long z, long absM, long m) {
+        long root = isqrt(this.d);
+        long p = z;
+        long q = absM;
+        BigInteger prevG = BigInteger.valueOf(-z);
+        BigInteger currG = BigInteger.valueOf(absM);
+        BigInteger prevB = BigInteger.ONE;
+        BigInteger currB = BigInteger.ZERO;
+        boolean reduced = false;
+        long cycleP = 0;
+        long cycleQ = 0;
+        while (true) {
+            long sum = p + root;
+            long a = (q > 0) ? Math.floorDiv(sum, q) 
+                    : -Math.floorDiv(sum, -q) - 1;
+            BigInteger bigA = BigInteger.valueOf(a);
+            BigInteger nextG = bigA.multiply(currG).add(prevG);
+            BigInteger nextB = bigA.multiply(currB).add(prevB);
+            prevG = currG;
+            currG = nextG;
+            prevB = currB;
+            currB = nextB;
+            long nextP = a * q - p;
+            long nextQ = (this.d - Math.multiplyExact(nextP, nextP)) / q;
+            p = nextP;
+            q = nextQ;
+            if (Math.abs(q) == 1) {
+                BigInteger r = currG;
+                BigInteger s = currB;
+                BigInteger norm = r.multiply(r) 
+                        .subtract(this.bigD.multiply(s).multiply(s));
+                if (norm.equals(BigInteger.valueOf(m))) {
+                    return new Solution(r, s);
+                }
+                if (this.negativeFundamental == null) {
+                    return null;
+                }
+                BigInteger t = this.negativeFundamental.x;
+                BigInteger u = this.negativeFundamental.y;
+                return new Solution(r.multiply(t) 
+                        .add(s.multiply(u).multiply(this.bigD)), 
+                        r.multiply(u).add(s.multiply(t)));
+            }
+            if (reduced) {
+                if (p == cycleP && q == cycleQ) {
+                    return null;
+                }
+            } else if (q > 0 && p > 0 && p <= root && q > root - p 
+                    && q <= root + p) {
+                reduced = true;
+                cycleP = p;
+                cycleQ = q;
+            }
+        }
+    }
+    
+    /**
+     * Gives all the solutions of <i>x</i><sup>2</sup> &minus; 
+     * <i>dy</i><sup>2</sup> = <i>N</i> with <i>x</i> and <i>y</i> both 
+     * nonnegative, in ascending order of <i>x</i>. The solutions from the 
+     * different classes are merged as they're computed, so the stream is 
+     * unbounded if there are any solutions at all.
+     * @param n The number <i>N</i>. May be negative but not 0. For example, 
+     * &minus;3.
+     * @return A lazy stream of solutions. For example, for <i>d</i> = 7 and 
+     * <i>N</i> = &minus;3, (2, 1), (5, 2), (37, 14), (82, 31), (590, 223), 
+     * &hellip;
+     * @throws IllegalArgumentException If <code>n</code> is 0.
+     */
+    public Stream<Solution> solutions(long n) {
+        List<Solution> starts = new ArrayList<>();
+        for (Solution solution : this.fundamentalSolutions(n)) {
+            Solution start = solution;
+            if (signOf(start.x, start.y, this.bigD) < 0) {
+                start = new Solution(start.x.negate(), start.y.negate());
+            }
+            Solution inverse = new Solution(this.fundamental.x, 
+                    this.fundamental.y.negate());
+            Solution previous = this.multiply(start, inverse);
+            while (previous.x.signum() >= 0 && previous.y.signum() >= 0) {
+                start = previous;
+                previous = this.multiply(start, inverse);
+            }
+            while (start.x.signum() < 0 || start.y.signum() < 0) {
+                start = this.multiply(start, this.fundamental);
+            }
+            starts.add(start);
+        }
+        if (starts.isEmpty()) {
+            return Stream.empty();
+        }
+        PriorityQueue<Solution> queue = new PriorityQueue<>(starts.size(), 
+                (s, t) -> {
+                    int comparison = s.x.compareTo(t.x);
+                    return comparison == 0 ? s.y.compareTo(t.y) : comparison;
+                });
+        queue.addAll(starts);
+        Iterator<Solution> iterator = new Iterator<Solution>() {
+            
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+            
+            @Override
+            public Solution next() {
+                Solution least = queue.poll();
+                queue.add(PellSolver.this.multiply(least, 
+                        PellSolver.this.fundamental));
+                return least;
+            }
+            
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, 
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+    
+    /**
+     * Determines the sign of <i>x</i> + <i>y</i>&radic;<i>d</i> exactly, 
+     * without rounding &radic;<i>d</i>.
+     * @param x The number <i>x</i>. For example, 7.
+     * @param y The number <i>y</i>. For example, &minus;5.
+     * @param d The number <i>d</i>. Must be positive and not a perfect square. 
+     * For example, 2.
+     * @return &minus;1, 0 or 1. For example, &minus;1, since 7 &minus; 
+     * 5&radic;2 &asymp; &minus;0.0711. The result is 0 only if <i>x</i> and 
+     * <i>y</i> are both 0.
+     */
+    static int signOf(BigInteger x, BigInteger y, BigInteger d) {
+        int xSign = x.signum();
+        int ySign = y.signum();
+        if (xSign == ySign || ySign == 0) {
+            return xSign;
+        }
+        if (xSign == 0) {
+            return ySign;
+        }
+        BigInteger xSquared = x.multiply(x);
+        BigInteger dySquared = d.multiply(y).multiply(y);
+        return (xSquared.compareTo(dySquared) > 0) ? xSign : ySign;
+    }
+    
+    private Solution multiply(Solution s, Solution t) {
+        BigInteger x = s.x.multiply(t.x) 
+                .add(this.bigD.multiply(s.y).multiply(t.y));
+        BigInteger y = s.x.multiply(t.y).add(s.y.multiply(t.x));
+        return new Solution(x, y);
+    }
+    
+    /**
+     * Constructs a solver for Pell equations with the given <i>d</i>. This 
+     * expands &radic;<i>d</i> as a continued fraction up to the end of the 
+     * first period, which takes time roughly proportional to 
+     * &radic;<i>d</i> log <i>d</i> in the worst case.
+     * @param d The number <i>d</i>. Must be positive and not a perfect square, 
+     * but need not be squarefree. For example, 7.
+     * @throws IllegalArgumentException If <code>d</code> is 0, negative or a 
+     * perfect square.
+     */
+    public PellSolver(long d) {
+        if (d < 2 || isPerfectSquare(d)) {
+            String excMsg = "Pell equation with d = " + d 
+                    + " has only trivial solutions";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.d = d;
+        this.bigD = BigInteger.valueOf(d);
+        PeriodicContinuedFraction expansion 
+                = PeriodicContinuedFraction.squareRoot(d);
+        BigFraction convergent 
+                = expansion.convergent(expansion.getPeriodLength() - 1);
+        BigInteger x = convergent.getNumerator();
+        BigInteger y = convergent.getDenominator();
+        if (expansion.getPeriodLength() % 2 == 0) {
+            this.fundamental = new Solution(x, y);
+            this.negativeFundamental = null;
+        } else {
+            this.negativeFundamental = new Solution(x, y);
+            this.fundamental = this.multiply(this.negativeFundamental, 
+                    this.negativeFundamental);
+        }
+    }
+
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package calculators;
+
+import algebraics.Ideal;
+import algebraics.quadratics.ImaginaryQuadraticRing;
+import algebraics.quadratics.QuadraticInteger;
+import algebraics.quadratics.QuadraticRing;
+import calculators.PellSolver.Solution;
+
+import static calculators.NumberTheoreticFunctionsCalculator.cornacchia;
+import static calculators.NumberTheoreticFunctionsCalculator.cornacchiaModified;
+import static calculators.NumberTheoreticFunctionsCalculator.isPrime;
+import static calculators.NumberTheoreticFunctionsCalculator.mod;
+import static calculators.NumberTheoreticFunctionsCalculator.squareRootMod;
+import static calculators.NumberTheoreticFunctionsCalculator.symbolJacobi;
+import static calculators.NumberTheoreticFunctionsCalculator.symbolKronecker;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Tells how a rational prime <i>p</i> factors in a quadratic ring. Whether 
+ * <i>p</i> is inert, ramifies or splits is given by the Kronecker symbol 
+ * (<i>D</i>/<i>p</i>), where <i>D</i> is the discriminant of the ring, which 
+ * takes O(log <i>p</i>) steps. The prime ideals above <i>p</i> are then 
+ * &#10216;<i>p</i>&#10217; if <i>p</i> is inert, or &#10216;<i>p</i>, 
+ * &omega; &minus; <i>r</i>&#10217; for each root <i>r</i> modulo <i>p</i> 
+ * of the minimal polynomial of &omega;, which is <i>x</i><sup>2</sup> 
+ * &minus; <i>d</i> or <i>x</i><sup>2</sup> &minus; <i>x</i> &minus; 
+ * (<i>d</i> &minus; 1)/4, found with a modular square root.
+ * <p>For example, in <b>Z</b>[&radic;&minus;5], 3 splits as &#10216;3, 1 + 
+ * &radic;&minus;5&#10217;&#10216;3, 1 &minus; &radic;&minus;5&#10217;, 2 
+ * ramifies as &#10216;2, 1 + &radic;&minus;5&#10217;<sup>2</sup> and 11 is 
+ * inert.</p>
+ * @author Alonso del Arte
+ */
+public final class PrimeDecomposition {
+    
+    /**
+     * Splitting type of a prime that remains prime in the ring. The value is 
+     * chosen to match the corresponding Kronecker symbol.
+     */
+    public static final byte INERT = -1;
+    
+    /**
+     * Splitting type of a prime that is the square of a prime ideal in the 
+     * ring. The value is chosen to match the corresponding Kronecker symbol.
+     */
+    public static final byte RAMIFIED = 0;
+    
+    /**
+     * Splitting type of a prime that is the product of two distinct prime 
+     * ideals in the ring. The value is chosen to match the corresponding 
+     * Kronecker symbol.
+     */
+    public static final byte SPLIT = 1;
+    
+    private final QuadraticRing workingRing;
+    
+    private final int prime;
+    
+    private final byte type;
+    
+    // A root of the minimal polynomial of omega modulo the prime, -1 if the 
+    // prime is inert
+    private final int root;
+    
+    /**
+     * Tells how a prime factors in a quadratic ring, without working out the 
+     * prime ideals. This is what the ring diagrams and the results groupings 
+     * use to classify primes.
+     * @param ring The ring. For example, <b>Z</b>[&radic;&minus;5].
+     * @param p The prime. Should be a positive prime, but this is not checked. 
+     * For example, 3.
+     * @return One of {@link #INERT}, {@link #RAMIFIED} or {@link #SPLIT}. For 
+     * example, <code>SPLIT</code>.
+     */
+    public static byte splittingType(QuadraticRing ring, int p) {
+        long discr = ring.hasHalfIntegers() ? ring.getRadicand() 
+                : 4L * ring.getRadicand();
+        if (p == 2) {
+            return symbolKronecker((int) mod(discr, 8), 2);
+        }
+        return symbolJacobi((int) mod(discr, p), p);
+    }
+    
+    /**
+     * Finds the solution of <i>x</i><sup>2</sup> &minus; <i>dy</i><sup>2</sup> 
+     * = &minus;<i>n</i> or <i>n</i> with the least nonnegative <i>y</i>, 
+     * preferring &minus;<i>n</i> if there are solutions of both with the same 
+     * <i>y</i>. For a prime <i>n</i>, this takes a modular square root and 
+     * continued fraction expansions no longer than the period of 
+     * &radic;<i>d</i>, rather than a search through <i>y</i> = 1, 2, 3, 
+     * &hellip;
+     * @param solver The solver for <i>d</i>. For example, the solver for 
+     * <i>d</i> = 7.
+     * @param n The number <i>n</i>. Should be positive. For example, 3.
+     * @param coords An array of at least two elements to write |<i>x</i>| and 
+     * <i>y</i> into. For example, after the call with the solver for 7 and 3, 
+     * the first two elements will be 2 and 1, since 2<sup>2</sup> &minus; 7 
+     * &times; 1<sup>2</sup> = &minus;3.
+     * @return True if there is a solution and it fits in 32-bit integers, 
+     * false otherwise.
+     */
+    static boolean leastNormSolution(PellSolver solver, long n, 
+            long[] coords) {
+        Solution least = null;
+        for (long target : new long[] {-n, n}) {
+            for (Solution solution : solver.fundamentalSolutions(target)) {
+                Solution candidate = leastInClass(solver, solution);
+                if (least == null || candidate.getY().abs() 
+                        .compareTo(least.getY().abs()) < 0) {
+                    least = candidate;
+                }
+            }
+        }
+        if (least == null) {
+            return false;
+        }
+        BigInteger x = least.getX().abs();
+        BigInteger y = least.getY().abs();
+        if (x.bitLength() > 31 || y.bitLength() > 31) {
+            return false;
+        }
+        coords[0] = x.longValue();
+        coords[1] = y.longValue();
+        return true;
+    }
+    
+    // Multiplies the solution by the fundamental solution of x^2 - dy^2 = 1, 
+    // or by its inverse, for as long as that brings |y| down
+    private static Solution leastInClass(PellSolver solver, 
+            Solution solution) {
+        BigInteger d = BigInteger.valueOf(solver.getD());
+        BigInteger t = solver.fundamentalSolution().getX();
+        BigInteger u = solver.fundamentalSolution().getY();
+        Solution least = solution;
+        for (BigInteger v : new BigInteger[] {u, u.negate()}) {
+            boolean improving = true;
+            while (improving) {
+                BigInteger x = least.getX();
+                BigInteger y = least.getY();
+                Solution next = new Solution(x.multiply(t) 
+                        .add(d.multiply(y).multiply(v)), 
+                        x.multiply(v).add(y.multiply(t)));
+                improving = next.getY().abs().compareTo(y.abs()) < 0;
+                if (improving) {
+                    least = next;
+                }
+            }
+        }
+        return least;
+    }
+    
+    private static int minimalPolynomialRoot(QuadraticRing ring, int p, 
+            byte type) {
+        if (type == INERT) {
+            return -1;
+        }
+        int d = ring.getRadicand();
+        if (p == 2) {
+            return ring.hasHalfIntegers() ? 0 : mod(d, 2);
+        }
+        int squareRoot = (int) squareRootMod(d, p);
+        if (!ring.hasHalfIntegers()) {
+            return squareRoot;
+        }
+        int inverseOfTwo = (p + 1) / 2;
+        return (int) ((long) (1 + squareRoot) * inverseOfTwo % p);
+    }
+    
+    /**
+     * Gives the ring the prime is factored in.
+     * @return The ring. For example, <b>Z</b>[&radic;&minus;5].
+     */
+    public QuadraticRing getRing() {
+        return this.workingRing;
+    }
+    
+    /**
+     * Gives the prime that is factored.
+     * @return The prime. For example, 3.
+     */
+    public int getPrime() {
+        return this.prime;
+    }
+    
+    /**
+     * Gives the splitting type of the prime.
+     * @return One of {@link #INERT}, {@link #RAMIFIED} or {@link #SPLIT}. For 
+     * example, <code>SPLIT</code> for 3 in <b>Z</b>[&radic;&minus;5].
+     */
+    public byte getSplittingType() {
+        return this.type;
+    }
+    
+    private Ideal idealFromRoot(int r) {
+        QuadraticInteger p = QuadraticInteger.apply(this.prime, 0, 
+                this.workingRing);
+        if (2L * r > this.prime) {
+            r -= this.prime;
+        }
+        QuadraticInteger omegaMinusRoot;
+        if (this.workingRing.hasHalfIntegers()) {
+            omegaMinusRoot = QuadraticInteger.apply(1 - 2 * r, 1, 
+                    this.workingRing, 2);
+        } else {
+            omegaMinusRoot = QuadraticInteger.apply(-r, 1, this.workingRing);
+        }
+        return new Ideal(p, omegaMinusRoot);
+    }
+    
+    /**
+     * Gives the prime ideals above the prime.
+     * @return A list with one ideal if the prime is inert or ramifies, or with 
+     * two ideals if it splits. For example, for 3 in 
+     * <b>Z</b>[&radic;&minus;5], &#10216;3, &minus;1 + 
+     * &radic;&minus;5&#10217; and &#10216;3, 1 + &radic;&minus;5&#10217;.
+     */
+    public List<Ideal> getIdeals() {
+        List<Ideal> ideals = new ArrayList<>(2);
+        if (this.type == INERT) {
+            ideals.add(new Ideal(QuadraticInteger.apply(this.prime, 0, 
+                    this.workingRing)));
+            return ideals;
+        }
+        ideals.add(this.idealFromRoot(this.root));
+        if (this.type == SPLIT) {
+            int trace = this.workingRing.hasHalfIntegers() ? 1 : 0;
+            ideals.add(this.idealFromRoot(mod(trace - this.root, 
+                    this.prime)));
+        }
+        return ideals;
+    }
+    
+    /**
+     * Finds a number of the ring with norm equal to the prime or its negative. 
+     * In an imaginary ring, that's a solution of <i>x</i><sup>2</sup> + 
+     * |<i>d</i>|<i>y</i><sup>2</sup> = <i>p</i> or 4<i>p</i> by Cornacchia's 
+     * algorithm. In a real ring, it's the least solution of 
+     * <i>x</i><sup>2</sup> &minus; <i>dy</i><sup>2</sup> = &plusmn;<i>p</i> 
+     * or &plusmn;4<i>p</i> from a {@link PellSolver}.
+     * @return The number, with both coordinates nonnegative, or an empty 
+     * <code>Optional</code> if the prime is inert, if the prime ideals above 
+     * it are not principal, or if the number is beyond the range of 
+     * <code>int</code>. For example, 1 + &radic;&minus;6 for 7 in 
+     * <b>Z</b>[&radic;&minus;6], but nothing for 3 in 
+     * <b>Z</b>[&radic;&minus;5].
+     */
+    public Optional<QuadraticInteger> getSplitter() {
+        if (this.type == INERT) {
+            return Optional.empty();
+        }
+        int d = this.workingRing.getRadicand();
+        boolean halfIntFlag = this.workingRing.hasHalfIntegers();
+        long[] coords = new long[2];
+        boolean found;
+        if (this.workingRing instanceof ImaginaryQuadraticRing) {
+            found = halfIntFlag ? cornacchiaModified(-d, this.prime, coords) 
+                    : cornacchia(-d, this.prime, coords);
+        } else {
+            long n = halfIntFlag ? 4L * this.prime : this.prime;
+            found = leastNormSolution(new PellSolver(d), n, coords);
+        }
+        if (!found) {
+            return Optional.empty();
+        }
+        return Optional.of(QuadraticInteger.apply((int) coords[0], 
+                (int) coords[1], this.workingRing, halfIntFlag ? 2 : 1));
+    }
+    
+    /**
+     * Tells whether the prime ideals above the prime are principal. If they 
+     * are, the prime is the norm of some number of the ring, up to sign, and 
+     * it's not irreducible unless it's inert. The prime ideals above a split 
+     * prime are conjugates, so either both are principal or neither is. In an 
+     * imaginary ring, this is just a matter of whether Cornacchia's algorithm 
+     * finds such a number.
+     * @return True if the prime ideals are principal, false otherwise. For 
+     * example, false for 3 in <b>Z</b>[&radic;&minus;5], but true for 7 in 
+     * <b>Z</b>[&radic;&minus;6], since 7 = (1 + &radic;&minus;6)(1 &minus; 
+     * &radic;&minus;6). Always true for an inert prime.
+     */
+    public boolean hasPrincipalIdeals() {
+        if (this.type == INERT) {
+            return true;
+        }
+        if (this.workingRing instanceof ImaginaryQuadraticRing) {
+            return this.getSplitter().isPresent();
+        }
+        return this.getIdeals().get(0).isPrincipal();
+    }
+    
+    /**
+     * Factors a prime in a quadratic ring.
+     * @param ring The ring. For example, <b>Z</b>[&radic;&minus;5].
+     * @param p The prime. For example, 3.
+     * @throws IllegalArgumentException If <code>p</code> is not a positive 
+     * prime.
+     */
+    public PrimeDecomposition(QuadraticRing ring, int p) {
+        if (p < 2 || !isPrime(p)) {
+            String excMsg = p + " is not a positive prime";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.workingRing = ring;
+        this.prime = p;
+        this.type = splittingType(ring, p);
+        this.root = minimalPolynomialRoot(ring, p, this.type);
+    }
+    
+}
@@ -22,9 +22,6 @@ import algebraics.quadratics.RealQuadraticRing;
 
 import static calculators.NumberTheoreticFunctionsCalculator.fieldClassNumber;
 import static calculators.NumberTheoreticFunctionsCalculator.fundamentalUnit;
-import static calculators.NumberTheoreticFunctionsCalculator.isPerfectSquare;
-import static calculators.NumberTheoreticFunctionsCalculator.symbolKronecker;
-import static calculators.NumberTheoreticFunctionsCalculator.symbolLegendre;
 
 import java.util.List;
 import java.util.Optional;
@@ -37,94 +34,71 @@ public final class RealQuadResultsGrouping
         extends ResultsGrouping<RealQuadraticInteger> {
     
     /**
-     * The default maximum "surd" part for which to search for splitters. If for 
-     * a given number there is a splitter but its "surd" part is greater than 
-     * this value, and the cache's threshold hasn't been raised from this 
-     * initial value, the list of splitters might have an empty 
-     * <code>Optional</code> for the corresponding prime.
+     * The default maximum "surd" part for which to search for splitters.
+     * @deprecated Splitters are now found from the classes of solutions of 
+     * the corresponding Pell equations, with no limit on the "surd" part 
+     * other than the range of <code>int</code>.
      */
+    @Deprecated
     public static final int DEFAULT_SURD_PART_SEARCH_THRESHOLD = 4800;
     
-    private int surdPartSearchThreshold;
-    
     private final RealQuadraticRing cachedRing;
     
     private final int radicand;
     
     private final boolean halfIntFlag;
     
+    private final PellSolver pellSolver;
+    
+    private final long[] splitterCoords = new long[2];
+    
     private final Optional<RealQuadraticInteger> cachedUnit;
     
     private final Optional<Integer> cachedClassNumber;
     
-    private Optional<RealQuadraticInteger> wrap(long trialReg, int trialSurd, 
-            int denom) {
-        int reg = (int) Math.floor(Math.sqrt(trialReg));
-        RealQuadraticInteger number = new RealQuadraticInteger(reg, trialSurd, 
-                this.cachedRing, denom);
-        return Optional.of(number);
+    @Override
+    RealQuadraticInteger wrapRationalInteger(int n) {
+        return new RealQuadraticInteger(n, 0, this.cachedRing);
     }
     
-    private Optional<RealQuadraticInteger> lookForSplitter(int num, int denom) {
-        Optional<RealQuadraticInteger> option = Optional.empty();
-        int trialSurd = 1;
-        long xd, trialReg;
-        boolean notFound = true;
-        while (notFound && trialSurd < this.surdPartSearchThreshold) {
-            xd = trialSurd * trialSurd * this.radicand;
-            trialReg = xd - num;
-            if (isPerfectSquare(trialReg)) {
-                option = wrap(trialReg, trialSurd, denom);
-                notFound = false;
-            } else {
-                trialReg = xd + num;
-                if (isPerfectSquare(trialReg)) {
-                    option = wrap(trialReg, trialSurd, denom);
-                    notFound = false;
-                }
-            }
-            trialSurd++;
-        }
-        return option;
+    @Override
+    RealQuadraticInteger wrapFactor(int regPart, int surdPart) {
+        int denom = this.halfIntFlag ? 2 : 1;
+        return new RealQuadraticInteger(regPart, surdPart, this.cachedRing, 
+                denom);
     }
     
-    private Optional<RealQuadraticInteger> findSplitter(int num) {
-        if (this.halfIntFlag) {
-            return lookForSplitter(4 * num, 2);
-        } else {
-            return lookForSplitter(num, 1);
+    @Override
+    int unwrapRationalInteger(Object obj) {
+        if (!(obj instanceof RealQuadraticInteger)) {
+            return 0;
+        }
+        RealQuadraticInteger number = (RealQuadraticInteger) obj;
+        if (number.getSurdPartMult() != 0 || number.getDenominator() != 1 
+                || !this.cachedRing.equals(number.getRing())) {
+            return 0;
         }
+        return number.getRegPartMult();
     }
     
-    private void processEvenPrime() {
-        byte symbol = symbolKronecker(this.radicand, 2);
-        RealQuadraticInteger two = new RealQuadraticInteger(2, 0, 
-                this.cachedRing);
-        if (symbol == -1) {
-            this.inertialPrimes.add(two);
+    private void recordWithSplitter(int p, byte type, int num) {
+        if (PrimeDecomposition.leastNormSolution(this.pellSolver, num, 
+                this.splitterCoords)) {
+            this.record(p, type, (int) this.splitterCoords[0], 
+                    (int) this.splitterCoords[1]);
         } else {
-            Optional<RealQuadraticInteger> factor = findSplitter(2);
-            if (symbol == 0) {
-                this.ramifiedPrimes.put(two, factor);
-            } else {
-                this.splitPrimes.put(two, factor);
-            }
+            this.record(p, type);
         }
     }
     
-    private void processOddPrime(int p) {
-        byte symbol = symbolLegendre(this.radicand, p);
-        RealQuadraticInteger prime = new RealQuadraticInteger(p, 0, 
-                this.cachedRing);
-        if (symbol == -1) {
-            this.inertialPrimes.add(prime);
+    private void processPrime(int p) {
+        byte symbol = PrimeDecomposition.splittingType(this.cachedRing, p);
+        if (symbol == INERT) {
+            this.record(p, INERT);
         } else {
-            Optional<RealQuadraticInteger> factor = findSplitter(p);
-            if (symbol == 0) {
-                this.ramifiedPrimes.put(prime, factor);
-            } else {
-                this.splitPrimes.put(prime, factor);
-            }
+            byte type = (symbol == 0) ? RAMIFIED : SPLIT;
+            int num = this.halfIntFlag ? 4 * p : p;
+            this.recordWithSplitter(p, type, num);
         }
     }
     
@@ -133,6 +107,7 @@ public final class RealQuadResultsGrouping
         this.cachedRing = ring;
         this.radicand = this.cachedRing.getRadicand();
         this.halfIntFlag = this.cachedRing.hasHalfIntegers();
+        this.pellSolver = new PellSolver(this.radicand);
         Optional<RealQuadraticInteger> unitHolder = Optional.empty();
         Optional<Integer> classNumberHolder = Optional.empty();
         try {
@@ -147,12 +122,9 @@ public final class RealQuadResultsGrouping
         }
         this.cachedUnit = unitHolder;
         this.cachedClassNumber = classNumberHolder;
-        this.surdPartSearchThreshold = DEFAULT_SURD_PART_SEARCH_THRESHOLD;
-        this.processEvenPrime();
         List<Integer> primes = EratosthenesSieve.listPrimes(this.primePi);
-        List<Integer> oddPrimes = primes.subList(1, primes.size());
-        oddPrimes.forEach((oddPrime) -> {
-            this.processOddPrime(oddPrime);
+        primes.forEach((prime) -> {
+            this.processPrime(prime);
         });
     }
 
@@ -19,12 +19,21 @@ package calculators;
 import algebraics.AlgebraicInteger;
 import algebraics.IntegerRing;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 
 /**
- * Defines a grouping of results about a ring of algebraic integers.
+ * Defines a grouping of results about a ring of algebraic integers. The results 
+ * are held in parallel primitive arrays keyed by rational prime, rather than in 
+ * collections of algebraic integer objects. The algebraic integer objects are 
+ * only created on demand, when the caller iterates through one of the read-only 
+ * views given by {@link #inerts()}, {@link #splits()} or {@link #ramifieds()}.
  * @param <T> A type implementing the {@link AlgebraicInteger} interface.
  * @author Alonso del Arte
  */
@@ -37,15 +46,301 @@ public abstract class ResultsGrouping<T extends AlgebraicInteger> {
      */
     public static final int DEFAULT_PRIME_PI = 720;
     
+    /**
+     * Splitting type of a prime that remains prime in the ring. The value is 
+     * the same as in {@link PrimeDecomposition}.
+     */
+    static final byte INERT = PrimeDecomposition.INERT;
+    
+    /**
+     * Splitting type of a prime that is the square of a prime ideal in the 
+     * ring. The value is the same as in {@link PrimeDecomposition}.
+     */
+    static final byte RAMIFIED = PrimeDecomposition.RAMIFIED;
+    
+    /**
+     * Splitting type of a prime that is the product of two distinct prime 
+     * ideals in the ring. The value is the same as in {@link 
+     * PrimeDecomposition}.
+     */
+    static final byte SPLIT = PrimeDecomposition.SPLIT;
+    
+    /**
+     * Placed in the first slot of a prime's packed coordinates to indicate 
+     * there is no known splitting factor for that prime.
+     */
+    private static final int NO_FACTOR = Integer.MIN_VALUE;
+    
+    private static final int INITIAL_CAPACITY = 64;
+    
     int primePi;
 
     private final IntegerRing domain;
     
-    HashSet<T> inertialPrimes = new HashSet<>();
+    private int[] primes = new int[INITIAL_CAPACITY];
+    
+    private byte[] splittingTypes = new byte[INITIAL_CAPACITY];
+    
+    /**
+     * The coordinates of the splitting factors, two per prime, at indices 
+     * 2<i>i</i> and 2<i>i</i> + 1 for the prime at index <i>i</i> of 
+     * <code>primes</code>. How the coordinates are to be interpreted is up to 
+     * {@link #wrapFactor(int, int)}.
+     */
+    private int[] factorCoords = new int[2 * INITIAL_CAPACITY];
+    
+    private int recordedCount = 0;
+    
+    private final int[] typeCounts = new int[3];
+    
+    private final Set<T> inertsView = new InertsView();
+    
+    private final Map<T, Optional<T>> splitsView = new FactorsView(SPLIT);
+    
+    private final Map<T, Optional<T>> ramifiedsView 
+            = new FactorsView(RAMIFIED);
+    
+    /**
+     * Wraps a rational integer as an algebraic integer of the ring of this 
+     * grouping.
+     * @param n The rational integer to wrap. For example, 7.
+     * @return The number <code>n</code> as an element of the ring. For example, 
+     * 7 + 0&radic;2 in <b>Z</b>[&radic;2].
+     */
+    abstract T wrapRationalInteger(int n);
+    
+    /**
+     * Wraps the packed coordinates of a splitting factor as an algebraic 
+     * integer of the ring of this grouping.
+     * @param regPart The first coordinate, as it was given to {@link 
+     * #record(int, byte, int, int)}. For example, 3.
+     * @param surdPart The second coordinate, as it was given to {@link 
+     * #record(int, byte, int, int)}. For example, 1.
+     * @return The splitting factor. For example, 3 + &radic;2 in 
+     * <b>Z</b>[&radic;2].
+     */
+    abstract T wrapFactor(int regPart, int surdPart);
+    
+    /**
+     * Determines which rational integer, if any, an object represents in the 
+     * ring of this grouping. This is what enables the read-only views to answer 
+     * <code>contains()</code> and <code>get()</code> queries with a binary 
+     * search rather than a linear scan.
+     * @param obj The object to check. May be null.
+     * @return The rational integer represented by <code>obj</code> if it is an 
+     * algebraic integer from the ring of this grouping with algebraic degree 1, 
+     * 0 in any other case.
+     */
+    abstract int unwrapRationalInteger(Object obj);
+    
+    private void ensureCapacity() {
+        if (this.recordedCount == this.primes.length) {
+            int newCapacity = 2 * this.primes.length;
+            this.primes = Arrays.copyOf(this.primes, newCapacity);
+            this.splittingTypes = Arrays.copyOf(this.splittingTypes, 
+                    newCapacity);
+            this.factorCoords = Arrays.copyOf(this.factorCoords, 
+                    2 * newCapacity);
+        }
+    }
+    
+    /**
+     * Records a prime and its splitting factor. Primes must be recorded in 
+     * ascending order.
+     * @param p The prime to record. For example, 7.
+     * @param type The splitting type, one of {@link #INERT}, {@link #RAMIFIED} 
+     * or {@link #SPLIT}.
+     * @param regPart The first coordinate of the splitting factor. For example, 
+     * 3. Must not be <code>Integer.MIN_VALUE</code>.
+     * @param surdPart The second coordinate of the splitting factor. For 
+     * example, 1.
+     * @throws IllegalArgumentException If <code>p</code> is not greater than 
+     * the previously recorded prime.
+     */
+    void record(int p, byte type, int regPart, int surdPart) {
+        if (this.recordedCount > 0 
+                && p <= this.primes[this.recordedCount - 1]) {
+            String excMsg = "Prime " + p + " should be greater than " 
+                    + this.primes[this.recordedCount - 1];
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.ensureCapacity();
+        int index = this.recordedCount;
+        this.primes[index] = p;
+        this.splittingTypes[index] = type;
+        this.factorCoords[2 * index] = regPart;
+        this.factorCoords[2 * index + 1] = surdPart;
+        this.typeCounts[type + 1]++;
+        this.recordedCount++;
+    }
+    
+    /**
+     * Records a prime for which there is no known splitting factor, either 
+     * because it is inert or because the search for a splitting factor was 
+     * unsuccessful. Primes must be recorded in ascending order.
+     * @param p The prime to record. For example, 5.
+     * @param type The splitting type, one of {@link #INERT}, {@link #RAMIFIED} 
+     * or {@link #SPLIT}.
+     * @throws IllegalArgumentException If <code>p</code> is not greater than 
+     * the previously recorded prime.
+     */
+    void record(int p, byte type) {
+        this.record(p, type, NO_FACTOR, 0);
+    }
+    
+    private int indexOf(Object obj) {
+        int p = this.unwrapRationalInteger(obj);
+        if (p < 2) {
+            return -1;
+        }
+        return Arrays.binarySearch(this.primes, 0, this.recordedCount, p);
+    }
+    
+    private Optional<T> factorAt(int index) {
+        int regPart = this.factorCoords[2 * index];
+        if (regPart == NO_FACTOR) {
+            return Optional.empty();
+        }
+        return Optional.of(this.wrapFactor(regPart, 
+                this.factorCoords[2 * index + 1]));
+    }
+    
+    /**
+     * Walks through the indices of the recorded primes of one splitting type, 
+     * in ascending order of the primes.
+     */
+    private abstract class TypeIterator<E> implements Iterator<E> {
+        
+        private final byte wantedType;
+        
+        private int nextIndex = -1;
+        
+        private void advance() {
+            do {
+                this.nextIndex++;
+            } while (this.nextIndex < ResultsGrouping.this.recordedCount 
+                    && ResultsGrouping.this.splittingTypes[this.nextIndex] 
+                            != this.wantedType);
+        }
+        
+        abstract E elementAt(int index);
+        
+        @Override
+        public boolean hasNext() {
+            return this.nextIndex < ResultsGrouping.this.recordedCount;
+        }
+        
+        @Override
+        public E next() {
+            if (!this.hasNext()) {
+                String excMsg = "No more primes of splitting type " 
+                        + this.wantedType;
+                throw new NoSuchElementException(excMsg);
+            }
+            int index = this.nextIndex;
+            this.advance();
+            return this.elementAt(index);
+        }
+        
+        TypeIterator(byte type) {
+            this.wantedType = type;
+            this.advance();
+        }
+        
+    }
     
-    HashMap<T, Optional<T>> splitPrimes = new HashMap<>();
+    private final class InertsView extends AbstractSet<T> {
+        
+        @Override
+        public Iterator<T> iterator() {
+            return new TypeIterator<T>(INERT) {
+                
+                @Override
+                T elementAt(int index) {
+                    return ResultsGrouping.this.wrapRationalInteger(
+                            ResultsGrouping.this.primes[index]);
+                }
+                
+            };
+        }
+        
+        @Override
+        public int size() {
+            return ResultsGrouping.this.typeCounts[INERT + 1];
+        }
+        
+        @Override
+        public boolean contains(Object obj) {
+            int index = ResultsGrouping.this.indexOf(obj);
+            return index > -1 
+                    && ResultsGrouping.this.splittingTypes[index] == INERT;
+        }
+        
+    }
     
-    HashMap<T, Optional<T>> ramifiedPrimes = new HashMap<>();
+    private final class FactorsView extends AbstractMap<T, Optional<T>> {
+        
+        private final byte viewType;
+        
+        private final Set<Map.Entry<T, Optional<T>>> entries 
+                = new AbstractSet<Map.Entry<T, Optional<T>>>() {
+            
+            @Override
+            public Iterator<Map.Entry<T, Optional<T>>> iterator() {
+                return new TypeIterator<Map.Entry<T, Optional<T>>>(viewType) {
+                    
+                    @Override
+                    Map.Entry<T, Optional<T>> elementAt(int index) {
+                        T prime = ResultsGrouping.this.wrapRationalInteger(
+                                ResultsGrouping.this.primes[index]);
+                        return new AbstractMap.SimpleImmutableEntry<>(prime, 
+                                ResultsGrouping.this.factorAt(index));
+                    }
+                    
+                };
+            }
+            
+            @Override
+            public int size() {
+                return ResultsGrouping.this.typeCounts[viewType + 1];
+            }
+            
+        };
+        
+        @Override
+        public Set<Map.Entry<T, Optional<T>>> entrySet() {
+            return this.entries;
+        }
+        
+        @Override
+        public int size() {
+            return ResultsGrouping.this.typeCounts[this.viewType + 1];
+        }
+        
+        @Override
+        public boolean containsKey(Object key) {
+            int index = ResultsGrouping.this.indexOf(key);
+            return index > -1 
+                    && ResultsGrouping.this.splittingTypes[index] 
+                            == this.viewType;
+        }
+        
+        @Override
+        public Optional<T> get(Object key) {
+            int index = ResultsGrouping.this.indexOf(key);
+            if (index > -1 
+                    && ResultsGrouping.this.splittingTypes[index] 
+                            == this.viewType) {
+                return ResultsGrouping.this.factorAt(index);
+            }
+            return null;
+        }
+        
+        FactorsView(byte type) {
+            this.viewType = type;
+        }
+        
+    }
     
     /**
      * Retrieves the ring object with which this results grouping object was 
@@ -86,32 +381,31 @@ public abstract class ResultsGrouping<T extends AlgebraicInteger> {
 
     /**
      * Returns the set of inert primes, starting with 2 (when applicable) and 
-     * going up to the <code>primePi</code> setting. If a subclass simply places 
-     * the inert primes in the appropriate internal set, there is no need to 
-     * override this function.
+     * going up to the <code>primePi</code> setting.
      * @return A set of inert primes. For example, for <b>Z</b>[&radic;7], the  
      * set should include 5, 11, 13, 17, 23, 41, 43, etc., as those are all 
      * inert in <b>Z</b>[&radic;7]. In other words, for those numbers <i>p</i>, 
      * the equation <i>x</i><sup>2</sup> &minus; 7<i>y</i><sup>2</sup> = 
-     * <i>p</i> has no solution in integers. The set is a new copy of the 
-     * internally held values, so the caller is free to modify it as needed.
+     * <i>p</i> has no solution in integers. The set is a read-only view backed 
+     * by this grouping, and it iterates in ascending order. Callers who need 
+     * to modify the set should copy it first, e.g., with the 
+     * <code>HashSet</code> copy constructor.
      */
-    public HashSet<T> inerts() {
-        return new HashSet(this.inertialPrimes);
+    public Set<T> inerts() {
+        return this.inertsView;
     }
     
     /**
      * Returns the map of split primes, starting with 2 (when applicable) and 
      * going up to the <code>primePi</code> setting, and their corresponding 
-     * splitters. If a subclass simply places the split primes and their 
-     * splitters in the appropriate internal map, there is no need to override 
-     * this function.
+     * splitters.
      * @return A map of split primes and their splitters. For example, for 
      * <b>Z</b>[&radic;7], the map should include 3, since 3 splits as 
      * (&minus;1)(2 &minus; &radic;7)(2 + &radic;7). The key 3 should correspond 
      * to an <code>Optional</code> holding the value 2 + &radic;7. The map is a 
-     * new copy of the internally held keys and values, so the caller is free to 
-     * modify it as needed. 
+     * read-only view backed by this grouping, and its entries iterate in 
+     * ascending order of the primes. Callers who need to modify the map should 
+     * copy it first, e.g., with the <code>HashMap</code> copy constructor.
      * <p>Note that in the case of domains without unique factorization, a prime 
      * might be listed among the split primes with an empty 
      * <code>Optional</code> for the splitter. Even with a unique factorization 
@@ -119,22 +413,21 @@ public abstract class ResultsGrouping<T extends AlgebraicInteger> {
      * calculation could not be performed in a timely manner or an overflow 
      * would have resulted.</p>
      */
-    public HashMap<T, Optional<T>> splits() {
-            return new HashMap<>(this.splitPrimes);
+    public Map<T, Optional<T>> splits() {
+        return this.splitsView;
     }
     
     /**
      * Returns the map of ramified primes, starting with 2 (when applicable) and 
      * going up to the <code>primePi</code> setting, and their corresponding 
-     * ramifiers. If a subclass simply places the ramified primes and their 
-     * ramifiers in the appropriate internal map, there is no need to override 
-     * this function.
+     * ramifiers.
      * @return A map of ramified primes and their ramifiers. For example, for 
      * <b>Z</b>[&radic;7], the map should definitely include 7, since 7 ramifies  
      * as (&radic;7)<sup>2</sup>. The key 7 should correspond to an 
-     * <code>Optional</code> holding the value &radic;7. The map is a new copy 
-     * of the internally held keys and values, so the caller is free to modify 
-     * it as needed.
+     * <code>Optional</code> holding the value &radic;7. The map is a read-only 
+     * view backed by this grouping, and its entries iterate in ascending order 
+     * of the primes. Callers who need to modify the map should copy it first, 
+     * e.g., with the <code>HashMap</code> copy constructor.
      * <p>Note that in the case of domains without unique factorization, a prime 
      * might be listed among the ramified primes with an empty 
      * <code>Optional</code> for the ramifier. Even with a unique factorization 
@@ -142,8 +435,8 @@ public abstract class ResultsGrouping<T extends AlgebraicInteger> {
      * calculation could not be performed in a timely manner or an overflow 
      * would have resulted.</p>
      */
-    public HashMap<T, Optional<T>> ramifieds() {
-            return new HashMap<>(this.ramifiedPrimes);
+    public Map<T, Optional<T>> ramifieds() {
+        return this.ramifiedsView;
     }
     
     /**
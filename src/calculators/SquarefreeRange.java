@@ -0,0 +1,282 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package calculators;
+
+import static calculators.NumberTheoreticFunctionsCalculator.isqrt;
+import static calculators.NumberTheoreticFunctionsCalculator.mod;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Enumerates the squarefree integers in a given range, optionally only those 
+ * in a given residue class. This is meant for surveys of quadratic rings over 
+ * a range of discriminants, such as all squarefree <i>d</i> between 
+ * &minus;10<sup>7</sup> and 10<sup>7</sup>, or all squarefree <i>d</i> 
+ * &equiv; 1 mod 4 in that range.
+ * <p>Rather than trying each candidate by division, the range is processed in 
+ * segments, and in each segment the multiples of <i>p</i><sup>2</sup> are 
+ * crossed off for every prime <i>p</i> up to the square root of the largest 
+ * number in the range (by absolute value). Then whatever has not been crossed 
+ * off is squarefree. Each stream from {@link #stream()} can be split by 
+ * segment for parallel processing, and the segments share nothing but the 
+ * list of primes, which is computed once, at construction time.</p>
+ * @author Alonso del Arte
+ */
+public class SquarefreeRange {
+    
+    /**
+     * How many consecutive integers are sieved at a time. A stream over a range 
+     * spanning fewer than two segments will not split for parallel processing.
+     */
+    public static final int SEGMENT_SIZE = 1 << 15;
+    
+    private final int begin, finish;
+    
+    private final int congruenceResidue, congruenceModulus;
+    
+    private final int[] sievingPrimes;
+    
+    @Override
+    public String toString() {
+        String str = "Squarefree integers from " + this.begin + " to " 
+                + this.finish;
+        if (this.congruenceModulus == 1) {
+            return str;
+        } else {
+            return str + " congruent to " + this.congruenceResidue + " mod " 
+                    + this.congruenceModulus;
+        }
+    }
+    
+    /**
+     * Retrieves the start of the range.
+     * @return The start of the range, as passed to the constructor. For 
+     * example, &minus;10000000.
+     */
+    public int getStart() {
+        return this.begin;
+    }
+    
+    /**
+     * Retrieves the end of the range.
+     * @return The end of the range, as passed to the constructor. For example, 
+     * 10000000.
+     */
+    public int getEnd() {
+        return this.finish;
+    }
+    
+    /**
+     * Gives the squarefree integers of this range as a stream, in ascending 
+     * order. Each call gives a new stream, but the primes for the sieve are not 
+     * recomputed.
+     * @return A sequential stream. For example, for the range from &minus;10 to 
+     * 10 with no residue filter, &minus;10, &minus;7, &minus;6, &minus;5, 
+     * &minus;3, &minus;2, &minus;1, 1, 2, 3, 5, 6, 7, 10. Call 
+     * <code>parallel()</code> on it to process it in parallel.
+     */
+    public IntStream stream() {
+        long first = this.begin + mod((long) this.congruenceResidue 
+                - this.begin, this.congruenceModulus);
+        return StreamSupport.intStream(new SegmentSpliterator(first, 
+                this.finish), false);
+    }
+    
+    /**
+     * Walks through a subrange one segment at a time. Splitting hands off the 
+     * first half of the remaining subrange, rounded down to the start of a 
+     * segment, to a new spliterator, as an ordered spliterator should. Since 
+     * each segment starts at the first candidate past the previous one, the 
+     * segments are a whole number of moduli apart.
+     */
+    private final class SegmentSpliterator implements Spliterator.OfInt {
+        
+        private final boolean[] crossedOff = new boolean[SEGMENT_SIZE];
+        
+        private long cursor;
+        
+        private final long last;
+        
+        private long segmentStart = 0;
+        
+        private long segmentEnd = Long.MIN_VALUE;
+        
+        private void sieveSegmentFrom(long start) {
+            this.segmentStart = start;
+            this.segmentEnd = Math.min(start + SEGMENT_SIZE - 1, this.last);
+            int length = (int) (this.segmentEnd - this.segmentStart + 1);
+            Arrays.fill(this.crossedOff, 0, length, false);
+            if (this.segmentStart <= 0 && this.segmentEnd >= 0) {
+                this.crossedOff[(int) -this.segmentStart] = true;
+            }
+            long maxAbs = Math.max(Math.abs(this.segmentStart), 
+                    Math.abs(this.segmentEnd));
+            for (int p : SquarefreeRange.this.sievingPrimes) {
+                long square = (long) p * p;
+                if (square > maxAbs) {
+                    break;
+                }
+                long multiple = this.segmentStart 
+                        + mod(-this.segmentStart, square);
+                while (multiple <= this.segmentEnd) {
+                    this.crossedOff[(int) (multiple - this.segmentStart)] 
+                            = true;
+                    multiple += square;
+                }
+            }
+        }
+        
+        private boolean isSquarefreeAtCursor() {
+            if (this.cursor > this.segmentEnd) {
+                this.sieveSegmentFrom(this.cursor);
+            }
+            return !this.crossedOff[(int) (this.cursor - this.segmentStart)];
+        }
+        
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            int step = SquarefreeRange.this.congruenceModulus;
+            while (this.cursor <= this.last) {
+                long candidate = this.cursor;
+                boolean squarefree = this.isSquarefreeAtCursor();
+                this.cursor += step;
+                if (squarefree) {
+                    action.accept((int) candidate);
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            int step = SquarefreeRange.this.congruenceModulus;
+            while (this.cursor <= this.last) {
+                if (this.isSquarefreeAtCursor()) {
+                    action.accept((int) this.cursor);
+                }
+                this.cursor += step;
+            }
+        }
+        
+        @Override
+        public Spliterator.OfInt trySplit() {
+            long remaining = this.last - this.cursor;
+            if (remaining < 2L * SEGMENT_SIZE) {
+                return null;
+            }
+            int step = SquarefreeRange.this.congruenceModulus;
+            long stride = (SEGMENT_SIZE + step - 1) / step * (long) step;
+            long mid = this.cursor 
+                    + Math.max(1, remaining / 2 / stride) * stride;
+            if (mid > this.last) {
+                return null;
+            }
+            SegmentSpliterator prefix = new SegmentSpliterator(this.cursor, 
+                    mid - 1);
+            this.cursor = mid;
+            this.segmentEnd = Long.MIN_VALUE;
+            return prefix;
+        }
+        
+        @Override
+        public long estimateSize() {
+            if (this.cursor > this.last) {
+                return 0;
+            }
+            return (this.last - this.cursor) 
+                    / SquarefreeRange.this.congruenceModulus + 1;
+        }
+        
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.DISTINCT 
+                    | Spliterator.SORTED | Spliterator.NONNULL 
+                    | Spliterator.IMMUTABLE;
+        }
+        
+        @Override
+        public Comparator<? super Integer> getComparator() {
+            return null;
+        }
+        
+        SegmentSpliterator(long first, long end) {
+            this.cursor = first;
+            this.last = end;
+        }
+        
+    }
+    
+    /**
+     * Sets up a range of squarefree integers without a residue filter.
+     * @param start The start of the range, which will be included if it is 
+     * squarefree. For example, &minus;10000000.
+     * @param end The end of the range, which will be included if it is 
+     * squarefree. For example, 10000000.
+     * @throws IllegalArgumentException If <code>start</code> is greater than 
+     * <code>end</code>.
+     */
+    public SquarefreeRange(int start, int end) {
+        this(start, end, 0, 1);
+    }
+    
+    /**
+     * Sets up a range of squarefree integers in a given residue class. For 
+     * example, to enumerate the <i>d</i> for which 
+     * <i>O</i><sub><b>Q</b>(&radic;<i>d</i>)</sub> has "half-integers," use 1 
+     * for <code>n</code> and 4 for <code>m</code>. If gcd(<code>m</code>, 
+     * <code>n</code>) is not squarefree, the range will be empty.
+     * @param start The start of the range, which will be included if it is 
+     * squarefree and congruent to <code>n</code> modulo <code>m</code>. For 
+     * example, &minus;10000000.
+     * @param end The end of the range, which will be included if it is 
+     * squarefree and congruent to <code>n</code> modulo <code>m</code>. For 
+     * example, 10000000.
+     * @param n The residue. For example, 1. May be negative or greater than 
+     * <code>m</code>, it will be reduced modulo <code>m</code>.
+     * @param m The modulus. For example, 4.
+     * @throws IllegalArgumentException If <code>start</code> is greater than 
+     * <code>end</code>, or if <code>m</code> is less than 1.
+     */
+    public SquarefreeRange(int start, int end, int n, int m) {
+        if (start > end) {
+            String excMsg = "Start " + start 
+                    + " should not be greater than end " + end;
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (m < 1) {
+            String excMsg = "Modulus " + m + " should be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.begin = start;
+        this.finish = end;
+        this.congruenceModulus = m;
+        this.congruenceResidue = mod(n, m);
+        long maxAbs = Math.max(Math.abs((long) start), Math.abs((long) end));
+        List<Integer> primes 
+                = EratosthenesSieve.listPrimes((int) isqrt(maxAbs));
+        this.sievingPrimes = primes.stream().mapToInt(Integer::intValue) 
+                .toArray();
+    }
+    
+}
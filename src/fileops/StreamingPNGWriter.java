@@ -0,0 +1,243 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fileops;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a Portable Network Graphics (PNG) file a few rows at a time, so that 
+ * the whole image never has to be held in memory. This is meant for images 
+ * that are too big for a <code>BufferedImage</code>, like a ring diagram the 
+ * size of a poster, which can instead be drawn one horizontal strip at a time.
+ * <p>The image is written as 8-bit truecolor without an alpha channel. Each 
+ * row is filtered with the "Up" filter, which works well for diagrams with 
+ * long vertical lines and large areas of a single color, and the compressed 
+ * data is written out in IDAT chunks as soon as the deflater provides it. So 
+ * the memory needed is just two rows of bytes and the deflater's buffers.</p>
+ * <p>This class does not close the output stream, not even after the last 
+ * row has been written. That's the caller's responsibility.</p>
+ * @author Alonso del Arte
+ */
+public class StreamingPNGWriter {
+    
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', 
+        '\n', 0x1A, '\n'};
+    
+    private static final byte[] IHDR = {'I', 'H', 'D', 'R'};
+    
+    private static final byte[] IDAT = {'I', 'D', 'A', 'T'};
+    
+    private static final byte[] IEND = {'I', 'E', 'N', 'D'};
+    
+    private static final int BIT_DEPTH = 8;
+    
+    private static final int COLOR_TYPE_TRUECOLOR = 2;
+    
+    private static final byte FILTER_TYPE_UP = 2;
+    
+    private static final int BYTES_PER_PIXEL = 3;
+    
+    private static final int CHUNK_BUFFER_SIZE = 65536;
+    
+    private final OutputStream out;
+    
+    private final int width;
+    
+    private final int height;
+    
+    private final Deflater deflater = new Deflater();
+    
+    private final CRC32 crc = new CRC32();
+    
+    private final byte[] chunkBuffer = new byte[CHUNK_BUFFER_SIZE];
+    
+    private byte[] previousRow;
+    
+    private byte[] currentRow;
+    
+    private final byte[] filteredRow;
+    
+    private int rowsWritten = 0;
+    
+    private boolean finished = false;
+    
+    private void writeInt(int value) throws IOException {
+        this.out.write(value >>> 24);
+        this.out.write(value >>> 16);
+        this.out.write(value >>> 8);
+        this.out.write(value);
+    }
+    
+    private void writeChunk(byte[] type, byte[] data, int length) 
+            throws IOException {
+        this.writeInt(length);
+        this.out.write(type);
+        this.out.write(data, 0, length);
+        this.crc.reset();
+        this.crc.update(type);
+        this.crc.update(data, 0, length);
+        this.writeInt((int) this.crc.getValue());
+    }
+    
+    private void writeCompressedData() throws IOException {
+        int length;
+        while ((length = this.deflater.deflate(this.chunkBuffer)) > 0) {
+            this.writeChunk(IDAT, this.chunkBuffer, length);
+        }
+    }
+    
+    /**
+     * Tells how many rows have been written so far.
+     * @return The number of rows written. For example, 256 after one strip of 
+     * 256 rows.
+     */
+    public int getRowsWritten() {
+        return this.rowsWritten;
+    }
+    
+    /**
+     * Writes rows of pixels. The pixels are given as integers in the format of 
+     * <code>BufferedImage.TYPE_INT_RGB</code> or 
+     * <code>BufferedImage.TYPE_INT_ARGB</code>, the alpha channel being 
+     * ignored in the latter case.
+     * @param pixels The pixels, row after row. For example, the data buffer 
+     * of a <code>BufferedImage</code> of <code>TYPE_INT_RGB</code>.
+     * @param offset Where in <code>pixels</code> the first row starts. For 
+     * example, 0.
+     * @param scanlineStride How far apart rows are in <code>pixels</code>. 
+     * This needs to be at least the width of the image. For example, the 
+     * width of the image.
+     * @param rowCount How many rows to write. For example, 256.
+     * @throws IOException If the output stream can't be written to.
+     * @throws IllegalArgumentException If <code>scanlineStride</code> is less 
+     * than the width of the image or <code>rowCount</code> is negative, or if 
+     * <code>pixels</code> is too short for the given offset, stride and row 
+     * count.
+     * @throws IllegalStateException If there are not enough rows left in the 
+     * image for <code>rowCount</code> more rows, or if {@link #finish()} has 
+     * already been called.
+     */
+    public void writeRows(int[] pixels, int offset, int scanlineStride, 
+            int rowCount) throws IOException {
+        if (scanlineStride < this.width || rowCount < 0 || offset < 0 
+                || (rowCount > 0 && (long) offset 
+                + (long) (rowCount - 1) * scanlineStride + this.width 
+                > pixels.length)) {
+            String excMsg = "Can't write " + rowCount + " rows of width " 
+                    + this.width + " from offset " + offset + " and stride " 
+                    + scanlineStride + " of array of length " + pixels.length;
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (this.finished || this.rowsWritten + rowCount > this.height) {
+            String excMsg = "Can't write " + rowCount + " more rows after " 
+                    + this.rowsWritten + " of " + this.height;
+            throw new IllegalStateException(excMsg);
+        }
+        for (int row = 0; row < rowCount; row++) {
+            int index = offset + row * scanlineStride;
+            int pos = 0;
+            for (int x = 0; x < this.width; x++) {
+                int rgb = pixels[index + x];
+                this.currentRow[pos++] = (byte) (rgb >> 16);
+                this.currentRow[pos++] = (byte) (rgb >> 8);
+                this.currentRow[pos++] = (byte) rgb;
+            }
+            this.filteredRow[0] = FILTER_TYPE_UP;
+            for (int i = 0; i < this.currentRow.length; i++) {
+                this.filteredRow[i + 1] 
+                        = (byte) (this.currentRow[i] - this.previousRow[i]);
+            }
+            this.deflater.setInput(this.filteredRow);
+            this.writeCompressedData();
+            byte[] swap = this.previousRow;
+            this.previousRow = this.currentRow;
+            this.currentRow = swap;
+            this.rowsWritten++;
+        }
+    }
+    
+    /**
+     * Writes out whatever compressed data the deflater was still holding on 
+     * to, and ends the file. The output stream is flushed but not closed.
+     * @throws IOException If the output stream can't be written to.
+     * @throws IllegalStateException If fewer rows have been written than the 
+     * height of the image, or if this function has already been called.
+     */
+    public void finish() throws IOException {
+        if (this.finished || this.rowsWritten < this.height) {
+            String excMsg = "Can't finish image with " + this.rowsWritten 
+                    + " of " + this.height + " rows written";
+            throw new IllegalStateException(excMsg);
+        }
+        this.finished = true;
+        this.deflater.finish();
+        while (!this.deflater.finished()) {
+            int length = this.deflater.deflate(this.chunkBuffer);
+            if (length > 0) {
+                this.writeChunk(IDAT, this.chunkBuffer, length);
+            }
+        }
+        this.deflater.end();
+        this.writeChunk(IEND, this.chunkBuffer, 0);
+        this.out.flush();
+    }
+    
+    /**
+     * Writes the PNG signature and header to an output stream, so that rows 
+     * can then be written.
+     * @param out The output stream to write to. For example, a buffered output 
+     * stream to a file.
+     * @param width The width of the image, in pixels. For example, 40000.
+     * @param height The height of the image, in pixels. For example, 40000.
+     * @throws IOException If the output stream can't be written to.
+     * @throws IllegalArgumentException If either <code>width</code> or 
+     * <code>height</code> is less than 1, or if <code>width</code> is so 
+     * large that a row of bytes would not fit in an array.
+     */
+    public StreamingPNGWriter(OutputStream out, int width, int height) 
+            throws IOException {
+        if (width < 1 || height < 1 
+                || width > (Integer.MAX_VALUE - 16) / BYTES_PER_PIXEL) {
+            String excMsg = "Dimensions " + width + " by " + height 
+                    + " are out of range";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.out = out;
+        this.width = width;
+        this.height = height;
+        this.previousRow = new byte[width * BYTES_PER_PIXEL];
+        this.currentRow = new byte[width * BYTES_PER_PIXEL];
+        this.filteredRow = new byte[width * BYTES_PER_PIXEL + 1];
+        this.out.write(SIGNATURE);
+        byte[] header = new byte[13];
+        header[0] = (byte) (width >>> 24);
+        header[1] = (byte) (width >>> 16);
+        header[2] = (byte) (width >>> 8);
+        header[3] = (byte) width;
+        header[4] = (byte) (height >>> 24);
+        header[5] = (byte) (height >>> 16);
+        header[6] = (byte) (height >>> 8);
+        header[7] = (byte) height;
+        header[8] = BIT_DEPTH;
+        header[9] = COLOR_TYPE_TRUECOLOR;
+        this.writeChunk(IHDR, header, header.length);
+    }
+    
+}
@@ -16,7 +16,7 @@
  */
 package fractions;
 
-import static calculators.NumberTheoreticFunctionsCalculator.euclideanGCD;
+import static calculators.NumberTheoreticFunctionsCalculator.binaryGCD;
 import static calculators.NumberTheoreticFunctionsCalculator.mod;
 
 import java.io.Serializable;
@@ -82,11 +82,17 @@ public class Fraction implements Comparable<Fraction>, Serializable {
      * <sup>9</sup>&frasl;<sub>14</sub>.
      */
     public Fraction plus(Fraction addend) {
-        long interNumerA = this.numerator * addend.denominator;
-        long interNumerB = addend.numerator * this.denominator;
-        long resNumer = interNumerA + interNumerB;
-        long resDenom = this.denominator * addend.denominator;
-        return new Fraction(resNumer, resDenom);
+        long gcd = binaryGCD(this.denominator, addend.denominator);
+        long reducedDenomA = this.denominator / gcd;
+        long reducedDenomB = addend.denominator / gcd;
+        long resNumer = this.numerator * reducedDenomB 
+                + addend.numerator * reducedDenomA;
+        if (resNumer == 0) {
+            return new Fraction(0, 1, true);
+        }
+        long adjustment = binaryGCD(resNumer, gcd);
+        long resDenom = reducedDenomA * (addend.denominator / adjustment);
+        return new Fraction(resNumer / adjustment, resDenom, true);
     }
     
     /**
@@ -98,7 +104,7 @@ public class Fraction implements Comparable<Fraction>, Serializable {
      */
     public Fraction plus(int addend) {
         long resNumer = this.numerator + addend * this.denominator;
-        return new Fraction(resNumer, this.denominator);
+        return new Fraction(resNumer, this.denominator, true);
     }
     
     /**
@@ -129,9 +135,11 @@ public class Fraction implements Comparable<Fraction>, Serializable {
     }
     
     /**
-     * Multiplies this fraction by another fraction. There is no overflow 
-     * checking, but this shouldn't be a problem as long as all numerators and 
-     * denominators are well within the range of <code>short</code>.
+     * Multiplies this fraction by another fraction. Common factors are 
+     * cancelled out before multiplying, so the intermediate results are no 
+     * larger than the result. There is no overflow checking, but this 
+     * shouldn't be a problem as long as the result's numerator and denominator 
+     * are within the range of <code>long</code>.
      * @param multiplicand The fraction to multiply by. For example, 
      * <sup>1</sup>&frasl;<sub>7</sub>.
      * @return A new <code>Fraction</code> object with the product. For example, 
@@ -140,9 +148,16 @@ public class Fraction implements Comparable<Fraction>, Serializable {
      * <sup>1</sup>&frasl;<sub>14</sub>.
      */
     public Fraction times(Fraction multiplicand) {
-        long resNumer = this.numerator * multiplicand.numerator;
-        long resDenom = this.denominator * multiplicand.denominator;
-        return new Fraction(resNumer, resDenom);
+        if (this.numerator == 0 || multiplicand.numerator == 0) {
+            return new Fraction(0, 1, true);
+        }
+        long gcdA = binaryGCD(this.numerator, multiplicand.denominator);
+        long gcdB = binaryGCD(multiplicand.numerator, this.denominator);
+        long resNumer = (this.numerator / gcdA) 
+                * (multiplicand.numerator / gcdB);
+        long resDenom = (this.denominator / gcdB) 
+                * (multiplicand.denominator / gcdA);
+        return new Fraction(resNumer, resDenom, true);
     }
     
     /**
@@ -153,7 +168,9 @@ public class Fraction implements Comparable<Fraction>, Serializable {
      * is 3, the result will be <sup>3</sup>&frasl;<sub>2</sub>.
      */
     public Fraction times(int multiplicand) {
-        return new Fraction(this.numerator * multiplicand, this.denominator);
+        long gcd = binaryGCD(multiplicand, this.denominator);
+        return new Fraction(this.numerator * (multiplicand / gcd), 
+                this.denominator / gcd, true);
     }
     
     /**
@@ -187,7 +204,15 @@ public class Fraction implements Comparable<Fraction>, Serializable {
      * runtime exception might be thrown.
      */
     public Fraction dividedBy(int divisor) {
-        return new Fraction(this.numerator, this.denominator * divisor);
+        if (divisor == 0) {
+            String excMsg = "Dividing " + this.toString() 
+                    + " by 0 is undefined";
+            throw new ArithmeticException(excMsg);
+        }
+        long gcd = binaryGCD(this.numerator, divisor);
+        long resNumer = (this.numerator / gcd) * Integer.signum(divisor);
+        long resDenom = this.denominator * Math.abs(divisor / gcd);
+        return new Fraction(resNumer, resDenom, true);
     }
     
     /**
@@ -197,7 +222,7 @@ public class Fraction implements Comparable<Fraction>, Serializable {
      * will be &minus;<sup>1</sup>&frasl;<sub>2</sub>.
      */
     public Fraction negate() {
-        return new Fraction(-this.numerator, this.denominator);
+        return new Fraction(-this.numerator, this.denominator, true);
     }
     
     /**
@@ -215,7 +240,13 @@ public class Fraction implements Comparable<Fraction>, Serializable {
      * 0 is invalid or unavailable."
      */
     public Fraction reciprocal() {
-        return new Fraction(this.denominator, this.numerator);
+        if (this.numerator < 0) {
+            return new Fraction(-this.denominator, -this.numerator, true);
+        }
+        if (this.numerator == 0) {
+            return new Fraction(this.denominator, 0);
+        }
+        return new Fraction(this.denominator, this.numerator, true);
     }
 
     /**
@@ -331,7 +362,7 @@ public class Fraction implements Comparable<Fraction>, Serializable {
         Fraction unitFraction = new Fraction(1, denom);
         Fraction division = this.dividedBy(unitFraction);
         long propNumer = division.roundDown().numerator;
-        while (euclideanGCD(propNumer, denom) > 1) {
+        while (binaryGCD(propNumer, denom) > 1) {
             propNumer--;
         }
         return new Fraction(propNumer, denom);
@@ -365,7 +396,7 @@ public class Fraction implements Comparable<Fraction>, Serializable {
         Fraction unitFraction = new Fraction(1, denom);
         Fraction division = this.dividedBy(unitFraction);
         long propNumer = division.roundUp().numerator;
-        while (euclideanGCD(propNumer, denom) > 1) {
+        while (binaryGCD(propNumer, denom) > 1) {
             propNumer++;
         }
         return new Fraction(propNumer, denom);
@@ -664,10 +695,26 @@ s = "3/4";
                     + " is invalid or unavailable";
             throw new ArithmeticException(excMsg);
         }
-        long adjustment = euclideanGCD(numer, denom);
+        long adjustment = binaryGCD(numer, denom);
         adjustment *= Long.signum(denom);
         this.numerator = numer / adjustment;
         this.denominator = denom / adjustment;
     }
+    
+    /**
+     * Constructor for results already known to be in lowest terms with a 
+     * positive denominator, as is the case for the results of arithmetic 
+     * operations that reduce their operands beforehand. This avoids computing 
+     * a greatest common divisor that is already known to be 1.
+     * @param numer The numerator of the fraction. For example, 2.
+     * @param denom The denominator of the fraction. Must be positive and 
+     * coprime to <code>numer</code>, this is not checked. For example, 7.
+     * @param lowestTerms Should be true. Only there to distinguish this 
+     * constructor from the public constructor.
+     */
+    private Fraction(long numer, long denom, boolean lowestTerms) {
+        this.numerator = numer;
+        this.denominator = denom;
+    }
 
 }
@@ -16,60 +16,568 @@
  */
 package fractions;
 
+import static calculators.NumberTheoreticFunctionsCalculator.isPerfectSquare;
+import static calculators.NumberTheoreticFunctionsCalculator.isqrt;
+
+import java.math.BigInteger;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
- * Represents a periodic continued fraction.
+ * Represents a periodic continued fraction. After an initial term and perhaps 
+ * some more terms making up the pre-period, the partial numerators and partial 
+ * denominators repeat in a period. The simple continued fractions of quadratic 
+ * irrationals, like 1 + 1/(2 + 1/(2 + 1/(2 + &hellip; ))) for &radic;2, are 
+ * the most important examples, and can be obtained with {@link 
+ * #squareRoot(long)} and {@link #quadraticIrrational(long, long, long)}.
+ * <p>Convergents are worked out lazily by the usual recurrence, 
+ * <i>h</i><sub><i>n</i></sub> = <i>a</i><sub><i>n</i></sub> 
+ * <i>h</i><sub><i>n</i> &minus; 1</sub> + <i>b</i><sub><i>n</i></sub> 
+ * <i>h</i><sub><i>n</i> &minus; 2</sub> and likewise for the denominators 
+ * <i>k</i><sub><i>n</i></sub>, so that each new convergent costs a few 
+ * <code>BigInteger</code> multiplications. Convergents already worked out are 
+ * remembered, and shared by {@link #convergents()}, {@link #convergent(int)} 
+ * and {@link #convergentStream()}.</p>
  * @author Alonso del Arte
  */
 public class PeriodicContinuedFraction extends ContinuedFraction {
-
-    // STUB TO FAIL THE FIRST TEST
+    
+    /**
+     * How many convergents the list from {@link #convergents()} has.
+     */
+    public static final int CONVERGENTS_LIST_LENGTH = 100;
+    
+    private static final long[] NO_TERMS = {};
+    
+    private final Fraction initial;
+    
+    private final long[] prePeriodNumerators, prePeriodDenominators;
+    
+    private final long[] periodNumerators, periodDenominators;
+    
+    private final boolean simple;
+    
+    private final List<BigInteger> convergentNumerators = new ArrayList<>();
+    
+    private final List<BigInteger> convergentDenominators = new ArrayList<>();
+    
+    private String render(String continuation, String ellipsis, boolean tex) {
+        StringBuilder builder = new StringBuilder();
+        if (tex) {
+            builder.append(this.initial.toTeXString());
+        } else {
+            builder.append(this.initial.toString());
+        }
+        int shown = this.prePeriodDenominators.length 
+                + Math.max(2 * this.periodDenominators.length, 3);
+        for (int n = 1; n <= shown; n++) {
+            builder.append(" + ").append(this.partialNumerator(n)) 
+                    .append(continuation) 
+                    .append(this.partialDenominator(n));
+        }
+        builder.append(" + ").append(ellipsis);
+        for (int n = 0; n < shown; n++) {
+            builder.append(tex ? "}" : ")");
+        }
+        return builder.toString().replace("+ -", "- ");
+    }
+    
+    /**
+     * Gives a textual representation of this continued fraction, using ASCII 
+     * characters only. The initial term, the pre-period and the period at least 
+     * twice (or at least three terms of it) are shown.
+     * @return A <code>String</code> like "1 + 1/(2 + 1/(2 + 1/(2 + ...)))".
+     */
+    @Override
+    public String toString() {
+        return this.render("/(", "...", false);
+    }
+    
+    /**
+     * Provides a textual representation suitable for use in an HTML document. 
+     * The same terms are shown as by {@link #toString()}.
+     * @return A <code>String</code> like "1 + 1/(2 + 1/(2 + 1/(2 + 
+     * &amp;hellip;)))".
+     */
     @Override
     public String toHTMLString() {
-        return "Sorry, not implemented yet";
+        return this.render("/(", "&hellip;", false).replace("-", "&minus;");
     }
-
-    // STUB TO FAIL THE FIRST TEST
+    
+    /**
+     * Provides a textual representation suitable for use in a TeX document. 
+     * The same terms are shown as by {@link #toString()}.
+     * @return A <code>String</code> like "1 + \cfrac{1}{2 + \cfrac{1}{2 + 
+     * \cfrac{1}{2 + \ddots}}}".
+     */
     @Override
     public String toTeXString() {
-        return "Sorry, not implemented yet";
+        String str = this.render("}{", "\\ddots", true);
+        return str.replaceAll("\\+ (-?\\d+)\\}\\{", "+ \\\\cfrac{$1}{") 
+                .replaceAll("- (\\d+)\\}\\{", "- \\\\cfrac{$1}{");
     }
-
-    // STUB TO FAIL THE FIRST TEST
+    
+    /**
+     * Gives the <i>n</i>th partial numerator.
+     * @param n The index of the partial numerator. Should be at least 1. For 
+     * example, 5.
+     * @return The partial numerator. For example, for the continued fraction 
+     * for &radic;2, 1.
+     * @throws IndexOutOfBoundsException If <code>n</code> is less than 1.
+     */
+    public long partialNumerator(int n) {
+        return term(n, this.prePeriodNumerators, this.periodNumerators);
+    }
+    
+    /**
+     * Gives the <i>n</i>th partial denominator.
+     * @param n The index of the partial denominator. Should be at least 1. For 
+     * the initial term, use {@link #getInitial()}. For example, 5.
+     * @return The partial denominator. For example, for the continued fraction 
+     * for &radic;2, 2.
+     * @throws IndexOutOfBoundsException If <code>n</code> is less than 1.
+     */
+    public long partialDenominator(int n) {
+        return term(n, this.prePeriodDenominators, this.periodDenominators);
+    }
+    
+    private static long term(int n, long[] prePeriod, long[] period) {
+        if (n < 1) {
+            String excMsg = "Index " + n + " is not valid for a partial term";
+            throw new IndexOutOfBoundsException(excMsg);
+        }
+        if (n <= prePeriod.length) {
+            return prePeriod[n - 1];
+        }
+        return period[(n - 1 - prePeriod.length) % period.length];
+    }
+    
+    /**
+     * Gives the initial term of this continued fraction.
+     * @return The initial term. For example, for the continued fraction for 
+     * &radic;2, 1.
+     */
+    public Fraction getInitial() {
+        return this.initial;
+    }
+    
+    /**
+     * Tells how many terms come after the initial term but before the period.
+     * @return The length of the pre-period. For example, 0 for &radic;2, but 1 
+     * for <sup>&radic;2</sup>&frasl;<sub>2</sub>, since the continued fraction 
+     * of the latter is 0 + 1/(1 + 1/(2 + 1/(2 + &hellip;))).
+     */
+    public int getPrePeriodLength() {
+        return this.prePeriodDenominators.length;
+    }
+    
+    /**
+     * Tells how many terms there are in the period.
+     * @return The length of the period. For example, 1 for &radic;2, 2 for 
+     * &radic;3, since &radic;3 = 1 + 1/(1 + 1/(2 + 1/(1 + 1/(2 + &hellip;)))).
+     */
+    public int getPeriodLength() {
+        return this.periodDenominators.length;
+    }
+    
+    /**
+     * Gives the partial denominators of the period.
+     * @return A new array with the partial denominators of the period. For 
+     * example, {1, 2} for &radic;3.
+     */
+    public long[] getPeriod() {
+        return this.periodDenominators.clone();
+    }
+    
+    /**
+     * Gives a particular convergent. Any convergents that come before it and 
+     * haven't been worked out yet are worked out and remembered.
+     * @param n The index of the convergent, 0 for the initial term. For 
+     * example, 3.
+     * @return The convergent, in lowest terms with a positive denominator. For 
+     * example, for &radic;2, <sup>17</sup>&frasl;<sub>12</sub>.
+     * @throws ArithmeticException If the convergent has denominator 0, which 
+     * can happen with some choices of partial numerators and denominators, but 
+     * never for simple continued fractions.
+     * @throws IndexOutOfBoundsException If <code>n</code> is negative.
+     */
+    public BigFraction convergent(int n) {
+        if (n < 0) {
+            String excMsg = "Index " + n + " is not valid for a convergent";
+            throw new IndexOutOfBoundsException(excMsg);
+        }
+        BigInteger numer, denom;
+        synchronized (this.convergentNumerators) {
+            int size = this.convergentNumerators.size();
+            if (size == 0) {
+                this.convergentNumerators.add(BigInteger 
+                        .valueOf(this.initial.getNumerator()));
+                this.convergentDenominators.add(BigInteger 
+                        .valueOf(this.initial.getDenominator()));
+                size = 1;
+            }
+            BigInteger prevNumer = (size > 1) 
+                    ? this.convergentNumerators.get(size - 2) 
+                    : BigInteger.valueOf(this.initial.getDenominator());
+            BigInteger prevDenom = (size > 1) 
+                    ? this.convergentDenominators.get(size - 2) 
+                    : BigInteger.ZERO;
+            BigInteger currNumer = this.convergentNumerators.get(size - 1);
+            BigInteger currDenom = this.convergentDenominators.get(size - 1);
+            for (int i = size; i <= n; i++) {
+                BigInteger a = BigInteger.valueOf(this.partialDenominator(i));
+                BigInteger b = BigInteger.valueOf(this.partialNumerator(i));
+                BigInteger nextNumer = a.multiply(currNumer) 
+                        .add(b.multiply(prevNumer));
+                BigInteger nextDenom = a.multiply(currDenom) 
+                        .add(b.multiply(prevDenom));
+                this.convergentNumerators.add(nextNumer);
+                this.convergentDenominators.add(nextDenom);
+                prevNumer = currNumer;
+                prevDenom = currDenom;
+                currNumer = nextNumer;
+                currDenom = nextDenom;
+            }
+            numer = this.convergentNumerators.get(n);
+            denom = this.convergentDenominators.get(n);
+        }
+        if (denom.signum() == 0) {
+            String excMsg = "Convergent " + n + " of " + this.toString() 
+                    + " has denominator 0";
+            throw new ArithmeticException(excMsg);
+        }
+        if (!this.simple) {
+            BigInteger gcd = numer.gcd(denom);
+            if (denom.signum() < 0) {
+                gcd = gcd.negate();
+            }
+            numer = numer.divide(gcd);
+            denom = denom.divide(gcd);
+        }
+        return new BigFraction(numer, denom);
+    }
+    
+    /**
+     * Gives the first {@link #CONVERGENTS_LIST_LENGTH} convergents. The list 
+     * works out each convergent only when it's asked for.
+     * @return An unmodifiable list of convergents. For example, for &radic;2, 
+     * 1, <sup>3</sup>&frasl;<sub>2</sub>, <sup>7</sup>&frasl;<sub>5</sub>, 
+     * <sup>17</sup>&frasl;<sub>12</sub>, <sup>41</sup>&frasl;<sub>29</sub>, 
+     * &hellip;
+     */
     @Override
     public List<BigFraction> convergents() {
-        Fraction oneHalf = new Fraction(1, 2);
-        ArrayList<BigFraction> list = new ArrayList<>();
-        BigFraction fraction = new BigFraction(oneHalf);
-        list.add(fraction);
-        return list;
+        return new AbstractList<BigFraction>() {
+            
+            @Override
+            public BigFraction get(int index) {
+                if (index >= CONVERGENTS_LIST_LENGTH) {
+                    String excMsg = "Index " + index + " is past the last of " 
+                            + CONVERGENTS_LIST_LENGTH + " convergents";
+                    throw new IndexOutOfBoundsException(excMsg);
+                }
+                return PeriodicContinuedFraction.this.convergent(index);
+            }
+            
+            @Override
+            public int size() {
+                return CONVERGENTS_LIST_LENGTH;
+            }
+            
+        };
     }
-
-    // STUB TO FAIL THE FIRST TEST
+    
+    /**
+     * Gives the convergents without end, as a sequential stream. Since the 
+     * convergents are remembered, a second stream doesn't need to work out 
+     * again the convergents the first stream got to.
+     * @return An infinite stream of convergents, in order starting with the 
+     * initial term. Use <code>limit()</code> or a short-circuiting operation 
+     * on it. For example, for &radic;2, 1, <sup>3</sup>&frasl;<sub>2</sub>, 
+     * <sup>7</sup>&frasl;<sub>5</sub>, <sup>17</sup>&frasl;<sub>12</sub>, 
+     * &hellip;
+     */
+    public Stream<BigFraction> convergentStream() {
+        return IntStream.iterate(0, n -> n + 1).mapToObj(this::convergent);
+    }
+    
+    /**
+     * Gives an approximation of this continued fraction as a rational number, 
+     * namely the last of the first {@link #CONVERGENTS_LIST_LENGTH} convergents 
+     * whose numerator and denominator both fit in 64-bit integers.
+     * @return A fraction approximating this continued fraction. For example, 
+     * for &radic;2, <sup>5168247530883406913</sup>&frasl;<sub>3654502875938806904</sub>, 
+     * which is within 3 &times; 10<sup>&minus;38</sup> of &radic;2, though of 
+     * course {@link #getNumericApproximation()} can't give that much 
+     * precision.
+     */
     @Override
     public Fraction approximation() {
-        return new Fraction(-7, 8);
+        BigFraction best = this.convergent(0);
+        for (int n = 1; n < CONVERGENTS_LIST_LENGTH; n++) {
+            BigFraction next = this.convergent(n);
+            if (next.getNumerator().bitLength() > 63 
+                    || next.getDenominator().bitLength() > 63) {
+                break;
+            }
+            best = next;
+        }
+        return new Fraction(best.getNumerator().longValue(), 
+                best.getDenominator().longValue());
+    }
+    
+    /**
+     * Gives the simple continued fraction of the square root of a positive 
+     * integer that is not a perfect square. The period is found with integer 
+     * arithmetic only, by way of {@link #quadraticIrrational(long, long, 
+     * long)}.
+     * @param d The number to take the square root of. Must be positive and not 
+     * a perfect square. For example, 7.
+     * @return The continued fraction. For example, for &radic;7, 2 + 1/(1 + 
+     * 1/(1 + 1/(1 + 1/(4 + &hellip;)))), with period 1, 1, 1, 4.
+     * @throws IllegalArgumentException If <code>d</code> is not positive or is 
+     * a perfect square.
+     */
+    public static PeriodicContinuedFraction squareRoot(long d) {
+        return quadraticIrrational(0, 1, d);
+    }
+    
+    /**
+     * Gives the simple continued fraction of a quadratic irrational 
+     * (<i>P</i> + &radic;<i>d</i>)/<i>Q</i>. The partial denominators are found 
+     * with integer arithmetic only, by the standard recurrence 
+     * <i>a</i><sub><i>n</i></sub> = &lfloor;(<i>P</i><sub><i>n</i></sub> + 
+     * &radic;<i>d</i>)/<i>Q</i><sub><i>n</i></sub>&rfloor;, 
+     * <i>P</i><sub><i>n</i> + 1</sub> = <i>a</i><sub><i>n</i></sub> 
+     * <i>Q</i><sub><i>n</i></sub> &minus; <i>P</i><sub><i>n</i></sub>, 
+     * <i>Q</i><sub><i>n</i> + 1</sub> = (<i>d</i> &minus; 
+     * <i>P</i><sub><i>n</i> + 1</sub><sup>2</sup>)/<i>Q</i><sub><i>n</i></sub>, 
+     * until a pair (<i>P</i><sub><i>n</i></sub>, <i>Q</i><sub><i>n</i></sub>) 
+     * comes up a second time.
+     * @param p The rational part of the numerator. For example, 1.
+     * @param q The denominator. Must not be 0. If <i>Q</i> does not divide 
+     * <i>d</i> &minus; <i>P</i><sup>2</sup>, the numerator and denominator 
+     * are both multiplied by |<i>Q</i>| first, which changes the 
+     * representation but not the number. For example, 2.
+     * @param d The number under the square root. Must be positive and not a 
+     * perfect square. For example, 5.
+     * @return The continued fraction. For example, for 
+     * <sup>1</sup>&frasl;<sub>2</sub> + 
+     * <sup>&radic;5</sup>&frasl;<sub>2</sub>, 1 + 1/(1 + 1/(1 + &hellip;)).
+     * @throws ArithmeticException If the computation overflows, which can only 
+     * happen if <code>d</code> times <code>q</code> squared is close to the 
+     * range of <code>long</code>.
+     * @throws IllegalArgumentException If <code>q</code> is 0, or if 
+     * <code>d</code> is not positive or is a perfect square.
+     */
+    public static PeriodicContinuedFraction quadraticIrrational(long p, long q, 
+            long d) {
+        if (q == 0) {
+            String excMsg = "Denominator 0 is not valid";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (d < 1 || isPerfectSquare(d)) {
+            String excMsg = "Square root of " + d + " is not irrational";
+            throw new IllegalArgumentException(excMsg);
+        }
+        long currP = p;
+        long currQ = q;
+        long currD = d;
+        if (Math.floorMod(Math.subtractExact(currD, 
+                Math.multiplyExact(currP, currP)), currQ) != 0) {
+            long absQ = Math.abs(currQ);
+            currP = Math.multiplyExact(currP, absQ);
+            currD = Math.multiplyExact(currD, Math.multiplyExact(currQ, 
+                    currQ));
+            currQ = Math.multiplyExact(currQ, absQ);
+        }
+        long root = isqrt(currD);
+        Map<List<Long>, Integer> seen = new HashMap<>();
+        List<Long> terms = new ArrayList<>();
+        Integer repeatStart = null;
+        while (repeatStart == null) {
+            List<Long> state = Arrays.asList(currP, currQ);
+            repeatStart = seen.get(state);
+            if (repeatStart == null) {
+                seen.put(state, terms.size());
+                long sum = Math.addExact(currP, root);
+                long a = (currQ > 0) ? Math.floorDiv(sum, currQ) 
+                        : -Math.floorDiv(sum, -currQ) - 1;
+                terms.add(a);
+                currP = Math.subtractExact(Math.multiplyExact(a, currQ), 
+                        currP);
+                currQ = Math.subtractExact(currD, Math.multiplyExact(currP, 
+                        currP)) / currQ;
+            }
+        }
+        int periodLength = terms.size() - repeatStart;
+        int periodStart = Math.max(repeatStart, 1);
+        long[] prePeriod = new long[periodStart - 1];
+        for (int i = 0; i < prePeriod.length; i++) {
+            prePeriod[i] = terms.get(i + 1);
+        }
+        long[] period = new long[periodLength];
+        for (int i = 0; i < periodLength; i++) {
+            period[i] = terms.get(repeatStart + (periodStart - repeatStart + i) 
+                    % periodLength);
+        }
+        return new PeriodicContinuedFraction(new Fraction(terms.get(0)), 
+                onesLong(prePeriod.length), prePeriod, onesLong(periodLength), 
+                period);
+    }
+    
+    private static long[] onesLong(int length) {
+        long[] array = new long[length];
+        Arrays.fill(array, 1);
+        return array;
+    }
+    
+    private static int[] ones(int length) {
+        int[] array = new int[length];
+        Arrays.fill(array, 1);
+        return array;
+    }
+    
+    private static long[] widen(int[] array) {
+        long[] wide = new long[array.length];
+        for (int i = 0; i < array.length; i++) {
+            wide[i] = array[i];
+        }
+        return wide;
     }
     
+    private static int[] checkPeriod(int[] partialNumerators, 
+            int[] partialDenominators) {
+        if (partialDenominators.length == 0) {
+            String excMsg = "Period must have at least one term";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (partialNumerators.length != partialDenominators.length) {
+            String excMsg = "There are " + partialNumerators.length 
+                    + " partial numerators but " + partialDenominators.length 
+                    + " partial denominators";
+            throw new IllegalArgumentException(excMsg);
+        }
+        return partialDenominators;
+    }
+    
+    /**
+     * Constructs a purely periodic simple continued fraction, in which the 
+     * whole sequence of partial denominators, the initial term included, 
+     * repeats.
+     * @param partialDenominators The partial denominators of the period, the 
+     * first of which is also the initial term. For example, {2, 4} for 2 + 
+     * 1/(4 + 1/(2 + 1/(4 + &hellip;))), which is 1 + &radic;2.
+     * @throws IllegalArgumentException If <code>partialDenominators</code> is 
+     * empty.
+     * @throws NullPointerException If <code>partialDenominators</code> is null.
+     */
     public PeriodicContinuedFraction(int[] partialDenominators) {
-        // STUB TO FAIL THE FIRST TEST
+        this(ones(partialDenominators.length), partialDenominators);
     }
     
+    /**
+     * Constructs a purely periodic continued fraction, in which the whole 
+     * sequence of partial denominators, the initial term included, repeats, 
+     * as does the sequence of partial numerators. However, for a simple 
+     * continued fraction, {@link #PeriodicContinuedFraction(int[])} is more 
+     * convenient.
+     * @param partialNumerators The partial numerators of the period. The 
+     * partial numerator <i>b</i><sub><i>n</i></sub> for <i>n</i> &ge; 1 is 
+     * element (<i>n</i> &minus; 1) mod <i>L</i>, where <i>L</i> is the length 
+     * of the period. For example, {2, 2}.
+     * @param partialDenominators The partial denominators of the period, the 
+     * first of which is also the initial term. The partial denominator 
+     * <i>a</i><sub><i>n</i></sub> is element <i>n</i> mod <i>L</i>. For 
+     * example, {1, 3}, for 1 + 2/(3 + 2/(1 + 2/(3 + &hellip;))).
+     * @throws IllegalArgumentException If either array is empty or if the two 
+     * arrays differ in length.
+     * @throws NullPointerException If either array is null.
+     */
     public PeriodicContinuedFraction(int[] partialNumerators, 
             int[] partialDenominators) {
-        // STUB TO FAIL THE FIRST TEST
+        this(checkPeriod(partialNumerators, partialDenominators)[0], 
+                partialNumerators, rotate(partialDenominators));
     }
     
+    private static int[] rotate(int[] array) {
+        int[] rotated = new int[array.length];
+        System.arraycopy(array, 1, rotated, 0, array.length - 1);
+        rotated[array.length - 1] = array[0];
+        return rotated;
+    }
+    
+    /**
+     * Constructs a continued fraction with an integer initial term followed 
+     * immediately by the period.
+     * @param initial The initial term. For example, 1.
+     * @param partialNumerators The partial numerators of the period. The 
+     * partial numerator <i>b</i><sub><i>n</i></sub> for <i>n</i> &ge; 1 is 
+     * element (<i>n</i> &minus; 1) mod <i>L</i>, where <i>L</i> is the length 
+     * of the period. For example, {1}.
+     * @param partialDenominators The partial denominators of the period. The 
+     * partial denominator <i>a</i><sub><i>n</i></sub> for <i>n</i> &ge; 1 is 
+     * element (<i>n</i> &minus; 1) mod <i>L</i>. For example, {2}, which 
+     * together with the previous examples gives the continued fraction for 
+     * &radic;2.
+     * @throws IllegalArgumentException If either array is empty or if the two 
+     * arrays differ in length.
+     * @throws NullPointerException If either array is null.
+     */
     public PeriodicContinuedFraction(int initial, int[] partialNumerators, 
             int[] partialDenominators) {
-        // STUB TO FAIL THE FIRST TEST
+        this(new Fraction(initial), partialNumerators, partialDenominators);
     }
     
+    /**
+     * Constructs a continued fraction with a rational initial term followed 
+     * immediately by the period.
+     * @param initial The initial term. For example, 
+     * <sup>1</sup>&frasl;<sub>2</sub>.
+     * @param partialNumerators The partial numerators of the period, as for 
+     * {@link #PeriodicContinuedFraction(int, int[], int[])}. For example, {1}.
+     * @param partialDenominators The partial denominators of the period, as 
+     * for {@link #PeriodicContinuedFraction(int, int[], int[])}. For example, 
+     * {2}.
+     * @throws IllegalArgumentException If either array is empty or if the two 
+     * arrays differ in length.
+     * @throws NullPointerException If any of the parameters is null.
+     */
     public PeriodicContinuedFraction(Fraction initial, int[] partialNumerators, 
             int[] partialDenominators) {
-        // STUB TO FAIL THE FIRST TEST
+        this(initial, NO_TERMS, NO_TERMS, 
+                widen(partialNumerators), 
+                widen(checkPeriod(partialNumerators, partialDenominators)));
     }
     
+    private PeriodicContinuedFraction(Fraction initial, 
+            long[] prePeriodNumerators, long[] prePeriodDenominators, 
+            long[] periodNumerators, long[] periodDenominators) {
+        if (initial == null) {
+            String excMsg = "Initial term must not be null";
+            throw new NullPointerException(excMsg);
+        }
+        this.initial = initial;
+        this.prePeriodNumerators = prePeriodNumerators;
+        this.prePeriodDenominators = prePeriodDenominators;
+        this.periodNumerators = periodNumerators;
+        this.periodDenominators = periodDenominators;
+        boolean canonical = initial.isInteger();
+        for (int i = 0; i < prePeriodNumerators.length; i++) {
+            canonical &= (prePeriodNumerators[i] == 1) 
+                    && (prePeriodDenominators[i] > 0);
+        }
+        for (int i = 0; i < periodNumerators.length; i++) {
+            canonical &= (periodNumerators[i] == 1) 
+                    && (periodDenominators[i] > 0);
+        }
+        this.simple = canonical;
+    }
+
 }
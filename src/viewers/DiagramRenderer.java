@@ -0,0 +1,414 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package viewers;
+
+import algebraics.IntegerRing;
+import algebraics.UnsupportedNumberDomainException;
+import algebraics.quadratics.ImaginaryQuadraticRing;
+import algebraics.quadratics.RealQuadraticRing;
+import calculators.SquarefreeRange;
+import fileops.StreamingPNGWriter;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Renders ring diagrams straight to Portable Network Graphics (PNG) files, 
+ * without putting anything on screen. This is meant for generating many 
+ * diagrams at once, such as for all the squarefree <i>d</i> in a range, and it 
+ * works with the system property <code>java.awt.headless</code> set to true. 
+ * The drawing is done by {@link ImagQuadRingDisplay} and {@link 
+ * RealQuadRingDisplay}, so the diagrams look just like the ones the user 
+ * would see on screen and save from there.
+ * <p>Diagrams are drawn on a fixed number of threads. Each thread draws on an 
+ * image buffer taken from a pool, writes the image to a file and returns the 
+ * buffer to the pool, so there are never more image buffers than threads, no 
+ * matter how many diagrams are rendered.</p>
+ * <p>The image buffers are not the size of the whole diagram, only of a 
+ * horizontal strip {@link #STRIP_HEIGHT} pixels high. Each diagram is drawn 
+ * one strip at a time, and each strip is compressed and written to the file 
+ * before the next one is drawn. This way, a diagram the size of a poster, say 
+ * 40,000 by 40,000 pixels, can be rendered with about 40 megabytes of image 
+ * buffer rather than more than 6 gigabytes.</p>
+ * @author Alonso del Arte
+ */
+public class DiagramRenderer {
+    
+    /**
+     * The number of threads to use if not specified. This is the number of 
+     * processors available to the Java Virtual Machine.
+     */
+    public static final int DEFAULT_THREAD_COUNT 
+            = Runtime.getRuntime().availableProcessors();
+    
+    /**
+     * How many rows of pixels are drawn at a time, unless the diagram is not 
+     * that high to begin with. This is at least {@link 
+     * RingDisplay#RING_CANVAS_VERTIC_MIN}, so that a ring display can draw a 
+     * strip as if it was a whole diagram.
+     */
+    public static final int STRIP_HEIGHT = 256;
+    
+    private final int width;
+    
+    private final int height;
+    
+    private final int pixelsPerUnitInterval;
+    
+    private final int dotRadius;
+    
+    private final boolean usePreferredDotRadius;
+    
+    private final int threadCount;
+    
+    private final Queue<BufferedImage> bufferPool 
+            = new ConcurrentLinkedQueue<>();
+    
+    /**
+     * Draws a diagram on an image, filling in the background first.
+     * @param display The ring display to draw with. Its canvas dimensions 
+     * should match the dimensions of <code>image</code>.
+     * @param image The image to draw on. Whatever was drawn on it before is 
+     * covered by the background.
+     */
+    static void drawDiagram(RingDisplay display, BufferedImage image) {
+        Graphics2D graph = image.createGraphics();
+        graph.setColor(display.backgroundColor);
+        graph.fillRect(0, 0, image.getWidth(), image.getHeight());
+        display.drawDiagram(graph);
+        graph.dispose();
+    }
+    
+    /**
+     * Creates an image buffer for drawing a diagram one strip at a time.
+     * @param width The width of the diagram, in pixels. For example, 40000.
+     * @param height The height of the diagram, in pixels. For example, 40000.
+     * @return An image buffer as wide as the diagram and as high as {@link 
+     * #STRIP_HEIGHT} or the diagram, whichever is less. For example, 40000 by 
+     * 256.
+     */
+    static BufferedImage createStripBuffer(int width, int height) {
+        return new BufferedImage(width, Math.min(STRIP_HEIGHT, height), 
+                BufferedImage.TYPE_INT_RGB);
+    }
+    
+    /**
+     * Draws a diagram one strip at a time and writes it as a Portable Network 
+     * Graphics (PNG) image to an output stream. While this is going on, the 
+     * display's canvas is made as high as a strip and its zero coordinates 
+     * are shifted up strip by strip, but the boundary numbers are left alone, 
+     * so that each strip shows the same numbers as it would in the whole 
+     * diagram. The canvas dimensions and zero coordinates are restored 
+     * afterwards.
+     * @param display The ring display to draw with. The diagram will have the 
+     * dimensions of its canvas.
+     * @param strip The image buffer to draw each strip on. It should be of 
+     * <code>BufferedImage.TYPE_INT_RGB</code> and as wide as the display's 
+     * canvas, like the buffers given by {@link #createStripBuffer(int, int)}.
+     * @param out The output stream to write to. It is flushed but not closed.
+     * @throws IOException If the output stream can't be written to.
+     */
+    static void writeInStrips(RingDisplay display, BufferedImage strip, 
+            OutputStream out) throws IOException {
+        int diagramWidth = display.ringCanvasHorizMax;
+        int diagramHeight = display.ringCanvasVerticMax;
+        int zeroX = display.zeroCoordX;
+        int zeroY = display.zeroCoordY;
+        int stripHeight = strip.getHeight();
+        int[] pixels 
+                = ((DataBufferInt) strip.getRaster().getDataBuffer()).getData();
+        StreamingPNGWriter writer = new StreamingPNGWriter(out, diagramWidth, 
+                diagramHeight);
+        try {
+            display.changeRingWindowDimensions(diagramWidth, stripHeight);
+            for (int top = 0; top < diagramHeight; top += stripHeight) {
+                display.changeZeroCoords(zeroX, zeroY - top);
+                drawDiagram(display, strip);
+                writer.writeRows(pixels, 0, strip.getWidth(), 
+                        Math.min(stripHeight, diagramHeight - top));
+            }
+        } finally {
+            display.changeRingWindowDimensions(diagramWidth, diagramHeight);
+            display.changeZeroCoords(zeroX, zeroY);
+        }
+        writer.finish();
+    }
+    
+    /**
+     * Draws a diagram one strip at a time and writes it to a Portable Network 
+     * Graphics (PNG) file.
+     * @param display The ring display to draw with. The diagram will have the 
+     * dimensions of its canvas.
+     * @param strip The image buffer to draw each strip on, as for {@link 
+     * #writeInStrips(RingDisplay, BufferedImage, OutputStream)}.
+     * @param file The file to write to. If it already exists, it will be 
+     * overwritten.
+     * @throws IOException If the file can't be written.
+     */
+    static void writeInStrips(RingDisplay display, BufferedImage strip, 
+            File file) throws IOException {
+        try (OutputStream out 
+                = new BufferedOutputStream(new FileOutputStream(file))) {
+            writeInStrips(display, strip, out);
+        }
+    }
+    
+    /**
+     * Gives a filename for a diagram. This consists of the ring's label for 
+     * filenames, followed by "pxui" to stand for "pixels per unit interval", 
+     * the number of pixels per unit interval and the *.png extension.
+     * @param ring The ring the diagram is for. For example, 
+     * <i>O</i><sub><b>Q</b>(&radic;&minus;7)</sub>.
+     * @param pixelsPerUnitInterval The number of pixels per unit interval. For 
+     * example, 40.
+     * @return The filename. For example, "OQI7pxui40.png".
+     */
+    static String filenameFor(IntegerRing ring, int pixelsPerUnitInterval) {
+        return ring.toFilenameString() + "pxui" + pixelsPerUnitInterval 
+                + ".png";
+    }
+    
+    /**
+     * Gives the ring adjoining the square root of a given number.
+     * @param d A squarefree number other than 0 or 1. For example, &minus;7.
+     * @return An imaginary quadratic ring if <code>d</code> is negative, a 
+     * real quadratic ring otherwise. For example, 
+     * <i>O</i><sub><b>Q</b>(&radic;&minus;7)</sub>.
+     */
+    static IntegerRing ringFor(int d) {
+        if (d < 0) {
+            return new ImaginaryQuadraticRing(d);
+        } else {
+            return new RealQuadraticRing(d);
+        }
+    }
+    
+    /**
+     * Creates a ring display, configured with this renderer's dimensions, 
+     * zoom and dot radius, that will not be shown on screen.
+     * @param ring The ring to display. For example, <b>Z</b>[&radic;2].
+     * @return A ring display with 0 at the center of the canvas.
+     * @throws UnsupportedNumberDomainException If <code>ring</code> is neither 
+     * an imaginary quadratic ring nor a real quadratic ring.
+     */
+    RingDisplay createDisplay(IntegerRing ring) {
+        RingDisplay display;
+        if (ring instanceof ImaginaryQuadraticRing) {
+            display = new ImagQuadRingDisplay((ImaginaryQuadraticRing) ring);
+        } else if (ring instanceof RealQuadraticRing) {
+            display = new RealQuadRingDisplay((RealQuadraticRing) ring);
+        } else {
+            String excMsg = "Diagrams of " + ring.toASCIIString() 
+                    + " can't be rendered yet";
+            throw new UnsupportedNumberDomainException(excMsg, ring);
+        }
+        this.configure(display);
+        return display;
+    }
+    
+    /**
+     * Gives a ring display this renderer's dimensions, zoom and dot radius, 
+     * and puts 0 at the center of the canvas.
+     * @param display The ring display to configure. It should not be on 
+     * screen.
+     */
+    void configure(RingDisplay display) {
+        display.setPixelsPerUnitInterval(this.pixelsPerUnitInterval);
+        if (this.usePreferredDotRadius) {
+            display.changeDotRadius(display.getPreferredDotRadius());
+        } else {
+            display.changeDotRadius(this.dotRadius);
+        }
+        display.changeRingWindowDimensions(this.width, this.height);
+        display.changeZeroCoords(this.width / 2, this.height / 2);
+        display.updateBoundaryNumber();
+    }
+    
+    /**
+     * Renders a diagram to a file, one strip at a time. The image buffer for 
+     * the strips comes from the pool, and goes back to the pool once the file 
+     * is written.
+     * @param ring The ring to render a diagram of. For example, 
+     * <b>Z</b>[&radic;&minus;2].
+     * @param file The file to write to. If it already exists, it will be 
+     * overwritten.
+     * @throws IOException If the file can't be written.
+     * @throws UnsupportedNumberDomainException If <code>ring</code> is neither 
+     * an imaginary quadratic ring nor a real quadratic ring.
+     */
+    public void render(IntegerRing ring, File file) throws IOException {
+        RingDisplay display = this.createDisplay(ring);
+        BufferedImage buffer = this.bufferPool.poll();
+        if (buffer == null) {
+            buffer = createStripBuffer(this.width, this.height);
+        }
+        try {
+            writeInStrips(display, buffer, file);
+        } finally {
+            this.bufferPool.offer(buffer);
+        }
+    }
+    
+    /**
+     * Renders diagrams for all the squarefree <i>d</i> in a range, except 1, 
+     * in parallel. For negative <i>d</i>, the diagram is of the ring of 
+     * algebraic integers of <b>Q</b>(&radic;<i>d</i>), an imaginary quadratic 
+     * ring, and for positive <i>d</i> it's of a real quadratic ring.
+     * @param start The first number of the range. For example, &minus;100.
+     * @param end The last number of the range. For example, 100.
+     * @param directory The directory to write the files to. The filenames are 
+     * as suggested by {@link RingDisplay#saveDiagramAs()}, e.g., 
+     * "ZI2pxui40.png" for <b>Z</b>[&radic;&minus;2] at 40 pixels per unit 
+     * interval. Files of the same name already in the directory will be 
+     * overwritten.
+     * @return The files written, in order from the lowest <i>d</i> to the 
+     * highest. For example, for the range from &minus;3 to 3, the files for 
+     * <i>d</i> = &minus;3, &minus;2, &minus;1, 2 and 3.
+     * @throws IOException If any of the files can't be written. The diagrams 
+     * still pending at that point are cancelled.
+     * @throws IllegalArgumentException If <code>start</code> is greater than 
+     * <code>end</code>.
+     */
+    public List<File> renderRange(int start, int end, File directory) 
+            throws IOException {
+        SquarefreeRange range = new SquarefreeRange(start, end);
+        ExecutorService workers 
+                = Executors.newFixedThreadPool(this.threadCount);
+        List<File> files = new ArrayList<>();
+        List<Future<?>> renderings = new ArrayList<>();
+        try {
+            range.stream().filter((d) -> d != 1).forEach((d) -> {
+                IntegerRing ring = ringFor(d);
+                File file = new File(directory, 
+                        filenameFor(ring, this.pixelsPerUnitInterval));
+                files.add(file);
+                renderings.add(workers.submit(() -> {
+                    this.render(ring, file);
+                    return null;
+                }));
+            });
+            for (Future<?> rendering : renderings) {
+                rendering.get();
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Rendering was interrupted", ie);
+        } catch (ExecutionException ee) {
+            Throwable cause = ee.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException(cause);
+        } finally {
+            workers.shutdownNow();
+        }
+        return files;
+    }
+    
+    /**
+     * Primary constructor.
+     * @param width The width of each diagram, in pixels. Should be at least 
+     * {@link RingDisplay#RING_CANVAS_HORIZ_MIN}. For example, 1280.
+     * @param height The height of each diagram, in pixels. Should be at least 
+     * {@link RingDisplay#RING_CANVAS_VERTIC_MIN}. For example, 720.
+     * @param pixelsPerUnitInterval How many pixels there are per unit 
+     * interval. Should be at least {@link 
+     * RingDisplay#MINIMUM_PIXELS_PER_UNIT_INTERVAL} but not more than {@link 
+     * RingDisplay#MAXIMUM_PIXELS_PER_UNIT_INTERVAL}. For example, 40.
+     * @param dotRadius The dot radius or line thickness. Should be at least 
+     * {@link RingDisplay#MINIMUM_DOT_RADIUS} but not more than {@link 
+     * RingDisplay#MAXIMUM_DOT_RADIUS}. For example, 5.
+     * @param threadCount How many diagrams to draw at the same time. For 
+     * example, 4.
+     * @throws IllegalArgumentException If any of the parameters is out of the 
+     * range specified above, or if <code>threadCount</code> is less than 1.
+     */
+    public DiagramRenderer(int width, int height, int pixelsPerUnitInterval, 
+            int dotRadius, int threadCount) {
+        this(width, height, pixelsPerUnitInterval, dotRadius, false, 
+                threadCount);
+    }
+    
+    /**
+     * Auxiliary constructor. The dot radius or line thickness will be the one 
+     * preferred by the ring display for each ring, and as many threads as 
+     * {@link #DEFAULT_THREAD_COUNT} will be used.
+     * @param width The width of each diagram, in pixels. For example, 1280.
+     * @param height The height of each diagram, in pixels. For example, 720.
+     * @param pixelsPerUnitInterval How many pixels there are per unit 
+     * interval. For example, 40.
+     * @throws IllegalArgumentException If any of the parameters is out of the 
+     * range specified for the primary constructor.
+     */
+    public DiagramRenderer(int width, int height, int pixelsPerUnitInterval) {
+        this(width, height, pixelsPerUnitInterval, 
+                RingDisplay.DEFAULT_DOT_RADIUS, true, DEFAULT_THREAD_COUNT);
+    }
+    
+    private DiagramRenderer(int width, int height, int pixelsPerUnitInterval, 
+            int dotRadius, boolean usePreferredDotRadius, int threadCount) {
+        if (width < RingDisplay.RING_CANVAS_HORIZ_MIN 
+                || height < RingDisplay.RING_CANVAS_VERTIC_MIN) {
+            String excMsg = "Dimensions " + width + " by " + height 
+                    + " should be at least " + RingDisplay.RING_CANVAS_HORIZ_MIN 
+                    + " by " + RingDisplay.RING_CANVAS_VERTIC_MIN;
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (pixelsPerUnitInterval 
+                < RingDisplay.MINIMUM_PIXELS_PER_UNIT_INTERVAL 
+                || pixelsPerUnitInterval 
+                > RingDisplay.MAXIMUM_PIXELS_PER_UNIT_INTERVAL) {
+            String excMsg = "Pixels per unit interval " + pixelsPerUnitInterval 
+                    + " is out of range";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (dotRadius < RingDisplay.MINIMUM_DOT_RADIUS 
+                || dotRadius > RingDisplay.MAXIMUM_DOT_RADIUS) {
+            String excMsg = "Dot radius " + dotRadius + " is out of range";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (threadCount < 1) {
+            String excMsg = "Thread count " + threadCount 
+                    + " should be at least 1";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.width = width;
+        this.height = height;
+        this.pixelsPerUnitInterval = pixelsPerUnitInterval;
+        this.dotRadius = dotRadius;
+        this.usePreferredDotRadius = usePreferredDotRadius;
+        this.threadCount = threadCount;
+    }
+    
+}
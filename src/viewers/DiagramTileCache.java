@@ -0,0 +1,297 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package viewers;
+
+import algebraics.IntegerRing;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * A cache of square tiles of ring diagrams. The tiles are drawn on a pool of 
+ * worker threads rather than on the event dispatch thread, so that the ring 
+ * display remains responsive even if a diagram takes a long time to draw. Each 
+ * worker thread draws on an offscreen display of its own, obtained from {@link 
+ * RingDisplay#createOffscreenDisplay(algebraics.IntegerRing)}, so the worker 
+ * threads don't step on each other's toes or on the toes of the ring display 
+ * on screen.
+ * <p>Tiles are placed relative to the point 0 of the diagram rather than 
+ * relative to the corner of the canvas. The tile (0, 0) has 0 at its top left 
+ * corner, the tile (&minus;1, 0) is immediately to its left, and so on. When 
+ * the cache reaches its capacity, the least recently used tiles are discarded 
+ * to make room for new ones.</p>
+ * @author Alonso del Arte
+ */
+final class DiagramTileCache {
+    
+    /**
+     * The width and height of each tile, in pixels.
+     */
+    static final int TILE_SIZE = 256;
+    
+    /**
+     * How many tiles a cache holds by default. At 256 by 256 pixels with three 
+     * bytes per pixel, this is a little over 18 megabytes, enough for the tiles 
+     * of a few diagrams at the default canvas size.
+     */
+    static final int DEFAULT_CAPACITY = 96;
+    
+    private static final ExecutorService WORKERS 
+            = Executors.newFixedThreadPool(Math.max(1, 
+                    Runtime.getRuntime().availableProcessors() - 1), 
+                    (runnable) -> {
+                        Thread thread = new Thread(runnable, 
+                                "Diagram tile worker");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+    
+    /**
+     * Identifies a tile by the ring, the zoom level, the dot radius, the 
+     * boundary numbers, the colors and the position of the tile relative to 
+     * the point 0. 
+     * The boundary numbers are those of the ring display on screen rather than 
+     * those of the tile, since they determine how far out to look for numbers 
+     * whose lines or points might be on the diagram, such as the conjugates of 
+     * large multiples of a unit, which can fall anywhere. Ring displays round 
+     * their boundary numbers up, so that the keys of the tiles still in view 
+     * don't change while the diagram is dragged a short way.
+     */
+    static final class TileKey {
+        
+        private final IntegerRing ring;
+        
+        private final int pixelsPerUnitInterval;
+        
+        private final int dotRadius;
+        
+        private final double boundaryRe;
+        
+        private final double boundaryIm;
+        
+        private final Color[] colors;
+        
+        private final int tileX;
+        
+        private final int tileY;
+        
+        @Override
+        public String toString() {
+            return "Tile (" + this.tileX + ", " + this.tileY + ") of " 
+                    + this.ring.toASCIIString() + " at " 
+                    + this.pixelsPerUnitInterval + " pixels per unit interval";
+        }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || !this.getClass().equals(obj.getClass())) {
+                return false;
+            }
+            TileKey other = (TileKey) obj;
+            return this.pixelsPerUnitInterval == other.pixelsPerUnitInterval 
+                    && this.dotRadius == other.dotRadius 
+                    && Double.compare(this.boundaryRe, other.boundaryRe) == 0 
+                    && Double.compare(this.boundaryIm, other.boundaryIm) == 0 
+                    && Arrays.equals(this.colors, other.colors) 
+                    && this.tileX == other.tileX && this.tileY == other.tileY 
+                    && this.ring.equals(other.ring);
+        }
+        
+        @Override
+        public int hashCode() {
+            int hash = this.ring.hashCode();
+            hash = 31 * hash + this.pixelsPerUnitInterval;
+            hash = 31 * hash + this.dotRadius;
+            hash = 31 * hash + Double.hashCode(this.boundaryRe);
+            hash = 31 * hash + Double.hashCode(this.boundaryIm);
+            hash = 31 * hash + Arrays.hashCode(this.colors);
+            hash = 31 * hash + this.tileX;
+            return 31 * hash + this.tileY;
+        }
+        
+        TileKey(IntegerRing ring, int pixelsPerUnitInterval, int dotRadius, 
+                double boundaryRe, double boundaryIm, Color[] colors, 
+                int tileX, int tileY) {
+            this.ring = ring;
+            this.pixelsPerUnitInterval = pixelsPerUnitInterval;
+            this.dotRadius = dotRadius;
+            this.boundaryRe = boundaryRe;
+            this.boundaryIm = boundaryIm;
+            this.colors = colors.clone();
+            this.tileX = tileX;
+            this.tileY = tileY;
+        }
+        
+    }
+    
+    private final RingDisplay display;
+    
+    private final Map<TileKey, BufferedImage> tiles;
+    
+    private final Map<TileKey, Future<?>> pending = new HashMap<>();
+    
+    private final ThreadLocal<RingDisplay> offscreenDisplays 
+            = new ThreadLocal<>();
+    
+    private RingDisplay offscreenDisplayFor(IntegerRing ring) {
+        RingDisplay offscreen = this.offscreenDisplays.get();
+        if (offscreen == null || !offscreen.getRing().equals(ring)) {
+            offscreen = this.display.createOffscreenDisplay(ring);
+            this.offscreenDisplays.set(offscreen);
+        }
+        return offscreen;
+    }
+    
+    /**
+     * Draws a tile. This runs on one of the worker threads. Once the tile is 
+     * done, the ring display on screen is asked to repaint itself.
+     * @param key Which tile to draw.
+     */
+    private void renderTile(TileKey key) {
+        BufferedImage tile = null;
+        try {
+            RingDisplay offscreen = this.offscreenDisplayFor(key.ring);
+            offscreen.setPixelsPerUnitInterval(key.pixelsPerUnitInterval);
+            offscreen.changeDotRadius(key.dotRadius);
+            offscreen.changeRingWindowDimensions(TILE_SIZE, TILE_SIZE);
+            offscreen.changeZeroCoords(-key.tileX * TILE_SIZE, 
+                    -key.tileY * TILE_SIZE);
+            offscreen.boundaryRe = key.boundaryRe;
+            offscreen.boundaryIm = key.boundaryIm;
+            offscreen.changeColors(key.colors);
+            tile = new BufferedImage(TILE_SIZE, TILE_SIZE, 
+                    BufferedImage.TYPE_INT_RGB);
+            DiagramRenderer.drawDiagram(offscreen, tile);
+        } catch (RuntimeException re) {
+            System.err.println(key.toString() + " could not be drawn: " 
+                    + re.getMessage());
+            tile = null;
+        } finally {
+            synchronized (this) {
+                this.pending.remove(key);
+                if (tile != null) {
+                    this.tiles.put(key, tile);
+                }
+            }
+        }
+        if (tile != null) {
+            SwingUtilities.invokeLater(this.display::repaint);
+        }
+    }
+    
+    /**
+     * Retrieves a tile from the cache. If the tile is not in the cache, it is 
+     * queued up to be drawn on one of the worker threads, unless it's already 
+     * queued up.
+     * @param key Which tile to retrieve.
+     * @return The tile if it has already been drawn, null otherwise. The ring 
+     * display will be repainted once the tile is ready.
+     */
+    synchronized BufferedImage getTile(TileKey key) {
+        BufferedImage tile = this.tiles.get(key);
+        if (tile == null && !this.pending.containsKey(key)) {
+            this.pending.put(key, WORKERS.submit(() -> this.renderTile(key)));
+        }
+        return tile;
+    }
+    
+    /**
+     * Tells whether or not a tile is queued up to be drawn or is being drawn.
+     * @param key Which tile to ask about.
+     * @return True if the tile is pending, false if it has already been drawn, 
+     * or if it was never asked for, or if it was cancelled.
+     */
+    synchronized boolean isPending(TileKey key) {
+        return this.pending.containsKey(key);
+    }
+    
+    /**
+     * Cancels the pending tiles that are no longer needed, such as tiles for a 
+     * ring that's no longer displayed or for a zoom level that's no longer in 
+     * effect. Tiles already being drawn are allowed to finish and are cached.
+     * @param keys The tiles that are still needed. Tiles that are not pending 
+     * are ignored.
+     */
+    synchronized void retainPending(Collection<TileKey> keys) {
+        Iterator<Map.Entry<TileKey, Future<?>>> iterator 
+                = this.pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<TileKey, Future<?>> entry = iterator.next();
+            if (!keys.contains(entry.getKey())) {
+                entry.getValue().cancel(false);
+                iterator.remove();
+            }
+        }
+    }
+    
+    /**
+     * Tells how many tiles have been drawn and are currently in the cache.
+     * @return A number from 0 to the capacity of the cache.
+     */
+    synchronized int size() {
+        return this.tiles.size();
+    }
+    
+    /**
+     * Primary constructor.
+     * @param display The ring display to draw tiles for. It will be asked to 
+     * repaint itself each time a tile is ready.
+     * @param capacity How many tiles to keep at most. For example, 96.
+     * @throws IllegalArgumentException If <code>capacity</code> is less than 
+     * 1.
+     */
+    DiagramTileCache(RingDisplay display, int capacity) {
+        if (capacity < 1) {
+            String excMsg = "Capacity " + capacity + " should be at least 1";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.display = display;
+        this.tiles = new LinkedHashMap<TileKey, BufferedImage>(capacity, 0.75f, 
+                true) {
+            
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TileKey, 
+                    BufferedImage> eldest) {
+                return this.size() > capacity;
+            }
+            
+        };
+    }
+    
+    /**
+     * Auxiliary constructor. The capacity is {@link #DEFAULT_CAPACITY}.
+     * @param display The ring display to draw tiles for.
+     */
+    DiagramTileCache(RingDisplay display) {
+        this(display, DEFAULT_CAPACITY);
+    }
+    
+}
@@ -16,18 +16,26 @@
  */
 package viewers;
 
+import algebraics.IntegerRing;
 import algebraics.quadratics.ImaginaryQuadraticInteger;
 import algebraics.quadratics.ImaginaryQuadraticRing;
 import algebraics.quadratics.QuadraticInteger;
 import algebraics.quadratics.QuadraticRing;
+import cacheops.LRUCache;
+import calculators.ImagQuadClassificationGrid;
 
+import java.awt.Color;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.datatransfer.StringSelection;
 import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
 import java.net.URI;
 import java.net.URISyntaxException;
 
 import javax.swing.JOptionPane;
+import javax.swing.Timer;
 
 import static calculators.NumberTheoreticFunctionsCalculator.*;
 
@@ -57,6 +65,18 @@ public final class ImagQuadRingDisplay extends RingDisplay {
      */
     public static final int MINIMUM_RING_D = -8191;
     
+    /**
+     * How long to wait, in milliseconds, after the mouse pointer moves before 
+     * updating the readouts. Any other mouse moves during that time are folded 
+     * into the same update, so that sweeping the mouse across the diagram 
+     * causes at most one update per frame or so.
+     */
+    public static final int READOUT_UPDATE_DELAY = 15;
+    
+    private static final int READOUT_CACHE_CAPACITY = 64;
+    
+    private static final int DOT_SPRITE_CACHE_CAPACITY = 16;
+    
     private static final String MANUAL_URL_TOP_LEVEL = "https://github.com/";
     
     private static final String MANUAL_URL_HIGH_SUBDIRS 
@@ -84,6 +104,173 @@ public final class ImagQuadRingDisplay extends RingDisplay {
     private static final String ABOUT_BOX_COPYRIGHT_NOTICE 
             = "\u00A9 2021 Alonso del Arte";
     
+    private final LRUCache<ImaginaryQuadraticRing, ImagQuadClassificationGrid> 
+            cache = new LRUCache<ImaginaryQuadraticRing, 
+                    ImagQuadClassificationGrid>(8) {
+                
+        @Override
+        protected ImagQuadClassificationGrid create(ImaginaryQuadraticRing 
+                name) {
+            return new ImagQuadClassificationGrid(name);
+        }
+        
+    };
+    
+    /**
+     * Dots drawn once on small transparent images, named by color, radius and 
+     * whether or not the dot is filled in, as given by {@link 
+     * #spriteName(java.awt.Color, int, boolean)}. Copying one of these images 
+     * onto the diagram is much faster than drawing the same dot with 
+     * <code>fillOval()</code> or <code>drawOval()</code>, and it gives the 
+     * same pixels, since no antialiasing is used either way.
+     */
+    private final LRUCache<Long, BufferedImage> dotSprites 
+            = new LRUCache<Long, BufferedImage>(DOT_SPRITE_CACHE_CAPACITY) {
+        
+        @Override
+        protected BufferedImage create(Long name) {
+            int diameter = 2 * (name.intValue() >>> 1);
+            BufferedImage sprite = new BufferedImage(diameter + 1, 
+                    diameter + 1, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = sprite.createGraphics();
+            g.setColor(new Color((int) (name >>> 32), true));
+            if ((name & 1L) == 1L) {
+                g.fillOval(0, 0, diameter, diameter);
+            } else {
+                g.drawOval(0, 0, diameter, diameter);
+            }
+            g.dispose();
+            return sprite;
+        }
+        
+    };
+    
+    /**
+     * The readouts for a particular number, worked out once so that they can 
+     * be shown again without recalculating them if the mouse pointer comes 
+     * back to that number.
+     */
+    private static final class Readouts {
+        
+        private final ImaginaryQuadraticInteger number;
+        
+        private final String numberText, numberTextAlt, traceText, normText, 
+                polynomialText;
+        
+        private Readouts(ImaginaryQuadraticInteger number) {
+            this.number = number;
+            this.numberText = number.toString();
+            this.numberTextAlt = number.toStringAlt();
+            this.traceText = Long.toString(number.trace());
+            this.normText = Long.toString(number.norm());
+            this.polynomialText = number.minPolynomialString();
+        }
+        
+    }
+    
+    /**
+     * The readouts for the numbers the mouse pointer has gone over recently, 
+     * named by lattice point as given by {@link #latticePoint(int, int)}. A 
+     * new cache is created whenever the ring changes.
+     */
+    private LRUCache<Long, Readouts> readoutCache = null;
+    
+    private ImaginaryQuadraticRing readoutCacheRing = null;
+    
+    private long pendingLatticePoint;
+    
+    private long shownLatticePoint;
+    
+    private ImaginaryQuadraticRing shownRing = null;
+    
+    private boolean shownThetaNotation;
+    
+    private final Timer readoutTimer;
+    
+    /**
+     * Packs the coordinates of a lattice point into a single number.
+     * @param horizCoord The horizontal coordinate, in half units for rings 
+     * with "half-integers." For example, 3.
+     * @param verticCoord The vertical coordinate, likewise in half units if 
+     * applicable. For example, &minus;1.
+     * @return The horizontal coordinate in the high 32 bits and the vertical 
+     * coordinate in the low 32 bits.
+     */
+    private static long latticePoint(int horizCoord, int verticCoord) {
+        return ((long) horizCoord << 32) | (verticCoord & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * Packs the color, radius and filling of a dot into a single number.
+     * @param color The color of the dot. For example, green.
+     * @param radius The radius of the dot, in pixels. For example, 5.
+     * @param filled Whether the dot is filled in or just outlined. For 
+     * example, true.
+     * @return The color's RGB value in the high 32 bits, the radius in the 
+     * next 31 bits and 1 in the lowest bit if <code>filled</code> is true, 0 
+     * if it's false.
+     */
+    private static long spriteName(Color color, int radius, boolean filled) {
+        return ((long) color.getRGB() << 32) | ((long) radius << 1) 
+                | (filled ? 1L : 0L);
+    }
+    
+    private static LRUCache<Long, Readouts> 
+            createReadoutCache(ImaginaryQuadraticRing ring) {
+        return new LRUCache<Long, Readouts>(READOUT_CACHE_CAPACITY) {
+            
+            @Override
+            protected Readouts create(Long name) {
+                int horizCoord = (int) (name >> 32);
+                int verticCoord = name.intValue();
+                ImaginaryQuadraticInteger number;
+                if (ring.hasHalfIntegers()) {
+                    number = new ImaginaryQuadraticInteger(horizCoord, 
+                            verticCoord, ring, 2);
+                } else {
+                    number = new ImaginaryQuadraticInteger(horizCoord, 
+                            verticCoord, ring);
+                }
+                return new Readouts(number);
+            }
+            
+        };
+    }
+    
+    /**
+     * Updates the readouts for the lattice point the mouse pointer was last 
+     * moved to. Nothing is done if the readouts already show that point, in 
+     * the same ring and with the same preference for theta notation. 
+     * Otherwise the readouts are looked up in the cache, and worked out only 
+     * if the mouse pointer hasn't been over that point recently.
+     */
+    private void updateReadouts() {
+        ImaginaryQuadraticRing ring = (ImaginaryQuadraticRing) this.diagramRing;
+        if (this.pendingLatticePoint == this.shownLatticePoint 
+                && ring.equals(this.shownRing) 
+                && this.preferenceForThetaNotation 
+                == this.shownThetaNotation) {
+            return;
+        }
+        if (!ring.equals(this.readoutCacheRing)) {
+            this.readoutCache = createReadoutCache(ring);
+            this.readoutCacheRing = ring;
+        }
+        Readouts readouts = this.readoutCache.forName(this.pendingLatticePoint);
+        this.mouseAlgInt = readouts.number;
+        if (this.preferenceForThetaNotation) {
+            this.algIntReadOut.setText(readouts.numberTextAlt);
+        } else {
+            this.algIntReadOut.setText(readouts.numberText);
+        }
+        this.traceReadOut.setText(readouts.traceText);
+        this.normReadOut.setText(readouts.normText);
+        this.polynomialReadOut.setText(readouts.polynomialText);
+        this.shownLatticePoint = this.pendingLatticePoint;
+        this.shownRing = ring;
+        this.shownThetaNotation = this.preferenceForThetaNotation;
+    }
+    
     private void drawHalfIntGrids(Graphics g) {
         int verticalGridDistance;
         int currPixelPos, currReflectPixelPos;
@@ -95,7 +282,7 @@ public final class ImagQuadRingDisplay extends RingDisplay {
         verticalGridDistance *= 2;
         while (withinBoundaries) {
             withinBoundaries = (currPixelPos < this.ringCanvasVerticMax) 
-                    && (currReflectPixelPos > -1);
+                    || (currReflectPixelPos > -1);
             if (withinBoundaries) {
                 g.drawLine(0, currPixelPos, this.ringCanvasHorizMax, 
                         currPixelPos);
@@ -115,7 +302,7 @@ public final class ImagQuadRingDisplay extends RingDisplay {
         currReflectPixelPos = this.zeroCoordX - halfHorizontalGridDistance;
         while (withinBoundaries) {
             withinBoundaries = (currPixelPos < this.ringCanvasHorizMax) 
-                    && (currReflectPixelPos > -1);
+                    || (currReflectPixelPos > -1);
             if (withinBoundaries) {
                 g.drawLine(currPixelPos, 0, currPixelPos, 
                         this.ringCanvasVerticMax);
@@ -148,7 +335,7 @@ public final class ImagQuadRingDisplay extends RingDisplay {
             currPixelPos += verticalGridDistance;
             currReflectPixelPos -= verticalGridDistance;
             withinBoundaries = (currPixelPos < this.ringCanvasVerticMax) 
-                    && (currReflectPixelPos > -1);
+                    || (currReflectPixelPos > -1);
             if (withinBoundaries) {
                 g.drawLine(0, currPixelPos, this.ringCanvasHorizMax, 
                         currPixelPos);
@@ -165,7 +352,7 @@ public final class ImagQuadRingDisplay extends RingDisplay {
             currPixelPos += this.pixelsPerUnitInterval;
             currReflectPixelPos -= this.pixelsPerUnitInterval;
             withinBoundaries = (currPixelPos < this.ringCanvasHorizMax) 
-                    && (currReflectPixelPos > -1);
+                    || (currReflectPixelPos > -1);
             if (withinBoundaries) {
                 g.drawLine(currPixelPos, 0, currPixelPos, 
                         this.ringCanvasVerticMax);
@@ -175,360 +362,88 @@ public final class ImagQuadRingDisplay extends RingDisplay {
         }
     }
     
+    private BufferedImage spriteFor(Color color, boolean filled) {
+        return this.dotSprites.forName(spriteName(color, this.dotRadius, 
+                filled));
+    }
+    
+    private Color colorFor(byte classification) {
+        return switch (classification 
+                & ~ImagQuadClassificationGrid.NO_PRINCIPAL_FACTORS) {
+            case ImagQuadClassificationGrid.UNIT -> this.unitColor;
+            case ImagQuadClassificationGrid.SPLIT -> this.splitPrimeColor;
+            case ImagQuadClassificationGrid.RAMIFIED -> this.ramifiedPrimeColor;
+            default -> this.inertPrimeColor;
+        };
+    }
+    
     /**
-     * Draws the points. In the original implementation, this tested the 
-     * primality of the norms of the imaginary quadratic integers with nonzero 
-     * imaginary parts. However, that was not quite correct in that it skipped 
-     * over primes that are real integer multiples of &omega; in 
-     * <b>Z</b>[&omega;]. So I changed it to do primality test on the imaginary 
-     * quadratic integers themselves, but that caused a slight delay for the 
-     * <b>Z</b>[&omega;] diagram at 2 pixels per unit interval. So now the 
-     * program is back to doing primality testing on the norms of the numbers 
-     * rather than the numbers themselves, and there is a special pass for the 
-     * aforementioned primes.
+     * Draws the points. Whether to draw a point, and in what color, is looked 
+     * up in the {@link ImagQuadClassificationGrid} for the ring, so there is no 
+     * primality testing here. The grids are cached, so that zooming out only 
+     * requires classifying the numbers newly in view, and going back to a 
+     * previously viewed ring requires no classifying at all. Purely real primes 
+     * that split or ramify are drawn as circles rather than as dots if their 
+     * prime factors are not principal, like 3 in <b>Z</b>[&radic;&minus;5].
+     * <p>Only the points that fall on the canvas and within the clip bounds of 
+     * <code>g</code>, or close enough to the edges for part of a dot to show, 
+     * are drawn. Since the point 0 need not be on the canvas, as is the case 
+     * for most tiles, the range to draw need not include 0. Each dot is copied 
+     * from a cached sprite rather than drawn as an oval.</p>
      * @param g The Graphics object supplied by the caller.
      */
-    // TODO: Break this procedure up into at least two smaller procedures
     private void drawPoints(Graphics g) {
-        int currPointX, currPointY;
-        int currNegPointX, currNegPointY;
-        int maxX = (int) Math.floor((this.ringCanvasHorizMax - this.zeroCoordX) 
-                / this.pixelsPerUnitInterval);
-        int maxY;
-        int verticalGridDistance = this.pixelsPerBasicImaginaryInterval;
         QuadraticRing ring = (QuadraticRing) this.diagramRing;
-        ImaginaryQuadraticInteger currIQI;
-        if (ring.hasHalfIntegers()) {
-            maxY = (int) Math.floor((this.ringCanvasVerticMax - this.zeroCoordY) 
-                    / (2 * this.pixelsPerBasicImaginaryInterval));
-            verticalGridDistance *= 2;
-        } else {
-            maxY = (int) Math.floor((this.ringCanvasVerticMax - this.zeroCoordY) 
-                    / this.pixelsPerBasicImaginaryInterval);
-        }
-        // The central point, 0
-        currPointX = this.zeroCoordX;
-        currPointY = this.zeroCoordY;
-        g.setColor(this.zeroColor);
-        g.fillOval(currPointX - this.dotRadius, currPointY - this.dotRadius, 
-                this.dotDiameter, this.dotDiameter);
-        // The purely real unit points, -1 and 1
-        currNegPointX = currPointX - this.pixelsPerUnitInterval;
-        currPointX += this.pixelsPerUnitInterval;
-        g.setColor(this.unitColor);
-        g.fillOval(currPointX - this.dotRadius, currPointY - this.dotRadius, 
-                this.dotDiameter, this.dotDiameter);
-        g.fillOval(currNegPointX - this.dotRadius, currPointY - this.dotRadius, 
-                this.dotDiameter, this.dotDiameter);
-        // The even primes, -2 and 2
-        currNegPointX -= this.pixelsPerUnitInterval;
-        currPointX += this.pixelsPerUnitInterval;
-        byte symbol = symbolKronecker(ring.getRadicand(), 2);
-        if (ring.getRadicand() % 4 == -1) {
-            symbol = 0;
-        }
-        if (ring.getRadicand() == -3) {
-            symbol = -1;
-        }
-        if (ring.getRadicand() == -1) {
-            symbol = 1;
-        }
-        switch (symbol) {
-            case -1:
-                g.setColor(this.inertPrimeColor);
-                g.fillOval(currPointX - this.dotRadius, currPointY 
-                        - this.dotRadius, this.dotDiameter, this.dotDiameter);
-                g.fillOval(currNegPointX - this.dotRadius, currPointY 
-                        - this.dotRadius, this.dotDiameter, this.dotDiameter);
-                break;
-            case 0:
-                g.setColor(this.ramifiedPrimeColor);
-                g.drawOval(currPointX - this.dotRadius, currPointY 
-                        - this.dotRadius, this.dotDiameter, this.dotDiameter);
-                g.drawOval(currNegPointX - this.dotRadius, currPointY 
-                        - this.dotRadius, this.dotDiameter, this.dotDiameter);
-                break;
-            case 1:
-                g.setColor(this.splitPrimeColor);
-                g.drawOval(currPointX - this.dotRadius, currPointY 
-                        - this.dotRadius, this.dotDiameter, this.dotDiameter);
-                g.drawOval(currNegPointX - this.dotRadius, currPointY 
-                        - this.dotRadius, this.dotDiameter, this.dotDiameter);
-                break;
-            default:
-                String excMsg = "Unexpected problem computing symbolKronecker(" 
-                        + ring.getRadicand() + ", " + 2 + ") = " + symbol;
-                throw new RuntimeException(excMsg);
-        }
-        // Place "nibs" back at -1 and 1
-        currNegPointX += this.pixelsPerUnitInterval;
-        currPointX -= this.pixelsPerUnitInterval;
-        // The other purely real integer points
-        for (int x = 3; x <= maxX; x += 2) {
-            currPointX += (2 * this.pixelsPerUnitInterval);
-            currNegPointX -= (2 * this.pixelsPerUnitInterval);
-            if (isPrime(x)) {
-                symbol = symbolLegendre(ring.getRadicand(), x);
-                switch (symbol) {
-                    case -1:
-                        g.setColor(this.inertPrimeColor);
-                        g.fillOval(currPointX - this.dotRadius, currPointY 
-                                - this.dotRadius, this.dotDiameter, 
-                                this.dotDiameter);
-                        g.fillOval(currNegPointX - this.dotRadius, currPointY 
-                                - this.dotRadius, this.dotDiameter, 
-                                this.dotDiameter);
-                        break;
-                    case 0:
-                        g.setColor(this.ramifiedPrimeColor);
-                        g.drawOval(currPointX - this.dotRadius, currPointY 
-                                - this.dotRadius, this.dotDiameter, 
-                                this.dotDiameter);
-                        g.drawOval(currNegPointX - this.dotRadius, currPointY 
-                                - this.dotRadius, this.dotDiameter, 
-                                this.dotDiameter);
-                        break;
-                    case 1:
-                        g.setColor(this.splitPrimeColor);
-                        g.drawOval(currPointX - this.dotRadius + 1, currPointY 
-                                - this.dotRadius + 1, this.dotDiameter, 
-                                this.dotDiameter);
-                        g.drawOval(currNegPointX - this.dotRadius + 1, 
-                                currPointY - this.dotRadius + 1, 
-                                this.dotDiameter, this.dotDiameter);
-                        break;
-                    default:
-                        String excMsg 
-                                = "Unexpected problem computing symbolLegendre(" 
-                                + ring.getRadicand() + ", " + x + ") = " 
-                                + symbol;
-                        throw new RuntimeException(excMsg);
-                }
-            }
+        ImagQuadClassificationGrid grid 
+                = this.cache.forName((ImaginaryQuadraticRing) ring);
+        Rectangle visible = new Rectangle(0, 0, this.ringCanvasHorizMax, 
+                this.ringCanvasVerticMax);
+        Rectangle clip = g.getClipBounds();
+        if (clip != null) {
+            visible = visible.intersection(clip);
         }
-        // The purely imaginary integer points other than 0
-        if (ring.getRadicand() == -1) {
-            // Take care to color the units in Z[i]
-            currPointX = this.zeroCoordX;
-            currPointY = this.zeroCoordY + verticalGridDistance;
-            currNegPointY = this.zeroCoordY - verticalGridDistance;
-            g.setColor(this.unitColor);
-            g.fillOval(currPointX - this.dotRadius, currPointY - this.dotRadius, 
-                    this.dotDiameter, this.dotDiameter);
-            g.fillOval(currPointX - this.dotRadius, currNegPointY 
-                    - this.dotRadius, this.dotDiameter, this.dotDiameter);
-            g.setColor(this.inertPrimeColor);
-            for (int y = 2; y <= maxY; y++) {
-                currPointY += verticalGridDistance;
-                currNegPointY -= verticalGridDistance;
-                if (isPrime(y)) {
-                    g.fillOval(currPointX - this.dotRadius, currPointY 
-                            - this.dotRadius, this.dotDiameter, 
-                            this.dotDiameter);
-                    g.fillOval(currPointX - this.dotRadius, currNegPointY 
-                            - this.dotRadius, this.dotDiameter, 
-                            this.dotDiameter);
-                }
-            }
-        } else {
-            currPointX = this.zeroCoordX;
-            currNegPointY = currPointY;
-            for (int y = 1; y <= maxY; y++) {
-                currPointY += verticalGridDistance;
-                currNegPointY -= verticalGridDistance;
-                currIQI = new ImaginaryQuadraticInteger(0, y, ring, 1);
-                if (isPrime(currIQI.norm())) {
-                    if (euclideanGCD(currIQI.norm(), ring.getRadicand()) > 1) {
-                        int ramifyPoint = this.zeroCoordX + (int) currIQI.norm() 
-                                * this.pixelsPerUnitInterval;
-                        int negRamifyPoint = this.zeroCoordX 
-                                - (int) currIQI.norm() 
-                                * this.pixelsPerUnitInterval;
-                        g.setColor(this.ramifiedPrimeColor);
-                        g.fillOval(ramifyPoint - this.dotRadius, this.zeroCoordY 
-                                - this.dotRadius, this.dotDiameter, 
-                                this.dotDiameter);
-                        g.fillOval(negRamifyPoint - this.dotRadius, 
-                                this.zeroCoordY - this.dotRadius, 
-                                this.dotDiameter, this.dotDiameter);
-                    } else {
-                        g.setColor(this.inertPrimeColor);
-                    }
-                    g.fillOval(currPointX - this.dotRadius, currPointY 
-                            - this.dotRadius, this.dotDiameter, 
-                            this.dotDiameter);
-                    g.fillOval(currPointX - this.dotRadius, currNegPointY 
-                            - this.dotRadius, this.dotDiameter, 
-                            this.dotDiameter);
-                }
-            }
+        if (visible.isEmpty()) {
+            return;
         }
-        // Now the complex integer points, but not the "half-integers" yet
-        long currSplitPrime;
-        int currSplitPrimePointX, currNegSplitPrimePointX;
-        for (int x = 1; x <= maxX; x++) {
-            currPointX = this.zeroCoordX + (x * this.pixelsPerUnitInterval);
-            currNegPointX = this.zeroCoordX - (x * this.pixelsPerUnitInterval);
-            for (int y = 1; y <= maxY; y++) {
-                currPointY = this.zeroCoordY + (y * verticalGridDistance);
-                currNegPointY = this.zeroCoordY - (y * verticalGridDistance);
-                currIQI = new ImaginaryQuadraticInteger(x, y, ring);
-                if (isPrime(currIQI.norm())) {
-                    g.setColor(this.inertPrimeColor);
-                    g.fillOval(currPointX - this.dotRadius, currPointY 
-                            - this.dotRadius, this.dotDiameter, 
-                            this.dotDiameter);
-                    g.fillOval(currPointX - this.dotRadius, currNegPointY 
-                            - this.dotRadius, this.dotDiameter, 
-                            this.dotDiameter);
-                    g.fillOval(currNegPointX - this.dotRadius, currPointY 
-                            - this.dotRadius, this.dotDiameter, 
-                            this.dotDiameter);
-                    g.fillOval(currNegPointX - this.dotRadius, currNegPointY 
-                            - this.dotRadius, this.dotDiameter, 
-                            this.dotDiameter);
-                    currSplitPrime = currIQI.norm();
-                    if (currSplitPrime <= maxX) {
-                        currSplitPrimePointX = this.zeroCoordX 
-                                + ((int) currSplitPrime 
-                                * this.pixelsPerUnitInterval);
-                        currNegSplitPrimePointX = this.zeroCoordX 
-                                - ((int) currSplitPrime 
-                                * this.pixelsPerUnitInterval);
-                        g.setColor(this.splitPrimeColor);
-                        g.fillOval(currSplitPrimePointX - this.dotRadius, 
-                                this.zeroCoordY - this.dotRadius, 
-                                this.dotDiameter, this.dotDiameter);
-                        g.fillOval(currNegSplitPrimePointX - this.dotRadius, 
-                                this.zeroCoordY - this.dotRadius, 
-                                this.dotDiameter, this.dotDiameter);
-                    }
-                    if (currSplitPrime <= maxY && ring.getRadicand() == -1) {
-                        currSplitPrimePointX = this.zeroCoordY 
-                                + ((int) currSplitPrime 
-                                * this.pixelsPerUnitInterval);
-                        currNegSplitPrimePointX = this.zeroCoordY 
-                                - ((int) currSplitPrime 
-                                * this.pixelsPerUnitInterval);
-                        g.fillOval(this.zeroCoordX - this.dotRadius, 
-                                currSplitPrimePointX - this.dotRadius, 
-                                this.dotDiameter, this.dotDiameter);
-                        g.fillOval(this.zeroCoordX - this.dotRadius, 
-                                currNegSplitPrimePointX - this.dotRadius, 
-                                this.dotDiameter, this.dotDiameter);
-                    }
+        int columnsPerUnit = ring.hasHalfIntegers() ? 2 : 1;
+        int minX = Math.floorDiv(columnsPerUnit * (visible.x - this.zeroCoordX 
+                - this.dotRadius), this.pixelsPerUnitInterval) - 1;
+        int maxX = Math.floorDiv(columnsPerUnit * (visible.x + visible.width 
+                - this.zeroCoordX + this.dotRadius), 
+                this.pixelsPerUnitInterval) + 1;
+        int minY = -Math.floorDiv(visible.y + visible.height - this.zeroCoordY 
+                + this.dotRadius, this.pixelsPerBasicImaginaryInterval);
+        int maxY = Math.floorDiv(this.zeroCoordY - visible.y + this.dotRadius, 
+                this.pixelsPerBasicImaginaryInterval);
+        grid.ensureCoverage(Math.max(Math.abs(minX), Math.abs(maxX)), 
+                Math.max(Math.abs(minY), Math.abs(maxY)));
+        g.drawImage(this.spriteFor(this.zeroColor, true), 
+                this.zeroCoordX - this.dotRadius, 
+                this.zeroCoordY - this.dotRadius, null);
+        byte currColorClass = ImagQuadClassificationGrid.COMPOSITE;
+        BufferedImage currSprite = null;
+        for (int y = minY; y <= maxY; y++) {
+            int spriteY = this.zeroCoordY - this.dotRadius 
+                    - y * this.pixelsPerBasicImaginaryInterval;
+            for (int x = minX; x <= maxX; x++) {
+                byte classification = grid.classify(x, y);
+                if (classification == ImagQuadClassificationGrid.COMPOSITE) {
+                    continue;
                 }
-            }
-        }
-        // Last but not least, the "half-integers"
-        if (ring.hasHalfIntegers()) {
-            int halfUnitInterval = this.pixelsPerUnitInterval;
-            if (halfUnitInterval % 2 == 1) {
-                halfUnitInterval--;
-            }
-            halfUnitInterval /= 2;
-            int halfMaxX = 2 * maxX;
-            int halfMaxY = (int) Math.floor((this.ringCanvasVerticMax 
-                    - this.zeroCoordY)/this.pixelsPerBasicImaginaryInterval);
-            currPointX = this.zeroCoordX + halfUnitInterval;
-            currNegPointX = this.zeroCoordX - halfUnitInterval;
-            currPointY = this.zeroCoordY + this.pixelsPerBasicImaginaryInterval;
-            currNegPointY = this.zeroCoordY 
-                    - this.pixelsPerBasicImaginaryInterval;
-            /* Take care of the other units among the Eisenstein integers. Also 
-               primes of the form p * omega, where p is a purely real prime 
-               satisfying p = 2 mod 3 */
-            if (ring.getRadicand() == -3) {
-                // The complex units, like omega
-                g.setColor(this.unitColor);
-                g.fillOval(currPointX - this.dotRadius, currPointY 
-                        - this.dotRadius, this.dotDiameter, this.dotDiameter);
-                g.fillOval(currPointX - this.dotRadius, currNegPointY 
-                        - this.dotRadius, this.dotDiameter, this.dotDiameter);
-                g.fillOval(currNegPointX - this.dotRadius, currPointY 
-                        - this.dotRadius, this.dotDiameter, this.dotDiameter);
-                g.fillOval(currNegPointX - this.dotRadius, currNegPointY 
-                        - this.dotRadius, this.dotDiameter, this.dotDiameter);
-                // Then 2 * omega, and complex associates
-                g.setColor(this.inertPrimeColor);
-                currPointX += halfUnitInterval;
-                currNegPointX -= halfUnitInterval;
-                currPointY += this.pixelsPerBasicImaginaryInterval;
-                currNegPointY -= this.pixelsPerBasicImaginaryInterval;
-                g.fillOval(currPointX - this.dotRadius, currPointY 
-                        - this.dotRadius, this.dotDiameter, this.dotDiameter);
-                g.fillOval(currPointX - this.dotRadius, currNegPointY 
-                        - this.dotRadius, this.dotDiameter, this.dotDiameter);
-                g.fillOval(currNegPointX - this.dotRadius, currPointY 
-                        - this.dotRadius, this.dotDiameter, this.dotDiameter);
-                g.fillOval(currNegPointX - this.dotRadius, currNegPointY 
-                        - this.dotRadius, this.dotDiameter, this.dotDiameter);
-                // And then p * omega from p = 5 on, and complex associates 
-                for (int auxX = 5; auxX < halfMaxX; auxX += 6) {
-                    currPointX = this.zeroCoordX + (auxX * halfUnitInterval);
-                    currNegPointX = this.zeroCoordX - (auxX * halfUnitInterval);
-                    currPointY = this.zeroCoordY + (auxX 
-                            * this.pixelsPerBasicImaginaryInterval);
-                    currNegPointY = this.zeroCoordY - (auxX 
-                            * this.pixelsPerBasicImaginaryInterval);
-                    if (isPrime(auxX)) {
-                        g.fillOval(currPointX - this.dotRadius, currPointY 
-                                - this.dotRadius, this.dotDiameter, 
-                                this.dotDiameter);
-                        g.fillOval(currPointX - this.dotRadius, currNegPointY 
-                                - this.dotRadius, this.dotDiameter, 
-                                this.dotDiameter);
-                        g.fillOval(currNegPointX - this.dotRadius, currPointY 
-                                - this.dotRadius, this.dotDiameter, 
-                                this.dotDiameter);
-                        g.fillOval(currNegPointX - this.dotRadius, currNegPointY 
-                                - this.dotRadius, this.dotDiameter, 
-                                this.dotDiameter);
-                    }
-                }
-            }
-            // And now all the other "half-integer" primes
-            for (int x = 1; x < halfMaxX; x += 2) {
-                currPointX = this.zeroCoordX + (x * halfUnitInterval);
-                currNegPointX = this.zeroCoordX - (x * halfUnitInterval);
-                for (int y = 1; y <= halfMaxY; y += 2) {
-                    currPointY = this.zeroCoordY + (y 
-                            * this.pixelsPerBasicImaginaryInterval);
-                    currNegPointY = this.zeroCoordY - (y 
-                            * this.pixelsPerBasicImaginaryInterval);
-                    currIQI = new ImaginaryQuadraticInteger(x, y, ring, 2);
-                    if (isPrime(currIQI.norm())) {
-                        g.setColor(this.inertPrimeColor);
-                        g.fillOval(currPointX - this.dotRadius, currPointY 
-                                - this.dotRadius, this.dotDiameter, 
-                                this.dotDiameter);
-                        g.fillOval(currPointX - this.dotRadius, currNegPointY 
-                                - this.dotRadius, this.dotDiameter, 
-                                this.dotDiameter);
-                        g.fillOval(currNegPointX - this.dotRadius, currPointY 
-                                - this.dotRadius, this.dotDiameter, 
-                                this.dotDiameter);
-                        g.fillOval(currNegPointX - this.dotRadius, currNegPointY 
-                                - this.dotRadius, this.dotDiameter, 
-                                this.dotDiameter);
-                        currSplitPrime = currIQI.norm();
-                        if (currSplitPrime <= maxX) {
-                            currSplitPrimePointX = this.zeroCoordX 
-                                    + ((int) currSplitPrime 
-                                    * this.pixelsPerUnitInterval);
-                            currNegSplitPrimePointX = this.zeroCoordX 
-                                    - ((int) currSplitPrime 
-                                    * this.pixelsPerUnitInterval);
-                            g.setColor(this.splitPrimeColor);
-                            g.fillOval(currSplitPrimePointX - this.dotRadius, 
-                                    this.zeroCoordY - this.dotRadius, 
-                                    this.dotDiameter, this.dotDiameter);
-                            g.fillOval(currNegSplitPrimePointX - this.dotRadius, 
-                                    this.zeroCoordY - this.dotRadius, 
-                                    this.dotDiameter, this.dotDiameter);
-                        }
-                    }
+                if (classification != currColorClass) {
+                    boolean filled = (classification 
+                            & ImagQuadClassificationGrid.NO_PRINCIPAL_FACTORS) 
+                            == 0;
+                    currSprite = this.spriteFor(this.colorFor(classification), 
+                            filled);
+                    currColorClass = classification;
                 }
+                int offsetX = Math.abs(x) * this.pixelsPerUnitInterval 
+                        / columnsPerUnit;
+                int coordX = (x < 0) ? this.zeroCoordX - offsetX 
+                        : this.zeroCoordX + offsetX;
+                g.drawImage(currSprite, coordX - this.dotRadius, spriteY, 
+                        null);
             }
         }
     }
@@ -553,14 +468,13 @@ public final class ImagQuadRingDisplay extends RingDisplay {
     }
 
     /**
-     * Paints the canvas, by delegating to private procedures to draw the grids 
+     * Draws the diagram, by delegating to private procedures to draw the grids 
      * and the points. However, if the points are too close together, the grids 
      * will not be drawn.
      * @param g The Graphics object supplied by the caller.
      */
     @Override
-    public void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    void drawDiagram(Graphics g) {
         if (this.pixelsPerUnitInterval 
                 > MINIMUM_PIXELS_PER_UNIT_INTERVAL_TO_DRAW_GRIDS) {
             this.drawGrids(g);
@@ -570,58 +484,50 @@ public final class ImagQuadRingDisplay extends RingDisplay {
     
     /**
      * Function to determine mouse position on the diagram and update readouts 
-     * accordingly.
+     * accordingly. The readouts are not updated right away, but by a timer 
+     * after {@link #READOUT_UPDATE_DELAY} milliseconds, so that many mouse 
+     * moves in quick succession only cause one update. And if the mouse 
+     * pointer is still nearest the same number as before, the readouts are 
+     * not updated at all.
      * @param mauv A MouseEvent object with the relevant information.
      */
     @Override
     public void mouseMoved(MouseEvent mauv) {
         boolean algIntFound;
         int horizCoord, verticCoord;
-        String stringForAlgIntReadOut;
         QuadraticRing ring = (QuadraticRing) this.diagramRing;
+        double verticIntermediate = (double) (-mauv.getY() + this.zeroCoordY) 
+                / this.pixelsPerBasicImaginaryInterval;
+        verticCoord = (int) Math.round(verticIntermediate);
         if (ring.hasHalfIntegers()) {
-            double horizIntermediate = 4 * (mauv.getX() - this.zeroCoordX) 
+            double horizIntermediate = 2.0 * (mauv.getX() - this.zeroCoordX) 
                     / this.pixelsPerUnitInterval;
-            horizCoord = (int) Math.round(horizIntermediate / 2);
-            verticCoord = (int) Math.round((-mauv.getY() + this.zeroCoordY) 
-                    / this.pixelsPerBasicImaginaryInterval);
+            horizCoord = (int) Math.round(horizIntermediate);
             algIntFound = (Math.abs(horizCoord % 2) 
                     == Math.abs(verticCoord % 2));
-            if (algIntFound) {
-                this.mouseAlgInt = new ImaginaryQuadraticInteger(horizCoord, 
-                        verticCoord, ring, 2);
-            }
         } else {
-            horizCoord = (int) Math.round((mauv.getX() - this.zeroCoordX) 
-                    / this.pixelsPerUnitInterval);
-            verticCoord = (int) Math.round((-mauv.getY() + this.zeroCoordY) 
-                    / this.pixelsPerBasicImaginaryInterval);
-            this.mouseAlgInt = new ImaginaryQuadraticInteger(horizCoord, 
-                    verticCoord, ring);
+            horizCoord = (int) Math.round((double) (mauv.getX() 
+                    - this.zeroCoordX) / this.pixelsPerUnitInterval);
             algIntFound = true;
         }
         if (algIntFound) {
-            if (this.preferenceForThetaNotation) {
-                stringForAlgIntReadOut = ((QuadraticInteger) this.mouseAlgInt)
-                        .toStringAlt();
-            } else {
-                stringForAlgIntReadOut = this.mouseAlgInt.toString();
+            this.pendingLatticePoint = latticePoint(horizCoord, verticCoord);
+            if (!this.readoutTimer.isRunning()) {
+                this.readoutTimer.start();
             }
-            this.algIntReadOut.setText(stringForAlgIntReadOut);
-            this.traceReadOut.setText(Long.toString(this.mouseAlgInt.trace()));
-            this.normReadOut.setText(Long.toString(this.mouseAlgInt.norm()));
-            this.polynomialReadOut.setText(this.mouseAlgInt.minPolynomialString());
         }
     }
     
     /**
-     * No implementation for time being. Hope to add the capability to drag the 
-     * diagram in a future version.
+     * Updates the readouts while the diagram is being dragged. The dragging 
+     * itself is taken care of by {@link RingDisplay}, which moves the diagram 
+     * along with the mouse pointer, so this works out to be the same as 
+     * {@link #mouseMoved(java.awt.event.MouseEvent)}.
      * @param mauv Mouse event to respond to.
      */
     @Override
     public void mouseDragged(MouseEvent mauv) {
-        // IMPLEMENTATION PLACEHOLDER
+        this.mouseMoved(mauv);
     }
     
     /**
@@ -734,6 +640,18 @@ public final class ImagQuadRingDisplay extends RingDisplay {
         this.getToolkit().getSystemClipboard().setContents(ss, ss);
     }
     
+    /**
+     * Creates an imaginary quadratic ring display that will not be shown on 
+     * screen.
+     * @param ring The ring to display. Should be an instance of {@link 
+     * ImaginaryQuadraticRing}.
+     * @return A new ring display for <code>ring</code>.
+     */
+    @Override
+    RingDisplay createOffscreenDisplay(IntegerRing ring) {
+        return new ImagQuadRingDisplay((ImaginaryQuadraticRing) ring);
+    }
+    
     // STUB TO FAIL THE FIRST TEST
     @Override
     void updateBoundaryNumber() {
@@ -792,6 +710,11 @@ public final class ImagQuadRingDisplay extends RingDisplay {
     public ImagQuadRingDisplay(ImaginaryQuadraticRing ring) {
         super(ring);
         this.mouseAlgInt = new ImaginaryQuadraticInteger(0, 0, ring);
+        this.shownRing = ring;
+        this.shownThetaNotation = this.preferenceForThetaNotation;
+        this.readoutTimer = new Timer(READOUT_UPDATE_DELAY, 
+                (event) -> this.updateReadouts());
+        this.readoutTimer.setRepeats(false);
     }
         
 }
\ No newline at end of file
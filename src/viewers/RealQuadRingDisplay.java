@@ -31,10 +31,11 @@ import java.awt.Graphics;
 import java.awt.event.MouseEvent;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 import javax.swing.JOptionPane;
 import static calculators.NumberTheoreticFunctionsCalculator.isSquarefree;
@@ -74,27 +75,37 @@ public final class RealQuadRingDisplay extends RingDisplay {
      */
     private RealQuadraticInteger diagRingOne;
     
+    /**
+     * Works out the prime classifications, and with them the fundamental unit 
+     * and the class number, for the rings next to the one on screen. Shared 
+     * with the offscreen displays created by {@link 
+     * #createOffscreenDisplay(algebraics.IntegerRing)}, so that those don't 
+     * work out anything the ring display on screen already has.
+     */
+    private final RingPrefetcher<RealQuadraticRing, RealQuadResultsGrouping> 
+            prefetcher;
+    
     private final LRUCache<RealQuadraticRing, RealQuadResultsGrouping> cache 
             = new LRUCache<RealQuadraticRing, RealQuadResultsGrouping>(32) {
                 
         @Override
         protected RealQuadResultsGrouping create(RealQuadraticRing name) {
-            return new RealQuadResultsGrouping(name);
+            return RealQuadRingDisplay.this.prefetcher.obtain(name);
         }
         
     };
     
     private RealQuadResultsGrouping resGroup;
     
-    HashSet<RealQuadraticInteger> inertials;
+    Set<RealQuadraticInteger> inertials;
     
     Set<RealQuadraticInteger> splitteds;
     
-    HashMap<RealQuadraticInteger, Optional<RealQuadraticInteger>> splitters;
+    Map<RealQuadraticInteger, Optional<RealQuadraticInteger>> splitters;
     
     Set<RealQuadraticInteger> ramifieds;
     
-    HashMap<RealQuadraticInteger, Optional<RealQuadraticInteger>> ramifiers;
+    Map<RealQuadraticInteger, Optional<RealQuadraticInteger>> ramifiers;
     
     private static final String MANUAL_URL_TOP_LEVEL = "https://github.com/";
     
@@ -120,173 +131,294 @@ public final class RealQuadRingDisplay extends RingDisplay {
     private static final String ABOUT_BOX_COPYRIGHT_NOTICE 
             = "\u00A9 2021 Alonso del Arte_";
     
-    private void drawOneLine(Graphics g, int coordX) {
-        g.fillRect(coordX - this.dotRadius, 0, this.dotDiameter, 
-                this.ringCanvasVerticMax);
-    }
-    
-    private void outlineOneLine(Graphics g, int coordX) {
-        g.drawRect(coordX - this.dotRadius, 0, this.dotDiameter, 
-                this.ringCanvasVerticMax);
-    }
-    
     /**
-     * Draws two lines, corresponding to the specified real quadratic integer 
-     * and its additive inverse. It is assumed the caller has already specified 
-     * the appropriate color on the passed-in <code>Graphics</code> object.
-     * @param g The <code>Graphics</code> object supplied by the caller.
-     * @param x The real quadratic integer to draw lines for. For example, 19 + 
-     * 6&radic;10.
+     * The horizontal positions of the lines for each kind of number, in pixels 
+     * from the line for 0, in ascending order and without repeats. These are 
+     * worked out once for a given ring, zoom level and boundary, and then used 
+     * for each repaint and each tile until any of those change, so that 
+     * drawing the diagram doesn't require any arithmetic on real quadratic 
+     * integers.
      */
-    private void drawTwoLines(Graphics g, QuadraticInteger x) {
-        double distance = x.getRealPartNumeric() * this.pixelsPerUnitInterval;
-        int coordAdjust = (int) Math.round(distance);
-        int coordX = this.zeroCoordX + coordAdjust;
-        int coordNegativeX = this.zeroCoordX - coordAdjust;
-        this.drawOneLine(g, coordX);
-        this.drawOneLine(g, coordNegativeX);
-    }
-    
-    private void outlineTwoLines(Graphics g, QuadraticInteger x) {
-        double distance = x.getRealPartNumeric() * this.pixelsPerUnitInterval;
-        int coordAdjust = (int) Math.round(distance);
-        int coordX = this.zeroCoordX + coordAdjust;
-        int coordNegativeX = this.zeroCoordX - coordAdjust;
-        this.outlineOneLine(g, coordX);
-        this.outlineOneLine(g, coordNegativeX);
-    }
-    
-    private void drawFourLines(Graphics g, RealQuadraticInteger x) {
-        this.drawTwoLines(g, x);
-        this.drawTwoLines(g, x.conjugate());
-    }
-    
-    private void outlineFourLines(Graphics g, RealQuadraticInteger x) {
-        this.outlineTwoLines(g, x);
-        this.outlineTwoLines(g, x.conjugate());
+    private static final class LineSets {
+        
+        private final RealQuadraticRing ring;
+        
+        private final int pixelsPerUnitInterval;
+        
+        private final double boundary;
+        
+        private final RealQuadraticInteger unit;
+        
+        private final int classNumber;
+        
+        private final int[] units, ramifieds, ramifiedOutlines, inerts, splits, 
+                splitOutlines;
+        
+        private boolean matches(RealQuadRingDisplay display) {
+            return this.ring.equals(display.diagramRing) 
+                    && this.pixelsPerUnitInterval 
+                    == display.pixelsPerUnitInterval 
+                    && this.boundary == display.boundaryRe 
+                    && this.classNumber == display.classNumber 
+                    && (display.unitAvailable 
+                    ? display.diagRingMainUnit.equals(this.unit) 
+                    : this.unit == null);
+        }
+        
+        private LineSets(RealQuadRingDisplay display) {
+            this.ring = (RealQuadraticRing) display.diagramRing;
+            this.pixelsPerUnitInterval = display.pixelsPerUnitInterval;
+            this.boundary = display.boundaryRe;
+            this.unit = display.unitAvailable ? display.diagRingMainUnit : null;
+            this.classNumber = display.classNumber;
+            LineSetBuilder unitLines = new LineSetBuilder(this);
+            unitLines.addTwoLines(display.diagRingOne);
+            unitLines.addLinesMultByUnit(this.unit);
+            this.units = unitLines.toArray();
+            LineSetBuilder ramifiedLines = new LineSetBuilder(this);
+            LineSetBuilder ramifiedOutlineLines = new LineSetBuilder(this);
+            display.ramifieds.forEach((ramified) -> {
+                addPrimeLines(ramified, display.ramifiers.get(ramified), 
+                        ramifiedLines, ramifiedOutlineLines);
+            });
+            this.ramifieds = ramifiedLines.toArray();
+            this.ramifiedOutlines = ramifiedOutlineLines.toArray();
+            LineSetBuilder inertLines = new LineSetBuilder(this);
+            display.inertials.forEach((inert) -> {
+                inertLines.addTwoLines(inert);
+                if (this.unit != null) {
+                    inertLines.addLinesMultByUnit(inert);
+                }
+            });
+            this.inerts = inertLines.toArray();
+            LineSetBuilder splitLines = new LineSetBuilder(this);
+            LineSetBuilder splitOutlineLines = new LineSetBuilder(this);
+            display.splitteds.forEach((splitted) -> {
+                addPrimeLines(splitted, display.splitters.get(splitted), 
+                        splitLines, splitOutlineLines);
+            });
+            this.splits = splitLines.toArray();
+            this.splitOutlines = splitOutlineLines.toArray();
+        }
+        
+        /**
+         * Adds the lines for a ramified or split rational prime. If the prime 
+         * is the norm of a number of the ring, the lines for that number and 
+         * its conjugate are added as well. Otherwise the lines are outlined 
+         * rather than filled in, unless the ring has class number 1.
+         * @param prime The prime, as a number of the ring. For example, 7.
+         * @param factor The number of the ring with norm &plusmn;<i>p</i>, if 
+         * there is one. For example, 3 + &radic;2.
+         * @param filled Where to add the lines to be filled in.
+         * @param outlined Where to add the lines to be outlined.
+         */
+        private void addPrimeLines(RealQuadraticInteger prime, 
+                Optional<RealQuadraticInteger> factor, LineSetBuilder filled, 
+                LineSetBuilder outlined) {
+            LineSetBuilder primeLines = filled;
+            if (factor.isPresent()) {
+                filled.addFourLines(factor.get());
+                filled.addLinesMultByUnit(this.timesUnit(factor.get()));
+            } else if (this.classNumber != 1) {
+                primeLines = outlined;
+            }
+            primeLines.addTwoLines(prime);
+            primeLines.addLinesMultByUnit(this.timesUnit(prime));
+        }
+        
+        private RealQuadraticInteger timesUnit(RealQuadraticInteger x) {
+            if (this.unit == null) {
+                return null;
+            }
+            return (RealQuadraticInteger) x.times(this.unit);
+        }
+        
     }
     
-    private void drawLinesMultByUnit(Graphics g, RealQuadraticInteger x) {
-        while (x.abs() <= this.boundaryRe) {
-            this.drawFourLines(g, x);
-            x = (RealQuadraticInteger) x.times(this.diagRingMainUnit);
+    /**
+     * Collects the positions of lines for one of the line sets.
+     */
+    private static final class LineSetBuilder {
+        
+        private final LineSets sets;
+        
+        private int[] offsets = new int[16];
+        
+        private int count = 0;
+        
+        private void add(int offset) {
+            if (this.count == this.offsets.length) {
+                this.offsets = Arrays.copyOf(this.offsets, 2 * this.count);
+            }
+            this.offsets[this.count++] = offset;
+        }
+        
+        /**
+         * Adds the lines for a real quadratic integer and its additive inverse.
+         * @param x The number to add lines for. For example, 19 + 6&radic;10.
+         */
+        private void addTwoLines(QuadraticInteger x) {
+            double distance = x.getRealPartNumeric() 
+                    * this.sets.pixelsPerUnitInterval;
+            int coordAdjust = (int) Math.round(distance);
+            this.add(coordAdjust);
+            this.add(-coordAdjust);
         }
+        
+        private void addFourLines(RealQuadraticInteger x) {
+            this.addTwoLines(x);
+            this.addTwoLines(x.conjugate());
+        }
+        
+        /**
+         * Adds the lines for a number, its conjugate and their multiples by 
+         * powers of the fundamental unit, up to the boundary.
+         * @param x The number to start with. If null, as when the fundamental 
+         * unit is not available, nothing is added.
+         */
+        private void addLinesMultByUnit(RealQuadraticInteger x) {
+            if (x == null || this.sets.unit == null) {
+                return;
+            }
+            while (x.abs() <= this.sets.boundary) {
+                this.addFourLines(x);
+                x = (RealQuadraticInteger) x.times(this.sets.unit);
+            }
+        }
+        
+        private int[] toArray() {
+            int[] sorted = Arrays.copyOf(this.offsets, this.count);
+            Arrays.sort(sorted);
+            int distinct = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[distinct - 1]) {
+                    sorted[distinct++] = sorted[i];
+                }
+            }
+            return Arrays.copyOf(sorted, distinct);
+        }
+        
+        private LineSetBuilder(LineSets sets) {
+            this.sets = sets;
+        }
+        
     }
     
-    private void outlineLinesMultByUnit(Graphics g, RealQuadraticInteger x) {
-        while (x.abs() <= this.boundaryRe) {
-            this.outlineFourLines(g, x);
-            x = (RealQuadraticInteger) x.times(this.diagRingMainUnit);
+    /**
+     * The line sets for the current ring, zoom level and boundary. Worked out 
+     * again by {@link #getLineSets()} whenever any of those changes.
+     */
+    private LineSets lineSets = null;
+    
+    private LineSets getLineSets() {
+        if (this.lineSets == null || !this.lineSets.matches(this)) {
+            this.lineSets = new LineSets(this);
         }
+        return this.lineSets;
     }
     
-    private void drawUnits(Graphics g) {
-        g.setColor(this.unitColor);
-        this.drawTwoLines(g, this.diagRingOne);
-        if (this.unitAvailable) {
-            this.drawLinesMultByUnit(g, this.diagRingMainUnit);
+    /**
+     * Gives the index of the first offset in a sorted array greater than a 
+     * given value.
+     * @param offsets The offsets, in ascending order.
+     * @param value The value to compare against.
+     * @return The index of the first offset greater than <code>value</code>, 
+     * or <code>offsets.length</code> if there is no such offset.
+     */
+    private static int firstIndexAbove(int[] offsets, int value) {
+        int low = 0;
+        int high = offsets.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (offsets[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
         }
+        return low;
     }
     
-    private void drawInerts(Graphics g) {
-        g.setColor(this.inertPrimeColor);
-        this.inertials.forEach((inert) -> {
-            this.drawTwoLines(g, inert);
-            if (this.unitAvailable) {
-                this.drawLinesMultByUnit(g, inert);
-            }
-        });
+    private void drawOneLine(Graphics g, int coordX) {
+        g.fillRect(coordX - this.dotRadius, 0, this.dotDiameter, 
+                this.ringCanvasVerticMax);
     }
     
-    private void drawRamifieds(Graphics g) {
-        Optional<RealQuadraticInteger> ramifierHolder;
-        RealQuadraticInteger ramifier, ramMult;
-        g.setColor(this.ramifiedPrimeColor);
-        for (RealQuadraticInteger ramified : this.ramifieds) {
-            ramifierHolder = this.ramifiers.get(ramified);
-            if (ramifierHolder.isPresent()) {
-                ramifier = ramifierHolder.get();
-                this.drawFourLines(g, ramifier);
-                if (this.unitAvailable) {
-                    ramMult = (RealQuadraticInteger) 
-                            ramifier.times(this.diagRingMainUnit);
-                    this.drawLinesMultByUnit(g, ramMult);
-                }
-                this.drawTwoLines(g, ramified);
-                if (this.unitAvailable) {
-                    ramMult = (RealQuadraticInteger) 
-                            ramified.times(this.diagRingMainUnit);
-                    this.drawLinesMultByUnit(g, ramMult);
-                }
-            } else {
-                if (this.classNumber == 1) {
-                    this.drawTwoLines(g, ramified);
-                    if (this.unitAvailable) {
-                        ramMult = (RealQuadraticInteger) ramified
-                                .times(this.diagRingMainUnit);
-                        this.drawLinesMultByUnit(g, ramMult);
-                    }
-                } else {
-                    this.outlineTwoLines(g, ramified);
-                    if (this.unitAvailable) {
-                        ramMult = (RealQuadraticInteger) ramified
-                                .times(this.diagRingMainUnit);
-                        this.outlineLinesMultByUnit(g, ramMult);
-                    }
+    /**
+     * Fills in the lines of a line set in one pass. Only the lines that fall 
+     * on the canvas are considered, and lines that touch or overlap are 
+     * filled in together as a single rectangle.
+     * @param g The <code>Graphics</code> object supplied by the caller, with 
+     * the appropriate color already set.
+     * @param offsets The positions of the lines, in pixels from the line for 
+     * 0, in ascending order.
+     */
+    private void fillLines(Graphics g, int[] offsets) {
+        int lowest = -this.zeroCoordX - this.dotDiameter + this.dotRadius;
+        int highest = this.ringCanvasHorizMax - this.zeroCoordX 
+                + this.dotRadius;
+        int runStart = 0;
+        int runEnd = Integer.MIN_VALUE;
+        for (int i = firstIndexAbove(offsets, lowest);
+                i < offsets.length && offsets[i] < highest; i++) {
+            int left = this.zeroCoordX + offsets[i] - this.dotRadius;
+            if (left > runEnd) {
+                if (runEnd > runStart) {
+                    g.fillRect(runStart, 0, runEnd - runStart, 
+                            this.ringCanvasVerticMax);
                 }
+                runStart = left;
             }
+            runEnd = Math.max(runEnd, left + this.dotDiameter);
+        }
+        if (runEnd > runStart) {
+            g.fillRect(runStart, 0, runEnd - runStart, 
+                    this.ringCanvasVerticMax);
         }
     }
     
-    private void drawSplits(Graphics g) {
-        Optional<RealQuadraticInteger> splitterHolder;
-        RealQuadraticInteger splitter, splitMult;
-        g.setColor(this.splitPrimeColor);
-        for (RealQuadraticInteger splitted : this.splitteds) {
-            splitterHolder = this.splitters.get(splitted);
-            if (splitterHolder.isPresent()) {
-                splitter = splitterHolder.get();
-                this.drawFourLines(g, splitter);
-                if (this.unitAvailable) {
-                    splitMult = (RealQuadraticInteger) 
-                            splitter.times(this.diagRingMainUnit);
-                    this.drawLinesMultByUnit(g, splitMult);
-                }
-                this.drawTwoLines(g, splitted);
-                if (this.unitAvailable) {
-                    splitMult = (RealQuadraticInteger) 
-                            splitted.times(this.diagRingMainUnit);
-                    this.drawLinesMultByUnit(g, splitMult);
-                }
-            } else {
-                if (this.classNumber == 1) {
-                    this.drawTwoLines(g, splitted);
-                    if (this.unitAvailable) {
-                        splitMult = (RealQuadraticInteger) splitted
-                                .times(this.diagRingMainUnit);
-                        this.drawLinesMultByUnit(g, splitMult);
-                    }
-                } else {
-                    this.outlineTwoLines(g, splitted);
-                    if (this.unitAvailable) {
-                        splitMult = (RealQuadraticInteger) splitted
-                                .times(this.diagRingMainUnit);
-                        this.outlineLinesMultByUnit(g, splitMult);
-                    }
-                }
-            }
+    /**
+     * Outlines the lines of a line set. Only the lines that fall on the canvas 
+     * are considered. The top and bottom of each outline are placed just 
+     * outside the canvas, so that only the sides show. Otherwise the bottom 
+     * would show up in the middle of the diagram when it's drawn in tiles.
+     * @param g The <code>Graphics</code> object supplied by the caller, with 
+     * the appropriate color already set.
+     * @param offsets The positions of the lines, in pixels from the line for 
+     * 0, in ascending order.
+     */
+    private void outlineLines(Graphics g, int[] offsets) {
+        int lowest = -this.zeroCoordX - this.dotDiameter + this.dotRadius - 1;
+        int highest = this.ringCanvasHorizMax - this.zeroCoordX 
+                + this.dotRadius;
+        for (int i = firstIndexAbove(offsets, lowest);
+                i < offsets.length && offsets[i] < highest; i++) {
+            g.drawRect(this.zeroCoordX + offsets[i] - this.dotRadius, -1, 
+                    this.dotDiameter, this.ringCanvasVerticMax + 1);
         }
     }
-
+    
+    /**
+     * Draws the diagram. The line for 0 is drawn first, then the lines for the 
+     * units, and then the lines for the ramified, inert and split primes, in 
+     * that order.
+     * @param g The <code>Graphics</code> object supplied by the caller.
+     */
     @Override
-    public void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    void drawDiagram(Graphics g) {
+        LineSets sets = this.getLineSets();
         g.setColor(this.zeroColor);
         this.drawOneLine(g, this.zeroCoordX);
-        this.drawUnits(g);
-        this.drawRamifieds(g);
-        this.drawInerts(g);
-        this.drawSplits(g);
+        g.setColor(this.unitColor);
+        this.fillLines(g, sets.units);
+        g.setColor(this.ramifiedPrimeColor);
+        this.fillLines(g, sets.ramifieds);
+        this.outlineLines(g, sets.ramifiedOutlines);
+        g.setColor(this.inertPrimeColor);
+        this.fillLines(g, sets.inerts);
+        g.setColor(this.splitPrimeColor);
+        this.fillLines(g, sets.splits);
+        this.outlineLines(g, sets.splitOutlines);
     }
     
     /**
@@ -311,6 +443,46 @@ public final class RealQuadRingDisplay extends RingDisplay {
         }
     }
     
+    /**
+     * Copies the fundamental unit and the class number from an offscreen 
+     * display of the currently displayed ring.
+     * @param other An offscreen display of the currently displayed ring. Should 
+     * be an instance of <code>RealQuadRingDisplay</code>.
+     */
+    @Override
+    void adoptUnit(RingDisplay other) {
+        super.adoptUnit(other);
+        RealQuadRingDisplay display = (RealQuadRingDisplay) other;
+        this.diagRingOne = display.diagRingOne;
+        this.diagRingMainUnit = display.diagRingMainUnit;
+        this.classNumber = display.classNumber;
+    }
+    
+    /**
+     * Creates a real quadratic ring display that will not be shown on screen. 
+     * The fundamental unit and the class number are calculated on the calling 
+     * thread, which should therefore not be the event dispatch thread.
+     * @param ring The ring to display. Should be an instance of {@link 
+     * RealQuadraticRing}.
+     * @return A new ring display for <code>ring</code>.
+     */
+    @Override
+    RingDisplay createOffscreenDisplay(IntegerRing ring) {
+        return new RealQuadRingDisplay((RealQuadraticRing) ring, 
+                this.prefetcher);
+    }
+    
+    /**
+     * Starts working out the prime classifications, fundamental units and 
+     * class numbers of the rings for the squarefree <i>d</i> nearest to that 
+     * of the currently displayed ring, on a background thread.
+     */
+    @Override
+    void prefetchNeighbors() {
+        this.prefetcher.prefetchAround(((QuadraticRing) this.diagramRing) 
+                .getRadicand());
+    }
+    
     private void fillPrimeLists() {
         this.inertials = this.resGroup.inerts();
         this.splitters = this.resGroup.splits();
@@ -407,26 +579,38 @@ public final class RealQuadRingDisplay extends RingDisplay {
         }
     }
 
+    private int farthestEdgePixels() {
+        return Math.max(Math.abs(this.zeroCoordX), 
+                Math.abs(this.ringCanvasHorizMax - this.zeroCoordX));
+    }
+    
     /**
      * Updates the <code>boundaryRe</code> field. Since the 
      * <code>boundaryIm</code> field is always 0, there is no need to do 
-     * anything about it.
+     * anything about it. The point 0 need not be in the middle of the canvas, 
+     * or even on the canvas, as is the case for most tiles, so the boundary is 
+     * taken from whichever edge of the canvas is farther away from 0. That 
+     * distance in pixels is rounded up to the next power of 2, so that the 
+     * boundary, and with it the tiles of the diagram, stay the same while the 
+     * diagram is dragged a short way. For example, with 0 in the middle of a 
+     * canvas 640 pixels wide, 320 is rounded up to 512, and the boundary only 
+     * changes once the diagram is dragged 192 pixels or more either way.
      */
     @Override
     void updateBoundaryNumber() {
-        double pixelLength = this.ringCanvasHorizMax - this.zeroCoordX;
-        this.boundaryRe = pixelLength / this.pixelsPerUnitInterval;
+        int pixelLength = Integer.highestOneBit(this.farthestEdgePixels()) << 1;
+        this.boundaryRe = (double) pixelLength / this.pixelsPerUnitInterval;
     }
     
     /**
      * Retries the real part of the boundary number. This is the farthest right 
      * number that can be currently displayed. Negate for the farthest left 
-     * number.
+     * number. This may be less than the boundary up to which lines are drawn.
      * @return A positive floating point number. For example, 16.0.
      */
     @Override
     double getBoundaryRe() {
-        return this.boundaryRe;
+        return (double) this.farthestEdgePixels() / this.pixelsPerUnitInterval;
     }
 
     /**
@@ -474,14 +658,35 @@ public final class RealQuadRingDisplay extends RingDisplay {
     }
     
     public RealQuadRingDisplay(RealQuadraticRing ring) {
+        this(ring, RealQuadResultsGrouping::new);
+    }
+    
+    /**
+     * Constructor for a display that gets its prime classifications from 
+     * somewhere else, such as a {@link RingGallery} that has already worked 
+     * them out for a thumbnail.
+     * @param ring The ring to first display. For example, 
+     * <b>Z</b>[&radic;10].
+     * @param groupings Where to get the prime classifications for 
+     * <code>ring</code> and any other ring the user moves on to. Should be 
+     * safe to call from more than one thread at a time.
+     */
+    RealQuadRingDisplay(RealQuadraticRing ring, 
+            Function<RealQuadraticRing, RealQuadResultsGrouping> groupings) {
+        this(ring, new RingPrefetcher<>(groupings, RealQuadraticRing::new, 2, 
+                MAXIMUM_RING_D, RingPrefetcher.DEFAULT_REACH));
+    }
+    
+    private RealQuadRingDisplay(RealQuadraticRing ring, 
+            RingPrefetcher<RealQuadraticRing, RealQuadResultsGrouping> 
+                    prefetcher) {
         super(ring);
+        this.prefetcher = prefetcher;
         this.ringCanvasVerticMax = PURELY_REAL_RING_CANVAS_DEFAULT_VERTIC_MAX;
         this.dotRadius = SPECIFIC_PREFERRED_DOT_RADIUS;
         this.dotDiameter = 2 * this.dotRadius;
         this.unitApplicable = true;
-        this.findUnit();
         this.mouseAlgInt = new RealQuadraticInteger(0, 0, ring);
-        this.diagRingOne = new RealQuadraticInteger(1, 0, ring);
         this.findUnit();
         this.resGroup = this.cache.forName(ring);
         this.fillPrimeLists();
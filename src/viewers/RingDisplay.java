@@ -24,8 +24,10 @@ import fileops.PNGFileFilter;
 
 import java.awt.BorderLayout;
 import java.awt.Color;
+import java.awt.Cursor;
 import java.awt.Desktop;
 import java.awt.Dimension;
+import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.datatransfer.Clipboard;
 import java.awt.datatransfer.ClipboardOwner;
@@ -35,6 +37,8 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.InputEvent;
 import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionListener;
 import java.awt.image.BufferedImage;
 import java.io.File;
@@ -43,8 +47,8 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.ExecutionException;
 
-import javax.imageio.ImageIO;
 import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JFileChooser;
 import javax.swing.JFrame;
@@ -56,6 +60,9 @@ import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
 import javax.swing.KeyStroke;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
 import javax.swing.filechooser.FileFilter;
 
 import static calculators.NumberTheoreticFunctionsCalculator.fundamentalUnit;
@@ -277,6 +284,21 @@ public abstract class RingDisplay extends JPanel implements ActionListener,
      */
     public static final int MAXIMUM_HISTORY_ITEMS = 128;
     
+    /**
+     * The name of the bound property for the fundamental unit. Listeners for 
+     * this property are notified once the fundamental unit of a newly 
+     * displayed ring has been found, which might be a while after the switch to 
+     * that ring.
+     */
+    public static final String FUNDAMENTAL_UNIT_PROPERTY_NAME 
+            = "fundamentalUnit";
+    
+    /**
+     * How often, in milliseconds, to update the unit readout while the 
+     * fundamental unit is being searched for.
+     */
+    static final int UNIT_SEARCH_PROGRESS_INTERVAL = 1000;
+    
     boolean alreadySetUp = false;
     
     /**
@@ -411,6 +433,14 @@ public abstract class RingDisplay extends JPanel implements ActionListener,
     
     JFrame ringFrame;
     
+    /**
+     * What to do when the user closes the frame. This is 
+     * <code>JFrame.EXIT_ON_CLOSE</code> unless the display was opened from 
+     * some other window, such as a {@link RingGallery}, which should stay open 
+     * after this display's frame is closed.
+     */
+    int frameCloseOperation = JFrame.EXIT_ON_CLOSE;
+    
     JMenuItem increaseDMenuItem, decreaseDMenuItem;
     JMenuItem prevDMenuItem, nextDMenuItem;
     JMenuItem zoomInMenuItem, zoomOutMenuItem;
@@ -451,6 +481,41 @@ public abstract class RingDisplay extends JPanel implements ActionListener,
      */
     boolean ownsClipboard = false;
     
+    /**
+     * The tiles of the diagram drawn so far. This is only used once the ring 
+     * display is on screen, so it's null until then.
+     */
+    private DiagramTileCache tileCache = null;
+    
+    /**
+     * The most recent picture of the diagram on screen, taken just before the 
+     * diagram was last dragged or zoomed. Until the tiles for the new view 
+     * are drawn, the corresponding parts of this picture, shifted or rescaled 
+     * as needed, are shown in their place. Null until the diagram is first 
+     * dragged or zoomed.
+     */
+    private BufferedImage preview = null;
+    
+    /**
+     * The picture of the diagram from before the current preview, which can 
+     * be drawn over for the next preview rather than allocating a new image.
+     */
+    private BufferedImage spareImage = null;
+    
+    private IntegerRing previewRing = null;
+    
+    private int previewZeroCoordX, previewZeroCoordY;
+    
+    private int previewPixelsPerUnitInterval;
+    
+    private int previewPixelsPerBasicImaginaryInterval;
+    
+    /**
+     * The search for the fundamental unit of the currently displayed ring, if 
+     * there is one going on. Null if there hasn't been one yet.
+     */
+    private SwingWorker<RingDisplay, Void> unitSearch = null;
+    
     private static final boolean MAC_OS_FLAG = System.getProperty("os.name")
             .equals("Mac OS X");
     
@@ -595,6 +660,40 @@ public abstract class RingDisplay extends JPanel implements ActionListener,
         this.ramifiedPrimeColor = proposedRamifiedPrimeColor;
     }
     
+    /**
+     * Gives the colors this display draws with. This is so that the tiles 
+     * drawn on offscreen displays can match the display on screen, and so 
+     * that tiles drawn with other colors are not mistaken for current ones.
+     * @return A new array with the background color, the "half-integer" grid 
+     * color, the integer grid color, the colors for 0 and the units, then the 
+     * colors for inert primes, split primes, mid-degree split primes, ramified 
+     * primes and mid-degree ramified primes.
+     */
+    Color[] getColors() {
+        return new Color[] {this.backgroundColor, this.halfIntegerGridColor, 
+            this.integerGridColor, this.zeroColor, this.unitColor, 
+            this.inertPrimeColor, this.splitPrimeColor, 
+            this.splitPrimeMidDegreeColor, this.ramifiedPrimeColor, 
+            this.ramifiedPrimeMidDegreeColor};
+    }
+    
+    /**
+     * Changes all the colors this display draws with at once.
+     * @param colors The colors, in the order given by {@link #getColors()}.
+     */
+    void changeColors(Color[] colors) {
+        this.backgroundColor = colors[0];
+        this.halfIntegerGridColor = colors[1];
+        this.integerGridColor = colors[2];
+        this.zeroColor = colors[3];
+        this.unitColor = colors[4];
+        this.inertPrimeColor = colors[5];
+        this.splitPrimeColor = colors[6];
+        this.splitPrimeMidDegreeColor = colors[7];
+        this.ramifiedPrimeColor = colors[8];
+        this.ramifiedPrimeMidDegreeColor = colors[9];
+    }
+    
     /**
      * Changes the dot diameter according to the dot radius. This may be inlined 
      * upon compilation, but in the source it is necessary as a separate call so 
@@ -662,14 +761,57 @@ public abstract class RingDisplay extends JPanel implements ActionListener,
         this.zeroCoordY = proposedCoordY;
     }
     
-    // TODO: Rewind to failing and write tests
-    public void saveDiagram(File file) {
+    /**
+     * Moves the diagram across the canvas. Since the tiles of the diagram are 
+     * placed relative to the point 0, the tiles already drawn are reused at 
+     * their new positions, and only the tiles for the parts of the diagram 
+     * newly brought onto the canvas need to be drawn. Until those are drawn, 
+     * the diagram as it was before is shown shifted.
+     * @param deltaX How many pixels to move the diagram to the right. May be 
+     * negative to move it to the left. For example, &minus;12.
+     * @param deltaY How many pixels to move the diagram down. May be negative 
+     * to move it up. For example, 5.
+     */
+    void panBy(int deltaX, int deltaY) {
+        this.capturePreview();
+        this.changeZeroCoords(this.zeroCoordX + deltaX, 
+                this.zeroCoordY + deltaY);
+        this.updateBoundaryNumber();
+        this.repaint();
+    }
+    
+    /**
+     * Draws the whole diagram on the calling thread. Unlike painting the 
+     * component on screen, this does not rely on the tile cache, so that 
+     * copied diagrams never show placeholders for tiles that are still being 
+     * drawn.
+     * @return An image of the diagram, with the dimensions of the canvas.
+     */
+    private BufferedImage renderDiagram() {
         BufferedImage diagram = new BufferedImage(this.ringCanvasHorizMax, 
                 this.ringCanvasVerticMax, BufferedImage.TYPE_INT_RGB);
-        Graphics2D graph = diagram.createGraphics();
-        this.paint(graph);
+        DiagramRenderer.drawDiagram(this, diagram);
+        return diagram;
+    }
+    
+    /**
+     * Draws the whole diagram on the calling thread and writes it to a file, 
+     * one strip at a time, so that not even a very large canvas needs an 
+     * image buffer of its full size.
+     * @param file The file to write to. If it already exists, it will be 
+     * overwritten.
+     * @throws IOException If the file can't be written.
+     */
+    private void writeDiagram(File file) throws IOException {
+        BufferedImage strip = DiagramRenderer.createStripBuffer(
+                this.ringCanvasHorizMax, this.ringCanvasVerticMax);
+        DiagramRenderer.writeInStrips(this, strip, file);
+    }
+    
+    // TODO: Rewind to failing and write tests
+    public void saveDiagram(File file) {
         try {
-            ImageIO.write(diagram, "PNG", file);
+            this.writeDiagram(file);
         } catch (IOException ioe) {
             throw new RuntimeException(ioe);
         }
@@ -687,12 +829,8 @@ public abstract class RingDisplay extends JPanel implements ActionListener,
      * the *.png extension.
      */
     public void saveDiagramAs() {
-        BufferedImage diagram = new BufferedImage(this.ringCanvasHorizMax, 
-                this.ringCanvasVerticMax, BufferedImage.TYPE_INT_RGB);
-        Graphics2D graph = diagram.createGraphics();
-        this.paint(graph);
-        String suggestedFilename = this.diagramRing.toFilenameString() + "pxui" 
-                + this.pixelsPerUnitInterval + ".png";
+        String suggestedFilename = DiagramRenderer.filenameFor(this.diagramRing, 
+                this.pixelsPerUnitInterval);
         File diagramFile = new File(suggestedFilename);
         FileChooserWithOverwriteGuard fileChooser 
                 = new FileChooserWithOverwriteGuard();
@@ -712,7 +850,7 @@ public abstract class RingDisplay extends JPanel implements ActionListener,
                         filePath.lastIndexOf(File.separator));
                 haveSavedBefore = true;
                 try {
-                    ImageIO.write(diagram, "PNG", diagramFile);
+                    this.writeDiagram(diagramFile);
                 } catch (IOException ioe) {
                     message = "Image input/output exception occurred:\n " 
                             + ioe.getMessage();
@@ -793,13 +931,101 @@ public abstract class RingDisplay extends JPanel implements ActionListener,
         this.ringFrame.setTitle("Ring Diagram for " + ring.toString());
         this.setRing(ring);
         if (this.unitApplicable) {
-            this.findUnit();
-            if (this.unitAvailable) {
-                this.unitReadOut.setText(this.fundamentalUnit.toString());
-            } else {
-                this.unitReadOut.setText("???");
+            this.searchForUnit();
+        }
+        this.prefetchNeighbors();
+        this.repaint();
+    }
+    
+    /**
+     * Starts working out ahead of time whatever is needed to display the rings 
+     * next to the currently displayed ring, so that the Increment and 
+     * Decrement menu items bring them up without delay. This is called 
+     * whenever the ring changes. The default implementation does nothing, 
+     * which is fine for subclasses that have nothing costly to work out for a 
+     * new ring.
+     */
+    void prefetchNeighbors() {
+        //
+    }
+    
+    /**
+     * Copies the fundamental unit and whatever else was found along with it 
+     * from an offscreen display of the currently displayed ring. Subclasses 
+     * that keep more information about the unit than {@link #fundamentalUnit} 
+     * and {@link #unitAvailable}, like the class number, should override this 
+     * procedure and call super.
+     * @param other An offscreen display of the currently displayed ring, on 
+     * which {@link #findUnit()} has already been called.
+     */
+    void adoptUnit(RingDisplay other) {
+        this.fundamentalUnit = other.fundamentalUnit;
+        this.unitAvailable = other.unitAvailable;
+    }
+    
+    /**
+     * Searches for the fundamental unit of the currently displayed ring on a 
+     * background thread, so that the user interface remains responsive even if 
+     * the search takes a long time. Until the search is done, the unit readout 
+     * shows how long the search has been going on. A search for a previously 
+     * displayed ring that hasn't finished is cancelled, and if it finishes 
+     * anyway its result is ignored. Listeners of the {@link 
+     * #FUNDAMENTAL_UNIT_PROPERTY_NAME} property are notified once the unit is 
+     * found.
+     */
+    private void searchForUnit() {
+        if (this.unitSearch != null) {
+            this.unitSearch.cancel(false);
+        }
+        this.unitAvailable = false;
+        IntegerRing ring = this.diagramRing;
+        long startTime = System.currentTimeMillis();
+        this.unitReadOut.setText("Computing...");
+        Timer progressTimer = new Timer(UNIT_SEARCH_PROGRESS_INTERVAL, 
+                (event) -> {
+                    long seconds = (System.currentTimeMillis() - startTime) 
+                            / 1000;
+                    this.unitReadOut.setText("Computing... " + seconds + " s");
+                });
+        SwingWorker<RingDisplay, Void> search 
+                = new SwingWorker<RingDisplay, Void>() {
+            
+            @Override
+            protected RingDisplay doInBackground() {
+                return RingDisplay.this.createOffscreenDisplay(ring);
+            }
+            
+            @Override
+            protected void done() {
+                progressTimer.stop();
+                if (this.isCancelled() 
+                        || !ring.equals(RingDisplay.this.diagramRing)) {
+                    return;
+                }
+                RingDisplay.this.finishUnitSearch(this);
             }
+            
+        };
+        this.unitSearch = search;
+        progressTimer.start();
+        search.execute();
+    }
+    
+    private void finishUnitSearch(SwingWorker<RingDisplay, Void> search) {
+        AlgebraicInteger previousUnit = this.fundamentalUnit;
+        try {
+            this.adoptUnit(search.get());
+        } catch (InterruptedException | ExecutionException e) {
+            System.err.println(e.getMessage());
+            this.unitAvailable = false;
         }
+        if (this.unitAvailable) {
+            this.unitReadOut.setText(this.fundamentalUnit.toString());
+        } else {
+            this.unitReadOut.setText("???");
+        }
+        this.firePropertyChange(FUNDAMENTAL_UNIT_PROPERTY_NAME, previousUnit, 
+                this.fundamentalUnit);
         this.repaint();
     }
     
@@ -902,10 +1128,7 @@ public abstract class RingDisplay extends JPanel implements ActionListener,
      * image.
      */
     public void copyDiagramToClipboard() {
-        BufferedImage diagram = new BufferedImage(this.ringCanvasHorizMax, 
-                this.ringCanvasVerticMax, BufferedImage.TYPE_INT_RGB);
-        Graphics2D graph = diagram.createGraphics();
-        this.paint(graph);
+        BufferedImage diagram = this.renderDiagram();
         ImageSelection imgSel = new ImageSelection(diagram);
         this.getToolkit().getSystemClipboard().setContents(imgSel, this);
         this.ownsClipboard = true;
@@ -942,9 +1165,11 @@ public abstract class RingDisplay extends JPanel implements ActionListener,
     
     /**
      * Zooms in on the diagram. This is done by reducing how many pixels there 
-     * are per unit interval and repainting.
+     * are per unit interval and repainting. Until the tiles at the new zoom 
+     * level are drawn, the diagram as it was before is shown enlarged.
      */
     public void zoomIn() {
+        this.capturePreview();
         int pixels = this.pixelsPerUnitInterval + this.zoomStep;
         this.setPixelsPerUnitInterval(pixels);
         this.updateBoundaryNumber();
@@ -954,9 +1179,11 @@ public abstract class RingDisplay extends JPanel implements ActionListener,
     
     /**
      * Zooms out on the diagram. This is done by increasing how many pixels 
-     * there are per unit interval and repainting.
+     * there are per unit interval and repainting. Until the tiles at the new 
+     * zoom level are drawn, the diagram as it was before is shown shrunk.
      */
     public void zoomOut() {
+        this.capturePreview();
         int pixels = this.pixelsPerUnitInterval - this.zoomStep;
         this.setPixelsPerUnitInterval(pixels);
         this.updateBoundaryNumber();
@@ -1135,6 +1362,148 @@ public abstract class RingDisplay extends JPanel implements ActionListener,
         return this.fundamentalUnit;
     }
     
+    /**
+     * Draws the diagram, with the grids if applicable. Subclasses should put 
+     * their drawing logic here rather than in <code>paintComponent()</code>, 
+     * since this is also used to draw the tiles of the diagram on worker 
+     * threads, and to draw the diagram for saving to a file or copying to the 
+     * clipboard. The background has already been filled in by the caller.
+     * @param g The <code>Graphics</code> object supplied by the caller. Its 
+     * dimensions are {@link #ringCanvasHorizMax} by {@link 
+     * #ringCanvasVerticMax}.
+     */
+    abstract void drawDiagram(Graphics g);
+    
+    /**
+     * Creates a ring display for the specified ring that will not be shown on 
+     * screen. This is used to draw tiles and to search for fundamental units on 
+     * worker threads, so the subclass constructor should take care of anything 
+     * that needs to be calculated prior to drawing, such as the fundamental 
+     * unit. It should not start a <code>JFrame</code>.
+     * @param ring The ring to display. Assumed to have already been validated 
+     * with {@link #validateRing(algebraics.IntegerRing)}.
+     * @return A new ring display of the same runtime class as this one.
+     */
+    abstract RingDisplay createOffscreenDisplay(IntegerRing ring);
+    
+    /**
+     * Takes a picture of the diagram as it is on screen, to be shown as a 
+     * preview after the diagram is dragged or zoomed. The picture is made up 
+     * of the tiles drawn so far and, for any tiles still being drawn, of the 
+     * previous preview. Does nothing if the ring display is not on screen.
+     */
+    private void capturePreview() {
+        if (this.tileCache == null) {
+            return;
+        }
+        BufferedImage snapshot = this.spareImage;
+        if (snapshot == null 
+                || snapshot.getWidth() != this.ringCanvasHorizMax 
+                || snapshot.getHeight() != this.ringCanvasVerticMax) {
+            snapshot = new BufferedImage(this.ringCanvasHorizMax, 
+                    this.ringCanvasVerticMax, BufferedImage.TYPE_INT_RGB);
+        }
+        Graphics2D graph = snapshot.createGraphics();
+        graph.setColor(this.backgroundColor);
+        graph.fillRect(0, 0, this.ringCanvasHorizMax, 
+                this.ringCanvasVerticMax);
+        this.drawTiles(graph, false);
+        graph.dispose();
+        this.spareImage = this.preview;
+        this.preview = snapshot;
+        this.previewRing = this.diagramRing;
+        this.previewZeroCoordX = this.zeroCoordX;
+        this.previewZeroCoordY = this.zeroCoordY;
+        this.previewPixelsPerUnitInterval = this.pixelsPerUnitInterval;
+        this.previewPixelsPerBasicImaginaryInterval 
+                = this.pixelsPerBasicImaginaryInterval;
+    }
+    
+    /**
+     * Draws the part of the preview that corresponds to a tile that is still 
+     * being drawn. The preview is shifted by however much the point 0 has 
+     * moved since the preview was taken, and rescaled by however much the 
+     * zoom has changed.
+     * @param g The <code>Graphics</code> object to draw on.
+     * @param x The x-coordinate of the tile's upper left corner.
+     * @param y The y-coordinate of the tile's upper left corner.
+     * @param size The width and height of the tile.
+     */
+    private void drawPreview(Graphics g, int x, int y, int size) {
+        if (this.preview == null 
+                || !this.diagramRing.equals(this.previewRing)) {
+            return;
+        }
+        double scaleX = (double) this.pixelsPerUnitInterval 
+                / this.previewPixelsPerUnitInterval;
+        double scaleY = (double) this.pixelsPerBasicImaginaryInterval 
+                / this.previewPixelsPerBasicImaginaryInterval;
+        int sourceX1 = this.previewZeroCoordX 
+                + (int) Math.floor((x - this.zeroCoordX) / scaleX);
+        int sourceY1 = this.previewZeroCoordY 
+                + (int) Math.floor((y - this.zeroCoordY) / scaleY);
+        int sourceX2 = this.previewZeroCoordX 
+                + (int) Math.ceil((x + size - this.zeroCoordX) / scaleX);
+        int sourceY2 = this.previewZeroCoordY 
+                + (int) Math.ceil((y + size - this.zeroCoordY) / scaleY);
+        g.drawImage(this.preview, x, y, x + size, y + size, sourceX1, 
+                sourceY1, sourceX2, sourceY2, null);
+    }
+    
+    private void drawTiles(Graphics g, boolean outlinePending) {
+        int size = DiagramTileCache.TILE_SIZE;
+        int firstTileX = Math.floorDiv(-this.zeroCoordX, size);
+        int lastTileX = Math.floorDiv(this.ringCanvasHorizMax - 1 
+                - this.zeroCoordX, size);
+        int firstTileY = Math.floorDiv(-this.zeroCoordY, size);
+        int lastTileY = Math.floorDiv(this.ringCanvasVerticMax - 1 
+                - this.zeroCoordY, size);
+        Color[] colors = this.getColors();
+        List<DiagramTileCache.TileKey> keys = new ArrayList<>();
+        for (int tileY = firstTileY; tileY <= lastTileY; tileY++) {
+            for (int tileX = firstTileX; tileX <= lastTileX; tileX++) {
+                DiagramTileCache.TileKey key 
+                        = new DiagramTileCache.TileKey(this.diagramRing, 
+                                this.pixelsPerUnitInterval, this.dotRadius, 
+                                this.boundaryRe, this.boundaryIm, colors, 
+                                tileX, tileY);
+                keys.add(key);
+                int x = this.zeroCoordX + tileX * size;
+                int y = this.zeroCoordY + tileY * size;
+                BufferedImage tile = this.tileCache.getTile(key);
+                if (tile == null) {
+                    if (outlinePending) {
+                        g.setColor(this.halfIntegerGridColor);
+                        g.drawRect(x, y, size - 1, size - 1);
+                    }
+                    this.drawPreview(g, x, y, size);
+                } else {
+                    g.drawImage(tile, x, y, null);
+                }
+            }
+        }
+        this.tileCache.retainPending(keys);
+    }
+    
+    /**
+     * Paints the canvas. Once the ring display is on screen, this just copies 
+     * the tiles that have already been drawn onto the canvas, and outlines the 
+     * places where the tiles still being drawn on worker threads will go, 
+     * filling them in with the preview if the diagram was just dragged or 
+     * zoomed. Otherwise this draws the whole diagram on the calling thread by 
+     * way of {@link #drawDiagram(java.awt.Graphics)}.
+     * @param g The <code>Graphics</code> object supplied by the caller.
+     */
+    @Override
+    public void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (this.tileCache == null) {
+            this.drawDiagram(g);
+        } else {
+            this.drawTiles(g, true);
+        }
+    }
+    
     abstract void updateBoundaryNumber();
     
     abstract double getBoundaryRe();
@@ -1583,6 +1952,52 @@ public abstract class RingDisplay extends JPanel implements ActionListener,
         return readOutsPane;
     }
    
+    /**
+     * Moves the diagram along with the mouse pointer while the user drags it 
+     * with the primary mouse button. This is registered as a listener in 
+     * {@link #setUpRingFrame()} regardless of whether or not the readouts are 
+     * being updated.
+     */
+    private class DragPanner extends MouseAdapter {
+        
+        private boolean dragging = false;
+        
+        private int previousX, previousY;
+        
+        @Override
+        public void mousePressed(MouseEvent mauv) {
+            if (SwingUtilities.isLeftMouseButton(mauv)) {
+                this.dragging = true;
+                this.previousX = mauv.getX();
+                this.previousY = mauv.getY();
+                RingDisplay.this.setCursor(Cursor 
+                        .getPredefinedCursor(Cursor.MOVE_CURSOR));
+            }
+        }
+        
+        @Override
+        public void mouseDragged(MouseEvent mauv) {
+            if (this.dragging) {
+                int deltaX = mauv.getX() - this.previousX;
+                int deltaY = mauv.getY() - this.previousY;
+                if (deltaX != 0 || deltaY != 0) {
+                    RingDisplay.this.panBy(deltaX, deltaY);
+                    this.previousX = mauv.getX();
+                    this.previousY = mauv.getY();
+                }
+            }
+        }
+        
+        @Override
+        public void mouseReleased(MouseEvent mauv) {
+            if (this.dragging && SwingUtilities.isLeftMouseButton(mauv)) {
+                this.dragging = false;
+                RingDisplay.this.setCursor(Cursor.getDefaultCursor());
+            }
+        }
+        
+    }
+    
     /**
      * Sets up the <code>JFrame</code> in which the various ring diagrams will 
      * be drawn. May be overridden as necessary.
@@ -1605,7 +2020,11 @@ public abstract class RingDisplay extends JPanel implements ActionListener,
                 this.ringCanvasVerticMax));
         this.ringFrame.add(this, BorderLayout.CENTER);
         this.ringFrame.add(this.setUpReadOuts(), BorderLayout.PAGE_END);
-        this.ringFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        this.tileCache = new DiagramTileCache(this);
+        DragPanner dragPanner = new DragPanner();
+        this.addMouseListener(dragPanner);
+        this.addMouseMotionListener(dragPanner);
+        this.ringFrame.setDefaultCloseOperation(this.frameCloseOperation);
         this.ringFrame.pack();
         this.ringFrame.setVisible(true);
         this.alreadySetUp = true;
@@ -1631,6 +2050,7 @@ public abstract class RingDisplay extends JPanel implements ActionListener,
         }
         this.setUpRingFrame();
         this.updateBoundaryNumber();
+        this.prefetchNeighbors();
         RingDisplay.windowCount++;
     }
     
@@ -0,0 +1,341 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package viewers;
+
+import algebraics.IntegerRing;
+import algebraics.UnsupportedNumberDomainException;
+import algebraics.quadratics.ImaginaryQuadraticRing;
+import algebraics.quadratics.RealQuadraticRing;
+import cacheops.LRUCache;
+import calculators.RealQuadResultsGrouping;
+import calculators.SquarefreeRange;
+
+import java.awt.GridLayout;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import javax.swing.ImageIcon;
+import javax.swing.JButton;
+import javax.swing.JFrame;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.WindowConstants;
+
+/**
+ * Shows small diagrams of all the rings for the squarefree numbers in a range, 
+ * in a grid. Clicking on a diagram opens a full-size {@link RingDisplay} for 
+ * that ring.
+ * <p>The small diagrams, or thumbnails, are drawn on a pool of worker threads 
+ * shared by all galleries, so that opening a gallery for a wide range does not 
+ * start hundreds of threads. The grid is shown right away, and each thumbnail 
+ * is filled in as soon as it's ready.</p>
+ * <p>The prime classifications worked out for the thumbnails of the most 
+ * recently drawn real quadratic rings are kept by the gallery and handed to 
+ * any full-size ring display opened from the gallery, so they're usually not 
+ * worked out a second time. 
+ * Fundamental units and class numbers are already kept by {@link 
+ * calculators.NumberTheoreticFunctionsCalculator} for all ring displays. The 
+ * prime classifications for imaginary quadratic rings are not shared, since 
+ * each ring display needs its own to keep track of which primes are shown.</p>
+ * @author Alonso del Arte
+ */
+public final class RingGallery extends JPanel {
+    
+    private static final long serialVersionUID = 4548137226585437811L;
+    
+    /**
+     * The width of each thumbnail, in pixels.
+     */
+    public static final int THUMBNAIL_WIDTH = 200;
+    
+    /**
+     * The height of each thumbnail, in pixels. This is the least height a ring 
+     * display can have.
+     */
+    public static final int THUMBNAIL_HEIGHT 
+            = RingDisplay.RING_CANVAS_VERTIC_MIN;
+    
+    /**
+     * How many pixels there are per unit interval in each thumbnail.
+     */
+    public static final int THUMBNAIL_PIXELS_PER_UNIT_INTERVAL = 20;
+    
+    /**
+     * The most rings a single gallery can show.
+     */
+    public static final int MAXIMUM_RING_COUNT = 1024;
+    
+    /**
+     * How many real quadratic rings the gallery keeps the prime 
+     * classifications of. The classifications for the least recently used 
+     * ring are forgotten first, and worked out again if needed.
+     */
+    static final int GROUPING_CACHE_CAPACITY = 32;
+    
+    private static final int COLUMN_COUNT = 5;
+    
+    /**
+     * How many thumbnails are drawn at the same time, for all galleries put 
+     * together. One processor is left for the event dispatch thread.
+     */
+    static final int POOL_SIZE 
+            = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    
+    private static final ExecutorService POOL 
+            = Executors.newFixedThreadPool(POOL_SIZE, (runnable) -> {
+                Thread thread = new Thread(runnable, "Ring gallery worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+    
+    private final int start;
+    
+    private final int end;
+    
+    private final Map<IntegerRing, JButton> buttons = new LinkedHashMap<>();
+    
+    private final Map<IntegerRing, Future<BufferedImage>> thumbnails 
+            = new HashMap<>();
+    
+    private final DiagramRenderer thumbnailRenderer 
+            = new DiagramRenderer(THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT, 
+                    THUMBNAIL_PIXELS_PER_UNIT_INTERVAL);
+    
+    private final LRUCache<RealQuadraticRing, 
+            FutureTask<RealQuadResultsGrouping>> groupings 
+            = new LRUCache<RealQuadraticRing, 
+                    FutureTask<RealQuadResultsGrouping>>(
+                            GROUPING_CACHE_CAPACITY) {
+                
+        @Override
+        protected FutureTask<RealQuadResultsGrouping> create(
+                RealQuadraticRing name) {
+            return new FutureTask<>(() -> new RealQuadResultsGrouping(name));
+        }
+        
+    };
+    
+    private JFrame galleryFrame;
+    
+    /**
+     * Tells which rings this gallery shows.
+     * @return The rings, in order of discriminant. For example, for a gallery 
+     * from &minus;3 to 3, <i>O</i><sub><b>Q</b>(&radic;&minus;3)</sub>, 
+     * <b>Z</b>[&radic;&minus;2], <b>Z</b>[<i>i</i>], <b>Z</b>[&radic;2] and 
+     * <b>Z</b>[&radic;3].
+     */
+    List<IntegerRing> getRings() {
+        return Collections.unmodifiableList(new ArrayList<>(this.buttons 
+                .keySet()));
+    }
+    
+    /**
+     * Gives the prime classifications for a real quadratic ring. If they're 
+     * being worked out on another thread, this waits for them rather than 
+     * work them out a second time.
+     * @param ring The ring. For example, <b>Z</b>[&radic;10].
+     * @return The prime classifications. The same object is given for the 
+     * same ring as long as that ring is among the {@link 
+     * #GROUPING_CACHE_CAPACITY} most recently asked for.
+     * @throws RuntimeException If working out the prime classifications 
+     * caused a runtime exception, that same exception is rethrown.
+     */
+    RealQuadResultsGrouping obtainGrouping(RealQuadraticRing ring) {
+        FutureTask<RealQuadResultsGrouping> task;
+        synchronized (this.groupings) {
+            task = this.groupings.forName(ring);
+        }
+        task.run();
+        try {
+            return task.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return new RealQuadResultsGrouping(ring);
+        } catch (ExecutionException ee) {
+            Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+    
+    /**
+     * Creates a ring display that shares what this gallery has worked out. 
+     * The ring display is not put on screen.
+     * @param ring The ring to display. For example, <b>Z</b>[&radic;10].
+     * @return A ring display for <code>ring</code>. If <code>ring</code> is a 
+     * real quadratic ring, the display gets its prime classifications from 
+     * this gallery.
+     * @throws UnsupportedNumberDomainException If <code>ring</code> is neither 
+     * an imaginary quadratic ring nor a real quadratic ring.
+     */
+    RingDisplay createDisplay(IntegerRing ring) {
+        if (ring instanceof ImaginaryQuadraticRing) {
+            return new ImagQuadRingDisplay((ImaginaryQuadraticRing) ring);
+        }
+        if (ring instanceof RealQuadraticRing) {
+            return new RealQuadRingDisplay((RealQuadraticRing) ring, 
+                    this::obtainGrouping);
+        }
+        String excMsg = "Diagrams of " + ring.toASCIIString() 
+                + " can't be shown in a gallery yet";
+        throw new UnsupportedNumberDomainException(excMsg, ring);
+    }
+    
+    private BufferedImage drawThumbnail(IntegerRing ring) {
+        RingDisplay display = this.createDisplay(ring);
+        this.thumbnailRenderer.configure(display);
+        BufferedImage image = new BufferedImage(THUMBNAIL_WIDTH, 
+                THUMBNAIL_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        DiagramRenderer.drawDiagram(display, image);
+        JButton button = this.buttons.get(ring);
+        if (button != null) {
+            SwingUtilities.invokeLater(() 
+                    -> button.setIcon(new ImageIcon(image)));
+        }
+        return image;
+    }
+    
+    /**
+     * Puts a thumbnail on the shared pool to be drawn, unless it has already 
+     * been drawn or put on the pool. Once drawn, the thumbnail is put on the 
+     * ring's button, if the ring is in this gallery.
+     * @param ring The ring to draw a thumbnail of. For example, 
+     * <b>Z</b>[&radic;&minus;5].
+     * @return The thumbnail to be drawn, or the one already drawn.
+     */
+    synchronized Future<BufferedImage> renderThumbnail(IntegerRing ring) {
+        return this.thumbnails.computeIfAbsent(ring, 
+                (key) -> POOL.submit(() -> this.drawThumbnail(key)));
+    }
+    
+    /**
+     * Cancels the thumbnails still waiting on the shared pool, so that the 
+     * pool can get on with other galleries. Thumbnails already drawn are 
+     * forgotten as well.
+     */
+    synchronized void cancelThumbnails() {
+        for (Future<BufferedImage> thumbnail : this.thumbnails.values()) {
+            thumbnail.cancel(false);
+        }
+        this.thumbnails.clear();
+    }
+    
+    /**
+     * Opens a full-size ring display for a ring, sharing what this gallery 
+     * has worked out. Closing that display's frame does not close the 
+     * gallery.
+     * @param ring The ring to display. For example, <b>Z</b>[&radic;10].
+     * @return The ring display, already on screen.
+     */
+    RingDisplay openRingDisplay(IntegerRing ring) {
+        RingDisplay display = this.createDisplay(ring);
+        display.frameCloseOperation = WindowConstants.DISPOSE_ON_CLOSE;
+        display.startRingDisplay();
+        return display;
+    }
+    
+    /**
+     * Puts the gallery on screen and starts drawing the thumbnails. Closing 
+     * the gallery's frame cancels the thumbnails not yet drawn, but leaves any 
+     * ring displays opened from the gallery open.
+     */
+    public void startGallery() {
+        this.galleryFrame = new JFrame("Ring Gallery for " + this.start 
+                + " to " + this.end);
+        this.galleryFrame.add(new JScrollPane(this));
+        this.galleryFrame 
+                .setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        this.galleryFrame.addWindowListener(new WindowAdapter() {
+            
+            @Override
+            public void windowClosed(WindowEvent event) {
+                RingGallery.this.cancelThumbnails();
+            }
+            
+        });
+        this.galleryFrame.pack();
+        this.galleryFrame.setVisible(true);
+        for (IntegerRing ring : this.buttons.keySet()) {
+            this.renderThumbnail(ring);
+        }
+    }
+    
+    /**
+     * Sole constructor. The thumbnails are not drawn until {@link 
+     * #startGallery()} is called.
+     * @param start The least discriminant to show. For example, &minus;30.
+     * @param end The greatest discriminant to show. For example, 30.
+     * @throws IllegalArgumentException If <code>start</code> is greater than 
+     * <code>end</code>, if either is outside of the range from {@link 
+     * ImagQuadRingDisplay#MINIMUM_RING_D} to {@link 
+     * RealQuadRingDisplay#MAXIMUM_RING_D}, or if the range has no squarefree 
+     * numbers other than 1 or more than {@link #MAXIMUM_RING_COUNT} of them.
+     */
+    public RingGallery(int start, int end) {
+        if (start < ImagQuadRingDisplay.MINIMUM_RING_D 
+                || end > RealQuadRingDisplay.MAXIMUM_RING_D) {
+            String excMsg = "Range " + start + " to " + end 
+                    + " should be within " + ImagQuadRingDisplay.MINIMUM_RING_D 
+                    + " to " + RealQuadRingDisplay.MAXIMUM_RING_D;
+            throw new IllegalArgumentException(excMsg);
+        }
+        SquarefreeRange range = new SquarefreeRange(start, end);
+        int[] ds = range.stream().filter((d) -> d != 1).toArray();
+        if (ds.length == 0 || ds.length > MAXIMUM_RING_COUNT) {
+            String excMsg = "Range " + start + " to " + end + " has " 
+                    + ds.length + " rings, should have 1 to " 
+                    + MAXIMUM_RING_COUNT;
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.start = start;
+        this.end = end;
+        this.setLayout(new GridLayout(0, COLUMN_COUNT));
+        ImageIcon placeholder = new ImageIcon(new BufferedImage(THUMBNAIL_WIDTH, 
+                THUMBNAIL_HEIGHT, BufferedImage.TYPE_INT_ARGB));
+        for (int d : ds) {
+            IntegerRing ring = DiagramRenderer.ringFor(d);
+            JButton button = new JButton(ring.toString(), placeholder);
+            button.setVerticalTextPosition(SwingConstants.BOTTOM);
+            button.setHorizontalTextPosition(SwingConstants.CENTER);
+            button.setToolTipText("Open a ring display for " 
+                    + ring.toString());
+            button.addActionListener((event) -> this.openRingDisplay(ring));
+            this.buttons.put(ring, button);
+            this.add(button);
+        }
+    }
+    
+}
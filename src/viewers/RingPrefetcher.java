@@ -0,0 +1,254 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package viewers;
+
+import algebraics.IntegerRing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import static calculators.NumberTheoreticFunctionsCalculator.isSquarefree;
+
+/**
+ * Works out per-ring results, such as a ring's fundamental unit, class number 
+ * and prime classifications, for the rings next to the one on screen before 
+ * the user asks for them. Thus stepping through the discriminants one at a 
+ * time with the Increment and Decrement menu items finds the results for the 
+ * new ring ready, or at least already under way.
+ * <p>The rings next to a given ring are those for the squarefree numbers 
+ * closest to its discriminant, up to a specified number of steps in either 
+ * direction, within a specified range. Results for rings outside of that 
+ * neighborhood are forgotten whenever the neighborhood moves, and pending 
+ * results for those rings are cancelled if they haven't been started yet.</p>
+ * <p>Results are also shared between the ring display on screen and its 
+ * offscreen displays, which ask for them on worker threads. If a result is 
+ * asked for while it's still being worked out, the caller waits for it rather 
+ * than working it out a second time.</p>
+ * @param <R> The type of ring. For example, <code>RealQuadraticRing</code>.
+ * @param <V> The type of the results. For example, 
+ * <code>RealQuadResultsGrouping</code>.
+ * @author Alonso del Arte
+ */
+final class RingPrefetcher<R extends IntegerRing, V> {
+    
+    /**
+     * How many squarefree discriminants to look ahead in each direction by 
+     * default.
+     */
+    static final int DEFAULT_REACH = 2;
+    
+    private static final ExecutorService WORKER 
+            = Executors.newSingleThreadExecutor((runnable) -> {
+                Thread thread = new Thread(runnable, "Ring prefetch worker");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+    
+    private final Function<R, V> computation;
+    
+    private final IntFunction<R> ringMaker;
+    
+    private final int minimumD;
+    
+    private final int maximumD;
+    
+    private final int reach;
+    
+    private final Map<R, FutureTask<V>> results = new HashMap<>();
+    
+    /**
+     * Gives the squarefree numbers nearest a given number, within a range, 
+     * leaving out 0 and 1.
+     * @param d The number to start from. For example, 7.
+     * @param reach How many squarefree numbers to go in each direction. For 
+     * example, 2.
+     * @param minimumD The least number to include. For example, 2.
+     * @param maximumD The greatest number to include. For example, 8191.
+     * @return A list starting with <code>d</code> itself, followed by the 
+     * nearest numbers alternating above and below <code>d</code>. For 
+     * example, 7, 10, 6, 11, 5.
+     */
+    static List<Integer> neighborhood(int d, int reach, int minimumD, 
+            int maximumD) {
+        List<Integer> above = new ArrayList<>(reach);
+        int n = d + 1;
+        while (above.size() < reach && n <= maximumD) {
+            if (n != 0 && n != 1 && isSquarefree(n)) {
+                above.add(n);
+            }
+            n++;
+        }
+        List<Integer> below = new ArrayList<>(reach);
+        n = d - 1;
+        while (below.size() < reach && n >= minimumD) {
+            if (n != 0 && n != 1 && isSquarefree(n)) {
+                below.add(n);
+            }
+            n--;
+        }
+        List<Integer> numbers = new ArrayList<>(2 * reach + 1);
+        numbers.add(d);
+        for (int i = 0; i < reach; i++) {
+            if (i < above.size()) {
+                numbers.add(above.get(i));
+            }
+            if (i < below.size()) {
+                numbers.add(below.get(i));
+            }
+        }
+        return numbers;
+    }
+    
+    /**
+     * Starts working out the results for the rings around a given ring, and 
+     * forgets the results for any other rings. Results already worked out or 
+     * under way for rings in the new neighborhood are kept.
+     * @param d The discriminant of the ring at the center of the 
+     * neighborhood, which should be the ring on screen. For example, 7.
+     */
+    synchronized void prefetchAround(int d) {
+        List<R> rings = new ArrayList<>();
+        for (int n : neighborhood(d, this.reach, this.minimumD, 
+                this.maximumD)) {
+            rings.add(this.ringMaker.apply(n));
+        }
+        Iterator<Map.Entry<R, FutureTask<V>>> iterator 
+                = this.results.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<R, FutureTask<V>> entry = iterator.next();
+            if (!rings.contains(entry.getKey())) {
+                entry.getValue().cancel(false);
+                iterator.remove();
+            }
+        }
+        for (R ring : rings) {
+            if (!this.results.containsKey(ring)) {
+                FutureTask<V> task 
+                        = new FutureTask<>(() -> this.computation.apply(ring));
+                this.results.put(ring, task);
+                WORKER.execute(task);
+            }
+        }
+    }
+    
+    /**
+     * Tells whether the results for a ring are ready.
+     * @param ring The ring to check. For example, <b>Z</b>[&radic;10].
+     * @return True if the results for <code>ring</code> have been worked out 
+     * and not forgotten, false otherwise.
+     */
+    synchronized boolean isReady(R ring) {
+        FutureTask<V> task = this.results.get(ring);
+        return task != null && task.isDone() && !task.isCancelled();
+    }
+    
+    /**
+     * Tells which rings results are being kept for or worked out for.
+     * @return The rings, in no particular order. For example, 
+     * <b>Z</b>[&radic;5], <b>Z</b>[&radic;6], <b>Z</b>[&radic;7], 
+     * <b>Z</b>[&radic;10] and <b>Z</b>[&radic;11].
+     */
+    synchronized List<R> getRings() {
+        return new ArrayList<>(this.results.keySet());
+    }
+    
+    /**
+     * Gives the results for a ring. If they were already worked out, they're 
+     * given right away. If they're being worked out on another thread, this 
+     * waits for them. And if they were never asked for, or are queued up but 
+     * not started yet, they're worked out on the calling thread.
+     * @param ring The ring to give results for. For example, 
+     * <b>Z</b>[&radic;10].
+     * @return The results. For example, the prime classifications of 
+     * <b>Z</b>[&radic;10].
+     * @throws RuntimeException If working out the results caused a runtime 
+     * exception, that same exception is rethrown.
+     */
+    V obtain(R ring) {
+        FutureTask<V> task;
+        synchronized (this) {
+            task = this.results.get(ring);
+            if (task == null || task.isCancelled()) {
+                task = new FutureTask<>(() -> this.computation.apply(ring));
+                this.results.put(ring, task);
+            }
+        }
+        task.run();
+        try {
+            return task.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return this.computation.apply(ring);
+        } catch (ExecutionException ee) {
+            Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+    
+    /**
+     * Sole constructor.
+     * @param computation How to work out the results for a ring. This will be 
+     * called on the prefetch worker thread and on whichever threads call 
+     * {@link #obtain(algebraics.IntegerRing)}, so it should be safe to call 
+     * on any thread. For example, the <code>RealQuadResultsGrouping</code> 
+     * constructor.
+     * @param ringMaker How to make a ring for a given discriminant. For 
+     * example, the <code>RealQuadraticRing</code> constructor.
+     * @param minimumD The least discriminant to prefetch a ring for. For 
+     * example, 2.
+     * @param maximumD The greatest discriminant to prefetch a ring for. For 
+     * example, 8191.
+     * @param reach How many squarefree discriminants to look ahead in each 
+     * direction. For example, 2.
+     * @throws IllegalArgumentException If <code>minimumD</code> is greater 
+     * than <code>maximumD</code> or <code>reach</code> is negative.
+     */
+    RingPrefetcher(Function<R, V> computation, IntFunction<R> ringMaker, 
+            int minimumD, int maximumD, int reach) {
+        if (minimumD > maximumD) {
+            String excMsg = "Minimum " + minimumD 
+                    + " should not be greater than maximum " + maximumD;
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (reach < 0) {
+            String excMsg = "Reach " + reach + " should not be negative";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.computation = computation;
+        this.ringMaker = ringMaker;
+        this.minimumD = minimumD;
+        this.maximumD = maximumD;
+        this.reach = reach;
+    }
+    
+}
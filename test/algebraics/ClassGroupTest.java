@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package algebraics;
+
+import algebraics.quadratics.ImaginaryQuadraticInteger;
+import algebraics.quadratics.ImaginaryQuadraticRing;
+import algebraics.quadratics.QuadraticInteger;
+import algebraics.quadratics.RealQuadraticRing;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static calculators.NumberTheoreticFunctionsCalculator.isSquarefree;
+import static calculators.NumberTheoreticFunctionsCalculator.randomNumber;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+/**
+ * Tests of the ClassGroup class. The expected class numbers and invariant 
+ * factors for small <i>d</i> come from tables of imaginary quadratic fields.
+ * @author Alonso del Arte
+ */
+public class ClassGroupTest {
+    
+    private static final ImaginaryQuadraticRing RING_ZI5 
+            = new ImaginaryQuadraticRing(-5);
+    
+    private static final ImaginaryQuadraticRing RING_ZI14 
+            = new ImaginaryQuadraticRing(-14);
+    
+    private static final ClassGroup GROUP_ZI5 = new ClassGroup(RING_ZI5);
+    
+    private static final ClassGroup GROUP_ZI14 = new ClassGroup(RING_ZI14);
+    
+    private static Ideal ideal(ImaginaryQuadraticRing ring, int a, int b, 
+            int c) {
+        QuadraticInteger first = new ImaginaryQuadraticInteger(a, 0, ring);
+        QuadraticInteger second = new ImaginaryQuadraticInteger(b, c, ring);
+        return new Ideal(first, second);
+    }
+    
+    /**
+     * Test of the getRing function, of the ClassGroup class.
+     */
+    @Test
+    public void testGetRing() {
+        System.out.println("getRing");
+        assertEquals(RING_ZI5, GROUP_ZI5.getRing());
+    }
+    
+    /**
+     * Test of the getClassNumber function, of the ClassGroup class.
+     */
+    @Test
+    public void testGetClassNumber() {
+        System.out.println("getClassNumber");
+        int[] ds = {-1, -2, -3, -5, -6, -7, -14, -15, -21, -23, -47, -65, -71};
+        int[] expecteds = {1, 1, 1, 2, 2, 1, 4, 2, 4, 3, 5, 8, 7};
+        for (int i = 0; i < ds.length; i++) {
+            ClassGroup group = new ClassGroup(new ImaginaryQuadraticRing(ds[i]));
+            String msg = "Class number of " + group.getRing().toASCIIString();
+            assertEquals(msg, expecteds[i], group.getClassNumber());
+        }
+    }
+    
+    /**
+     * Another test of the getClassNumber function, of the ClassGroup class. 
+     * The class number should be the number of reduced forms of the 
+     * discriminant, which are easy enough to count for small <i>d</i>.
+     */
+    @Test
+    public void testGetClassNumberCountsReducedForms() {
+        int d = -randomNumber(2000) - 1;
+        while (!isSquarefree(d)) {
+            d--;
+        }
+        ImaginaryQuadraticRing ring = new ImaginaryQuadraticRing(d);
+        long discr = ring.hasHalfIntegers() ? d : 4 * d;
+        int expected = 0;
+        for (long a = 1; 3 * a * a <= -discr; a++) {
+            for (long b = 1 - a; b <= a; b++) {
+                if (Math.floorMod(b * b - discr, 4 * a) == 0) {
+                    long c = (b * b - discr) / (4 * a);
+                    boolean reduced = c > a || (c == a && b >= 0);
+                    if (reduced && gcd(gcd(a, b), c) == 1) {
+                        expected++;
+                    }
+                }
+            }
+        }
+        ClassGroup group = new ClassGroup(ring);
+        String msg = "Class number of " + ring.toASCIIString();
+        assertEquals(msg, expected, group.getClassNumber());
+    }
+    
+    private static long gcd(long a, long b) {
+        return b == 0 ? Math.abs(a) : gcd(b, a % b);
+    }
+    
+    /**
+     * Test of the getInvariantFactors function, of the ClassGroup class.
+     */
+    @Test
+    public void testGetInvariantFactors() {
+        System.out.println("getInvariantFactors");
+        long[] expected = {2, 4};
+        ClassGroup group = new ClassGroup(new ImaginaryQuadraticRing(-65));
+        assertArrayEquals(expected, group.getInvariantFactors());
+        expected = new long[]{2, 2};
+        group = new ClassGroup(new ImaginaryQuadraticRing(-21));
+        assertArrayEquals(expected, group.getInvariantFactors());
+        expected = new long[]{4};
+        assertArrayEquals(expected, GROUP_ZI14.getInvariantFactors());
+        expected = new long[0];
+        group = new ClassGroup(new ImaginaryQuadraticRing(-1));
+        assertArrayEquals(expected, group.getInvariantFactors());
+    }
+    
+    /**
+     * Test of the getGenerators function, of the ClassGroup class.
+     */
+    @Test
+    public void testGetGenerators() {
+        System.out.println("getGenerators");
+        List<Ideal> expected = Arrays.asList(ideal(RING_ZI5, 2, 1, 1));
+        assertEquals(expected, GROUP_ZI5.getGenerators());
+        ClassGroup group = new ClassGroup(new ImaginaryQuadraticRing(-7));
+        assert group.getGenerators().isEmpty() 
+                : "Class group of UFD should have no generators";
+    }
+    
+    /**
+     * Another test of the getGenerators function, of the ClassGroup class. 
+     * Each generator should have the order of the corresponding invariant 
+     * factor.
+     */
+    @Test
+    public void testGeneratorOrders() {
+        ClassGroup group = new ClassGroup(new ImaginaryQuadraticRing(-4199));
+        long[] invariants = group.getInvariantFactors();
+        List<Ideal> generators = group.getGenerators();
+        assertEquals(invariants.length, generators.size());
+        for (int i = 0; i < invariants.length; i++) {
+            Ideal generator = generators.get(i);
+            String msg = "Order of " + generator.toASCIIString();
+            assertEquals(msg, invariants[i], group.orderOf(generator));
+        }
+    }
+    
+    /**
+     * Test of the getRepresentatives function, of the ClassGroup class.
+     */
+    @Test
+    public void testGetRepresentatives() {
+        System.out.println("getRepresentatives");
+        List<Ideal> expected = Arrays.asList(new Ideal(RING_ZI5), 
+                ideal(RING_ZI5, 2, 1, 1));
+        assertEquals(expected, GROUP_ZI5.getRepresentatives());
+    }
+    
+    /**
+     * Another test of the getRepresentatives function, of the ClassGroup 
+     * class. The representatives should all be different, and each should be 
+     * its own representative.
+     */
+    @Test
+    public void testRepresentativesAreDistinctAndReduced() {
+        ClassGroup group = new ClassGroup(new ImaginaryQuadraticRing(-3315));
+        List<Ideal> representatives = group.getRepresentatives();
+        Set<Ideal> distinct = new HashSet<>(representatives);
+        assertEquals(group.getClassNumber(), distinct.size());
+        for (Ideal representative : representatives) {
+            assertEquals(representative, group.representativeOf(representative));
+        }
+    }
+    
+    /**
+     * Test of the representativeOf function, of the ClassGroup class.
+     */
+    @Test
+    public void testRepresentativeOf() {
+        System.out.println("representativeOf");
+        Ideal expected = ideal(RING_ZI5, 2, 1, 1);
+        Ideal actual = GROUP_ZI5.representativeOf(ideal(RING_ZI5, 3, 1, 1));
+        assertEquals(expected, actual);
+        QuadraticInteger three = new ImaginaryQuadraticInteger(3, 0, RING_ZI5);
+        expected = new Ideal(RING_ZI5);
+        actual = GROUP_ZI5.representativeOf(new Ideal(three));
+        assertEquals(expected, actual);
+    }
+    
+    /**
+     * Another test of the representativeOf function, of the ClassGroup class. 
+     * An ideal from a different ring should be rejected.
+     */
+    @Test
+    public void testRepresentativeOfRejectsOtherRing() {
+        Ideal ideal = new Ideal(new RealQuadraticRing(10));
+        String msg = "Ideal " + ideal.toASCIIString() + " from " 
+                + "another ring should cause exception";
+        Throwable t = assertThrows(() -> {
+            Ideal result = GROUP_ZI5.representativeOf(ideal);
+            System.out.println(msg + ", not given " + result.toASCIIString());
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Test of the exponentsOf function, of the ClassGroup class. The 
+     * exponents of a product of ideals should be the sums of the exponents of 
+     * the factors, modulo the invariant factors.
+     */
+    @Test
+    public void testExponentsOf() {
+        System.out.println("exponentsOf");
+        ClassGroup group = new ClassGroup(new ImaginaryQuadraticRing(-1365));
+        long[] invariants = group.getInvariantFactors();
+        List<Ideal> representatives = group.getRepresentatives();
+        int h = group.getClassNumber();
+        Ideal first = representatives.get(randomNumber(h));
+        Ideal second = representatives.get(randomNumber(h));
+        long[] firstExps = group.exponentsOf(first);
+        long[] secondExps = group.exponentsOf(second);
+        long[] expected = new long[invariants.length];
+        for (int i = 0; i < invariants.length; i++) {
+            expected[i] = (firstExps[i] + secondExps[i]) % invariants[i];
+        }
+        long[] actual = group.exponentsOf(first.times(second));
+        assertArrayEquals(expected, actual);
+    }
+    
+    /**
+     * Test of the orderOf function, of the ClassGroup class.
+     */
+    @Test
+    public void testOrderOf() {
+        System.out.println("orderOf");
+        assertEquals(1L, GROUP_ZI14.orderOf(new Ideal(RING_ZI14)));
+        QuadraticInteger two = new ImaginaryQuadraticInteger(2, 0, RING_ZI14);
+        QuadraticInteger root = new ImaginaryQuadraticInteger(0, 1, RING_ZI14);
+        assertEquals(2L, GROUP_ZI14.orderOf(new Ideal(two, root)));
+        assertEquals(4L, GROUP_ZI14.orderOf(ideal(RING_ZI14, 3, 1, 1)));
+    }
+    
+    /**
+     * Test of the ClassGroup constructor. Even for a discriminant beyond 
+     * 2<sup>31</sup> in absolute value, the class group should be computed 
+     * quickly. The class number of 
+     * <i>O</i><sub><b>Q</b>(&radic;&minus;2147483647)</sub> is 19865, as can 
+     * be checked by counting reduced forms.
+     */
+    @Test(timeout = 5000)
+    public void testConstructorLargeDiscriminant() {
+        ImaginaryQuadraticRing ring 
+                = new ImaginaryQuadraticRing(Integer.MIN_VALUE + 1);
+        ClassGroup group = new ClassGroup(ring);
+        assertEquals(19865, group.getClassNumber());
+        long[] expected = {19865};
+        assertArrayEquals(expected, group.getInvariantFactors());
+    }
+    
+}
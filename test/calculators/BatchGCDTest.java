@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package calculators;
+
+import algebraics.AlgebraicDegreeOverflowException;
+import algebraics.quadratics.ImaginaryQuadraticInteger;
+import algebraics.quadratics.ImaginaryQuadraticRing;
+import algebraics.quadratics.QuadraticInteger;
+import algebraics.quadratics.QuadraticRing;
+import algebraics.quadratics.RealQuadraticInteger;
+import algebraics.quadratics.RealQuadraticRing;
+import arithmetic.NonEuclideanDomainException;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+/**
+ * Tests of the BatchGCD class. The expected values are worked out pair by pair 
+ * with {@link NumberTheoreticFunctionsCalculator#euclideanGCD(long, long) 
+ * NumberTheoreticFunctionsCalculator.euclideanGCD()}.
+ * @author Alonso del Arte
+ */
+public class BatchGCDTest {
+    
+    private static final Random RANDOM = new Random();
+    
+    /**
+     * Test of the batchGCD function, of the BatchGCD class, for 
+     * <code>long</code>.
+     */
+    @Test
+    public void testBatchGCD() {
+        System.out.println("batchGCD");
+        long[] numbers = {15, 77, 26, -221};
+        long[] expected = {1, 1, 13, 13};
+        long[] actual = BatchGCD.batchGCD(numbers);
+        assertArrayEquals(expected, actual);
+    }
+    
+    /**
+     * Another test of the batchGCD function, of the BatchGCD class, for 
+     * <code>long</code>. Each result should be the GCD of the number with the 
+     * product of the others, which can be worked out one pair at a time by 
+     * dividing out common factors.
+     */
+    @Test
+    public void testBatchGCDPseudorandom() {
+        int count = 200 + RANDOM.nextInt(200);
+        long[] numbers = new long[count];
+        for (int i = 0; i < count; i++) {
+            numbers[i] = RANDOM.nextInt(1 << 20) + 1;
+        }
+        long[] actual = BatchGCD.batchGCD(numbers);
+        for (int i = 0; i < count; i++) {
+            long remaining = numbers[i];
+            long expected = 1;
+            for (int j = 0; j < count && remaining > 1; j++) {
+                if (j != i) {
+                    long common = NumberTheoreticFunctionsCalculator 
+                            .euclideanGCD(remaining, numbers[j]);
+                    expected *= common;
+                    remaining /= common;
+                }
+            }
+            String msg = "GCD of " + numbers[i] 
+                    + " with product of all others";
+            assertEquals(msg, expected, actual[i]);
+        }
+    }
+    
+    /**
+     * Another test of the batchGCD function, of the BatchGCD class, for 
+     * <code>BigInteger</code>. The numbers are products of two primes from a 
+     * short list, so that many of them share factors.
+     */
+    @Test
+    public void testBatchGCDBigInteger() {
+        BigInteger p = BigInteger.valueOf(2147483647);
+        BigInteger q = BigInteger.valueOf(2147483629);
+        BigInteger r = BigInteger.valueOf(2147483587);
+        BigInteger s = BigInteger.valueOf(2147483579);
+        BigInteger[] numbers = {p.multiply(q), r.multiply(s), q.multiply(q), 
+            p.negate()};
+        BigInteger[] expected = {p.multiply(q), BigInteger.ONE, q, p};
+        BigInteger[] actual = BatchGCD.batchGCD(numbers);
+        assertArrayEquals(expected, actual);
+    }
+    
+    /**
+     * Another test of the batchGCD function, of the BatchGCD class. Zero should 
+     * be rejected.
+     */
+    @Test
+    public void testBatchGCDRejectsZero() {
+        long[] numbers = {15, 0, 26};
+        String msg = "Batch GCD with 0 should cause exception";
+        Throwable t = assertThrows(() -> {
+            long[] results = BatchGCD.batchGCD(numbers);
+            System.out.println(msg + ", not given " + results.length 
+                    + " results");
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Another test of the batchGCD function, of the BatchGCD class, for 
+     * Gaussian integers. Since 1 + 3<i>i</i> = (2 + <i>i</i>)(1 + <i>i</i>), 
+     * the GCDs for 2 + <i>i</i> and 1 + 3<i>i</i> should be associates of 2 + 
+     * <i>i</i>, and the GCDs for 3 and 4 + <i>i</i> should be units.
+     */
+    @Test
+    public void testBatchGCDGaussian() throws NonEuclideanDomainException {
+        QuadraticRing ring = new ImaginaryQuadraticRing(-1);
+        QuadraticInteger[] numbers = {new ImaginaryQuadraticInteger(2, 1, ring), 
+            new ImaginaryQuadraticInteger(3, 0, ring), 
+            new ImaginaryQuadraticInteger(1, 3, ring), 
+            new ImaginaryQuadraticInteger(4, 1, ring)};
+        long[] expected = {5, 1, 5, 1};
+        QuadraticInteger[] results = BatchGCD.batchGCD(numbers);
+        for (int i = 0; i < numbers.length; i++) {
+            String msg = "Norm of GCD for " + numbers[i].toASCIIString();
+            assertEquals(msg, expected[i], results[i].norm());
+        }
+    }
+    
+    /**
+     * Another test of the batchGCD function, of the BatchGCD class, for a real 
+     * norm-Euclidean ring. A number should be found to share a factor with 
+     * another exactly when some pairwise GCD is not a unit.
+     */
+    @Test
+    public void testBatchGCDRealQuadratic() throws NonEuclideanDomainException {
+        QuadraticRing ring = new RealQuadraticRing(73);
+        int count = 50;
+        QuadraticInteger[] numbers = new QuadraticInteger[count];
+        for (int i = 0; i < count; i++) {
+            do {
+                numbers[i] = new RealQuadraticInteger(RANDOM.nextInt(200) - 100, 
+                        RANDOM.nextInt(200) - 100, ring);
+            } while (numbers[i].norm() == 0);
+        }
+        QuadraticInteger[] results = BatchGCD.batchGCD(numbers);
+        for (int i = 0; i < count; i++) {
+            boolean expected = false;
+            for (int j = 0; j < count; j++) {
+                if (j != i) {
+                    long norm = NumberTheoreticFunctionsCalculator 
+                            .euclideanGCD(numbers[i], numbers[j]).norm();
+                    expected |= Math.abs(norm) != 1;
+                }
+            }
+            boolean actual = Math.abs(results[i].norm()) != 1;
+            String msg = numbers[i].toASCIIString() + " shares a factor? GCD " 
+                    + results[i].toASCIIString();
+            assertEquals(msg, expected, actual);
+        }
+    }
+    
+    /**
+     * Another test of the batchGCD function, of the BatchGCD class. Numbers 
+     * from a ring that is not norm-Euclidean should be rejected.
+     */
+    @Test
+    public void testBatchGCDRejectsNonEuclideanRing() {
+        QuadraticRing ring = new ImaginaryQuadraticRing(-5);
+        QuadraticInteger[] numbers = {new ImaginaryQuadraticInteger(2, 1, ring), 
+            new ImaginaryQuadraticInteger(3, 0, ring)};
+        String msg = "Batch GCD in " + ring.toASCIIString() 
+                + " should cause exception";
+        Throwable t = assertThrows(() -> {
+            QuadraticInteger[] results = BatchGCD.batchGCD(numbers);
+            System.out.println(msg + ", not given " + results.length 
+                    + " results");
+        }, NonEuclideanDomainException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Another test of the batchGCD function, of the BatchGCD class. Numbers 
+     * from different rings should be rejected.
+     */
+    @Test
+    public void testBatchGCDRejectsMixedRings() {
+        QuadraticInteger[] numbers = {new ImaginaryQuadraticInteger(2, 1, 
+                new ImaginaryQuadraticRing(-1)), 
+            new ImaginaryQuadraticInteger(1, 1, new ImaginaryQuadraticRing(-2))};
+        String msg = "Batch GCD across rings should cause exception";
+        Throwable t = assertThrows(() -> {
+            QuadraticInteger[] results = BatchGCD.batchGCD(numbers);
+            System.out.println(msg + ", not given " + results.length 
+                    + " results");
+        }, AlgebraicDegreeOverflowException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package calculators;
+
+import algebraics.quadratics.ImaginaryQuadraticRing;
+
+import static calculators.NumberTheoreticFunctionsCalculator.isPrime;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+/**
+ * Tests of the ImagQuadClassificationGrid class.
+ * @author Alonso del Arte
+ */
+public class ImagQuadClassificationGridTest {
+    
+    private static final Random RANDOM = new Random();
+    
+    private static final ImaginaryQuadraticRing RING_GAUSSIAN 
+            = new ImaginaryQuadraticRing(-1);
+    
+    private static final ImaginaryQuadraticRing RING_EISENSTEIN 
+            = new ImaginaryQuadraticRing(-3);
+    
+    private static final ImaginaryQuadraticRing RING_ZI5 
+            = new ImaginaryQuadraticRing(-5);
+    
+    private static final ImaginaryQuadraticRing RING_OQI7 
+            = new ImaginaryQuadraticRing(-7);
+    
+    /**
+     * Test of the getRing function, of the ImagQuadClassificationGrid class.
+     */
+    @Test
+    public void testGetRing() {
+        System.out.println("getRing");
+        ImagQuadClassificationGrid instance 
+                = new ImagQuadClassificationGrid(RING_ZI5);
+        assertEquals(RING_ZI5, instance.getRing());
+    }
+    
+    /**
+     * Test of the ensureCoverage procedure, of the ImagQuadClassificationGrid 
+     * class. The grid should start out empty.
+     */
+    @Test
+    public void testEnsureCoverage() {
+        System.out.println("ensureCoverage");
+        ImagQuadClassificationGrid instance 
+                = new ImagQuadClassificationGrid(RING_GAUSSIAN);
+        assertEquals(0, instance.getColumns());
+        assertEquals(0, instance.getRows());
+        int maxX = RANDOM.nextInt(128) + 16;
+        int maxY = RANDOM.nextInt(64) + 8;
+        instance.ensureCoverage(maxX, maxY);
+        String msg = "Grid should have more than " + maxX + " columns";
+        assert instance.getColumns() > maxX : msg;
+        msg = "Grid should have more than " + maxY + " rows";
+        assert instance.getRows() > maxY : msg;
+    }
+    
+    /**
+     * Another test of the ensureCoverage procedure, of the 
+     * ImagQuadClassificationGrid class. Extending a grid should give the same 
+     * classifications as classifying the larger area from the start.
+     */
+    @Test
+    public void testEnsureCoverageExtendsConsistently() {
+        ImagQuadClassificationGrid extended 
+                = new ImagQuadClassificationGrid(RING_OQI7);
+        extended.ensureCoverage(10, 5);
+        extended.ensureCoverage(20, 2);
+        extended.ensureCoverage(40, 20);
+        ImagQuadClassificationGrid fresh 
+                = new ImagQuadClassificationGrid(RING_OQI7);
+        fresh.ensureCoverage(40, 20);
+        for (int y = 0; y <= 20; y++) {
+            for (int x = 0; x <= 40; x++) {
+                String msg = "Classification of (" + x + ", " + y + ")";
+                assertEquals(msg, fresh.classify(x, y), 
+                        extended.classify(x, y));
+            }
+        }
+    }
+    
+    /**
+     * Another test of the ensureCoverage procedure, of the 
+     * ImagQuadClassificationGrid class. Negative coordinates should be 
+     * rejected.
+     */
+    @Test
+    public void testEnsureCoverageRejectsNegativeCoordinates() {
+        ImagQuadClassificationGrid instance 
+                = new ImagQuadClassificationGrid(RING_GAUSSIAN);
+        int maxX = -RANDOM.nextInt(128) - 1;
+        String msg = "Column " + maxX + " should cause exception";
+        Throwable t = assertThrows(() -> {
+            instance.ensureCoverage(maxX, 10);
+            System.out.println(msg + ", not extended grid to " 
+                    + instance.getColumns() + " columns");
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Test of the classify function, of the ImagQuadClassificationGrid class. 
+     * In <b>Z</b>[<i>i</i>], 3 and 3<i>i</i> are inert, 1 + <i>i</i> and 2 are 
+     * ramified, and 5 splits as (2 &minus; <i>i</i>)(2 + <i>i</i>).
+     */
+    @Test
+    public void testClassify() {
+        System.out.println("classify");
+        ImagQuadClassificationGrid instance 
+                = new ImagQuadClassificationGrid(RING_GAUSSIAN);
+        assertEquals(ImagQuadClassificationGrid.COMPOSITE, 
+                instance.classify(0, 0));
+        assertEquals(ImagQuadClassificationGrid.UNIT, instance.classify(1, 0));
+        assertEquals(ImagQuadClassificationGrid.UNIT, instance.classify(0, -1));
+        assertEquals(ImagQuadClassificationGrid.RAMIFIED, 
+                instance.classify(1, 1));
+        assertEquals(ImagQuadClassificationGrid.RAMIFIED, 
+                instance.classify(2, 0));
+        assertEquals(ImagQuadClassificationGrid.INERT, 
+                instance.classify(3, 0));
+        assertEquals(ImagQuadClassificationGrid.INERT, 
+                instance.classify(0, 3));
+        assertEquals(ImagQuadClassificationGrid.SPLIT, 
+                instance.classify(-5, 0));
+        assertEquals(ImagQuadClassificationGrid.INERT, 
+                instance.classify(2, -1));
+        assertEquals(ImagQuadClassificationGrid.COMPOSITE, 
+                instance.classify(3, 4));
+    }
+    
+    /**
+     * Another test of the classify function, of the ImagQuadClassificationGrid 
+     * class. In <b>Z</b>[&radic;&minus;5], 2 ramifies and 3 splits, but 
+     * neither has principal prime factors. By contrast, 5 = 
+     * &minus;(&radic;&minus;5)<sup>2</sup> and 29 = (3 &minus; 
+     * 2&radic;&minus;5)(3 + 2&radic;&minus;5).
+     */
+    @Test
+    public void testClassifyNonUFD() {
+        ImagQuadClassificationGrid instance 
+                = new ImagQuadClassificationGrid(RING_ZI5);
+        byte expected = ImagQuadClassificationGrid.RAMIFIED 
+                | ImagQuadClassificationGrid.NO_PRINCIPAL_FACTORS;
+        assertEquals(expected, instance.classify(2, 0));
+        expected = ImagQuadClassificationGrid.SPLIT 
+                | ImagQuadClassificationGrid.NO_PRINCIPAL_FACTORS;
+        assertEquals(expected, instance.classify(3, 0));
+        assertEquals(ImagQuadClassificationGrid.RAMIFIED, 
+                instance.classify(5, 0));
+        assertEquals(ImagQuadClassificationGrid.RAMIFIED, 
+                instance.classify(0, 1));
+        assertEquals(ImagQuadClassificationGrid.SPLIT, 
+                instance.classify(29, 0));
+        assertEquals(ImagQuadClassificationGrid.INERT, 
+                instance.classify(3, 2));
+        assertEquals(ImagQuadClassificationGrid.INERT, 
+                instance.classify(11, 0));
+    }
+    
+    /**
+     * Another test of the classify function, of the ImagQuadClassificationGrid 
+     * class. In <b>Z</b>[&omega;], the coordinates are doubled, so (1, 1) is 
+     * <sup>1</sup>&frasl;<sub>2</sub> + 
+     * <sup>&radic;&minus;3</sup>&frasl;<sub>2</sub>, a unit, and (5, 5) is an 
+     * associate of 5, which is inert. Coordinates of different parity do not 
+     * correspond to numbers in the ring.
+     */
+    @Test
+    public void testClassifyHalfIntegers() {
+        ImagQuadClassificationGrid instance 
+                = new ImagQuadClassificationGrid(RING_EISENSTEIN);
+        assertEquals(ImagQuadClassificationGrid.UNIT, instance.classify(1, 1));
+        assertEquals(ImagQuadClassificationGrid.UNIT, instance.classify(2, 0));
+        assertEquals(ImagQuadClassificationGrid.INERT, 
+                instance.classify(4, 0));
+        assertEquals(ImagQuadClassificationGrid.RAMIFIED, 
+                instance.classify(3, 1));
+        assertEquals(ImagQuadClassificationGrid.INERT, 
+                instance.classify(5, 5));
+        assertEquals(ImagQuadClassificationGrid.SPLIT, 
+                instance.classify(14, 0));
+        assertEquals(ImagQuadClassificationGrid.COMPOSITE, 
+                instance.classify(2, 1));
+    }
+    
+    /**
+     * Another test of the classify function, of the ImagQuadClassificationGrid 
+     * class. Every number off the real axis should be classified as prime if 
+     * and only if its norm is prime.
+     */
+    @Test
+    public void testClassifyAgreesWithNormPrimality() {
+        ImagQuadClassificationGrid instance 
+                = new ImagQuadClassificationGrid(RING_OQI7);
+        for (int y = 1; y < 40; y++) {
+            for (int x = y % 2; x < 80; x += 2) {
+                long norm = ((long) x * x + 7L * y * y) / 4;
+                boolean expected = isPrime(norm);
+                boolean actual = instance.classify(x, y) 
+                        != ImagQuadClassificationGrid.COMPOSITE;
+                String msg = "Classification of (" + x + ", " + y 
+                        + "), with norm " + norm;
+                assertEquals(msg, expected, actual);
+            }
+        }
+    }
+    
+}
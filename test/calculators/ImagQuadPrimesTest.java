@@ -0,0 +1,284 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package calculators;
+
+import algebraics.AlgebraicInteger;
+import algebraics.quadratics.ImaginaryQuadraticInteger;
+import algebraics.quadratics.ImaginaryQuadraticRing;
+import algebraics.quadratics.QuadraticInteger;
+import algebraics.quadratics.QuadraticRing;
+
+import static calculators.NumberTheoreticFunctionsCalculator.isPrime;
+import static calculators.NumberTheoreticFunctionsCalculator.isqrt;
+import static calculators.NumberTheoreticFunctionsCalculator.placeInPrimarySector;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+/**
+ * Tests of the ImagQuadPrimes class. The expected primes are worked out by 
+ * going through the numbers of the ring in a box and checking each one with 
+ * {@link NumberTheoreticFunctionsCalculator#isPrime(AlgebraicInteger) 
+ * NumberTheoreticFunctionsCalculator.isPrime(AlgebraicInteger)}.
+ * @author Alonso del Arte
+ */
+public class ImagQuadPrimesTest {
+
+    private static final Random RANDOM = new Random();
+    
+    private static final ImaginaryQuadraticRing RING_GAUSSIAN 
+            = new ImaginaryQuadraticRing(-1);
+    
+    private static final int[] RADICANDS = {-1, -2, -3, -5, -6, -7, -11, -15, 
+        -19, -21, -23, -43, -67, -163};
+    
+    // The primes are compared by their unit multiples, since the primary 
+    // sector for d = -3 is worked out from angles, and the box search comes 
+    // up with both 3/2 + sqrt(-3)/2 and 3/2 - sqrt(-3)/2, which are at 30 and 
+    // -30 degrees
+    private static Set<QuadraticInteger> associates(QuadraticInteger number) {
+        QuadraticRing ring = number.getRing();
+        QuadraticInteger unit = switch (ring.getRadicand()) {
+            case -1 -> QuadraticInteger.apply(0, 1, ring);
+            case -3 -> QuadraticInteger.apply(1, 1, ring, 2);
+            default -> QuadraticInteger.apply(-1, 0, ring);
+        };
+        Set<QuadraticInteger> multiples = new HashSet<>();
+        QuadraticInteger multiple = number;
+        while (multiples.add(multiple)) {
+            multiple = multiple.times(unit);
+        }
+        return multiples;
+    }
+    
+    private static Set<Set<QuadraticInteger>> primesInBox( 
+            ImaginaryQuadraticRing ring, int bound) {
+        int absD = -ring.getRadicand();
+        int denom = ring.hasHalfIntegers() ? 2 : 1;
+        long scaledBound = (long) denom * denom * bound;
+        int maxX = (int) isqrt(scaledBound);
+        int maxY = (int) isqrt(scaledBound / absD);
+        Set<Set<QuadraticInteger>> primes = new HashSet<>();
+        for (int x = -maxX; x <= maxX; x++) {
+            for (int y = -maxY; y <= maxY; y++) {
+                if (denom == 2 && ((x ^ y) & 1) != 0) {
+                    continue;
+                }
+                if ((long) x * x + (long) absD * y * y > scaledBound) {
+                    continue;
+                }
+                ImaginaryQuadraticInteger number 
+                        = new ImaginaryQuadraticInteger(x, y, ring, denom);
+                if (isPrime(number)) {
+                    primes.add(associates(number));
+                }
+            }
+        }
+        return primes;
+    }
+    
+    /**
+     * Test of the toString function, of the ImagQuadPrimes class.
+     */
+    @Test
+    public void testToString() {
+        System.out.println("toString");
+        ImagQuadPrimes instance = new ImagQuadPrimes(RING_GAUSSIAN, 100);
+        String expected = "Primes of Z[i] with norm up to 100";
+        String actual = instance.toString();
+        assertEquals(expected, actual);
+    }
+    
+    /**
+     * Test of the getRing function, of the ImagQuadPrimes class.
+     */
+    @Test
+    public void testGetRing() {
+        System.out.println("getRing");
+        ImaginaryQuadraticRing expected = new ImaginaryQuadraticRing(-5);
+        ImagQuadPrimes instance = new ImagQuadPrimes(expected, 100);
+        ImaginaryQuadraticRing actual = instance.getRing();
+        assertEquals(expected, actual);
+    }
+    
+    /**
+     * Test of the getNormBound function, of the ImagQuadPrimes class.
+     */
+    @Test
+    public void testGetNormBound() {
+        System.out.println("getNormBound");
+        int expected = RANDOM.nextInt(1000);
+        ImagQuadPrimes instance = new ImagQuadPrimes(RING_GAUSSIAN, expected);
+        int actual = instance.getNormBound();
+        assertEquals(expected, actual);
+    }
+    
+    /**
+     * Test of the stream function, of the ImagQuadPrimes class.
+     */
+    @Test
+    public void testStream() {
+        System.out.println("stream");
+        List<ImaginaryQuadraticInteger> expected = Arrays.asList( 
+                new ImaginaryQuadraticInteger(1, 1, RING_GAUSSIAN), 
+                new ImaginaryQuadraticInteger(3, 0, RING_GAUSSIAN), 
+                new ImaginaryQuadraticInteger(2, 1, RING_GAUSSIAN), 
+                new ImaginaryQuadraticInteger(2, -1, RING_GAUSSIAN), 
+                new ImaginaryQuadraticInteger(3, 2, RING_GAUSSIAN), 
+                new ImaginaryQuadraticInteger(3, -2, RING_GAUSSIAN), 
+                new ImaginaryQuadraticInteger(4, 1, RING_GAUSSIAN), 
+                new ImaginaryQuadraticInteger(4, -1, RING_GAUSSIAN));
+        ImagQuadPrimes instance = new ImagQuadPrimes(RING_GAUSSIAN, 20);
+        List<ImaginaryQuadraticInteger> actual = instance.stream() 
+                .collect(Collectors.toList());
+        assertEquals(expected, actual);
+    }
+    
+    /**
+     * Another test of the stream function, of the ImagQuadPrimes class. The 
+     * primes should be the same as those found in a box, each given exactly 
+     * once, including in rings with "half-integers" and in rings with class 
+     * number greater than 1.
+     */
+    @Test
+    public void testStreamAgreesWithBoxSearch() {
+        int bound = 2000;
+        for (int d : RADICANDS) {
+            ImaginaryQuadraticRing ring = new ImaginaryQuadraticRing(d);
+            Set<Set<QuadraticInteger>> expected = primesInBox(ring, bound);
+            List<Set<QuadraticInteger>> list = new ImagQuadPrimes(ring, 
+                    bound).stream().map(ImagQuadPrimesTest::associates) 
+                    .collect(Collectors.toList());
+            Set<Set<QuadraticInteger>> actual = new HashSet<>(list);
+            String msg = "Primes of " + ring.toASCIIString() 
+                    + " with norm up to " + bound;
+            assertEquals(msg, expected, actual);
+            assertEquals(msg + " should not repeat", expected.size(), 
+                    list.size());
+        }
+    }
+    
+    /**
+     * Another test of the stream function, of the ImagQuadPrimes class. There 
+     * are no primes above 3 in <b>Z</b>[&radic;&minus;5], since the prime 
+     * ideals above 3 are not principal, even though 3 is irreducible.
+     */
+    @Test
+    public void testStreamSkipsNonPrincipalIdeals() {
+        ImaginaryQuadraticRing ring = new ImaginaryQuadraticRing(-5);
+        ImagQuadPrimes instance = new ImagQuadPrimes(ring, 10000);
+        String msg = "No prime of " + ring.toString() 
+                + " should have norm 2, 3 or 9";
+        assert instance.stream().mapToLong(ImaginaryQuadraticInteger::norm) 
+                .noneMatch(n -> n == 2 || n == 3 || n == 9) : msg;
+    }
+    
+    /**
+     * Another test of the stream function, of the ImagQuadPrimes class. A 
+     * parallel stream should give the same primes in the same order as a 
+     * sequential stream.
+     */
+    @Test
+    public void testParallelStreamMatchesSequential() {
+        ImaginaryQuadraticRing ring = new ImaginaryQuadraticRing(-7);
+        ImagQuadPrimes instance = new ImagQuadPrimes(ring, 
+                8 * ImagQuadPrimes.SEGMENT_SIZE + 1);
+        List<ImaginaryQuadraticInteger> expected = instance.stream() 
+                .collect(Collectors.toList());
+        List<ImaginaryQuadraticInteger> actual = instance.stream().parallel() 
+                .collect(Collectors.toList());
+        assertEquals(expected, actual);
+    }
+    
+    /**
+     * Another test of the stream function, of the ImagQuadPrimes class. A 
+     * split should come at the start of a segment, so that the prefix covers 
+     * the same range as a stream over a whole number of segments.
+     */
+    @Test
+    public void testStreamSplitsOnSegmentBoundary() {
+        int segments = RANDOM.nextInt(4) + 2;
+        ImaginaryQuadraticRing ring = new ImaginaryQuadraticRing(-2);
+        ImagQuadPrimes instance = new ImagQuadPrimes(ring, 
+                (2 * segments + 1) * ImagQuadPrimes.SEGMENT_SIZE + 1);
+        Spliterator<ImaginaryQuadraticInteger> spliterator 
+                = instance.stream().spliterator();
+        Spliterator<ImaginaryQuadraticInteger> prefix 
+                = spliterator.trySplit();
+        assert prefix != null : instance.toString() + " should split";
+        ImagQuadPrimes wholeSegments = new ImagQuadPrimes(ring, 
+                segments * ImagQuadPrimes.SEGMENT_SIZE + 1);
+        long expected = wholeSegments.stream().spliterator().estimateSize();
+        long actual = prefix.estimateSize();
+        String msg = "Prefix should cover " + segments + " segments";
+        assertEquals(msg, expected, actual);
+    }
+    
+    /**
+     * Another test of the stream function, of the ImagQuadPrimes class. Every 
+     * number given should be a prime in the primary sector with norm not 
+     * greater than the bound.
+     */
+    @Test
+    public void testStreamGivesPrimesInPrimarySector() {
+        ImaginaryQuadraticRing ring = new ImaginaryQuadraticRing(-3);
+        int bound = 3 * ImagQuadPrimes.SEGMENT_SIZE;
+        ImagQuadPrimes instance = new ImagQuadPrimes(ring, bound);
+        instance.stream().forEach(number -> {
+            String msg = number.toString() + " should be prime";
+            assert isPrime(number) : msg;
+            assertEquals(number, placeInPrimarySector(number));
+            String normMsg = "Norm of " + number.toString() 
+                    + " should not exceed " + bound;
+            assert number.norm() <= bound : normMsg;
+        });
+    }
+    
+    /**
+     * Test of the constructor, of the ImagQuadPrimes class. The norm bound 
+     * should not be negative.
+     */
+    @Test
+    public void testConstructorRejectsNegativeBound() {
+        int bound = -RANDOM.nextInt(1000) - 1;
+        String msg = "Norm bound " + bound + " should cause exception";
+        Throwable t = assertThrows(() -> {
+            ImagQuadPrimes badInstance = new ImagQuadPrimes(RING_GAUSSIAN, 
+                    bound);
+            System.out.println(msg + ", not created " 
+                    + badInstance.toString());
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        String numStr = Integer.toString(bound);
+        String containsMsg = "Exception message should contain " + numStr;
+        assert excMsg.contains(numStr) : containsMsg;
+        System.out.println("\"" + excMsg + "\"");
+    }
+
+}
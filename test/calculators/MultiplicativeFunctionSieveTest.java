@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2024 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package calculators;
+
+import static calculators.NumberTheoreticFunctionsCalculator.primeFactors;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+/**
+ * Tests of the MultiplicativeFunctionSieve class. The expected values are 
+ * worked out from {@link NumberTheoreticFunctionsCalculator#primeFactors(int) 
+ * NumberTheoreticFunctionsCalculator.primeFactors(int)}.
+ * @author Alonso del Arte
+ */
+public class MultiplicativeFunctionSieveTest {
+    
+    private static final Random RANDOM = new Random();
+    
+    private static final int LIMIT = 10000;
+    
+    private static final MultiplicativeFunctionSieve SIEVE 
+            = new MultiplicativeFunctionSieve(LIMIT);
+    
+    /**
+     * Test of the getLimit function, of the MultiplicativeFunctionSieve class.
+     */
+    @Test
+    public void testGetLimit() {
+        System.out.println("getLimit");
+        int expected = RANDOM.nextInt(LIMIT) + 1;
+        MultiplicativeFunctionSieve instance 
+                = new MultiplicativeFunctionSieve(expected);
+        int actual = instance.getLimit();
+        assertEquals(expected, actual);
+    }
+    
+    /**
+     * Test of the getPrimeCount function, of the MultiplicativeFunctionSieve 
+     * class. There are 25 primes between 1 and 100 and 1229 primes between 1 
+     * and 10000.
+     */
+    @Test
+    public void testGetPrimeCount() {
+        System.out.println("getPrimeCount");
+        MultiplicativeFunctionSieve instance 
+                = new MultiplicativeFunctionSieve(100);
+        assertEquals(25, instance.getPrimeCount());
+        assertEquals(1229, SIEVE.getPrimeCount());
+    }
+    
+    /**
+     * Test of the covers function, of the MultiplicativeFunctionSieve class.
+     */
+    @Test
+    public void testCovers() {
+        System.out.println("covers");
+        int num = RANDOM.nextInt(LIMIT) + 1;
+        String msg = "Sieve up to " + LIMIT + " should cover " + num;
+        assert SIEVE.covers(num) : msg;
+        msg = "Sieve up to " + LIMIT + " should cover " + (-num);
+        assert SIEVE.covers(-num) : msg;
+        msg = "Sieve should not cover 0";
+        assert !SIEVE.covers(0) : msg;
+        num = LIMIT + RANDOM.nextInt(LIMIT) + 1;
+        msg = "Sieve up to " + LIMIT + " should not cover " + num;
+        assert !SIEVE.covers(num) : msg;
+        msg = "Sieve should not cover Integer.MIN_VALUE";
+        assert !SIEVE.covers(Integer.MIN_VALUE) : msg;
+    }
+    
+    /**
+     * Test of the smallestPrimeFactor function, of the 
+     * MultiplicativeFunctionSieve class.
+     */
+    @Test
+    public void testSmallestPrimeFactor() {
+        System.out.println("smallestPrimeFactor");
+        assertEquals(1, SIEVE.smallestPrimeFactor(1));
+        for (int n = 2; n <= LIMIT; n++) {
+            int expected = primeFactors(n).get(0);
+            String msg = "Smallest prime factor of " + n;
+            assertEquals(msg, expected, SIEVE.smallestPrimeFactor(n));
+            assertEquals(msg, expected, SIEVE.smallestPrimeFactor(-n));
+        }
+    }
+    
+    /**
+     * Test of the moebiusMu function, of the MultiplicativeFunctionSieve class.
+     */
+    @Test
+    public void testMoebiusMu() {
+        System.out.println("moebiusMu");
+        assertEquals(1, SIEVE.moebiusMu(1));
+        for (int n = 2; n <= LIMIT; n++) {
+            List<Integer> factors = primeFactors(n);
+            Set<Integer> distinct = new HashSet<>(factors);
+            byte expected;
+            if (distinct.size() < factors.size()) {
+                expected = 0;
+            } else {
+                expected = (byte) ((factors.size() % 2 == 0) ? 1 : -1);
+            }
+            String msg = "\u03BC(" + n + ")";
+            assertEquals(msg, expected, SIEVE.moebiusMu(n));
+            assertEquals(msg, expected, SIEVE.moebiusMu(-n));
+        }
+    }
+    
+    /**
+     * Test of the kernel function, of the MultiplicativeFunctionSieve class. 
+     * The kernel of a negative number should be negative.
+     */
+    @Test
+    public void testKernel() {
+        System.out.println("kernel");
+        assertEquals(1, SIEVE.kernel(1));
+        assertEquals(-1, SIEVE.kernel(-1));
+        for (int n = 2; n <= LIMIT; n++) {
+            int expected = 1;
+            for (int p : new HashSet<>(primeFactors(n))) {
+                expected *= p;
+            }
+            String msg = "Kernel of " + n;
+            assertEquals(msg, expected, SIEVE.kernel(n));
+            assertEquals(msg, -expected, SIEVE.kernel(-n));
+        }
+    }
+    
+    /**
+     * Test of the isSquarefree function, of the MultiplicativeFunctionSieve 
+     * class.
+     */
+    @Test
+    public void testIsSquarefree() {
+        System.out.println("isSquarefree");
+        assert SIEVE.isSquarefree(1) : "1 should be squarefree";
+        assert SIEVE.isSquarefree(-1) : "-1 should be squarefree";
+        for (int n = 2; n <= LIMIT; n++) {
+            List<Integer> factors = primeFactors(n);
+            boolean expected = new HashSet<>(factors).size() == factors.size();
+            String msg = n + " squarefree";
+            assertEquals(msg, expected, SIEVE.isSquarefree(n));
+            assertEquals(msg, expected, SIEVE.isSquarefree(-n));
+        }
+    }
+    
+    /**
+     * Another test of the isSquarefree function, of the 
+     * MultiplicativeFunctionSieve class. A number beyond the limit of the sieve 
+     * can't be looked up.
+     */
+    @Test
+    public void testNumberBeyondLimitCausesException() {
+        int num = LIMIT + RANDOM.nextInt(LIMIT) + 1;
+        String msg = "Looking up " + num + " in sieve up to " + LIMIT 
+                + " should cause exception";
+        Throwable t = assertThrows(() -> {
+            boolean result = SIEVE.isSquarefree(num);
+            System.out.println(msg + ", not given result " + result);
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        String numStr = Integer.toString(num);
+        String containsMsg = "Exception message should contain " + numStr;
+        assert excMsg.contains(numStr) : containsMsg;
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Test of the constructor, of the MultiplicativeFunctionSieve class. A 
+     * limit less than 1 should be rejected.
+     */
+    @Test
+    public void testConstructorRejectsNonPositiveLimit() {
+        int limit = -RANDOM.nextInt(LIMIT);
+        String msg = "Limit " + limit + " should cause exception";
+        Throwable t = assertThrows(() -> {
+            MultiplicativeFunctionSieve badSieve 
+                    = new MultiplicativeFunctionSieve(limit);
+            System.out.println(msg + ", not created sieve up to " 
+                    + badSieve.getLimit());
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+}
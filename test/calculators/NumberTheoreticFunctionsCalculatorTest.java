@@ -36,6 +36,7 @@ import static calculators.EratosthenesSieve.randomPrime;
 import static calculators.EratosthenesSieve.randomPrimeOtherThan;
 import static calculators.NumberTheoreticFunctionsCalculator.*;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -1263,7 +1264,7 @@ public class NumberTheoreticFunctionsCalculatorTest {
      * This test checks Jacobi(<i>n</i>, <i>pq</i>), where <i>n</i> is an 
      * integer from 15 to 19, <i>p</i> is an odd prime and <i>q</i> is the next 
      * higher prime.
-     */@org.junit.Ignore
+     */
     @Test
     public void testJacobiSymbol() {
         System.out.println("symbolJacobi");
@@ -1301,7 +1302,7 @@ public class NumberTheoreticFunctionsCalculatorTest {
      * Legendre symbol test fails, the result of this test is meaningless. Then 
      * follows the actual business of checking Jacobi(<i>n</i>, <i>m</i>).
      */
-@org.junit.Ignore    @Test
+    @Test
     public void testJacobiLegendreCorrespondence() {
         System.out.println("Checking overlap with Legendre symbol...");
         for (int i = 1; i < PRIMES_LIST_STOP; i++) {
@@ -1334,7 +1335,7 @@ public class NumberTheoreticFunctionsCalculatorTest {
      * Legendre(<i>a</i>, <i>p</i>) = Kronecker(<i>a</i>, <i>p</i>), where 
      * <i>p</i> is an odd prime.
      */
-@org.junit.Ignore    @Test
+    @Test
     public void testKroneckerLegendreCorrespondence() {
         for (int i = 1; i < PRIMES_LIST_STOP; i++) {
             for (int a = 7; a < 11; a++) {
@@ -1371,7 +1372,7 @@ public class NumberTheoreticFunctionsCalculatorTest {
      * &minus;2), Kronecker(<i>n</i>, &minus;1) and Kronecker(<i>n</i>, 2). If 
      * either the Legendre symbol test or the Jacobi symbol test fails, the 
      * result of this test is meaningless.
-     */@org.junit.Ignore
+     */
     @Test
     public void testKroneckerSymbol() {
         System.out.println("symbolKronecker");
@@ -1432,7 +1433,7 @@ public class NumberTheoreticFunctionsCalculatorTest {
      * NumberTheoreticFunctionsCalculator. This test checks three specific 
      * cases: Kronecker(33, &minus;70) = &minus;1, Kronecker(32, &minus;70) = 0 
      * and Kronecker(31, &minus;70) = 1.
-     */@org.junit.Ignore
+     */
     @Test
     public void testKroneckerSymbolM70CasesWNegN() {
         assertEquals(-1, NumberTheoreticFunctionsCalculator.symbolKronecker(-33, 70));
@@ -1445,7 +1446,7 @@ public class NumberTheoreticFunctionsCalculatorTest {
      * NumberTheoreticFunctionsCalculator. This test checks three specific 
      * cases: Kronecker(31, 70) = &minus;1, Kronecker(32, 70) = 0 and 
      * Kronecker(33, 70) = 1.
-     */@org.junit.Ignore
+     */
     @Test
     public void testKroneckerSymbolM70Cases() {
         assertEquals(-1, symbolKronecker(31, 70));
@@ -1826,6 +1827,101 @@ public class NumberTheoreticFunctionsCalculatorTest {
         }
     }
     
+    /**
+     * Another test of the isPerfectSquare function, of the 
+     * NumberTheoreticFunctionsCalculator class. Squares near the top of the 
+     * range of <code>long</code>, where floating point square roots are not 
+     * exact, should still be recognized, and their neighbors should not be.
+     */
+    @Test
+    public void testIsPerfectSquareBeyondDoublePrecision() {
+        long root = 3037000499L - RANDOM.nextInt(1024);
+        long square = root * root;
+        String msg = square + " should be found to be a perfect square";
+        assert isPerfectSquare(square) : msg;
+        msg = (square + 1) + " should NOT be found to be a perfect square";
+        assert !isPerfectSquare(square + 1) : msg;
+        msg = (square - 1) + " should NOT be found to be a perfect square";
+        assert !isPerfectSquare(square - 1) : msg;
+    }
+    
+    /**
+     * Another test of the isPerfectSquare function, of the 
+     * NumberTheoreticFunctionsCalculator class. The <code>BigInteger</code> 
+     * overload should recognize squares beyond the range of 
+     * <code>long</code>.
+     */
+    @Test
+    public void testIsPerfectSquareBigInteger() {
+        BigInteger root = BigInteger.ONE.shiftLeft(64)
+                .add(BigInteger.valueOf(RANDOM.nextInt(Integer.MAX_VALUE)));
+        BigInteger square = root.multiply(root);
+        String msg = square.toString() 
+                + " should be found to be a perfect square";
+        assert isPerfectSquare(square) : msg;
+        BigInteger neighbor = square.add(BigInteger.ONE);
+        msg = neighbor.toString() 
+                + " should NOT be found to be a perfect square";
+        assert !isPerfectSquare(neighbor) : msg;
+        msg = "Negative number should NOT be found to be a perfect square";
+        assert !isPerfectSquare(square.negate()) : msg;
+    }
+    
+    /**
+     * Test of the isqrt function, of the NumberTheoreticFunctionsCalculator 
+     * class.
+     */
+    @Test
+    public void testIsqrt() {
+        System.out.println("isqrt");
+        for (int i = 0; i < 1000; i++) {
+            long num = RANDOM.nextLong() & Long.MAX_VALUE;
+            long root = isqrt(num);
+            String msg = "Square of " + root + " should not exceed " + num;
+            assert root * root <= num : msg;
+            if (root < 3037000499L) {
+                msg = "Square of " + (root + 1) + " should exceed " + num;
+                assert (root + 1) * (root + 1) > num : msg;
+            }
+        }
+        assertEquals(3037000499L, isqrt(Long.MAX_VALUE));
+    }
+    
+    /**
+     * Another test of the isqrt function, of the 
+     * NumberTheoreticFunctionsCalculator class. The <code>BigInteger</code> 
+     * overload should give the same results as the <code>long</code> version 
+     * within the range of <code>long</code>.
+     */
+    @Test
+    public void testIsqrtBigInteger() {
+        for (int i = 0; i < 1000; i++) {
+            long num = RANDOM.nextLong() & Long.MAX_VALUE;
+            BigInteger expected = BigInteger.valueOf(isqrt(num));
+            BigInteger actual = isqrt(BigInteger.valueOf(num));
+            assertEquals(expected, actual);
+        }
+    }
+    
+    /**
+     * Another test of the isqrt function, of the 
+     * NumberTheoreticFunctionsCalculator class. The integer square root of a 
+     * negative number is not defined.
+     */
+    @Test
+    public void testIsqrtNegative() {
+        long num = -RANDOM.nextInt(Integer.MAX_VALUE) - 1;
+        String msg = "Trying to take integer square root of " + num 
+                + " should cause exception";
+        Throwable t = assertThrows(() -> {
+            long result = isqrt(num);
+            System.out.println(msg + ", not given result " + result);
+        }, ArithmeticException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
     /**
      * Test of kernel method, of class NumberTheoreticFunctionsCalculator. This 
      * checks the kernel function with numbers that are the product of two 
@@ -2099,6 +2195,397 @@ public class NumberTheoreticFunctionsCalculatorTest {
         }
     }
     
+    /**
+     * Another test of euclideanGCD, of class NumberTheoreticFunctionsCalculator. 
+     * For pseudorandom <i>g</i>, <i>x</i> and <i>y</i> in each of the 
+     * norm-Euclidean quadratic rings, the GCD of <i>gx</i> and <i>gy</i> should 
+     * have norm divisible by the norm of <i>g</i>, and its norm should divide 
+     * the norms of both <i>gx</i> and <i>gy</i>. This includes the real rings 
+     * like <b>Z</b>[&radic;19] and <i>O</i><sub><b>Q</b>(&radic;73)</sub> in 
+     * which rounding the quotient is not enough to get a remainder of smaller 
+     * norm.
+     */
+    @Test
+    public void testEuclideanGCDInNormEuclideanRings() {
+        System.out.println("euclideanGCD in norm-Euclidean rings");
+        for (int d 
+                : NumberTheoreticFunctionsCalculator
+                        .NORM_EUCLIDEAN_QUADRATIC_RINGS_D) {
+            QuadraticRing ring = QuadraticRing.apply(d);
+            for (int i = 0; i < 100; i++) {
+                QuadraticInteger g = QuadraticInteger.apply(RANDOM.nextInt(200) 
+                        - 100, RANDOM.nextInt(200) - 100, ring);
+                QuadraticInteger x = QuadraticInteger.apply(RANDOM.nextInt(200) 
+                        - 100, RANDOM.nextInt(200) - 100, ring);
+                QuadraticInteger y = QuadraticInteger.apply(RANDOM.nextInt(200) 
+                        - 100, RANDOM.nextInt(200) - 100, ring);
+                if (g.norm() == 0 || x.norm() == 0 || y.norm() == 0) {
+                    continue;
+                }
+                QuadraticInteger a = g.times(x);
+                QuadraticInteger b = g.times(y);
+                try {
+                    AlgebraicInteger gcd 
+                            = NumberTheoreticFunctionsCalculator.euclideanGCD(a, 
+                                    b);
+                    String msg = "gcd(" + a.toASCIIString() + ", " 
+                            + b.toASCIIString() + ") = " + gcd.toASCIIString() 
+                            + " should be divisible by " + g.toASCIIString();
+                    assertEquals(msg, 0, gcd.norm() % g.norm());
+                    msg = "gcd(" + a.toASCIIString() + ", " + b.toASCIIString() 
+                            + ") = " + gcd.toASCIIString() 
+                            + " should have norm dividing both norms";
+                    assertEquals(msg, 0, a.norm() % gcd.norm());
+                    assertEquals(msg, 0, b.norm() % gcd.norm());
+                } catch (NonEuclideanDomainException nede) {
+                    String msg = "gcd(" + a.toASCIIString() + ", " 
+                            + b.toASCIIString() 
+                            + ") should not have caused NonEuclideanDomainException";
+                    fail(msg);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Another test of euclideanGCD, of class NumberTheoreticFunctionsCalculator. 
+     * The GCD of a number and one of its associates in a real quadratic ring 
+     * should come out with small parts, rather than with parts as big as those 
+     * of a high power of the fundamental unit. For example, the GCD of 
+     * 1 + &radic;2 and (1 + &radic;2)<sup>20</sup> is a unit, and should be 
+     * given as 1 rather than as some other power of 1 + &radic;2.
+     */
+    @Test
+    public void testEuclideanGCDOfAssociatesInRealRing() 
+            throws NonEuclideanDomainException {
+        QuadraticRing ring = new RealQuadraticRing(2);
+        QuadraticInteger unit = new RealQuadraticInteger(1, 1, ring);
+        QuadraticInteger power = unit;
+        for (int i = 1; i < 20; i++) {
+            power = power.times(unit);
+        }
+        AlgebraicInteger expected = new RealQuadraticInteger(1, 0, ring);
+        AlgebraicInteger actual 
+                = NumberTheoreticFunctionsCalculator.euclideanGCD(unit, power);
+        assertEquals(expected, actual);
+    }
+    
+    private static BigInteger bigNorm(AlgebraicInteger number) {
+        QuadraticInteger num = (QuadraticInteger) number;
+        BigInteger x = BigInteger.valueOf(num.getRegPartMult());
+        BigInteger y = BigInteger.valueOf(num.getSurdPartMult());
+        BigInteger d = BigInteger.valueOf(num.getRing().getRadicand());
+        BigInteger denom = BigInteger.valueOf(num.getDenominator());
+        return x.multiply(x).subtract(d.multiply(y).multiply(y)).abs() 
+                .divide(denom.multiply(denom));
+    }
+    
+    /**
+     * Another test of euclideanGCD, of class NumberTheoreticFunctionsCalculator. 
+     * Numbers with parts close to 2<sup>31</sup> have norms that don't fit in 
+     * 64 bits, but the GCD should still come out right. For <i>a</i> = 
+     * 7<i>x</i> and <i>b</i> = 7<i>y</i>, the norm of the GCD should be 
+     * divisible by 49 and divide the norms of <i>a</i> and <i>b</i>.
+     */
+    @Test
+    public void testEuclideanGCDOfLargeOperands() 
+            throws NonEuclideanDomainException {
+        BigInteger fortyNine = BigInteger.valueOf(49);
+        int regBound = Integer.MAX_VALUE / 7;
+        for (int d : new int[]{-11, 57, 73}) {
+            QuadraticRing ring = QuadraticRing.apply(d);
+            int surdBound = regBound / (int) Math.ceil(Math.sqrt(Math.abs(d)));
+            for (int i = 0; i < 50; i++) {
+                QuadraticInteger a = QuadraticInteger.apply(7 
+                        * (RANDOM.nextInt(regBound) + 1), 7 
+                        * RANDOM.nextInt(surdBound), ring);
+                QuadraticInteger b = QuadraticInteger.apply(7 
+                        * RANDOM.nextInt(regBound), 7 
+                        * RANDOM.nextInt(surdBound), ring);
+                AlgebraicInteger gcd 
+                        = NumberTheoreticFunctionsCalculator.euclideanGCD(a, b);
+                BigInteger gcdNorm = bigNorm(gcd);
+                String msg = "gcd(" + a.toASCIIString() + ", " 
+                        + b.toASCIIString() + ") = " + gcd.toASCIIString() 
+                        + " should have norm divisible by 49";
+                assertEquals(msg, BigInteger.ZERO, gcdNorm.mod(fortyNine));
+                msg = "gcd(" + a.toASCIIString() + ", " + b.toASCIIString() 
+                        + ") = " + gcd.toASCIIString() 
+                        + " should have norm dividing both norms";
+                assertEquals(msg, BigInteger.ZERO, bigNorm(a).mod(gcdNorm));
+                assertEquals(msg, BigInteger.ZERO, bigNorm(b).mod(gcdNorm));
+            }
+        }
+    }
+    
+    /**
+     * Test of the binaryGCD function, of the NumberTheoreticFunctionsCalculator 
+     * class. The results should match those of {@link 
+     * NumberTheoreticFunctionsCalculator#euclideanGCD(long, long)}.
+     */
+    @Test
+    public void testBinaryGCD() {
+        System.out.println("binaryGCD");
+        assertEquals(38, NumberTheoreticFunctionsCalculator.binaryGCD(114, 
+                152));
+        assertEquals(38, NumberTheoreticFunctionsCalculator.binaryGCD(-114, 
+                152));
+        assertEquals(7, NumberTheoreticFunctionsCalculator.binaryGCD(0, -7));
+        assertEquals(0, NumberTheoreticFunctionsCalculator.binaryGCD(0, 0));
+        for (int i = 0; i < 1000; i++) {
+            long a = RANDOM.nextLong() >> RANDOM.nextInt(64);
+            long b = RANDOM.nextLong() >> RANDOM.nextInt(64);
+            long expected = NumberTheoreticFunctionsCalculator.euclideanGCD(a, 
+                    b);
+            long actual = NumberTheoreticFunctionsCalculator.binaryGCD(a, b);
+            String msg = "gcd(" + a + ", " + b + ")";
+            assertEquals(msg, expected, actual);
+        }
+    }
+    
+    /**
+     * Test of the extendedGCD function, of the 
+     * NumberTheoreticFunctionsCalculator class.
+     */
+    @Test
+    public void testExtendedGCD() {
+        System.out.println("extendedGCD");
+        long[] coefficients = new long[2];
+        assertEquals(2, NumberTheoreticFunctionsCalculator.extendedGCD(240, 46, 
+                coefficients));
+        assertEquals(-9, coefficients[0]);
+        assertEquals(47, coefficients[1]);
+        for (int i = 0; i < 1000; i++) {
+            long a = RANDOM.nextInt() - RANDOM.nextInt(Short.MAX_VALUE);
+            long b = RANDOM.nextInt();
+            long expected = NumberTheoreticFunctionsCalculator.euclideanGCD(a, 
+                    b);
+            long actual = NumberTheoreticFunctionsCalculator.extendedGCD(a, b, 
+                    coefficients);
+            String msg = "gcd(" + a + ", " + b + ")";
+            assertEquals(msg, expected, actual);
+            BigInteger combination = BigInteger.valueOf(a) 
+                    .multiply(BigInteger.valueOf(coefficients[0])) 
+                    .add(BigInteger.valueOf(b) 
+                            .multiply(BigInteger.valueOf(coefficients[1])));
+            msg = msg + " should be " + a + " * " + coefficients[0] + " + " + b 
+                    + " * " + coefficients[1];
+            assertEquals(msg, BigInteger.valueOf(expected), combination);
+        }
+    }
+    
+    /**
+     * Another test of the extendedGCD function, of the 
+     * NumberTheoreticFunctionsCalculator class. An array with fewer than two 
+     * elements has no room for both coefficients.
+     */
+    @Test
+    public void testExtendedGCDRejectsShortArray() {
+        long[] coefficients = new long[1];
+        String msg = "Array of length 1 for coefficients should cause " 
+                + "exception";
+        Throwable t = assertThrows(() -> {
+            long result = NumberTheoreticFunctionsCalculator.extendedGCD(240, 
+                    46, coefficients);
+            System.out.println(msg + ", not given result " + result);
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Test of the squareRootMod function, of the 
+     * NumberTheoreticFunctionsCalculator class. For small primes, the result 
+     * should be the lesser square root found by trying each number up to 
+     * <i>p</i>/2, or &minus;1 if there is none.
+     */
+    @Test
+    public void testSquareRootMod() {
+        System.out.println("squareRootMod");
+        assertEquals(5, squareRootMod(-1, 13));
+        for (int p : EratosthenesSieve.listPrimes(400)) {
+            for (int n = -p; n < 2 * p; n++) {
+                long residue = Math.floorMod(n, p);
+                long expected = -1;
+                for (long x = 0; x <= p / 2 && expected < 0; x++) {
+                    if (x * x % p == residue) {
+                        expected = x;
+                    }
+                }
+                String msg = "Square root of " + n + " modulo " + p;
+                assertEquals(msg, expected, squareRootMod(n, p));
+            }
+        }
+    }
+    
+    /**
+     * Another test of the squareRootMod function, of the 
+     * NumberTheoreticFunctionsCalculator class. For primes like 65537 and 
+     * 2013265921 = 15 &times; 2<sup>27</sup> + 1, <i>p</i> &minus; 1 is 
+     * divisible by a high power of 2, which is the worst case for the 
+     * Tonelli&ndash;Shanks algorithm.
+     */
+    @Test(timeout = 1000)
+    public void testSquareRootModHighPowerOfTwo() {
+        long[] primes = {65537, 786433, 7340033, 998244353, 2013265921, 
+            Integer.MAX_VALUE};
+        for (long p : primes) {
+            for (int i = 0; i < 100; i++) {
+                long x = RANDOM.nextInt((int) Math.min(p, Integer.MAX_VALUE));
+                long n = x * x % p;
+                long root = squareRootMod(n, p);
+                String msg = "Square root of " + n + " modulo " + p 
+                        + " should be " + x + " or " + (p - x);
+                assert root == Math.min(x, p - x) : msg;
+            }
+        }
+    }
+    
+    /**
+     * Another test of the squareRootMod function, of the 
+     * NumberTheoreticFunctionsCalculator class. A modulus outside the range of 
+     * <code>int</code> should be rejected, since the products of two numbers 
+     * modulo such a modulus might not fit in a <code>long</code>.
+     */
+    @Test
+    public void testSquareRootModRejectsLargeModulus() {
+        long p = 4294967311L;
+        String msg = "Modulus " + p + " should cause exception";
+        Throwable t = assertThrows(() -> {
+            long root = squareRootMod(2, p);
+            System.out.println(msg + ", not given result " + root);
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Test of the cornacchia function, of the 
+     * NumberTheoreticFunctionsCalculator class. Whether there is a solution 
+     * should match what's found by trying one <i>y</i> after another.
+     */
+    @Test
+    public void testCornacchia() {
+        System.out.println("cornacchia");
+        long[] solution = new long[2];
+        boolean found = cornacchia(5, 29, solution);
+        assertTrue("29 = 3^2 + 5 * 2^2", found);
+        assertEquals(3, solution[0]);
+        assertEquals(2, solution[1]);
+        found = cornacchia(5, 3, solution);
+        assertFalse("3 = x^2 + 5y^2 has no solution", found);
+        for (int p : EratosthenesSieve.listPrimes(500)) {
+            for (long d = 1; d < 60; d++) {
+                boolean expected = false;
+                for (long y = 0; d * y * y <= p && !expected; y++) {
+                    expected = isPerfectSquare(p - d * y * y);
+                }
+                String msg = "Solving x^2 + " + d + "y^2 = " + p;
+                assertEquals(msg, expected, cornacchia(d, p, solution));
+                if (expected) {
+                    assertEquals(msg, p, solution[0] * solution[0] 
+                            + d * solution[1] * solution[1]);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Test of the cornacchiaModified function, of the 
+     * NumberTheoreticFunctionsCalculator class. Whether there is a solution 
+     * should match what's found by trying one <i>y</i> after another, and 
+     * <i>x</i> and <i>y</i> should have the same parity.
+     */
+    @Test
+    public void testCornacchiaModified() {
+        System.out.println("cornacchiaModified");
+        long[] solution = new long[2];
+        boolean found = cornacchiaModified(3, 7, solution);
+        assertTrue("28 = 5^2 + 3 * 1^2", found);
+        assertEquals(5, solution[0]);
+        assertEquals(1, solution[1]);
+        found = cornacchiaModified(3, 5, solution);
+        assertFalse("20 = x^2 + 3y^2 has no solution", found);
+        for (int p : EratosthenesSieve.listPrimes(500)) {
+            for (long d = 3; d < 200; d += 4) {
+                boolean expected = false;
+                for (long y = 0; d * y * y <= 4 * p && !expected; y++) {
+                    expected = isPerfectSquare(4 * p - d * y * y);
+                }
+                String msg = "Solving x^2 + " + d + "y^2 = 4 * " + p;
+                assertEquals(msg, expected, 
+                        cornacchiaModified(d, p, solution));
+                if (expected) {
+                    assertEquals(msg, 4 * p, solution[0] * solution[0] 
+                            + d * solution[1] * solution[1]);
+                    assertEquals(msg, solution[0] % 2, solution[1] % 2);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Another test of the cornacchiaModified function, of the 
+     * NumberTheoreticFunctionsCalculator class. A coefficient that is not 3 
+     * modulo 4 should be rejected.
+     */
+    @Test
+    public void testCornacchiaModifiedRejectsWrongCoefficient() {
+        long[] solution = new long[2];
+        String msg = "Coefficient 5 should cause exception";
+        Throwable t = assertThrows(() -> {
+            boolean found = cornacchiaModified(5, 29, solution);
+            System.out.println(msg + ", not given result " + found);
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Another test of the primeFactors function, of the 
+     * NumberTheoreticFunctionsCalculator class. In unique factorization 
+     * domains, both imaginary and real, the factors should multiply to the 
+     * number, with at most one unit, which should come first.
+     */
+    @Test
+    public void testPrimeFactorsMultiplyToNumber() 
+            throws NonUniqueFactorizationDomainException {
+        int[] radicands = {-163, -19, -7, -3, -2, -1, 2, 3, 6, 13, 19, 41};
+        for (int d : radicands) {
+            QuadraticRing ring = (d < 0) ? new ImaginaryQuadraticRing(d) 
+                    : new RealQuadraticRing(d);
+            for (int i = 0; i < 20; i++) {
+                int a = RANDOM.nextInt(100) - 50;
+                int b = RANDOM.nextInt(100) - 50;
+                if (ring.hasHalfIntegers() && (a - b) % 2 != 0) {
+                    a++;
+                }
+                int denom = ring.hasHalfIntegers() ? 2 : 1;
+                QuadraticInteger number = QuadraticInteger.apply(a, b, ring, 
+                        denom);
+                if (number.norm() == 0) {
+                    continue;
+                }
+                List<AlgebraicInteger> factors = primeFactors(number);
+                QuadraticInteger product = QuadraticInteger.apply(1, 0, ring);
+                for (int j = 0; j < factors.size(); j++) {
+                    QuadraticInteger factor = (QuadraticInteger) factors.get(j);
+                    String msg = "Factor " + factor.toASCIIString() + " of " 
+                            + number.toASCIIString() 
+                            + " should not be a unit unless first";
+                    assert j == 0 || Math.abs(factor.norm()) > 1 : msg;
+                    product = product.times(factor);
+                }
+                String msg = "Factors of " + number.toASCIIString() + " are " 
+                        + factors.toString();
+                assertEquals(msg, number, product);
+            }
+        }
+    }
+    
     /**
      * Test of fundamentalUnit method, of class 
      * NumberTheoreticFunctionsCalculator. This is tested with just a few 
@@ -2486,6 +2973,120 @@ public class NumberTheoreticFunctionsCalculatorTest {
         }
     }
     
+    /**
+     * Test of searchForUnit method, of class NumberTheoreticFunctionsCalculator. 
+     * With only a maximum given, the search should find the fundamental unit if 
+     * it's not greater than the maximum.
+     */
+    @Test
+    public void testSearchForUnit() {
+        System.out.println("searchForUnit");
+        RealQuadraticRing ring = new RealQuadraticRing(53);
+        RealQuadraticInteger max = new RealQuadraticInteger(7, 1, ring);
+        Optional<AlgebraicInteger> expected 
+                = Optional.of(new RealQuadraticInteger(7, 1, ring, 2));
+        Optional<AlgebraicInteger> actual = searchForUnit(max);
+        assertEquals(expected, actual);
+        max = new RealQuadraticInteger(3, 0, ring);
+        actual = searchForUnit(max);
+        assert !actual.isPresent() : "No unit between 1 and 3 in " 
+                + ring.toASCIIString() + ", but got " + actual.toString();
+    }
+    
+    /**
+     * Another test of searchForUnit method, of class 
+     * NumberTheoreticFunctionsCalculator. Between negative bounds, the least 
+     * unit is the one closest to the minimum.
+     */
+    @Test
+    public void testSearchForUnitNegativeBounds() {
+        RealQuadraticRing ring = new RealQuadraticRing(2);
+        RealQuadraticInteger min = new RealQuadraticInteger(-20, 0, ring);
+        RealQuadraticInteger max = new RealQuadraticInteger(-5, 0, ring);
+        Optional<AlgebraicInteger> expected 
+                = Optional.of(new RealQuadraticInteger(-7, -5, ring));
+        Optional<AlgebraicInteger> actual = searchForUnit(min, max);
+        assertEquals(expected, actual);
+    }
+    
+    /**
+     * Another test of searchForUnit method, of class 
+     * NumberTheoreticFunctionsCalculator. A unit that is itself the minimum or 
+     * the maximum should be found even though the comparison is on the edge.
+     */
+    @Test
+    public void testSearchForUnitInclusiveBounds() {
+        RealQuadraticRing ring = new RealQuadraticRing(2);
+        RealQuadraticInteger unit = new RealQuadraticInteger(17, 12, ring);
+        Optional<AlgebraicInteger> expected = Optional.of(unit);
+        Optional<AlgebraicInteger> actual = searchForUnit(unit, unit);
+        assertEquals(expected, actual);
+    }
+    
+    /**
+     * Another test of searchForUnit method, of class 
+     * NumberTheoreticFunctionsCalculator. A range that includes 0 has 
+     * infinitely many units, so it should be rejected.
+     */
+    @Test
+    public void testSearchForUnitRejectsRangeWithZero() {
+        RealQuadraticRing ring = new RealQuadraticRing(2);
+        RealQuadraticInteger min = new RealQuadraticInteger(-1, 0, ring);
+        RealQuadraticInteger max = new RealQuadraticInteger(17, 12, ring);
+        String msg = "Unit search between " + min.toASCIIString() + " and " 
+                + max.toASCIIString() + " should cause exception";
+        Throwable t = assertThrows(() -> {
+            Optional<AlgebraicInteger> result = searchForUnit(min, max);
+            System.out.println(msg + ", not given result " + result.toString());
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Test of unitsBetween method, of class NumberTheoreticFunctionsCalculator.
+     */
+    @Test
+    public void testUnitsBetween() {
+        System.out.println("unitsBetween");
+        RealQuadraticRing ring = new RealQuadraticRing(2);
+        RealQuadraticInteger min = new RealQuadraticInteger(1, 0, ring);
+        RealQuadraticInteger max = new RealQuadraticInteger(200, 0, ring);
+        List<AlgebraicInteger> expected = new ArrayList<>();
+        RealQuadraticInteger unit = new RealQuadraticInteger(1, 1, ring);
+        QuadraticInteger power = new RealQuadraticInteger(1, 0, ring);
+        for (int i = 0; i < 7; i++) {
+            expected.add(power);
+            power = power.times(unit);
+        }
+        List<AlgebraicInteger> actual = new ArrayList<>();
+        unitsBetween(min, max).forEachOrdered(actual::add);
+        assertEquals(expected, actual);
+    }
+    
+    /**
+     * Another test of unitsBetween method, of class 
+     * NumberTheoreticFunctionsCalculator. Each of the numbers given should be a 
+     * unit between the bounds, and there should be as many as the logarithms 
+     * of the bounds to the base of the fundamental unit indicate, whether or 
+     * not the stream is parallel.
+     */
+    @Test
+    public void testUnitsBetweenParallel() {
+        RealQuadraticRing ring = new RealQuadraticRing(5);
+        RealQuadraticInteger min = (RealQuadraticInteger) 
+                new RealQuadraticInteger(1, 1, ring, 2).conjugate().negate();
+        RealQuadraticInteger max = new RealQuadraticInteger(1000, 0, ring);
+        long expected = 16;
+        long actual = unitsBetween(min, max).parallel().filter(u -> {
+            RealQuadraticInteger number = (RealQuadraticInteger) u;
+            return Math.abs(number.norm()) == 1 && number.compareTo(min) >= 0 
+                    && number.compareTo(max) <= 0;
+        }).count();
+        assertEquals(expected, actual);
+    }
+    
     /**
      * Test of placeInPrimarySector method, of class 
      * NumberTheoreticFunctionsCalculator.
@@ -0,0 +1,296 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package calculators;
+
+import calculators.PellSolver.Solution;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+/**
+ * Tests of the PellSolver class. The expected fundamental solutions for small 
+ * <i>d</i> are worked out by trying one <i>y</i> after another.
+ * @author Alonso del Arte
+ */
+public class PellSolverTest {
+    
+    private static final Random RANDOM = new Random();
+    
+    private static Solution solution(long x, long y) {
+        return new Solution(BigInteger.valueOf(x), BigInteger.valueOf(y));
+    }
+    
+    private static Optional<Solution> bruteForce(long d, long n, long maxY) {
+        for (long y = 1; y <= maxY; y++) {
+            long square = n + d * y * y;
+            if (square > 0 
+                    && NumberTheoreticFunctionsCalculator.isPerfectSquare(square)) {
+                long x = NumberTheoreticFunctionsCalculator.isqrt(square);
+                return Optional.of(solution(x, y));
+            }
+        }
+        return Optional.empty();
+    }
+    
+    private static BigInteger evaluate(long d, Solution solution) {
+        BigInteger x = solution.getX();
+        BigInteger y = solution.getY();
+        return x.multiply(x) 
+                .subtract(BigInteger.valueOf(d).multiply(y).multiply(y));
+    }
+    
+    /**
+     * Test of the fundamentalSolution function, of the PellSolver class.
+     */
+    @Test
+    public void testFundamentalSolution() {
+        System.out.println("fundamentalSolution");
+        PellSolver instance = new PellSolver(7);
+        Solution expected = solution(8, 3);
+        Solution actual = instance.fundamentalSolution();
+        assertEquals(expected, actual);
+    }
+    
+    /**
+     * Another test of the fundamentalSolution function, of the PellSolver 
+     * class. For <i>d</i> = 61, the least solution is famously large, far 
+     * beyond what trying one <i>y</i> after another could find quickly.
+     */
+    @Test(timeout = 1000)
+    public void testFundamentalSolutionSixtyOne() {
+        PellSolver instance = new PellSolver(61);
+        Solution expected = solution(1766319049, 226153980);
+        Solution actual = instance.fundamentalSolution();
+        assertEquals(expected, actual);
+    }
+    
+    /**
+     * Another test of the fundamentalSolution function, of the PellSolver 
+     * class. The fundamental solutions of <i>x</i><sup>2</sup> &minus; 
+     * <i>dy</i><sup>2</sup> = &plusmn;1 and &plusmn;4 should match those found 
+     * by brute force.
+     */
+    @Test
+    public void testFundamentalSolutionsAgreeWithBruteForce() {
+        for (long d = 2; d < 100; d++) {
+            if (NumberTheoreticFunctionsCalculator.isPerfectSquare(d)) {
+                continue;
+            }
+            PellSolver instance = new PellSolver(d);
+            String msg = "Solving Pell equations for d = " + d;
+            Optional<Solution> expected = bruteForce(d, 1, 100000);
+            if (expected.isPresent()) {
+                assertEquals(msg, expected.get(), 
+                        instance.fundamentalSolution());
+            }
+            expected = bruteForce(d, 4, 100000);
+            if (expected.isPresent()) {
+                assertEquals(msg, expected.get(), 
+                        instance.fundamentalSolutionOfFour());
+            }
+            assertEquals(msg, bruteForce(d, -1, 100000), 
+                    instance.negativeFundamentalSolution());
+            assertEquals(msg, bruteForce(d, -4, 100000), 
+                    instance.negativeFundamentalSolutionOfFour());
+        }
+    }
+    
+    /**
+     * Test of the negativeFundamentalSolution function, of the PellSolver 
+     * class.
+     */
+    @Test
+    public void testNegativeFundamentalSolution() {
+        System.out.println("negativeFundamentalSolution");
+        PellSolver instance = new PellSolver(13);
+        Optional<Solution> expected = Optional.of(solution(18, 5));
+        Optional<Solution> actual = instance.negativeFundamentalSolution();
+        assertEquals(expected, actual);
+        instance = new PellSolver(7);
+        actual = instance.negativeFundamentalSolution();
+        assert !actual.isPresent() : "x^2 - 7y^2 = -1 has no solutions";
+    }
+    
+    /**
+     * Test of the solutions function, of the PellSolver class.
+     */
+    @Test
+    public void testSolutions() {
+        System.out.println("solutions");
+        PellSolver instance = new PellSolver(2);
+        List<Solution> expected = Arrays.asList(solution(3, 2), 
+                solution(17, 12), solution(99, 70), solution(577, 408));
+        List<Solution> actual = instance.solutions().limit(4) 
+                .collect(Collectors.toList());
+        assertEquals(expected, actual);
+    }
+    
+    /**
+     * Test of the negativeSolutions function, of the PellSolver class.
+     */
+    @Test
+    public void testNegativeSolutions() {
+        System.out.println("negativeSolutions");
+        PellSolver instance = new PellSolver(2);
+        List<Solution> expected = Arrays.asList(solution(1, 1), 
+                solution(7, 5), solution(41, 29), solution(239, 169));
+        List<Solution> actual = instance.negativeSolutions().limit(4) 
+                .collect(Collectors.toList());
+        assertEquals(expected, actual);
+        instance = new PellSolver(3);
+        assertEquals(0, instance.negativeSolutions().count());
+    }
+    
+    /**
+     * Test of the fundamentalSolutionOfFour function, of the PellSolver 
+     * class.
+     */
+    @Test
+    public void testFundamentalSolutionOfFour() {
+        System.out.println("fundamentalSolutionOfFour");
+        PellSolver instance = new PellSolver(5);
+        assertEquals(solution(3, 1), instance.fundamentalSolutionOfFour());
+        Optional<Solution> expected = Optional.of(solution(1, 1));
+        assertEquals(expected, instance.negativeFundamentalSolutionOfFour());
+    }
+    
+    /**
+     * Test of the fundamentalSolutions function, of the PellSolver class.
+     */
+    @Test
+    public void testFundamentalSolutions() {
+        System.out.println("fundamentalSolutions");
+        PellSolver instance = new PellSolver(7);
+        List<Solution> actual = instance.fundamentalSolutions(-3);
+        assertEquals(2, actual.size());
+        for (Solution solution : actual) {
+            String msg = solution.toString() + " should solve x^2 - 7y^2 = -3";
+            assertEquals(msg, BigInteger.valueOf(-3), evaluate(7, solution));
+        }
+    }
+    
+    /**
+     * Another test of the fundamentalSolutions function, of the PellSolver 
+     * class. There are no solutions of <i>x</i><sup>2</sup> &minus; 
+     * 3<i>y</i><sup>2</sup> = &minus;1, since &minus;1 is not a square modulo 
+     * 3.
+     */
+    @Test
+    public void testFundamentalSolutionsNone() {
+        PellSolver instance = new PellSolver(3);
+        List<Solution> actual = instance.fundamentalSolutions(-1);
+        assert actual.isEmpty() : "Should be no solutions but got " + actual;
+    }
+    
+    /**
+     * Another test of the fundamentalSolutions function, of the PellSolver 
+     * class. For <i>N</i> a large prime, the square roots modulo <i>N</i> 
+     * should come from a modular square root rather than from trying one 
+     * residue after another.
+     */
+    @Test(timeout = 1000)
+    public void testFundamentalSolutionsLargePrime() {
+        long n = Integer.MAX_VALUE;
+        PellSolver instance = new PellSolver(2);
+        List<Solution> actual = instance.fundamentalSolutions(n);
+        assert !actual.isEmpty() : "2 is a square modulo " + n;
+        for (Solution solution : actual) {
+            String msg = solution.toString() + " should solve x^2 - 2y^2 = " 
+                    + n;
+            assertEquals(msg, BigInteger.valueOf(n), evaluate(2, solution));
+        }
+    }
+    
+    /**
+     * Another test of the fundamentalSolutions function, of the PellSolver 
+     * class. <i>N</i> = 0 should be rejected.
+     */
+    @Test
+    public void testFundamentalSolutionsRejectsZero() {
+        PellSolver instance = new PellSolver(7);
+        String msg = "N = 0 should cause exception";
+        Throwable t = assertThrows(() -> {
+            List<Solution> solutions = instance.fundamentalSolutions(0);
+            System.out.println(msg + ", not given " + solutions);
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Test of the solutions function, of the PellSolver class, for general 
+     * <i>N</i>. The solutions with <i>y</i> up to 1000 should be exactly those 
+     * found by brute force, in the same order.
+     */
+    @Test
+    public void testSolutionsGeneralN() {
+        long d = 2 + RANDOM.nextInt(50);
+        if (NumberTheoreticFunctionsCalculator.isPerfectSquare(d)) {
+            d++;
+        }
+        long n = RANDOM.nextInt(100) - 50;
+        if (n == 0) {
+            n = -d + 1;
+        }
+        List<Solution> expected = new ArrayList<>();
+        for (long y = 0; y <= 1000; y++) {
+            long square = n + d * y * y;
+            if (square >= 0 
+                    && NumberTheoreticFunctionsCalculator.isPerfectSquare(square)) {
+                long x = NumberTheoreticFunctionsCalculator.isqrt(square);
+                expected.add(solution(x, y));
+            }
+        }
+        PellSolver instance = new PellSolver(d);
+        BigInteger limit = BigInteger.valueOf(1000);
+        List<Solution> actual = instance.solutions(n) 
+                .limit(expected.size()) 
+                .filter(s -> s.getY().compareTo(limit) <= 0) 
+                .collect(Collectors.toList());
+        String msg = "Solutions of x^2 - " + d + "y^2 = " + n;
+        assertEquals(msg, expected, actual);
+    }
+    
+    /**
+     * Test of the PellSolver constructor. Perfect squares should be rejected.
+     */
+    @Test
+    public void testConstructorRejectsPerfectSquare() {
+        String msg = "d = 49 should cause exception";
+        Throwable t = assertThrows(() -> {
+            PellSolver badInstance = new PellSolver(49);
+            System.out.println(msg + ", not given solver for d = " 
+                    + badInstance.getD());
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package calculators;
+
+import algebraics.Ideal;
+import algebraics.quadratics.ImaginaryQuadraticRing;
+import algebraics.quadratics.QuadraticInteger;
+import algebraics.quadratics.QuadraticRing;
+import algebraics.quadratics.RealQuadraticRing;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+/**
+ * Tests of the PrimeDecomposition class. The expected splitting types are 
+ * checked against a count of the roots modulo <i>p</i> of the minimal 
+ * polynomial of &omega;.
+ * @author Alonso del Arte
+ */
+public class PrimeDecompositionTest {
+    
+    private static final ImaginaryQuadraticRing RING_ZI5 
+            = new ImaginaryQuadraticRing(-5);
+    
+    private static final ImaginaryQuadraticRing RING_ZI6 
+            = new ImaginaryQuadraticRing(-6);
+    
+    private static final RealQuadraticRing RING_OQ41 
+            = new RealQuadraticRing(41);
+    
+    private static int countRoots(QuadraticRing ring, int p) {
+        long d = ring.getRadicand();
+        int count = 0;
+        for (long x = 0; x < p; x++) {
+            long value = ring.hasHalfIntegers() ? x * x - x - (d - 1) / 4 
+                    : x * x - d;
+            if (Math.floorMod(value, p) == 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Test of the splittingType function, of the PrimeDecomposition class.
+     */
+    @Test
+    public void testSplittingType() {
+        System.out.println("splittingType");
+        assertEquals(PrimeDecomposition.SPLIT, 
+                PrimeDecomposition.splittingType(RING_ZI5, 3));
+        assertEquals(PrimeDecomposition.RAMIFIED, 
+                PrimeDecomposition.splittingType(RING_ZI5, 2));
+        assertEquals(PrimeDecomposition.INERT, 
+                PrimeDecomposition.splittingType(RING_ZI5, 11));
+    }
+    
+    /**
+     * Another test of the splittingType function, of the PrimeDecomposition 
+     * class. Since 41 &equiv; 1 mod 8, 2 splits in 
+     * <i>O</i><sub><b>Q</b>(&radic;41)</sub>.
+     */
+    @Test
+    public void testSplittingTypeTwoSplits() {
+        assertEquals(PrimeDecomposition.SPLIT, 
+                PrimeDecomposition.splittingType(RING_OQ41, 2));
+    }
+    
+    /**
+     * Another test of the splittingType function, of the PrimeDecomposition 
+     * class. A prime splits if the minimal polynomial of &omega; has two roots 
+     * modulo the prime, ramifies if it has one and is inert if it has none.
+     */
+    @Test
+    public void testSplittingTypeAgreesWithRootCount() {
+        int[] radicands = {-163, -15, -7, -6, -5, -3, -2, -1, 2, 3, 5, 6, 7, 
+            10, 13, 17, 41, 91};
+        int[] primes = EratosthenesSieve.listPrimes(100).stream() 
+                .mapToInt(Integer::intValue).toArray();
+        for (int d : radicands) {
+            QuadraticRing ring = d < 0 ? new ImaginaryQuadraticRing(d) 
+                    : new RealQuadraticRing(d);
+            for (int p : primes) {
+                byte expected = (byte) (countRoots(ring, p) - 1);
+                String msg = "Splitting type of " + p + " in " 
+                        + ring.toString();
+                assertEquals(msg, expected, 
+                        PrimeDecomposition.splittingType(ring, p));
+            }
+        }
+    }
+    
+    /**
+     * Test of the getIdeals function, of the PrimeDecomposition class.
+     */
+    @Test
+    public void testGetIdeals() {
+        System.out.println("getIdeals");
+        PrimeDecomposition instance = new PrimeDecomposition(RING_ZI5, 3);
+        QuadraticInteger three = QuadraticInteger.apply(3, 0, RING_ZI5);
+        List<Ideal> expected = Arrays.asList(new Ideal(three, 
+                QuadraticInteger.apply(-1, 1, RING_ZI5)), new Ideal(three, 
+                QuadraticInteger.apply(1, 1, RING_ZI5)));
+        assertEquals(expected, instance.getIdeals());
+    }
+    
+    /**
+     * Another test of the getIdeals function, of the PrimeDecomposition 
+     * class. A ramified prime has one prime ideal above it and an inert prime 
+     * generates a prime ideal.
+     */
+    @Test
+    public void testGetIdealsRamifiedOrInert() {
+        PrimeDecomposition instance = new PrimeDecomposition(RING_ZI5, 2);
+        QuadraticInteger two = QuadraticInteger.apply(2, 0, RING_ZI5);
+        List<Ideal> expected = Arrays.asList(new Ideal(two, 
+                QuadraticInteger.apply(1, 1, RING_ZI5)));
+        assertEquals(expected, instance.getIdeals());
+        instance = new PrimeDecomposition(RING_ZI5, 11);
+        expected = Arrays.asList(new Ideal(QuadraticInteger.apply(11, 0, 
+                RING_ZI5)));
+        assertEquals(expected, instance.getIdeals());
+    }
+    
+    /**
+     * Another test of the getIdeals function, of the PrimeDecomposition 
+     * class. The product of the prime ideals above <i>p</i>, counted with 
+     * multiplicity, should be &#10216;<i>p</i>&#10217;, and each should be 
+     * maximal.
+     */
+    @Test
+    public void testGetIdealsMultiplyToPrime() {
+        int[] radicands = {-163, -15, -7, -6, -5, -3, -2, -1, 2, 3, 5, 6, 7, 
+            10, 13, 17, 41, 91};
+        int[] primes = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41, 43};
+        for (int d : radicands) {
+            QuadraticRing ring = d < 0 ? new ImaginaryQuadraticRing(d) 
+                    : new RealQuadraticRing(d);
+            for (int p : primes) {
+                PrimeDecomposition instance = new PrimeDecomposition(ring, p);
+                List<Ideal> ideals = instance.getIdeals();
+                Ideal product = ideals.get(0);
+                if (instance.getSplittingType() 
+                        == PrimeDecomposition.RAMIFIED) {
+                    product = product.times(product);
+                } else if (ideals.size() > 1) {
+                    product = product.times(ideals.get(1));
+                }
+                Ideal expected 
+                        = new Ideal(QuadraticInteger.apply(p, 0, ring));
+                String msg = "Factoring " + p + " in " + ring.toString();
+                assertEquals(msg, expected, product);
+                for (Ideal ideal : ideals) {
+                    assert ideal.isMaximal() : ideal.toString() 
+                            + " should be maximal";
+                }
+            }
+        }
+    }
+    
+    /**
+     * Test of the getSplitter function, of the PrimeDecomposition class.
+     */
+    @Test
+    public void testGetSplitter() {
+        System.out.println("getSplitter");
+        PrimeDecomposition instance = new PrimeDecomposition(RING_ZI6, 7);
+        Optional<QuadraticInteger> expected 
+                = Optional.of(QuadraticInteger.apply(1, 1, RING_ZI6));
+        assertEquals(expected, instance.getSplitter());
+        instance = new PrimeDecomposition(RING_OQ41, 2);
+        expected = Optional.of(QuadraticInteger.apply(7, 1, RING_OQ41, 2));
+        assertEquals(expected, instance.getSplitter());
+    }
+    
+    /**
+     * Another test of the getSplitter function, of the PrimeDecomposition 
+     * class. There is no splitter for an inert prime, nor for a prime whose 
+     * prime ideals are not principal.
+     */
+    @Test
+    public void testGetSplitterEmpty() {
+        PrimeDecomposition instance = new PrimeDecomposition(RING_ZI5, 3);
+        assert !instance.getSplitter().isPresent() 
+                : "3 is not the norm of any number in Z[sqrt(-5)]";
+        instance = new PrimeDecomposition(RING_ZI5, 11);
+        assert !instance.getSplitter().isPresent() 
+                : "11 is inert in Z[sqrt(-5)]";
+    }
+    
+    /**
+     * Another test of the getSplitter function, of the PrimeDecomposition 
+     * class. The splitter should be present exactly when the prime ideals 
+     * above a prime that is not inert are principal, and then its norm should 
+     * be the prime or its negative.
+     */
+    @Test
+    public void testGetSplitterAgreesWithPrincipalIdeals() {
+        int[] radicands = {-163, -26, -15, -7, -6, -5, -3, -2, -1, 2, 3, 5, 6, 
+            7, 10, 13, 15, 17, 41, 79};
+        int[] primes = EratosthenesSieve.listPrimes(200).stream() 
+                .mapToInt(Integer::intValue).toArray();
+        for (int d : radicands) {
+            QuadraticRing ring = d < 0 ? new ImaginaryQuadraticRing(d) 
+                    : new RealQuadraticRing(d);
+            for (int p : primes) {
+                PrimeDecomposition instance = new PrimeDecomposition(ring, p);
+                if (instance.getSplittingType() == PrimeDecomposition.INERT) {
+                    continue;
+                }
+                Optional<QuadraticInteger> splitter = instance.getSplitter();
+                String msg = "Splitter of " + p + " in " + ring.toString();
+                assertEquals(msg, instance.getIdeals().get(0).isPrincipal(), 
+                        splitter.isPresent());
+                if (splitter.isPresent()) {
+                    assertEquals(msg, p, Math.abs(splitter.get().norm()));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Test of the hasPrincipalIdeals function, of the PrimeDecomposition 
+     * class.
+     */
+    @Test
+    public void testHasPrincipalIdeals() {
+        System.out.println("hasPrincipalIdeals");
+        PrimeDecomposition instance = new PrimeDecomposition(RING_ZI5, 3);
+        assert !instance.hasPrincipalIdeals() 
+                : "Ideals above 3 in Z[sqrt(-5)] should not be principal";
+        instance = new PrimeDecomposition(RING_ZI6, 7);
+        assert instance.hasPrincipalIdeals() 
+                : "Ideals above 7 in Z[sqrt(-6)] should be principal";
+        instance = new PrimeDecomposition(RING_ZI5, 11);
+        assert instance.hasPrincipalIdeals() 
+                : "Inert prime 11 should generate a principal ideal";
+    }
+    
+    /**
+     * Test of the PrimeDecomposition constructor. Numbers that are not 
+     * positive primes should be rejected.
+     */
+    @Test
+    public void testConstructorRejectsNonPrime() {
+        int[] badNumbers = {-3, 0, 1, 9};
+        for (int n : badNumbers) {
+            String msg = n + " should cause exception";
+            Throwable t = assertThrows(() -> {
+                PrimeDecomposition badInstance 
+                        = new PrimeDecomposition(RING_ZI5, n);
+                System.out.println(msg + ", not given decomposition " 
+                        + badInstance.getIdeals());
+            }, IllegalArgumentException.class, msg);
+            String excMsg = t.getMessage();
+            assert excMsg != null : "Exception message should not be null";
+            System.out.println("\"" + excMsg + "\"");
+        }
+    }
+    
+}
@@ -22,8 +22,8 @@ import algebraics.quadratics.RealQuadraticRing;
 import static calculators.NumberTheoreticFunctionsCalculator.isPrime;
 import static calculators.NumberTheoreticFunctionsCalculator.symbolLegendre;;
 
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -51,7 +51,7 @@ public class RealQuadResultsGroupingTest {
     @Test
     public void testInerts() {
         System.out.println("inerts");
-        HashSet<RealQuadraticInteger> inertials = GROUPING.inerts();
+        Set<RealQuadraticInteger> inertials = GROUPING.inerts();
         int p;
         byte symbol;
         String msg;
@@ -73,8 +73,8 @@ public class RealQuadResultsGroupingTest {
     @Test
     public void testSplits() {
         System.out.println("splits");
-        HashMap<RealQuadraticInteger, Optional<RealQuadraticInteger>> splits 
-                = GROUPING.splitPrimes;
+        Map<RealQuadraticInteger, Optional<RealQuadraticInteger>> splits 
+                = GROUPING.splits();
         Set<RealQuadraticInteger> keys = splits.keySet();
         int p;
         byte symbol;
@@ -110,7 +110,7 @@ public class RealQuadResultsGroupingTest {
         HashSet<RealQuadraticInteger> expected = new HashSet<>();
         expected.add(two);
         expected.add(seven);
-        HashMap<RealQuadraticInteger, Optional<RealQuadraticInteger>> ramifieds 
+        Map<RealQuadraticInteger, Optional<RealQuadraticInteger>> ramifieds 
                 = GROUPING.ramifieds();
         Set<RealQuadraticInteger> actual = ramifieds.keySet();
         assertEquals(expected, actual);
@@ -130,6 +130,44 @@ public class RealQuadResultsGroupingTest {
         assertEquals(sevenFactor, ramifier);
     }
     
+    /**
+     * Another test of the inerts function, of the RealQuadResultsGrouping 
+     * class. The set of inert primes is a read-only view, so trying to add to 
+     * it should cause an exception, and the grouping should remain unchanged.
+     */
+    @Test
+    public void testInertsIsReadOnly() {
+        Set<RealQuadraticInteger> inertials = GROUPING.inerts();
+        int expected = inertials.size();
+        RealQuadraticInteger one = new RealQuadraticInteger(1, 0, RING_Z14);
+        try {
+            inertials.add(one);
+            String msg = "Should not have been able to add " + one.toString() 
+                    + " to set of inert primes";
+            fail(msg);
+        } catch (UnsupportedOperationException uoe) {
+            System.out.println("Trying to add " + one.toString() 
+                    + " to inert primes correctly caused exception");
+        }
+        int actual = GROUPING.inerts().size();
+        assertEquals(expected, actual);
+    }
+    
+    /**
+     * Another test of the splits function, of the RealQuadResultsGrouping 
+     * class. The split primes should be given in ascending order.
+     */
+    @Test
+    public void testSplitsInAscendingOrder() {
+        int previous = 0;
+        for (RealQuadraticInteger split : GROUPING.splits().keySet()) {
+            int p = split.getRegPartMult();
+            String msg = "Prime " + p + " should come after " + previous;
+            assert p > previous : msg;
+            previous = p;
+        }
+    }
+    
     /**
      * The number 2 is inert in O_Q(sqrt(21)), and the grouping should report it 
      * as such. This test is necessary because 2 ramifies in the ring used for 
@@ -225,4 +263,23 @@ public class RealQuadResultsGroupingTest {
         assert !grouping.inerts().contains(seven) : msg;
     }
     
+    /**
+     * The number 71 splits in Z[sqrt(151)], but the least splitter, 193060 + 
+     * 15711 sqrt(151), has a "surd" part well beyond what searching one "surd" 
+     * part after another would have been expected to reach.
+     */
+    @Test
+    public void testSplitterWithLargeSurdPart() {
+        RealQuadraticRing ring = new RealQuadraticRing(151);
+        RealQuadraticInteger prime = new RealQuadraticInteger(71, 0, ring);
+        RealQuadResultsGrouping grouping = new RealQuadResultsGrouping(ring);
+        Optional<RealQuadraticInteger> splitterHolder 
+                = grouping.splits().get(prime);
+        String msg = "Optional for splitter of 71 should hold a value";
+        assert splitterHolder.isPresent() : msg;
+        RealQuadraticInteger expected = new RealQuadraticInteger(193060, 15711, 
+                ring);
+        assertEquals(expected, splitterHolder.get());
+    }
+    
 }
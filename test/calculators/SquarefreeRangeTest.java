@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package calculators;
+
+import static calculators.NumberTheoreticFunctionsCalculator.isSquarefree;
+import static calculators.NumberTheoreticFunctionsCalculator.mod;
+
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+/**
+ * Tests of the SquarefreeRange class. The expected values are worked out with 
+ * {@link NumberTheoreticFunctionsCalculator#isSquarefree(int) 
+ * NumberTheoreticFunctionsCalculator.isSquarefree(int)}.
+ * @author Alonso del Arte
+ */
+public class SquarefreeRangeTest {
+    
+    private static final Random RANDOM = new Random();
+    
+    private static final int BOUND = 3 * SquarefreeRange.SEGMENT_SIZE + 1;
+    
+    /**
+     * Test of the toString function, of the SquarefreeRange class.
+     */
+    @Test
+    public void testToString() {
+        System.out.println("toString");
+        SquarefreeRange instance = new SquarefreeRange(-100, 100);
+        String expected = "Squarefree integers from -100 to 100";
+        String actual = instance.toString();
+        assertEquals(expected, actual);
+    }
+    
+    /**
+     * Another test of the toString function, of the SquarefreeRange class. The 
+     * residue should be given as reduced modulo the modulus.
+     */
+    @Test
+    public void testToStringWithResidueFilter() {
+        SquarefreeRange instance = new SquarefreeRange(-100, 100, -3, 4);
+        String expected = "Squarefree integers from -100 to 100 congruent to 1 " 
+                + "mod 4";
+        String actual = instance.toString();
+        assertEquals(expected, actual);
+    }
+    
+    /**
+     * Test of the getStart function, of the SquarefreeRange class.
+     */
+    @Test
+    public void testGetStart() {
+        System.out.println("getStart");
+        int expected = -RANDOM.nextInt(BOUND);
+        SquarefreeRange instance = new SquarefreeRange(expected, BOUND);
+        int actual = instance.getStart();
+        assertEquals(expected, actual);
+    }
+    
+    /**
+     * Test of the getEnd function, of the SquarefreeRange class.
+     */
+    @Test
+    public void testGetEnd() {
+        System.out.println("getEnd");
+        int expected = RANDOM.nextInt(BOUND);
+        SquarefreeRange instance = new SquarefreeRange(-BOUND, expected);
+        int actual = instance.getEnd();
+        assertEquals(expected, actual);
+    }
+    
+    /**
+     * Test of the stream function, of the SquarefreeRange class. The range 
+     * spans several segments and includes negative numbers and 0.
+     */
+    @Test
+    public void testStream() {
+        System.out.println("stream");
+        int[] expected = IntStream.rangeClosed(-BOUND, BOUND) 
+                .filter(n -> n != 0 && isSquarefree(n)).toArray();
+        SquarefreeRange instance = new SquarefreeRange(-BOUND, BOUND);
+        int[] actual = instance.stream().toArray();
+        assertArrayEquals(expected, actual);
+    }
+    
+    /**
+     * Another test of the stream function, of the SquarefreeRange class. Only 
+     * numbers in the specified residue class should be given.
+     */
+    @Test
+    public void testStreamWithResidueFilter() {
+        int m = RANDOM.nextInt(8) + 2;
+        int n = RANDOM.nextInt(m);
+        int[] expected = IntStream.rangeClosed(-BOUND, BOUND) 
+                .filter(x -> x != 0 && mod(x, m) == n && isSquarefree(x)) 
+                .toArray();
+        SquarefreeRange instance = new SquarefreeRange(-BOUND, BOUND, n, m);
+        int[] actual = instance.stream().toArray();
+        assertArrayEquals(expected, actual);
+    }
+    
+    /**
+     * Another test of the stream function, of the SquarefreeRange class. A 
+     * parallel stream should give the same numbers in the same order as a 
+     * sequential stream.
+     */
+    @Test
+    public void testParallelStreamMatchesSequential() {
+        SquarefreeRange instance = new SquarefreeRange(-8 * BOUND, 8 * BOUND, 
+                1, 4);
+        int[] expected = instance.stream().toArray();
+        int[] actual = instance.stream().parallel().toArray();
+        assertArrayEquals(expected, actual);
+    }
+    
+    /**
+     * Another test of the stream function, of the SquarefreeRange class. A 
+     * split should come at the start of a segment, so that the prefix covers 
+     * a whole number of segments.
+     */
+    @Test
+    public void testStreamSplitsOnSegmentBoundary() {
+        int m = RANDOM.nextInt(8) + 2;
+        SquarefreeRange instance = new SquarefreeRange(-BOUND, BOUND, 1, m);
+        Spliterator.OfInt spliterator = instance.stream().spliterator();
+        Spliterator.OfInt prefix = spliterator.trySplit();
+        assert prefix != null : "Range of " + (2 * BOUND) + " should split";
+        long candidatesPerSegment = (SquarefreeRange.SEGMENT_SIZE + m - 1) / m;
+        String msg = "Prefix of " + prefix.estimateSize() 
+                + " candidates should be whole segments of " 
+                + candidatesPerSegment;
+        assertEquals(msg, 0, prefix.estimateSize() % candidatesPerSegment);
+    }
+    
+    /**
+     * Another test of the stream function, of the SquarefreeRange class. 
+     * Numbers close to <code>Integer.MAX_VALUE</code> should not cause 
+     * overflows.
+     */
+    @Test
+    public void testStreamNearMaxValue() {
+        int start = Integer.MAX_VALUE - BOUND;
+        int[] expected = IntStream.rangeClosed(start, Integer.MAX_VALUE) 
+                .filter(n -> isSquarefree(n)).toArray();
+        SquarefreeRange instance = new SquarefreeRange(start, 
+                Integer.MAX_VALUE);
+        int[] actual = instance.stream().toArray();
+        assertArrayEquals(expected, actual);
+    }
+    
+    /**
+     * Test of the constructor, of the SquarefreeRange class. The start should 
+     * not be greater than the end.
+     */
+    @Test
+    public void testConstructorRejectsStartGreaterThanEnd() {
+        int start = RANDOM.nextInt(BOUND) + 1;
+        int end = -start;
+        String msg = "Start " + start + " greater than end " + end 
+                + " should cause exception";
+        Throwable t = assertThrows(() -> {
+            SquarefreeRange badRange = new SquarefreeRange(start, end);
+            System.out.println(msg + ", not created " + badRange.toString());
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Another test of the constructor, of the SquarefreeRange class. The 
+     * modulus should be positive.
+     */
+    @Test
+    public void testConstructorRejectsNonPositiveModulus() {
+        int m = -RANDOM.nextInt(BOUND);
+        String msg = "Modulus " + m + " should cause exception";
+        Throwable t = assertThrows(() -> {
+            SquarefreeRange badRange = new SquarefreeRange(-BOUND, BOUND, 1, 
+                    m);
+            System.out.println(msg + ", not created " + badRange.toString());
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        String numStr = Integer.toString(m);
+        String containsMsg = "Exception message should contain " + numStr;
+        assert excMsg.contains(numStr) : containsMsg;
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fileops;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+/**
+ * Tests of the StreamingPNGWriter class. The images written are read back 
+ * with <code>ImageIO</code> to check that they are valid PNG images with the 
+ * right pixels.
+ * @author Alonso del Arte
+ */
+public class StreamingPNGWriterTest {
+    
+    private static final Random RANDOM = new Random();
+    
+    private static BufferedImage readBack(ByteArrayOutputStream out) 
+            throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+    
+    /**
+     * Test of the writeRows procedure, of the StreamingPNGWriter class. The 
+     * rows should come out as they went in, even when they're written a few 
+     * at a time from a buffer that is reused.
+     * @throws IOException If the image can't be written or read back, which 
+     * is not expected to happen with byte array streams.
+     */
+    @Test
+    public void testWriteRows() throws IOException {
+        System.out.println("writeRows");
+        int width = RANDOM.nextInt(64) + 16;
+        int height = RANDOM.nextInt(64) + 16;
+        int[] expected = new int[width * height];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = RANDOM.nextInt() & 0xFFFFFF;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamingPNGWriter writer = new StreamingPNGWriter(out, width, height);
+        int stripHeight = 7;
+        int[] strip = new int[width * stripHeight];
+        for (int top = 0; top < height; top += stripHeight) {
+            int rowCount = Math.min(stripHeight, height - top);
+            System.arraycopy(expected, top * width, strip, 0, 
+                    rowCount * width);
+            writer.writeRows(strip, 0, width, rowCount);
+            assertEquals(top + rowCount, writer.getRowsWritten());
+        }
+        writer.finish();
+        BufferedImage actual = readBack(out);
+        assertEquals(width, actual.getWidth());
+        assertEquals(height, actual.getHeight());
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                String msg = "Pixel (" + x + ", " + y + ") should match";
+                assertEquals(msg, expected[y * width + x], 
+                        actual.getRGB(x, y) & 0xFFFFFF);
+            }
+        }
+    }
+    
+    /**
+     * Another test of the writeRows procedure, of the StreamingPNGWriter 
+     * class. The alpha channel should be ignored, and rows should be taken 
+     * from the given offset and stride, so that part of a wider buffer can be 
+     * written.
+     * @throws IOException If the image can't be written or read back, which 
+     * is not expected to happen with byte array streams.
+     */
+    @Test
+    public void testWriteRowsWithOffsetAndStride() throws IOException {
+        int width = 5;
+        int height = 3;
+        int stride = 8;
+        int offset = 2;
+        int[] pixels = new int[offset + height * stride];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = RANDOM.nextInt();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamingPNGWriter writer = new StreamingPNGWriter(out, width, height);
+        writer.writeRows(pixels, offset, stride, height);
+        writer.finish();
+        BufferedImage actual = readBack(out);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int expected = pixels[offset + y * stride + x] & 0xFFFFFF;
+                String msg = "Pixel (" + x + ", " + y + ") should match";
+                assertEquals(msg, expected, actual.getRGB(x, y) & 0xFFFFFF);
+            }
+        }
+    }
+    
+    /**
+     * Another test of the writeRows procedure, of the StreamingPNGWriter 
+     * class. Writing more rows than the image has should cause an exception.
+     * @throws IOException If the header can't be written, which is not 
+     * expected to happen with a byte array stream.
+     */
+    @Test
+    public void testWriteRowsRejectsExcessRows() throws IOException {
+        int width = 10;
+        int height = 4;
+        StreamingPNGWriter writer 
+                = new StreamingPNGWriter(new ByteArrayOutputStream(), width, 
+                        height);
+        int[] pixels = new int[width * (height + 1)];
+        String msg = "Writing " + (height + 1) + " rows to image " + height 
+                + " high should cause an exception";
+        Throwable t = assertThrows(() -> {
+            writer.writeRows(pixels, 0, width, height + 1);
+        }, IllegalStateException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Another test of the writeRows procedure, of the StreamingPNGWriter 
+     * class. A stride shorter than the width of the image should cause an 
+     * exception.
+     * @throws IOException If the header can't be written, which is not 
+     * expected to happen with a byte array stream.
+     */
+    @Test
+    public void testWriteRowsRejectsShortStride() throws IOException {
+        int width = 10;
+        StreamingPNGWriter writer 
+                = new StreamingPNGWriter(new ByteArrayOutputStream(), width, 
+                        2);
+        int[] pixels = new int[2 * width];
+        String msg = "Stride shorter than width should cause an exception";
+        Throwable t = assertThrows(() -> {
+            writer.writeRows(pixels, 0, width - 1, 2);
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Test of the finish procedure, of the StreamingPNGWriter class. Finishing 
+     * before all the rows have been written should cause an exception.
+     * @throws IOException If the header can't be written, which is not 
+     * expected to happen with a byte array stream.
+     */
+    @Test
+    public void testFinishRejectsMissingRows() throws IOException {
+        System.out.println("finish");
+        int width = 10;
+        StreamingPNGWriter writer 
+                = new StreamingPNGWriter(new ByteArrayOutputStream(), width, 
+                        3);
+        writer.writeRows(new int[width], 0, width, 1);
+        String msg = "Finishing with rows missing should cause an exception";
+        Throwable t = assertThrows(() -> {
+            writer.finish();
+        }, IllegalStateException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Test of the constructor, of the StreamingPNGWriter class. Dimensions 
+     * less than 1 should cause an exception.
+     */
+    @Test
+    public void testConstructorRejectsZeroDimension() {
+        String msg = "Zero height should cause an exception";
+        Throwable t = assertThrows(() -> {
+            StreamingPNGWriter badWriter 
+                    = new StreamingPNGWriter(new ByteArrayOutputStream(), 10, 
+                            0);
+            System.out.println(msg + ", not given instance " + badWriter);
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+}
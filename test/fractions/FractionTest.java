@@ -243,6 +243,21 @@ public class FractionTest {
         assertEquals(expected, actual);
     }
     
+    /**
+     * Another test of the times function, of class Fraction. Common factors 
+     * should be cancelled out before multiplying, so that a product that fits 
+     * in <code>long</code> does not overflow along the way.
+     */
+    @Test
+    public void testTimesCancelsBeforeMultiplying() {
+        long power = 1L << 40;
+        Fraction multiplicandA = new Fraction(power, 3);
+        Fraction multiplicandB = new Fraction(9, power + 1);
+        Fraction expected = new Fraction(3 * power, power + 1);
+        Fraction actual = multiplicandA.times(multiplicandB);
+        assertEquals(expected, actual);
+    }
+    
     /**
      * Another test of the times function, of class Fraction.
      */
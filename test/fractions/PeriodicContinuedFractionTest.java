@@ -16,8 +16,10 @@
  */
 package fractions;
 
-import java.util.ArrayList;
+import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.Test;
 
@@ -29,18 +31,37 @@ import static org.junit.Assert.*;
  */
 public class PeriodicContinuedFractionTest {
     
+    private static void assertFractionEquals(long expNumer, long expDenom, 
+            BigFraction fraction) {
+        String msg = "Expected " + expNumer + "/" + expDenom + ", got " 
+                + fraction.getNumerator() + "/" + fraction.getDenominator();
+        assertEquals(msg, BigInteger.valueOf(expNumer), 
+                fraction.getNumerator());
+        assertEquals(msg, BigInteger.valueOf(expDenom), 
+                fraction.getDenominator());
+    }
+    
+    @Test
+    public void testToString() {
+        System.out.println("toString");
+        PeriodicContinuedFraction instance 
+                = PeriodicContinuedFraction.squareRoot(2);
+        String expected = "1 + 1/(2 + 1/(2 + 1/(2 + ...)))";
+        String actual = instance.toString();
+        assertEquals(expected, actual);
+    }
+    
     /**
      * Test of toHTMLString method, of class PeriodicContinuedFraction.
      */
     @Test
     public void testToHTMLString() {
         System.out.println("toHTMLString");
-//        PeriodicContinuedFraction instance = null;
-//        String expResult = "";
-//        String result = instance.toHTMLString();
-//        assertEquals(expResult, result);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        PeriodicContinuedFraction instance 
+                = PeriodicContinuedFraction.squareRoot(2);
+        String expected = "1 + 1/(2 + 1/(2 + 1/(2 + &hellip;)))";
+        String actual = instance.toHTMLString();
+        assertEquals(expected, actual);
     }
 
     /**
@@ -49,12 +70,63 @@ public class PeriodicContinuedFractionTest {
     @Test
     public void testToTeXString() {
         System.out.println("toTeXString");
-//        PeriodicContinuedFraction instance = null;
-//        String expResult = "";
-//        String result = instance.toTeXString();
-//        assertEquals(expResult, result);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        PeriodicContinuedFraction instance 
+                = PeriodicContinuedFraction.squareRoot(2);
+        String expected = "1 + \\cfrac{1}{2 + \\cfrac{1}{2 + \\cfrac{1}{2 + "
+                + "\\ddots}}}";
+        String actual = instance.toTeXString();
+        assertEquals(expected, actual);
+    }
+    
+    @Test
+    public void testSquareRootPeriod() {
+        long[] expected = {1, 1, 1, 4};
+        PeriodicContinuedFraction instance 
+                = PeriodicContinuedFraction.squareRoot(7);
+        assertEquals(2, instance.getInitial().getNumerator());
+        assertEquals(0, instance.getPrePeriodLength());
+        assertArrayEquals(expected, instance.getPeriod());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testSquareRootRejectsPerfectSquare() {
+        PeriodicContinuedFraction instance 
+                = PeriodicContinuedFraction.squareRoot(49);
+        System.out.println("Should not have been able to create " 
+                + instance.toString() + " for square root of 49");
+    }
+    
+    @Test
+    public void testQuadraticIrrationalPrePeriod() {
+        PeriodicContinuedFraction instance 
+                = PeriodicContinuedFraction.quadraticIrrational(0, 2, 2);
+        assertEquals(0, instance.getInitial().getNumerator());
+        assertEquals(1, instance.getPrePeriodLength());
+        assertEquals(1, instance.partialDenominator(1));
+        assertArrayEquals(new long[]{2}, instance.getPeriod());
+        double expected = Math.sqrt(2) / 2;
+        assertEquals(expected, instance.getNumericApproximation(), 1E-12);
+    }
+    
+    @Test
+    public void testQuadraticIrrationalNegative() {
+        PeriodicContinuedFraction instance 
+                = PeriodicContinuedFraction.quadraticIrrational(3, -5, 7);
+        double expected = (3 + Math.sqrt(7)) / -5;
+        assertEquals(-2, instance.getInitial().getNumerator());
+        assertEquals(expected, instance.getNumericApproximation(), 1E-12);
+    }
+    
+    @Test
+    public void testGeneralizedContinuedFraction() {
+        int[] numers = {2, 2};
+        int[] denoms = {1, 3};
+        PeriodicContinuedFraction instance 
+                = new PeriodicContinuedFraction(numers, denoms);
+        String expected = "1 + 2/(3 + 2/(1 + 2/(3 + 2/(1 + ...))))";
+        assertEquals(expected, instance.toString());
+        assertEquals(1.4574271077563379, instance.getNumericApproximation(), 
+                1E-12);
     }
 
     /**
@@ -63,12 +135,36 @@ public class PeriodicContinuedFractionTest {
     @Test
     public void testConvergents() {
         System.out.println("convergents");
-//        PeriodicContinuedFraction instance = null;
-//        List<BigFraction> expResult = null;
-//        List<BigFraction> result = instance.convergents();
-//        assertEquals(expResult, result);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        PeriodicContinuedFraction instance 
+                = PeriodicContinuedFraction.squareRoot(2);
+        long[][] expected = {{1, 1}, {3, 2}, {7, 5}, {17, 12}, {41, 29}, 
+            {99, 70}};
+        List<BigFraction> actual = instance.convergents();
+        for (int n = 0; n < expected.length; n++) {
+            assertFractionEquals(expected[n][0], expected[n][1], actual.get(n));
+        }
+    }
+    
+    @Test
+    public void testConvergentsOfGoldenRatio() {
+        PeriodicContinuedFraction instance 
+                = PeriodicContinuedFraction.quadraticIrrational(1, 2, 5);
+        assertFractionEquals(144, 89, instance.convergent(10));
+    }
+    
+    @Test
+    public void testConvergentStreamIsUnbounded() {
+        PeriodicContinuedFraction instance 
+                = PeriodicContinuedFraction.squareRoot(2);
+        List<String> expected = Arrays.asList("17/12", "41/29", "99/70");
+        List<String> actual = instance.convergentStream().skip(3).limit(3)
+                .map(f -> f.getNumerator() + "/" + f.getDenominator())
+                .collect(Collectors.toList());
+        assertEquals(expected, actual);
+        BigFraction far = instance.convergentStream().skip(200).findFirst()
+                .get();
+        String msg = "Convergent 200 should need more than 64 bits";
+        assertTrue(msg, far.getDenominator().bitLength() > 64);
     }
 
     /**
@@ -77,12 +173,11 @@ public class PeriodicContinuedFractionTest {
     @Test
     public void testApproximation() {
         System.out.println("approximation");
-//        PeriodicContinuedFraction instance = null;
-//        Fraction expResult = null;
-//        Fraction result = instance.approximation();
-//        assertEquals(expResult, result);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        PeriodicContinuedFraction instance 
+                = PeriodicContinuedFraction.squareRoot(2);
+        Fraction actual = instance.approximation();
+        assertEquals(6882627592338442563L, actual.getNumerator());
+        assertEquals(4866752642924153522L, actual.getDenominator());
     }
     
 }
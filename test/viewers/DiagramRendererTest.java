@@ -0,0 +1,295 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package viewers;
+
+import algebraics.IntegerRing;
+import algebraics.MockRing;
+import algebraics.UnsupportedNumberDomainException;
+import algebraics.quadratics.ImaginaryQuadraticRing;
+import algebraics.quadratics.RealQuadraticRing;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+/**
+ * Tests of the DiagramRenderer class. The diagrams are written to a temporary 
+ * directory which is deleted once the tests are done.
+ * @author Alonso del Arte
+ */
+public class DiagramRendererTest {
+    
+    private static final File TEMP_DIR = new File(System 
+            .getProperty("java.io.tmpdir"), "diagrams" 
+                    + System.currentTimeMillis());
+    
+    private static final int TEST_WIDTH = 320;
+    
+    private static final int TEST_HEIGHT = 240;
+    
+    @BeforeClass
+    public static void setUpClass() {
+        if (!TEMP_DIR.mkdirs()) {
+            System.err.println("Unable to create " 
+                    + TEMP_DIR.getAbsolutePath());
+        }
+    }
+    
+    /**
+     * Test of the filenameFor function, of the DiagramRenderer class.
+     */
+    @Test
+    public void testFilenameFor() {
+        System.out.println("filenameFor");
+        IntegerRing ring = new ImaginaryQuadraticRing(-7);
+        String expected = "OQI7pxui40.png";
+        String actual = DiagramRenderer.filenameFor(ring, 40);
+        assertEquals(expected, actual);
+    }
+    
+    /**
+     * Test of the createDisplay function, of the DiagramRenderer class.
+     */
+    @Test
+    public void testCreateDisplay() {
+        System.out.println("createDisplay");
+        DiagramRenderer renderer = new DiagramRenderer(TEST_WIDTH, TEST_HEIGHT, 
+                25, 3, 1);
+        RealQuadraticRing ring = new RealQuadraticRing(7);
+        RingDisplay display = renderer.createDisplay(ring);
+        String msg = "Display for " + ring.toString() 
+                + " should be a RealQuadRingDisplay";
+        assert display instanceof RealQuadRingDisplay : msg;
+        assertEquals(ring, display.getRing());
+        assertEquals(TEST_WIDTH, display.ringCanvasHorizMax);
+        assertEquals(TEST_HEIGHT, display.ringCanvasVerticMax);
+        assertEquals(TEST_WIDTH / 2, display.zeroCoordX);
+        assertEquals(TEST_HEIGHT / 2, display.zeroCoordY);
+        assertEquals(25, display.pixelsPerUnitInterval);
+        assertEquals(3, display.dotRadius);
+        msg = "Display should not have been set up on screen";
+        assert !display.alreadySetUp : msg;
+    }
+    
+    /**
+     * Another test of the createDisplay function, of the DiagramRenderer 
+     * class. Rings other than quadratic rings are not supported yet.
+     */
+    @Test
+    public void testCreateDisplayRejectsUnsupportedRing() {
+        DiagramRenderer renderer = new DiagramRenderer(TEST_WIDTH, TEST_HEIGHT, 
+                40);
+        MockRing ring = new MockRing();
+        String msg = "Rendering " + ring.toString() + " should cause exception";
+        Throwable t = assertThrows(() -> {
+            RingDisplay badDisplay = renderer.createDisplay(ring);
+            System.out.println(msg + ", not given " + badDisplay.toString());
+        }, UnsupportedNumberDomainException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Test of the render procedure, of the DiagramRenderer class. The file 
+     * written should have the same picture as the display draws.
+     * @throws IOException If the file can't be written or read back.
+     */
+    @Test
+    public void testRender() throws IOException {
+        System.out.println("render");
+        DiagramRenderer renderer = new DiagramRenderer(TEST_WIDTH, TEST_HEIGHT, 
+                30);
+        ImaginaryQuadraticRing ring = new ImaginaryQuadraticRing(-5);
+        File file = new File(TEMP_DIR, "render.png");
+        renderer.render(ring, file);
+        BufferedImage actual = ImageIO.read(file);
+        assertEquals(TEST_WIDTH, actual.getWidth());
+        assertEquals(TEST_HEIGHT, actual.getHeight());
+        BufferedImage expected = new BufferedImage(TEST_WIDTH, TEST_HEIGHT, 
+                BufferedImage.TYPE_INT_RGB);
+        DiagramRenderer.drawDiagram(renderer.createDisplay(ring), expected);
+        for (int y = 0; y < TEST_HEIGHT; y++) {
+            for (int x = 0; x < TEST_WIDTH; x++) {
+                String msg = "Pixel (" + x + ", " + y + ") should match";
+                assertEquals(msg, expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+    
+    private static void assertStripsMatchWholeDiagram(IntegerRing ring) 
+            throws IOException {
+        int height = 2 * DiagramRenderer.STRIP_HEIGHT + 57;
+        DiagramRenderer renderer = new DiagramRenderer(TEST_WIDTH, height, 
+                20);
+        RingDisplay display = renderer.createDisplay(ring);
+        BufferedImage expected = new BufferedImage(TEST_WIDTH, height, 
+                BufferedImage.TYPE_INT_RGB);
+        DiagramRenderer.drawDiagram(display, expected);
+        File file = new File(TEMP_DIR, "strips" + ring.toFilenameString() 
+                + ".png");
+        BufferedImage strip = DiagramRenderer.createStripBuffer(TEST_WIDTH, 
+                height);
+        assertEquals(DiagramRenderer.STRIP_HEIGHT, strip.getHeight());
+        DiagramRenderer.writeInStrips(display, strip, file);
+        String dimMsg = "Canvas dimensions should be restored";
+        assertEquals(dimMsg, TEST_WIDTH, display.ringCanvasHorizMax);
+        assertEquals(dimMsg, height, display.ringCanvasVerticMax);
+        String zeroMsg = "Zero coordinates should be restored";
+        assertEquals(zeroMsg, TEST_WIDTH / 2, display.zeroCoordX);
+        assertEquals(zeroMsg, height / 2, display.zeroCoordY);
+        BufferedImage actual = ImageIO.read(file);
+        assertEquals(TEST_WIDTH, actual.getWidth());
+        assertEquals(height, actual.getHeight());
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < TEST_WIDTH; x++) {
+                String msg = "Pixel (" + x + ", " + y + ") of diagram for " 
+                        + ring.toASCIIString() + " should match";
+                assertEquals(msg, expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+    
+    /**
+     * Test of the writeInStrips procedure, of the DiagramRenderer class. A 
+     * diagram of an imaginary quadratic ring written in strips should look 
+     * the same as the diagram drawn all at once. The height is chosen so that 
+     * the last strip is only partly used.
+     * @throws IOException If the file can't be written or read back.
+     */
+    @Test
+    public void testWriteInStrips() throws IOException {
+        System.out.println("writeInStrips");
+        assertStripsMatchWholeDiagram(new ImaginaryQuadraticRing(-5));
+    }
+    
+    /**
+     * Another test of the writeInStrips procedure, of the DiagramRenderer 
+     * class. A diagram of a real quadratic ring written in strips should look 
+     * the same as the diagram drawn all at once.
+     * @throws IOException If the file can't be written or read back.
+     */
+    @Test
+    public void testWriteInStripsRealQuadratic() throws IOException {
+        assertStripsMatchWholeDiagram(new RealQuadraticRing(5));
+    }
+    
+    /**
+     * Test of the renderRange function, of the DiagramRenderer class.
+     * @throws IOException If any of the files can't be written.
+     */
+    @Test
+    public void testRenderRange() throws IOException {
+        System.out.println("renderRange");
+        DiagramRenderer renderer = new DiagramRenderer(TEST_WIDTH, TEST_HEIGHT, 
+                20, 2, 3);
+        List<File> expected = new ArrayList<>();
+        int[] ds = {-10, -7, -6, -5, -3, -2, -1, 2, 3, 5, 6, 7, 10};
+        for (int d : ds) {
+            IntegerRing ring = (d < 0) ? new ImaginaryQuadraticRing(d) 
+                    : new RealQuadraticRing(d);
+            expected.add(new File(TEMP_DIR, 
+                    DiagramRenderer.filenameFor(ring, 20)));
+        }
+        List<File> actual = renderer.renderRange(-10, 10, TEMP_DIR);
+        assertEquals(expected, actual);
+        for (File file : actual) {
+            String msg = "File " + file.getName() + " should have been written";
+            assert file.length() > 0 : msg;
+            BufferedImage image = ImageIO.read(file);
+            assertEquals(TEST_WIDTH, image.getWidth());
+            assertEquals(TEST_HEIGHT, image.getHeight());
+        }
+    }
+    
+    /**
+     * Another test of the renderRange function, of the DiagramRenderer class. 
+     * A range with a start greater than its end should cause an exception.
+     */
+    @Test
+    public void testRenderRangeRejectsBackwardsRange() {
+        DiagramRenderer renderer = new DiagramRenderer(TEST_WIDTH, TEST_HEIGHT, 
+                40);
+        String msg = "Range from 10 to -10 should cause an exception";
+        Throwable t = assertThrows(() -> {
+            List<File> badFiles = renderer.renderRange(10, -10, TEMP_DIR);
+            System.out.println(msg + ", not given " + badFiles.toString());
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Test of the constructor, of the DiagramRenderer class. Dimensions smaller 
+     * than the minimum ring display canvas should cause an exception.
+     */
+    @Test
+    public void testConstructorRejectsSmallDimensions() {
+        int badWidth = RingDisplay.RING_CANVAS_HORIZ_MIN - 1;
+        String msg = "Width " + badWidth + " should cause an exception";
+        Throwable t = assertThrows(() -> {
+            DiagramRenderer badRenderer = new DiagramRenderer(badWidth, 
+                    TEST_HEIGHT, 40);
+            System.out.println(msg + ", not given " + badRenderer.toString());
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Another test of the constructor, of the DiagramRenderer class. Zero 
+     * threads should cause an exception.
+     */
+    @Test
+    public void testConstructorRejectsZeroThreads() {
+        String msg = "Thread count 0 should cause an exception";
+        Throwable t = assertThrows(() -> {
+            DiagramRenderer badRenderer = new DiagramRenderer(TEST_WIDTH, 
+                    TEST_HEIGHT, 40, 5, 0);
+            System.out.println(msg + ", not given " + badRenderer.toString());
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @AfterClass
+    public static void tearDownClass() {
+        File[] files = TEMP_DIR.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        TEMP_DIR.delete();
+    }
+    
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package viewers;
+
+import algebraics.quadratics.ImaginaryQuadraticRing;
+import algebraics.quadratics.RealQuadraticRing;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+/**
+ * Tests of the DiagramTileCache class. The ring displays used in these tests 
+ * are never put on screen.
+ * @author Alonso del Arte
+ */
+public class DiagramTileCacheTest {
+    
+    private static final Random RANDOM = new Random();
+    
+    private static final ImaginaryQuadraticRing RING_GAUSSIAN 
+            = new ImaginaryQuadraticRing(-1);
+    
+    private static final long TIMEOUT_MILLISECONDS = 10000;
+    
+    private static DiagramTileCache.TileKey keyFor(RingDisplay display, 
+            int tileX, int tileY) {
+        return new DiagramTileCache.TileKey(display.getRing(), 
+                display.pixelsPerUnitInterval, display.dotRadius, 
+                display.boundaryRe, display.boundaryIm, display.getColors(), 
+                tileX, tileY);
+    }
+    
+    private static BufferedImage awaitTile(DiagramTileCache cache, 
+            DiagramTileCache.TileKey key) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        BufferedImage tile = cache.getTile(key);
+        while (tile == null) {
+            String msg = key.toString() + " should be drawn within " 
+                    + TIMEOUT_MILLISECONDS + " milliseconds";
+            assert System.currentTimeMillis() - start < TIMEOUT_MILLISECONDS 
+                    : msg;
+            Thread.sleep(5);
+            tile = cache.getTile(key);
+        }
+        return tile;
+    }
+    
+    /**
+     * Test of the equals function, of the DiagramTileCache.TileKey class.
+     */
+    @Test
+    public void testTileKeyEquals() {
+        System.out.println("TileKey.equals");
+        int tileX = RANDOM.nextInt(64) - 32;
+        int tileY = RANDOM.nextInt(64) - 32;
+        Color[] colors = new ImagQuadRingDisplay(RING_GAUSSIAN).getColors();
+        DiagramTileCache.TileKey someKey = new DiagramTileCache.TileKey(
+                RING_GAUSSIAN, 40, 5, 16.0, 9.0, colors, tileX, tileY);
+        DiagramTileCache.TileKey sameKey = new DiagramTileCache.TileKey(
+                new ImaginaryQuadraticRing(-1), 40, 5, 16.0, 9.0, 
+                colors.clone(), tileX, tileY);
+        assertEquals(someKey, sameKey);
+        assertEquals(someKey.hashCode(), sameKey.hashCode());
+        DiagramTileCache.TileKey otherKey = new DiagramTileCache.TileKey(
+                RING_GAUSSIAN, 40, 5, 16.0, 9.0, colors, tileX + 1, tileY);
+        assertNotEquals(someKey, otherKey);
+        otherKey = new DiagramTileCache.TileKey(RING_GAUSSIAN, 45, 5, 16.0, 
+                9.0, colors, tileX, tileY);
+        assertNotEquals(someKey, otherKey);
+        otherKey = new DiagramTileCache.TileKey(new ImaginaryQuadraticRing(-2), 
+                40, 5, 16.0, 9.0, colors, tileX, tileY);
+        assertNotEquals(someKey, otherKey);
+        Color[] otherColors = colors.clone();
+        otherColors[0] = Color.WHITE;
+        otherKey = new DiagramTileCache.TileKey(RING_GAUSSIAN, 40, 5, 16.0, 
+                9.0, otherColors, tileX, tileY);
+        assertNotEquals(someKey, otherKey);
+    }
+    
+    /**
+     * Test of the getTile function, of the DiagramTileCache class. The first 
+     * time a tile is asked for, it should be queued up to be drawn.
+     */
+    @Test
+    public void testGetTile() throws InterruptedException {
+        System.out.println("getTile");
+        RingDisplay display = new ImagQuadRingDisplay(RING_GAUSSIAN);
+        DiagramTileCache cache = new DiagramTileCache(display);
+        DiagramTileCache.TileKey key = keyFor(display, 0, 0);
+        BufferedImage tile = cache.getTile(key);
+        String msg = "Tile should either be drawn already or be pending";
+        assert tile != null || cache.isPending(key) : msg;
+        tile = awaitTile(cache, key);
+        assertEquals(DiagramTileCache.TILE_SIZE, tile.getWidth());
+        assertEquals(DiagramTileCache.TILE_SIZE, tile.getHeight());
+        assert !cache.isPending(key) : "Drawn tile should not be pending";
+        assertSame(tile, cache.getTile(key));
+    }
+    
+    private static void assertTileMatchesWholeDiagram(RingDisplay display, 
+            int tileX, int tileY) throws InterruptedException {
+        int width = display.ringCanvasHorizMax;
+        int height = display.ringCanvasVerticMax;
+        BufferedImage whole = new BufferedImage(width, height, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D graph = whole.createGraphics();
+        graph.setColor(display.backgroundColor);
+        graph.fillRect(0, 0, width, height);
+        display.drawDiagram(graph);
+        graph.dispose();
+        DiagramTileCache cache = new DiagramTileCache(display);
+        int size = DiagramTileCache.TILE_SIZE;
+        BufferedImage tile = awaitTile(cache, keyFor(display, tileX, tileY));
+        int cornerX = display.zeroCoordX + tileX * size;
+        int cornerY = display.zeroCoordY + tileY * size;
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                String msg = "Pixel (" + x + ", " + y 
+                        + ") of tile should match whole diagram";
+                assertEquals(msg, whole.getRGB(cornerX + x, cornerY + y), 
+                        tile.getRGB(x, y));
+            }
+        }
+    }
+    
+    /**
+     * Another test of the getTile function, of the DiagramTileCache class. A 
+     * tile should look exactly like the corresponding part of the diagram 
+     * drawn all at once.
+     */
+    @Test
+    public void testGetTileMatchesWholeDiagram() throws InterruptedException {
+        ImaginaryQuadraticRing ring = new ImaginaryQuadraticRing(-3);
+        RingDisplay display = new ImagQuadRingDisplay(ring);
+        display.setPixelsPerUnitInterval(7);
+        assertTileMatchesWholeDiagram(display, -1, -1);
+    }
+    
+    /**
+     * Another test of the getTile function, of the DiagramTileCache class. A 
+     * tile should be drawn in the colors of the ring display, not the default 
+     * colors.
+     */
+    @Test
+    public void testGetTileMatchesWholeDiagramCustomColors() 
+            throws InterruptedException {
+        ImaginaryQuadraticRing ring = new ImaginaryQuadraticRing(-3);
+        RingDisplay display = new ImagQuadRingDisplay(ring);
+        display.setPixelsPerUnitInterval(7);
+        display.changeBackgroundColor(Color.WHITE);
+        display.changeGridColors(Color.LIGHT_GRAY, Color.GRAY);
+        display.changePointColors(Color.RED, Color.ORANGE, Color.MAGENTA, 
+                Color.PINK, Color.YELLOW);
+        assertTileMatchesWholeDiagram(display, -1, -1);
+    }
+    
+    /**
+     * Another test of the getTile function, of the DiagramTileCache class. A 
+     * tile of a real quadratic ring diagram should also look exactly like the 
+     * corresponding part of the diagram drawn all at once. The ring 
+     * <b>Z</b>[&radic;10] has class number 2, so some of the lines are 
+     * outlined rather than filled in.
+     */
+    @Test
+    public void testGetTileMatchesWholeDiagramRealQuadratic() 
+            throws InterruptedException {
+        RealQuadraticRing ring = new RealQuadraticRing(10);
+        RingDisplay display = new RealQuadRingDisplay(ring);
+        display.setPixelsPerUnitInterval(7);
+        display.changeRingWindowDimensions(640, 512);
+        display.changeZeroCoords(320, 256);
+        display.updateBoundaryNumber();
+        assertTileMatchesWholeDiagram(display, -1, -1);
+    }
+    
+    /**
+     * Another test of the getTile function, of the DiagramTileCache class. 
+     * Dragging a real quadratic ring diagram a short way should not change the 
+     * keys of the tiles still in view, so that those tiles are reused rather 
+     * than drawn again.
+     */
+    @Test
+    public void testGetTileReusesTilesAfterPanRealQuadratic() 
+            throws InterruptedException {
+        RealQuadraticRing ring = new RealQuadraticRing(10);
+        RingDisplay display = new RealQuadRingDisplay(ring);
+        display.setPixelsPerUnitInterval(7);
+        display.changeRingWindowDimensions(640, 512);
+        display.changeZeroCoords(320, 256);
+        display.updateBoundaryNumber();
+        DiagramTileCache cache = new DiagramTileCache(display);
+        int size = DiagramTileCache.TILE_SIZE;
+        Map<DiagramTileCache.TileKey, BufferedImage> drawn = new HashMap<>();
+        for (int tileX = -2; tileX < 2; tileX++) {
+            for (int tileY = -1; tileY < 1; tileY++) {
+                DiagramTileCache.TileKey key = keyFor(display, tileX, tileY);
+                drawn.put(key, awaitTile(cache, key));
+            }
+        }
+        for (int step = 0; step < 8; step++) {
+            display.panBy(-12, 5);
+        }
+        int firstTileX = Math.floorDiv(-display.zeroCoordX, size);
+        int lastTileX = Math.floorDiv(display.ringCanvasHorizMax - 1 
+                - display.zeroCoordX, size);
+        int firstTileY = Math.floorDiv(-display.zeroCoordY, size);
+        int lastTileY = Math.floorDiv(display.ringCanvasVerticMax - 1 
+                - display.zeroCoordY, size);
+        int reused = 0;
+        for (int tileX = firstTileX; tileX <= lastTileX; tileX++) {
+            for (int tileY = firstTileY; tileY <= lastTileY; tileY++) {
+                DiagramTileCache.TileKey key = keyFor(display, tileX, tileY);
+                BufferedImage expected = drawn.get(key);
+                if (tileX >= -2 && tileX < 2 && tileY >= -1 && tileY < 1) {
+                    String msg = key.toString() 
+                            + " should still be cached after dragging";
+                    assertNotNull(msg, expected);
+                    assertSame(msg, expected, cache.getTile(key));
+                    reused++;
+                }
+            }
+        }
+        assert reused > 0 : "Some tiles should still be in view";
+    }
+    
+    /**
+     * Test of the retainPending procedure, of the DiagramTileCache class.
+     */
+    @Test
+    public void testRetainPending() {
+        System.out.println("retainPending");
+        RingDisplay display = new ImagQuadRingDisplay(RING_GAUSSIAN);
+        DiagramTileCache cache = new DiagramTileCache(display);
+        List<DiagramTileCache.TileKey> keys = new ArrayList<>();
+        for (int tileX = 0; tileX < 16; tileX++) {
+            DiagramTileCache.TileKey key = keyFor(display, tileX, 8);
+            keys.add(key);
+            cache.getTile(key);
+        }
+        DiagramTileCache.TileKey keptKey = keys.get(0);
+        cache.retainPending(Collections.singletonList(keptKey));
+        for (DiagramTileCache.TileKey key : keys.subList(1, keys.size())) {
+            String msg = key.toString() + " should no longer be pending";
+            assert !cache.isPending(key) : msg;
+        }
+    }
+    
+    /**
+     * Test of the size function, of the DiagramTileCache class. The cache 
+     * should not hold more tiles than its capacity.
+     */
+    @Test
+    public void testSize() throws InterruptedException {
+        System.out.println("size");
+        RingDisplay display = new ImagQuadRingDisplay(RING_GAUSSIAN);
+        int capacity = RANDOM.nextInt(4) + 2;
+        DiagramTileCache cache = new DiagramTileCache(display, capacity);
+        assertEquals(0, cache.size());
+        for (int tileX = 0; tileX < 2 * capacity; tileX++) {
+            awaitTile(cache, keyFor(display, tileX, 0));
+            int expected = Math.min(tileX + 1, capacity);
+            int actual = cache.size();
+            assertEquals(expected, actual);
+        }
+    }
+    
+    /**
+     * Test of the constructor, of the DiagramTileCache class. A capacity of 0 
+     * should cause an exception.
+     */
+    @Test
+    public void testConstructorRejectsZeroCapacity() {
+        RingDisplay display = new ImagQuadRingDisplay(RING_GAUSSIAN);
+        String msg = "Capacity 0 should cause an exception";
+        Throwable t = assertThrows(() -> {
+            DiagramTileCache badCache = new DiagramTileCache(display, 0);
+            System.out.println(msg + ", not given instance " 
+                    + badCache.toString());
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+}
@@ -17,15 +17,19 @@
 package viewers;
 
 import algebraics.IntegerRing;
+import algebraics.quadratics.ImaginaryQuadraticInteger;
 import algebraics.quadratics.ImaginaryQuadraticRing;
 
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.datatransfer.Clipboard;
 import java.awt.datatransfer.DataFlavor;
 import java.awt.datatransfer.UnsupportedFlavorException;
 import java.awt.event.ActionEvent;
 import java.io.IOException;
 import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -177,6 +181,172 @@ public class ImagQuadRingDisplayTest {
         }
     }
 
+    /**
+     * Test of the createOffscreenDisplay function, of the ImagQuadRingDisplay 
+     * class.
+     */
+    @Test
+    public void testCreateOffscreenDisplay() {
+        System.out.println("createOffscreenDisplay");
+        ImaginaryQuadraticRing expected = new ImaginaryQuadraticRing(-7);
+        RingDisplay offscreen 
+                = this.ringDisplay.createOffscreenDisplay(expected);
+        assert offscreen instanceof ImagQuadRingDisplay 
+                : "Offscreen display should be an ImagQuadRingDisplay";
+        IntegerRing actual = offscreen.getRing();
+        assertEquals(expected, actual);
+        String msg = "Offscreen display should not have been set up on screen";
+        assert !offscreen.alreadySetUp : msg;
+    }
+    
+    /**
+     * Test of the drawDiagram procedure, of the ImagQuadRingDisplay class. 
+     * With a clip set on the graphics object, the pixels inside the clip 
+     * should be the same as in the whole diagram, and the pixels outside the 
+     * clip should be left alone.
+     */
+    @Test
+    public void testDrawDiagramWithClip() {
+        System.out.println("drawDiagram");
+        RingDisplay offscreen 
+                = this.ringDisplay.createOffscreenDisplay(RING_ZI14);
+        int size = 256;
+        offscreen.setPixelsPerUnitInterval(10);
+        offscreen.changeDotRadius(3);
+        offscreen.changeRingWindowDimensions(size, size);
+        offscreen.changeZeroCoords(size / 2, size / 2);
+        offscreen.updateBoundaryNumber();
+        BufferedImage expected = new BufferedImage(size, size, 
+                BufferedImage.TYPE_INT_RGB);
+        DiagramRenderer.drawDiagram(offscreen, expected);
+        BufferedImage actual = new BufferedImage(size, size, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = actual.createGraphics();
+        g.setColor(offscreen.backgroundColor);
+        g.fillRect(0, 0, size, size);
+        Rectangle clip = new Rectangle(61, 93, 50, 40);
+        g.setClip(clip);
+        offscreen.drawDiagram(g);
+        g.dispose();
+        int background = offscreen.backgroundColor.getRGB();
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                String msg = "Pixel at (" + x + ", " + y + ") should match";
+                if (clip.contains(x, y)) {
+                    assertEquals(msg, expected.getRGB(x, y), 
+                            actual.getRGB(x, y));
+                } else {
+                    assertEquals(msg, background, actual.getRGB(x, y));
+                }
+            }
+        }
+    }
+    
+    private void moveMouseTo(int x, int y) {
+        MouseEvent mauv = new MouseEvent(this.ringDisplay, 
+                MouseEvent.MOUSE_MOVED, System.currentTimeMillis(), 0, x, y, 0, 
+                false);
+        this.ringDisplay.mouseMoved(mauv);
+    }
+    
+    private static void waitForReadoutUpdate() throws InterruptedException {
+        Thread.sleep(10 * ImagQuadRingDisplay.READOUT_UPDATE_DELAY);
+    }
+    
+    /**
+     * Test of the mouseMoved procedure, of the ImagQuadRingDisplay class. 
+     * Shortly after the mouse pointer moves, the readouts should show the 
+     * number nearest to it.
+     * @throws InterruptedException If the test is interrupted while waiting 
+     * for the readouts to be updated.
+     */
+    @Test
+    public void testMouseMoved() throws InterruptedException {
+        System.out.println("mouseMoved");
+        ImaginaryQuadraticInteger expected 
+                = new ImaginaryQuadraticInteger(2, -1, RING_ZI14);
+        int x = this.ringDisplay.zeroCoordX 
+                + 2 * this.ringDisplay.pixelsPerUnitInterval + 1;
+        int y = this.ringDisplay.zeroCoordY 
+                + this.ringDisplay.pixelsPerBasicImaginaryInterval - 1;
+        this.moveMouseTo(x, y);
+        waitForReadoutUpdate();
+        assertEquals(expected, this.ringDisplay.mouseAlgInt);
+        assertEquals(expected.toString(), 
+                this.ringDisplay.algIntReadOut.getText());
+        assertEquals(Long.toString(expected.norm()), 
+                this.ringDisplay.normReadOut.getText());
+    }
+    
+    /**
+     * Another test of the mouseMoved procedure, of the ImagQuadRingDisplay 
+     * class. Moving the mouse pointer a little bit without getting closer to 
+     * a different number should not cause the readouts to be worked out 
+     * again.
+     * @throws InterruptedException If the test is interrupted while waiting 
+     * for the readouts to be updated.
+     */
+    @Test
+    public void testMouseMovedWithinSamePoint() throws InterruptedException {
+        int x = this.ringDisplay.zeroCoordX 
+                - this.ringDisplay.pixelsPerUnitInterval;
+        int y = this.ringDisplay.zeroCoordY;
+        this.moveMouseTo(x, y);
+        waitForReadoutUpdate();
+        Object expected = this.ringDisplay.mouseAlgInt;
+        this.moveMouseTo(x + 1, y - 1);
+        this.moveMouseTo(x - 1, y + 1);
+        waitForReadoutUpdate();
+        Object actual = this.ringDisplay.mouseAlgInt;
+        String msg = "Readouts for same point should not be worked out again";
+        assertSame(msg, expected, actual);
+    }
+    
+    /**
+     * Test of the panBy procedure, of the RingDisplay class, as inherited by 
+     * ImagQuadRingDisplay. The point 0 should move by the given amounts.
+     */
+    @Test
+    public void testPanBy() {
+        System.out.println("panBy");
+        int initialX = this.ringDisplay.zeroCoordX;
+        int initialY = this.ringDisplay.zeroCoordY;
+        this.ringDisplay.panBy(-37, 20);
+        assertEquals(initialX - 37, this.ringDisplay.zeroCoordX);
+        assertEquals(initialY + 20, this.ringDisplay.zeroCoordY);
+    }
+    
+    /**
+     * Test of the mouseDragged procedure, of the ImagQuadRingDisplay class. 
+     * Dragging the diagram with the mouse should move the point 0 along with 
+     * the mouse pointer, even if the readouts are not being updated.
+     */
+    @Test
+    public void testMouseDragged() {
+        System.out.println("mouseDragged");
+        int initialX = this.ringDisplay.zeroCoordX;
+        int initialY = this.ringDisplay.zeroCoordY;
+        long when = System.currentTimeMillis();
+        this.ringDisplay.dispatchEvent(new MouseEvent(this.ringDisplay, 
+                MouseEvent.MOUSE_PRESSED, when, MouseEvent.BUTTON1_DOWN_MASK, 
+                100, 100, 1, false, MouseEvent.BUTTON1));
+        this.ringDisplay.dispatchEvent(new MouseEvent(this.ringDisplay, 
+                MouseEvent.MOUSE_DRAGGED, when + 20, 
+                MouseEvent.BUTTON1_DOWN_MASK, 115, 95, 0, false, 
+                MouseEvent.NOBUTTON));
+        this.ringDisplay.dispatchEvent(new MouseEvent(this.ringDisplay, 
+                MouseEvent.MOUSE_DRAGGED, when + 40, 
+                MouseEvent.BUTTON1_DOWN_MASK, 130, 90, 0, false, 
+                MouseEvent.NOBUTTON));
+        this.ringDisplay.dispatchEvent(new MouseEvent(this.ringDisplay, 
+                MouseEvent.MOUSE_RELEASED, when + 60, 0, 130, 90, 1, false, 
+                MouseEvent.BUTTON1));
+        String msg = "Dragging from (100, 100) to (130, 90) should move 0 by " 
+                + "30 pixels right and 10 pixels up";
+        assertEquals(msg, initialX + 30, this.ringDisplay.zeroCoordX);
+        assertEquals(msg, initialY - 10, this.ringDisplay.zeroCoordY);
+    }
+    
     /**
      * Test of the getBoundaryRe function, of the ImagQuadRingDisplay class.
      */
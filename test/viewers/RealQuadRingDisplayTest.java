@@ -30,6 +30,8 @@ import java.awt.event.ActionEvent;
 import java.awt.event.MouseEvent;
 import java.io.IOException;
 import java.net.URI;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.After;
 import org.junit.Before;
@@ -82,6 +84,26 @@ public class RealQuadRingDisplayTest {
         fail("Haven't written test yet");
     }
     
+    /**
+     * Test of the createOffscreenDisplay function, of the RealQuadRingDisplay 
+     * class. The offscreen display should already have the fundamental unit of 
+     * its ring.
+     */
+    @Test
+    public void testCreateOffscreenDisplay() {
+        System.out.println("createOffscreenDisplay");
+        RealQuadraticRing ring = new RealQuadraticRing(7);
+        RingDisplay offscreen = this.ringDisplay.createOffscreenDisplay(ring);
+        assert offscreen instanceof RealQuadRingDisplay 
+                : "Offscreen display should be a RealQuadRingDisplay";
+        assertEquals(ring, offscreen.getRing());
+        String msg = "Offscreen display should not have been set up on screen";
+        assert !offscreen.alreadySetUp : msg;
+        RealQuadraticInteger expected = new RealQuadraticInteger(8, 3, ring);
+        AlgebraicInteger actual = offscreen.getFundamentalUnit();
+        assertEquals(expected, actual);
+    }
+    
     /**
      * Test of the getFundamentalUnit function, of the RealQuadRingDisplay 
      * class.
@@ -181,12 +203,21 @@ public class RealQuadRingDisplayTest {
      * class. If switching to a ring for which the fundamental unit can readily 
      * be found, such as for example <b>Z</b>[&radic;2] (the fundamental unit of 
      * which is 1 + &radic;2), the fundamental unit property should be updated 
-     * accordingly.
+     * accordingly. Since the search for the unit is done on a background 
+     * thread, this test waits for the fundamental unit property change.
+     * @throws InterruptedException If the test is interrupted while waiting.
      */
     @Test
-    public void testSwitchToRingChangesUnitIfFound() {
+    public void testSwitchToRingChangesUnitIfFound() 
+            throws InterruptedException {
         RealQuadraticRing ring = new RealQuadraticRing(2);
+        CountDownLatch latch = new CountDownLatch(1);
+        this.ringDisplay.addPropertyChangeListener(RingDisplay 
+                .FUNDAMENTAL_UNIT_PROPERTY_NAME, (event) -> latch.countDown());
         this.ringDisplay.switchToRing(ring);
+        String msg = "Unit search for " + ring.toString() 
+                + " should finish within ten seconds";
+        assert latch.await(10, TimeUnit.SECONDS) : msg;
         RealQuadraticInteger expected = new RealQuadraticInteger(1, 1, ring);
         AlgebraicInteger actual = this.ringDisplay.getFundamentalUnit();
         assertEquals(expected, actual);
@@ -23,6 +23,7 @@ import calculators.NumberTheoreticFunctionsCalculator;
 import static calculators.NumberTheoreticFunctionsCalculator.randomNumber;
 
 import java.awt.Color;
+import java.awt.Graphics;
 import java.awt.event.ActionEvent;
 import java.awt.event.MouseEvent;
 import java.io.File;
@@ -662,6 +663,15 @@ public class RingDisplayTest {
         public void decrementDiscriminant() {
         }
 
+        @Override
+        void drawDiagram(Graphics g) {
+        }
+        
+        @Override
+        RingDisplay createOffscreenDisplay(IntegerRing ring) {
+            return new RingDisplayImpl((MockRing) ring);
+        }
+        
         @Override
         public void updateBoundaryNumber() {
         }
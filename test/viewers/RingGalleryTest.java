@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package viewers;
+
+import algebraics.IntegerRing;
+import algebraics.quadratics.ImaginaryQuadraticRing;
+import algebraics.quadratics.RealQuadraticRing;
+import calculators.NumberTheoreticFunctionsCalculator;
+import calculators.RealQuadResultsGrouping;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+/**
+ * Tests of the RingGallery class. None of these tests put a gallery on 
+ * screen, so they can be run with the system property 
+ * <code>java.awt.headless</code> set to true.
+ * @author Alonso del Arte
+ */
+public class RingGalleryTest {
+    
+    /**
+     * Test of the getRings function, of the RingGallery class.
+     */
+    @Test
+    public void testGetRings() {
+        System.out.println("getRings");
+        List<IntegerRing> expected = new ArrayList<>();
+        expected.add(new ImaginaryQuadraticRing(-3));
+        expected.add(new ImaginaryQuadraticRing(-2));
+        expected.add(new ImaginaryQuadraticRing(-1));
+        expected.add(new RealQuadraticRing(2));
+        expected.add(new RealQuadraticRing(3));
+        RingGallery gallery = new RingGallery(-4, 4);
+        List<IntegerRing> actual = gallery.getRings();
+        assertEquals(expected, actual);
+    }
+    
+    /**
+     * Test of the renderThumbnail function, of the RingGallery class. The 
+     * thumbnail should look just like a diagram drawn by a renderer with the 
+     * same dimensions and zoom, and asking for it again should not draw it a 
+     * second time.
+     * @throws InterruptedException If the test is interrupted while waiting 
+     * for the thumbnail.
+     * @throws ExecutionException If the thumbnail can't be drawn.
+     */
+    @Test
+    public void testRenderThumbnail() throws InterruptedException, 
+            ExecutionException {
+        System.out.println("renderThumbnail");
+        RingGallery gallery = new RingGallery(5, 15);
+        RealQuadraticRing ring = new RealQuadraticRing(10);
+        Future<BufferedImage> thumbnail = gallery.renderThumbnail(ring);
+        assertSame(thumbnail, gallery.renderThumbnail(ring));
+        BufferedImage actual = thumbnail.get();
+        assertEquals(RingGallery.THUMBNAIL_WIDTH, actual.getWidth());
+        assertEquals(RingGallery.THUMBNAIL_HEIGHT, actual.getHeight());
+        DiagramRenderer renderer = new DiagramRenderer(
+                RingGallery.THUMBNAIL_WIDTH, RingGallery.THUMBNAIL_HEIGHT, 
+                RingGallery.THUMBNAIL_PIXELS_PER_UNIT_INTERVAL);
+        BufferedImage expected = new BufferedImage(actual.getWidth(), 
+                actual.getHeight(), BufferedImage.TYPE_INT_RGB);
+        DiagramRenderer.drawDiagram(renderer.createDisplay(ring), expected);
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                String msg = "Pixel at (" + x + ", " + y + ") should match";
+                assertEquals(msg, expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+    
+    /**
+     * Test of the cancelThumbnails procedure, of the RingGallery class. After 
+     * cancelling, asking for a thumbnail should put it on the pool again.
+     */
+    @Test
+    public void testCancelThumbnails() {
+        System.out.println("cancelThumbnails");
+        RingGallery gallery = new RingGallery(-7, -5);
+        ImaginaryQuadraticRing ring = new ImaginaryQuadraticRing(-7);
+        Future<BufferedImage> thumbnail = gallery.renderThumbnail(ring);
+        gallery.cancelThumbnails();
+        assertNotSame(thumbnail, gallery.renderThumbnail(ring));
+    }
+    
+    /**
+     * Test of the createDisplay function, of the RingGallery class. Ring 
+     * displays for the same real quadratic ring created by the same gallery 
+     * should share the prime classifications rather than work them out again.
+     */
+    @Test
+    public void testCreateDisplay() {
+        System.out.println("createDisplay");
+        RingGallery gallery = new RingGallery(2, 30);
+        RealQuadraticRing ring = new RealQuadraticRing(21);
+        RealQuadRingDisplay first 
+                = (RealQuadRingDisplay) gallery.createDisplay(ring);
+        RealQuadRingDisplay second 
+                = (RealQuadRingDisplay) gallery.createDisplay(ring);
+        assertSame(first.splitters, second.splitters);
+        RealQuadRingDisplay separate = new RealQuadRingDisplay(ring);
+        assertNotSame(first.splitters, separate.splitters);
+    }
+    
+    /**
+     * Another test of the createDisplay function, of the RingGallery class. 
+     * Imaginary quadratic rings should get imaginary quadratic ring displays.
+     */
+    /**
+     * Test of the obtainGrouping function, of the RingGallery class. The same 
+     * ring should give the same prime classifications, until more than {@link 
+     * RingGallery#GROUPING_CACHE_CAPACITY} other rings have been asked for.
+     */
+    @Test
+    public void testObtainGrouping() {
+        System.out.println("obtainGrouping");
+        RingGallery gallery = new RingGallery(2, 30);
+        RealQuadraticRing ring = new RealQuadraticRing(21);
+        RealQuadResultsGrouping expected = gallery.obtainGrouping(ring);
+        RealQuadResultsGrouping actual = gallery.obtainGrouping(ring);
+        assertSame(expected, actual);
+        int d = 22;
+        for (int i = 0; i < RingGallery.GROUPING_CACHE_CAPACITY; i++) {
+            while (!NumberTheoreticFunctionsCalculator.isSquarefree(d)) {
+                d++;
+            }
+            gallery.obtainGrouping(new RealQuadraticRing(d));
+            d++;
+        }
+        RealQuadResultsGrouping recomputed = gallery.obtainGrouping(ring);
+        assertNotSame(expected, recomputed);
+    }
+    
+    @Test
+    public void testCreateDisplayImaginary() {
+        RingGallery gallery = new RingGallery(-10, -1);
+        ImaginaryQuadraticRing ring = new ImaginaryQuadraticRing(-10);
+        RingDisplay display = gallery.createDisplay(ring);
+        assert display instanceof ImagQuadRingDisplay 
+                : "Display should be for imaginary quadratic ring";
+    }
+    
+    /**
+     * Test of the constructor, of the RingGallery class. A range with the 
+     * start greater than the end should be rejected.
+     */
+    @Test
+    public void testConstructorRejectsBackwardsRange() {
+        Throwable t = assertThrows(() -> {
+            RingGallery badGallery = new RingGallery(30, -30);
+            System.out.println("Should not have created " 
+                    + badGallery.toString());
+        }, IllegalArgumentException.class, 
+                "Backwards range should cause exception");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Another test of the constructor, of the RingGallery class. A range 
+     * going past what the ring displays can show should be rejected.
+     */
+    @Test
+    public void testConstructorRejectsRangeOutOfBounds() {
+        int start = RealQuadRingDisplay.MAXIMUM_RING_D - 10;
+        int end = RealQuadRingDisplay.MAXIMUM_RING_D + 10;
+        Throwable t = assertThrows(() -> {
+            RingGallery badGallery = new RingGallery(start, end);
+            System.out.println("Should not have created " 
+                    + badGallery.toString());
+        }, IllegalArgumentException.class, 
+                "Range out of bounds should cause exception");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Another test of the constructor, of the RingGallery class. A range with 
+     * no rings in it should be rejected.
+     */
+    @Test
+    public void testConstructorRejectsEmptyRange() {
+        Throwable t = assertThrows(() -> {
+            RingGallery badGallery = new RingGallery(0, 1);
+            System.out.println("Should not have created " 
+                    + badGallery.toString());
+        }, IllegalArgumentException.class, 
+                "Range with no rings should cause exception");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+}
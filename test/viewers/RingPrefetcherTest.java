@@ -0,0 +1,251 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package viewers;
+
+import algebraics.quadratics.RealQuadraticRing;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+/**
+ * Tests of the RingPrefetcher class. Instead of anything costly, the results 
+ * are just the rings' radicands as strings, and the tests count how many 
+ * times each result is worked out.
+ * @author Alonso del Arte
+ */
+public class RingPrefetcherTest {
+    
+    private static final int MAXIMUM_D = 8191;
+    
+    private static final class CountingComputation {
+        
+        private final Map<RealQuadraticRing, AtomicInteger> counts 
+                = new ConcurrentHashMap<>();
+        
+        private String compute(RealQuadraticRing ring) {
+            this.counts.computeIfAbsent(ring, (r) -> new AtomicInteger()) 
+                    .incrementAndGet();
+            return Integer.toString(ring.getRadicand());
+        }
+        
+        private int countFor(RealQuadraticRing ring) {
+            AtomicInteger count = this.counts.get(ring);
+            return (count == null) ? 0 : count.get();
+        }
+        
+    }
+    
+    private static RingPrefetcher<RealQuadraticRing, String> 
+            makePrefetcher(CountingComputation computation) {
+        return new RingPrefetcher<>(computation::compute, 
+                RealQuadraticRing::new, 2, MAXIMUM_D, 
+                RingPrefetcher.DEFAULT_REACH);
+    }
+    
+    private static void awaitReady(RingPrefetcher<RealQuadraticRing, String> 
+            prefetcher, RealQuadraticRing ring) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!prefetcher.isReady(ring) 
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        String msg = "Results for " + ring.toASCIIString() 
+                + " should be ready";
+        assert prefetcher.isReady(ring) : msg;
+    }
+    
+    /**
+     * Test of the neighborhood function, of the RingPrefetcher class.
+     */
+    @Test
+    public void testNeighborhood() {
+        System.out.println("neighborhood");
+        List<Integer> expected = Arrays.asList(7, 10, 6, 11, 5);
+        List<Integer> actual = RingPrefetcher.neighborhood(7, 2, 2, MAXIMUM_D);
+        assertEquals(expected, actual);
+    }
+    
+    /**
+     * Another test of the neighborhood function, of the RingPrefetcher class. 
+     * The neighborhood should not go past the minimum or the maximum, and it 
+     * should not include 0 or 1.
+     */
+    @Test
+    public void testNeighborhoodAtEdges() {
+        assertEquals(Arrays.asList(2, 3, 5), 
+                RingPrefetcher.neighborhood(2, 2, 2, MAXIMUM_D));
+        assertEquals(Arrays.asList(-1, -2, -3), 
+                RingPrefetcher.neighborhood(-1, 2, -8191, -1));
+        assertEquals(Arrays.asList(-1, 2, -2, 3, -3), 
+                RingPrefetcher.neighborhood(-1, 2, -8191, 5));
+    }
+    
+    /**
+     * Test of the prefetchAround procedure, of the RingPrefetcher class. The 
+     * results for the ring and its neighbors should be worked out in the 
+     * background, once each.
+     * @throws InterruptedException If the test is interrupted while waiting 
+     * for the results.
+     */
+    @Test
+    public void testPrefetchAround() throws InterruptedException {
+        System.out.println("prefetchAround");
+        CountingComputation computation = new CountingComputation();
+        RingPrefetcher<RealQuadraticRing, String> prefetcher 
+                = makePrefetcher(computation);
+        prefetcher.prefetchAround(7);
+        Set<RealQuadraticRing> expected = new HashSet<>();
+        for (int d : new int[]{5, 6, 7, 10, 11}) {
+            RealQuadraticRing ring = new RealQuadraticRing(d);
+            expected.add(ring);
+            awaitReady(prefetcher, ring);
+            assertEquals(Integer.toString(d), prefetcher.obtain(ring));
+            assertEquals(1, computation.countFor(ring));
+        }
+        Set<RealQuadraticRing> actual = new HashSet<>(prefetcher.getRings());
+        assertEquals(expected, actual);
+    }
+    
+    /**
+     * Another test of the prefetchAround procedure, of the RingPrefetcher 
+     * class. Moving the neighborhood should forget the rings that are no 
+     * longer in it, but keep the results for those that still are.
+     * @throws InterruptedException If the test is interrupted while waiting 
+     * for the results.
+     */
+    @Test
+    public void testPrefetchAroundForgetsFarRings() 
+            throws InterruptedException {
+        CountingComputation computation = new CountingComputation();
+        RingPrefetcher<RealQuadraticRing, String> prefetcher 
+                = makePrefetcher(computation);
+        prefetcher.prefetchAround(7);
+        RealQuadraticRing kept = new RealQuadraticRing(10);
+        awaitReady(prefetcher, kept);
+        prefetcher.prefetchAround(11);
+        List<RealQuadraticRing> rings = prefetcher.getRings();
+        String msg = "Ring for 6 should have been forgotten";
+        assert !rings.contains(new RealQuadraticRing(6)) : msg;
+        assert rings.contains(new RealQuadraticRing(14)) 
+                : "Ring for 14 should be prefetched";
+        awaitReady(prefetcher, kept);
+        prefetcher.obtain(kept);
+        String countMsg = "Results for kept ring should be worked out once";
+        assertEquals(countMsg, 1, computation.countFor(kept));
+    }
+    
+    /**
+     * Test of the obtain function, of the RingPrefetcher class. Results for a 
+     * ring that was never prefetched should be worked out on the calling 
+     * thread, and only once even if asked for again.
+     */
+    @Test
+    public void testObtain() {
+        System.out.println("obtain");
+        CountingComputation computation = new CountingComputation();
+        RingPrefetcher<RealQuadraticRing, String> prefetcher 
+                = makePrefetcher(computation);
+        RealQuadraticRing ring = new RealQuadraticRing(8191);
+        assertEquals("8191", prefetcher.obtain(ring));
+        assertEquals("8191", prefetcher.obtain(ring));
+        assertEquals(1, computation.countFor(ring));
+    }
+    
+    /**
+     * Another test of the obtain function, of the RingPrefetcher class. If 
+     * results are asked for on several threads at once, they should still be 
+     * worked out only once.
+     * @throws InterruptedException If the test is interrupted while waiting 
+     * for the threads.
+     */
+    @Test
+    public void testObtainConcurrently() throws InterruptedException {
+        CountingComputation computation = new CountingComputation();
+        RingPrefetcher<RealQuadraticRing, String> prefetcher 
+                = new RingPrefetcher<>((ring) -> {
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return computation.compute(ring);
+                }, RealQuadraticRing::new, 2, MAXIMUM_D, 0);
+        RealQuadraticRing ring = new RealQuadraticRing(101);
+        int threadCount = 4;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            new Thread(() -> {
+                prefetcher.obtain(ring);
+                latch.countDown();
+            }).start();
+        }
+        assert latch.await(5, TimeUnit.SECONDS) : "Threads should finish";
+        assertEquals(1, computation.countFor(ring));
+    }
+    
+    /**
+     * Another test of the obtain function, of the RingPrefetcher class. A 
+     * runtime exception from the computation should be passed on to the 
+     * caller.
+     */
+    @Test
+    public void testObtainPassesOnException() {
+        RingPrefetcher<RealQuadraticRing, String> prefetcher 
+                = new RingPrefetcher<>((ring) -> {
+                    throw new ArithmeticException("For testing purposes");
+                }, RealQuadraticRing::new, 2, MAXIMUM_D, 1);
+        RealQuadraticRing ring = new RealQuadraticRing(3);
+        String msg = "Exception from computation should be passed on";
+        Throwable t = assertThrows(() -> {
+            prefetcher.obtain(ring);
+        }, ArithmeticException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Test of the constructor, of the RingPrefetcher class. A negative reach 
+     * should cause an exception.
+     */
+    @Test
+    public void testConstructorRejectsNegativeReach() {
+        String msg = "Negative reach should cause an exception";
+        Throwable t = assertThrows(() -> {
+            RingPrefetcher<RealQuadraticRing, String> badPrefetcher 
+                    = new RingPrefetcher<>((ring) -> "", 
+                            RealQuadraticRing::new, 2, MAXIMUM_D, -1);
+            System.out.println(msg + ", not given " + badPrefetcher);
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+}